@@ -11,6 +11,10 @@ val website = "https://minersstudios.com"
 val authors = listOf("MinersStudios", "p0loskun")
 val contributors = listOf("PackmanDude")
 
+// The annotation processor, which writes the class index of each plugin jar,
+// see com.minersstudios.processor.ClassIndexProcessor
+val processor: SourceSet = sourceSets.create("processor")
+
 allprojects {
     apply(plugin = "java")
     apply(plugin = "io.papermc.paperweight.userdev")
@@ -33,6 +37,7 @@ allprojects {
         compileOnly("fr.xephi:authme:5.6.0-SNAPSHOT")
         compileOnly("net.dv8tion:JDA:5.0.0-beta.19")
         compileOnly("com.fasterxml.jackson.core:jackson-annotations:2.16.0")
+        annotationProcessor(rootProject.the<SourceSetContainer>()["processor"].output)
     }
 
     sourceSets {
@@ -121,6 +126,11 @@ subprojects {
 }
 
 tasks {
+    named<JavaCompile>(processor.compileJavaTaskName) {
+        options.encoding = Charsets.UTF_8.name()
+        options.release.set(17)
+    }
+
     jar {
         doLast {
             file("builds/jars").deleteRecursively()
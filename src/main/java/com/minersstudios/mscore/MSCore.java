@@ -1,6 +1,8 @@
 package com.minersstudios.mscore;
 
 import com.minersstudios.mscore.annotation.Namespace;
+import com.minersstudios.mscore.packet.PacketStatistics;
+import com.minersstudios.mscore.plugin.GlobalConfig;
 import com.minersstudios.mscore.plugin.MSLogger;
 import com.minersstudios.mscore.plugin.MSPlugin;
 import com.minersstudios.mscore.utility.CoreProtectUtils;
@@ -8,8 +10,11 @@ import com.minersstudios.mscore.utility.PaperUtils;
 import net.coreprotect.CoreProtect;
 import net.coreprotect.CoreProtectAPI;
 import net.kyori.adventure.text.logger.slf4j.ComponentLogger;
+import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.UnknownNullability;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.logging.Logger;
 
 import static com.minersstudios.mscore.locale.Translations.*;
@@ -22,6 +27,7 @@ import static com.minersstudios.mscore.utility.Font.Chars.RED_EXCLAMATION_MARK;
  */
 public final class MSCore extends MSPlugin<MSCore> {
     private static MSCore singleton;
+    private BukkitTask packetStatisticsTask;
 
     /** The namespace of the plugin */
     public static final @Namespace String NAMESPACE = "mscore";
@@ -42,6 +48,8 @@ public final class MSCore extends MSPlugin<MSCore> {
     private static final String VALUE_TOO_MANY_PACKETS =    "<red><lang:" + ERROR_TOO_MANY_PACKETS.getPath() + '>';
     //</editor-fold>
 
+    private static final String PACKET_STATISTICS_FILE = "packet_statistics.txt";
+
     @Override
     public void load() {
         PaperUtils
@@ -59,10 +67,13 @@ public final class MSCore extends MSPlugin<MSCore> {
         singleton = this;
 
         this.setupCoreProtect();
+        this.setupPacketStatistics();
     }
 
     @Override
     public void disable() {
+        globalCache().packetStatistics.setEnabled(false);
+
         singleton = null;
     }
 
@@ -91,6 +102,44 @@ public final class MSCore extends MSPlugin<MSCore> {
         }
     }
 
+    /**
+     * Enables or disables the packet statistics according to the global config
+     * and schedules the periodic dump of the statistics to the
+     * "packet_statistics.txt" file in the plugin folder
+     *
+     * @see PacketStatistics
+     * @see GlobalConfig#isPacketStatisticsEnabled()
+     * @see GlobalConfig#getPacketStatisticsDumpInterval()
+     */
+    public void setupPacketStatistics() {
+        final GlobalConfig config = globalConfig();
+        final PacketStatistics statistics = globalCache().packetStatistics;
+        final long interval = config.getPacketStatisticsDumpInterval();
+
+        if (this.packetStatisticsTask != null) {
+            this.packetStatisticsTask.cancel();
+
+            this.packetStatisticsTask = null;
+        }
+
+        statistics.setEnabled(config.isPacketStatisticsEnabled());
+
+        if (
+                statistics.isEnabled()
+                && interval > 0L
+        ) {
+            final File file = new File(this.getPluginFolder(), PACKET_STATISTICS_FILE);
+
+            this.packetStatisticsTask = this.runTaskTimerAsync(() -> {
+                try {
+                    statistics.dump(file.toPath());
+                } catch (final IOException e) {
+                    MSLogger.warning("Failed to dump packet statistics to " + file, e);
+                }
+            }, interval, interval);
+        }
+    }
+
     /**
      * @return The singleton of the plugin or null if the plugin is disabled
      */
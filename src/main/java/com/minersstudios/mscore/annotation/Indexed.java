@@ -0,0 +1,17 @@
+package com.minersstudios.mscore.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * Meta-annotation used to mark the annotations, whose annotated classes are
+ * written to the class index of the plugin jar at build time.
+ * <br>
+ * The index is read by the plugin instead of scanning and loading every class
+ * in its jar to find the annotated ones.
+ *
+ * @see com.minersstudios.mscore.plugin.ClassIndex
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.ANNOTATION_TYPE)
+public @interface Indexed {}
@@ -1,5 +1,6 @@
 package com.minersstudios.mscore.command.api;
 
+import com.minersstudios.mscore.annotation.Indexed;
 import org.bukkit.permissions.PermissionDefault;
 import org.jetbrains.annotations.NotNull;
 
@@ -13,6 +14,7 @@ import java.lang.annotation.*;
  * @see AbstractCommandExecutor
  */
 @Documented
+@Indexed
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.TYPE)
 public @interface MSCommand {
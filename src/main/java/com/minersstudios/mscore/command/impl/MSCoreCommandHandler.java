@@ -24,10 +24,15 @@ import static com.mojang.brigadier.builder.LiteralArgumentBuilder.literal;
         permissionDefault = PermissionDefault.OP
 )
 public final class MSCoreCommandHandler extends AbstractCommandExecutor<MSCore> {
-    private static final List<String> TAB = Collections.singletonList("reloadconfig");
+    private static final List<String> TAB = List.of("reloadconfig", "packets");
+    private static final List<String> TAB_PACKETS = Collections.singletonList("reset");
     private static final CommandNode<?> COMMAND_NODE =
             literal("mscore")
             .then(literal("reloadconfig"))
+            .then(
+                    literal("packets")
+                    .then(literal("reset"))
+            )
             .build();
 
     @Override
@@ -39,6 +44,7 @@ public final class MSCoreCommandHandler extends AbstractCommandExecutor<MSCore>
     ) {
         return switch (args[0]) {
             case "reloadconfig" -> ReloadConfigCommand.runCommand(sender);
+            case "packets" -> PacketsCommand.runCommand(sender, args);
             default -> false;
         };
     }
@@ -50,7 +56,11 @@ public final class MSCoreCommandHandler extends AbstractCommandExecutor<MSCore>
             final @NotNull String label,
             final String @NotNull ... args
     ) {
-        return args.length == 1 ? TAB : EMPTY_TAB;
+        return switch (args.length) {
+            case 1 -> TAB;
+            case 2 -> "packets".equals(args[0]) ? TAB_PACKETS : EMPTY_TAB;
+            default -> EMPTY_TAB;
+        };
     }
 
     @Override
@@ -0,0 +1,45 @@
+package com.minersstudios.mscore.command.impl;
+
+import com.minersstudios.mscore.locale.Translations;
+import com.minersstudios.mscore.packet.PacketStatistics;
+import com.minersstudios.mscore.plugin.MSLogger;
+import com.minersstudios.mscore.plugin.MSPlugin;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+
+public final class PacketsCommand {
+    private static final int REPORT_LIMIT = 15;
+
+    public static boolean runCommand(
+            final @NotNull CommandSender sender,
+            final String @NotNull [] args
+    ) {
+        final PacketStatistics statistics = MSPlugin.globalCache().packetStatistics;
+
+        if (!statistics.isEnabled()) {
+            MSLogger.warning(
+                    sender,
+                    Translations.COMMAND_MSCORE_PACKETS_DISABLED.asTranslatable()
+            );
+
+            return true;
+        }
+
+        if (
+                args.length > 1
+                && "reset".equals(args[1])
+        ) {
+            statistics.reset();
+            MSLogger.fine(
+                    sender,
+                    Translations.COMMAND_MSCORE_PACKETS_RESET.asTranslatable()
+            );
+
+            return true;
+        }
+
+        MSLogger.info(sender, String.join("\n", statistics.report(REPORT_LIMIT)));
+
+        return true;
+    }
+}
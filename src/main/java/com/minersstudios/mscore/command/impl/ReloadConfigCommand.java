@@ -1,5 +1,6 @@
 package com.minersstudios.mscore.command.impl;
 
+import com.minersstudios.mscore.MSCore;
 import com.minersstudios.mscore.locale.Translations;
 import com.minersstudios.mscore.plugin.MSLogger;
 import com.minersstudios.mscore.plugin.MSPlugin;
@@ -14,6 +15,13 @@ public final class ReloadConfigCommand {
         final long time = System.currentTimeMillis();
 
         MSPlugin.globalConfig().reload();
+
+        final MSCore plugin = MSCore.singleton();
+
+        if (plugin != null) {
+            plugin.setupPacketStatistics();
+        }
+
         MSLogger.fine(
                 sender,
                 Translations.COMMAND_MSCORE_RELOAD_CONFIG_SUCCESS.asTranslatable()
@@ -2,27 +2,51 @@ package com.minersstudios.mscore.inventory;
 
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.Multimap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectLinkedOpenHashMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import net.kyori.adventure.text.Component;
+import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Range;
+import org.jetbrains.annotations.UnmodifiableView;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Builder for paged inventory with elements. Element slots are slots where
  * elements are located. Elements are buttons that change when the page index
  * changes, all elements are located in the element slots.
+ * <br>
+ * The elements are kept in a single list, and the pages are rendered only when
+ * they are requested by {@link #getPage(int)}, for example, when a player
+ * opens the inventory or flips the page. The rendered pages are cached, and
+ * the least recently used ones are evicted when the cache exceeds the
+ * {@link #cachedPagesLimit(int) limit}. The pages, which are viewed by any
+ * player, are not evicted. The pages share the elements and the cache with
+ * the inventory they are rendered from.
+ * <br>
+ * The elements can be inserted and removed without rebuilding the whole
+ * inventory, only the cached pages after the changed element are rendered
+ * again. The page count is calculated from the number of elements, but it can
+ * be grown with empty pages by {@link #addPage()}.
  *
  * @see CustomInventory
  * @see PagedCustomInventory
  */
 public class ElementPagedInventory extends PagedCustomInventoryImpl<ElementPagedInventory> implements PagedCustomInventory {
-    protected final @NotNull ArrayListMultimap<Integer, InventoryButton> elements;
+    protected final @NotNull List<InventoryButton> elements;
     protected final int[] elementSlots;
+    private final PageCache cache;
+    private int minPagesCount;
+
+    /** The default limit of the cached pages */
+    public static final int DEFAULT_CACHED_PAGES_LIMIT = 8;
 
     /**
      * Inventory with elements and pages
@@ -39,11 +63,12 @@ public class ElementPagedInventory extends PagedCustomInventoryImpl<ElementPaged
         super(title, verticalSize);
 
         this.elementSlots = elementSlots;
-        this.elements = ArrayListMultimap.create();
+        this.elements = new ObjectArrayList<>();
+        this.cache = new PageCache();
     }
 
     /**
-     * Used to update the pages of the inventory
+     * Used to update the cached pages of the inventory
      *
      * @return Element paged inventory
      */
@@ -54,43 +79,166 @@ public class ElementPagedInventory extends PagedCustomInventoryImpl<ElementPaged
     }
 
     /**
-     * @return Elements of the inventory
+     * Integer - page index
+     * <br>
+     * List of buttons - elements of the page
+     *
+     * @return Elements of the inventory grouped by pages
      */
     @Contract(" -> new")
     public @NotNull Multimap<Integer, InventoryButton> elements() {
-        return ArrayListMultimap.create(this.elements);
+        final ArrayListMultimap<Integer, InventoryButton> multimap = ArrayListMultimap.create();
+
+        synchronized (this.elements) {
+            for (int i = 0; i < this.elements.size(); ++i) {
+                multimap.put(i / this.elementSlots.length, this.elements.get(i));
+            }
+        }
+
+        return multimap;
     }
 
     /**
      * Set the elements of the inventory
      * <br>
-     * <b>NOTE:</b> This will also update the pages and buttons
+     * <b>NOTE:</b> This will also update the cached pages and the buttons of
+     *           this inventory, and drop the empty pages added by
+     *           {@link #addPage()}
      *
      * @param elements New elements of the inventory
      * @return This inventory
      */
     public @NotNull ElementPagedInventory elements(final @NotNull List<InventoryButton> elements) {
-        final int size = elements.size();
+        synchronized (this.elements) {
+            this.elements.clear();
+            this.elements.addAll(elements);
 
-        this.elements.clear();
-        this.setPagesCount((int) Math.ceil((double) size / this.elementSlots.length));
+            this.minPagesCount = 0;
 
-        for (int page = 0; page < this.pagesCount; ++page) {
-            for (int element = 0; element < this.elementSlots.length; ++element) {
-                final int index = element + (page * this.elementSlots.length);
+            this.invalidateFrom(0);
+            this.buttons(this.getPageContents(this.page));
+        }
 
-                if (index >= size) break;
+        return this;
+    }
 
-                this.elements.put(page, elements.get(index));
-            }
+    /**
+     * @return An unmodifiable view of all elements of the inventory
+     */
+    public @NotNull @UnmodifiableView List<InventoryButton> getElements() {
+        return Collections.unmodifiableList(this.elements);
+    }
+
+    /**
+     * @return The number of elements in the inventory
+     */
+    public int getElementCount() {
+        synchronized (this.elements) {
+            return this.elements.size();
         }
+    }
 
-        this.updatePages();
-        this.buttons(this.getPageContents(this.page));
+    /**
+     * Adds the element to the end of the inventory
+     *
+     * @param element Element to add
+     * @return This inventory
+     */
+    public @NotNull ElementPagedInventory addElement(final @NotNull InventoryButton element) {
+        synchronized (this.elements) {
+            this.elements.add(element);
+            this.invalidateFrom(this.elements.size() - 1);
+        }
+
+        return this;
+    }
+
+    /**
+     * Inserts the element at the specified index and shifts the subsequent
+     * elements
+     *
+     * @param index   Index of the element
+     * @param element Element to insert
+     * @return This inventory
+     * @throws IndexOutOfBoundsException If the index is out of range
+     */
+    public @NotNull ElementPagedInventory addElement(
+            final @Range(from = 0, to = Integer.MAX_VALUE) int index,
+            final @NotNull InventoryButton element
+    ) throws IndexOutOfBoundsException {
+        synchronized (this.elements) {
+            this.elements.add(index, element);
+            this.invalidateFrom(index);
+        }
 
         return this;
     }
 
+    /**
+     * Replaces the element at the specified index
+     *
+     * @param index   Index of the element
+     * @param element New element
+     * @return The replaced element
+     * @throws IndexOutOfBoundsException If the index is out of range
+     */
+    public @NotNull InventoryButton setElement(
+            final @Range(from = 0, to = Integer.MAX_VALUE) int index,
+            final @NotNull InventoryButton element
+    ) throws IndexOutOfBoundsException {
+        synchronized (this.elements) {
+            final InventoryButton previous = this.elements.set(index, element);
+            final int page = index / this.elementSlots.length;
+            final ElementPagedInventory cached = this.cache.pages.get(page);
+
+            if (cached != null) {
+                cached.buttonAt(this.elementSlots[index % this.elementSlots.length], element);
+            }
+
+            return previous;
+        }
+    }
+
+    /**
+     * Removes the element at the specified index and shifts the subsequent
+     * elements
+     *
+     * @param index Index of the element
+     * @return The removed element
+     * @throws IndexOutOfBoundsException If the index is out of range
+     */
+    public @NotNull InventoryButton removeElement(final @Range(from = 0, to = Integer.MAX_VALUE) int index) throws IndexOutOfBoundsException {
+        synchronized (this.elements) {
+            final InventoryButton removed = this.elements.remove(index);
+
+            this.invalidateFrom(index);
+
+            return removed;
+        }
+    }
+
+    /**
+     * Removes the first occurrence of the element and shifts the subsequent
+     * elements
+     *
+     * @param element Element to remove
+     * @return True if the inventory contained the element
+     */
+    public boolean removeElement(final @Nullable InventoryButton element) {
+        synchronized (this.elements) {
+            final int index = this.elements.indexOf(element);
+
+            if (index == -1) {
+                return false;
+            }
+
+            this.elements.remove(index);
+            this.invalidateFrom(index);
+
+            return true;
+        }
+    }
+
     /**
      * Gets copy of the element slots
      *
@@ -103,31 +251,42 @@ public class ElementPagedInventory extends PagedCustomInventoryImpl<ElementPaged
 
     /**
      * @param page Page index
-     * @return Elements of the page
+     * @return Elements of the page, all of them are null if the page index is
+     *         negative or there are no elements on the page
      */
     public @NotNull Int2ObjectMap<InventoryButton> getPageContents(final int page) {
         final var buttons = new Int2ObjectOpenHashMap<InventoryButton>(this.elementSlots.length);
-        final var buttonList = this.elements.get(page);
+        final int first = page * this.elementSlots.length;
 
-        for (int i = 0; i < buttonList.size(); ++i) {
-            buttons.put(this.elementSlots[i], buttonList.get(i));
-        }
+        synchronized (this.elements) {
+            for (int i = 0; i < this.elementSlots.length; ++i) {
+                final int index = first + i;
 
-        for (final int slot : this.elementSlots) {
-            buttons.putIfAbsent(slot, null);
+                buttons.put(
+                        this.elementSlots[i],
+                        page >= 0 && index < this.elements.size()
+                        ? this.elements.get(index)
+                        : null
+                );
+            }
         }
 
         return buttons;
     }
 
     /**
-     * Creates an inventory page with the specified index and content
+     * Creates an inventory page with the specified index and content. The
+     * created page is not cached, use {@link #getPage(int)} to get the cached
+     * page.
      *
      * @param page Page index
-     * @return Page of the inventory
+     * @return Page of the inventory or null if the page index is out of range
      */
     public @Nullable ElementPagedInventory createPage(final @Range(from = 0, to = Integer.MAX_VALUE) int page) {
-        if (page >= this.pagesCount) {
+        if (
+                page < 0
+                || page >= this.getPagesCount()
+        ) {
             return null;
         }
 
@@ -135,28 +294,164 @@ public class ElementPagedInventory extends PagedCustomInventoryImpl<ElementPaged
 
         pagedInventory.setPageIndex(page);
         pagedInventory.buttons(this.getPageContents(page));
+        this.updateStaticButtons(pagedInventory);
 
         return pagedInventory;
     }
 
     /**
-     * Updates the pages of the inventory
+     * Returns the cached page, or renders and caches it if it is not cached
+     * yet. If the cache exceeds its limit, the least recently used pages
+     * without viewers are evicted.
+     *
+     * @param page Page index
+     * @return Page at specified index or null if there is no page
+     */
+    @Override
+    public @Nullable ElementPagedInventory getPage(final @Range(from = 0, to = Integer.MAX_VALUE) int page) {
+        if (page < 0) {
+            return null;
+        }
+
+        synchronized (this.elements) {
+            final ElementPagedInventory cached = this.cache.pages.getAndMoveToLast(page);
+
+            if (cached != null) {
+                return cached;
+            }
+
+            final ElementPagedInventory created = this.createPage(page);
+
+            if (created != null) {
+                this.cache.pages.putAndMoveToLast(page, created);
+                this.cache.evict();
+            }
+
+            return created;
+        }
+    }
+
+    /**
+     * Integer - page index
      * <br>
-     * <b>Warning:</b> This method is expensive and should only be called when
-     *                 necessary
+     * pagedInventory - page
+     *
+     * @return An unmodifiable view of the cached pages
+     */
+    @Override
+    public @NotNull @UnmodifiableView Map<Integer, ElementPagedInventory> getPages() {
+        return Collections.unmodifiableMap(this.cache.pages);
+    }
+
+    /**
+     * @return Pages size, which depends on the number of elements and the
+     *         pages added by {@link #addPage()}
+     */
+    @Override
+    public int getPagesCount() {
+        synchronized (this.elements) {
+            return this.calculatePagesCount();
+        }
+    }
+
+    /**
+     * @return Next page index or -1 if there is no next page
+     */
+    @Override
+    public int getNextPageIndex() {
+        final int next = this.page + 1;
+        return next >= this.getPagesCount() ? -1 : next;
+    }
+
+    /**
+     * Adds an empty page with the next index and static buttons. The elements
+     * added later fill the empty pages first, and the empty pages are dropped
+     * when the elements are {@link #elements(List) replaced}.
+     *
+     * @return New page
+     */
+    @Override
+    public @NotNull ElementPagedInventory addPage() {
+        synchronized (this.elements) {
+            final int page = this.calculatePagesCount();
+            this.minPagesCount = page + 1;
+
+            this.invalidateFrom(page * this.elementSlots.length);
+
+            final ElementPagedInventory pagedInventory = this.getPage(page);
+            assert pagedInventory != null;
+
+            return pagedInventory;
+        }
+    }
+
+    /**
+     * @return The limit of the cached pages
+     */
+    public int cachedPagesLimit() {
+        return this.cache.limit;
+    }
+
+    /**
+     * Sets the limit of the cached pages
+     *
+     * @param limit New limit of the cached pages
+     * @return This inventory
+     * @throws IllegalArgumentException If the limit is less than 1
+     */
+    public @NotNull ElementPagedInventory cachedPagesLimit(final @Range(from = 1, to = Integer.MAX_VALUE) int limit) throws IllegalArgumentException {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Cached pages limit must be positive");
+        }
+
+        synchronized (this.elements) {
+            this.cache.limit = limit;
+
+            this.cache.evict();
+        }
+
+        return this;
+    }
+
+    /**
+     * Renders the cached pages again
      */
     public void updatePages() {
-        this.pages.clear();
+        this.invalidateFrom(0);
+    }
 
-        for (int page = 0; page < this.pagesCount; ++page) {
-            this.pages.put(page, this.createPage(page));
+    /**
+     * Updates static buttons in all cached pages
+     */
+    @Override
+    public void updateStaticButtons() {
+        synchronized (this.elements) {
+            for (final var pagedInventory : this.cache.pages.values()) {
+                this.updateStaticButtons(pagedInventory);
+            }
         }
+    }
+
+    /**
+     * Updates static buttons in specified page, if it is cached
+     *
+     * @param page Page to update static buttons in
+     */
+    @Override
+    public void updateStaticButtons(final @Range(from = 0, to = Integer.MAX_VALUE) int page) {
+        synchronized (this.elements) {
+            final ElementPagedInventory pagedInventory = this.cache.pages.get(page);
 
-        this.updateStaticButtons();
+            if (pagedInventory != null) {
+                this.updateStaticButtons(pagedInventory);
+            }
+        }
     }
 
     /**
-     * Sets the page count of the inventory
+     * Sets the page count of the inventory. The page count of the element
+     * paged inventory is calculated from the number of elements, so this
+     * value is only kept for compatibility.
      *
      * @param pagesCount New page count
      */
@@ -164,4 +459,91 @@ public class ElementPagedInventory extends PagedCustomInventoryImpl<ElementPaged
     protected void setPagesCount(final @Range(from = 0, to = Integer.MAX_VALUE) int pagesCount) {
         this.pagesCount = pagesCount;
     }
+
+    private void updateStaticButtons(final @NotNull ElementPagedInventory pagedInventory) {
+        for (final var entry : this.staticButtons.int2ObjectEntrySet()) {
+            final StaticInventoryButton button = entry.getValue();
+
+            pagedInventory.setItem(
+                    entry.getIntKey(),
+                    button == null
+                    ? ItemStack.empty()
+                    : button.getButton(pagedInventory).item()
+            );
+        }
+    }
+
+    /**
+     * Renders the cached pages starting from the page of the specified element
+     * again, removes the cached pages, which are out of range, and updates the
+     * static buttons of the other cached pages if the page count has changed
+     */
+    private void invalidateFrom(final int index) {
+        synchronized (this.elements) {
+            final int pagesCount = this.calculatePagesCount();
+            final int firstPage = index / this.elementSlots.length;
+            final boolean countChanged = pagesCount != this.pagesCount;
+            final var iterator = this.cache.pages.int2ObjectEntrySet().iterator();
+
+            this.setPagesCount(pagesCount);
+
+            while (iterator.hasNext()) {
+                final var entry = iterator.next();
+                final int page = entry.getIntKey();
+                final ElementPagedInventory pagedInventory = entry.getValue();
+
+                if (page >= pagesCount) {
+                    iterator.remove();
+                    continue;
+                }
+
+                pagedInventory.setPagesCount(pagesCount);
+
+                if (page >= firstPage) {
+                    pagedInventory.buttons(this.getPageContents(page));
+                    this.updateStaticButtons(pagedInventory);
+                } else if (countChanged) {
+                    this.updateStaticButtons(pagedInventory);
+                }
+            }
+        }
+    }
+
+    private int calculatePagesCount() {
+        return Math.max(
+                pagesCount(this.elements.size(), this.elementSlots.length),
+                this.minPagesCount
+        );
+    }
+
+    private static int pagesCount(
+            final int elementCount,
+            final int pageSize
+    ) {
+        return pageSize == 0
+                ? 0
+                : (elementCount + pageSize - 1) / pageSize;
+    }
+
+    private static final class PageCache {
+        final Int2ObjectLinkedOpenHashMap<ElementPagedInventory> pages = new Int2ObjectLinkedOpenHashMap<>();
+        int limit = DEFAULT_CACHED_PAGES_LIMIT;
+
+        void evict() {
+            if (this.pages.size() <= this.limit) {
+                return;
+            }
+
+            final var iterator = this.pages.values().iterator();
+
+            while (
+                    this.pages.size() > this.limit
+                    && iterator.hasNext()
+            ) {
+                if (iterator.next().getViewers().isEmpty()) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
 }
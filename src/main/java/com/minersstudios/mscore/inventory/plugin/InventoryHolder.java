@@ -1,5 +1,7 @@
 package com.minersstudios.mscore.inventory.plugin;
 
+import com.minersstudios.mscore.annotation.Indexed;
+
 import java.lang.annotation.*;
 
 /**
@@ -9,6 +11,7 @@ import java.lang.annotation.*;
  * @see AbstractInventoryHolder
  */
 @Documented
+@Indexed
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.TYPE)
 public @interface InventoryHolder {}
@@ -1,5 +1,7 @@
 package com.minersstudios.mscore.listener.api.event;
 
+import com.minersstudios.mscore.annotation.Indexed;
+
 import java.lang.annotation.*;
 
 /**
@@ -9,6 +11,7 @@ import java.lang.annotation.*;
  * @see AbstractEventListener
  */
 @Documented
+@Indexed
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.TYPE)
 public @interface EventListener {}
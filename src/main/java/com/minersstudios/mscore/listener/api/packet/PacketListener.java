@@ -1,5 +1,6 @@
 package com.minersstudios.mscore.listener.api.packet;
 
+import com.minersstudios.mscore.annotation.Indexed;
 import com.minersstudios.mscore.listener.api.event.AbstractEventListener;
 
 import java.lang.annotation.*;
@@ -12,6 +13,7 @@ import java.lang.annotation.*;
  * @see AbstractEventListener
  */
 @Documented
+@Indexed
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.TYPE)
 public @interface PacketListener {}
@@ -101,6 +101,8 @@ public final class Translations {
     public static final Translation COMMAND_MSESSENTIALS_UPDATE_IDS_SUCCESS =              register("ms.command.msessentials.update_ids.success",              "The ID list has been successfully reloaded in {0} ms");
     public static final Translation COMMAND_MSESSENTIALS_UPDATE_MUTES_SUCCESS =            register("ms.command.msessentials.update_mutes.success",            "The mute list has been successfully reloaded in {0} ms");
     public static final Translation COMMAND_MSCORE_RELOAD_CONFIG_SUCCESS =                 register("ms.command.mscore.reload_config.success",                 "The configuration has been successfully reloaded in {0} ms");
+    public static final Translation COMMAND_MSCORE_PACKETS_DISABLED =                      register("ms.command.mscore.packets.disabled",                      "Packet statistics are disabled");
+    public static final Translation COMMAND_MSCORE_PACKETS_RESET =                         register("ms.command.mscore.packets.reset",                         "Packet statistics have been reset");
     public static final Translation COMMAND_PLAYER_UPDATE_SUCCESS =                        register("ms.command.player.update.success",                        "Data for player : \"{0}\" ({1}) has been successfully updated");
     public static final Translation COMMAND_PLAYER_FIRST_JOIN =                            register("ms.command.player.first_join",                            "Player : \"{0}\" ({1}) has joined the server for the first time");
     public static final Translation COMMAND_PLAYER_NAME_ABOUT =                            register("ms.command.player.name.about",                            "Player's name information :\n    - Full name : \"{0}\"\n    - Nickname : \"{1}\"\n    - UUID : \"{2}\"");
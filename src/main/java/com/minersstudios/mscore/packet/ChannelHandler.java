@@ -27,6 +27,8 @@ import javax.annotation.concurrent.Immutable;
 public final class ChannelHandler extends ChannelDuplexHandler {
     private final MSPlugin<? extends MSPlugin<?>> plugin;
     private final Connection connection;
+    private final PacketListenersMap listenersMap;
+    private final PacketStatistics statistics;
 
     public static final String CHANNEL_HANDLER_NAME = "ms_channel_handler";
     public static final String PACKET_HANDLER_NAME = "packet_handler";
@@ -43,6 +45,8 @@ public final class ChannelHandler extends ChannelDuplexHandler {
     ) {
         this.plugin = plugin;
         this.connection = connection;
+        this.listenersMap = MSPlugin.globalCache().packetListenerMap;
+        this.statistics = MSPlugin.globalCache().packetStatistics;
     }
 
     /**
@@ -64,6 +68,11 @@ public final class ChannelHandler extends ChannelDuplexHandler {
      * processes the packet, creates a {@link PacketContainer}, and fires a
      * {@link PacketEvent}. If the event is not cancelled, the packet is passed
      * to the next channel handler in the pipeline.
+     * <br>
+     * If no listener is registered for the packet type, the packet is passed
+     * to the next channel handler straight away, without allocating the
+     * container and the event. If the {@link PacketStatistics} are enabled,
+     * the packet and the time spent in the listeners are recorded.
      *
      * @param ctx The ChannelHandlerContext
      * @param msg The received packet
@@ -91,10 +100,28 @@ public final class ChannelHandler extends ChannelDuplexHandler {
             return;
         }
 
+        final boolean recording = this.statistics.isEnabled();
+
+        if (!this.listenersMap.hasReceiveListeners(packetType)) {
+            if (recording) {
+                this.statistics.record(packetType);
+            }
+
+            super.channelRead(ctx, packet);
+            return;
+        }
+
         final PacketContainer packetContainer = new PacketContainer(packet, packetType);
         final PacketEvent event = new PacketEvent(packetContainer, this.connection);
 
-        this.plugin.callPacketReceiveEvent(event);
+        if (recording) {
+            final long start = System.nanoTime();
+
+            this.plugin.callPacketReceiveEvent(event);
+            this.statistics.record(packetType, System.nanoTime() - start, event.isCancelled());
+        } else {
+            this.plugin.callPacketReceiveEvent(event);
+        }
 
         if (!event.isCancelled()) {
             super.channelRead(ctx, event.getPacketContainer().getPacket());
@@ -106,6 +133,11 @@ public final class ChannelHandler extends ChannelDuplexHandler {
      * It processes the packet, creates a {@link PacketContainer}, and fires a
      * {@link PacketEvent}. If the event is not cancelled, the packet is passed
      * to the next channel handler in the pipeline.
+     * <br>
+     * If no listener is registered for the packet type, the packet is passed
+     * to the next channel handler straight away, without allocating the
+     * container and the event. If the {@link PacketStatistics} are enabled,
+     * the packet and the time spent in the listeners are recorded.
      *
      * @param ctx     The ChannelHandlerContext
      * @param msg     The packet to be sent
@@ -135,10 +167,28 @@ public final class ChannelHandler extends ChannelDuplexHandler {
             return;
         }
 
+        final boolean recording = this.statistics.isEnabled();
+
+        if (!this.listenersMap.hasSendListeners(packetType)) {
+            if (recording) {
+                this.statistics.record(packetType);
+            }
+
+            super.write(ctx, packet, promise);
+            return;
+        }
+
         final PacketContainer packetContainer = new PacketContainer(packet, packetType);
-        final PacketEvent event = new PacketEvent(packetContainer, connection);
+        final PacketEvent event = new PacketEvent(packetContainer, this.connection);
+
+        if (recording) {
+            final long start = System.nanoTime();
 
-        this.plugin.callPacketSendEvent(event);
+            this.plugin.callPacketSendEvent(event);
+            this.statistics.record(packetType, System.nanoTime() - start, event.isCancelled());
+        } else {
+            this.plugin.callPacketSendEvent(event);
+        }
 
         if (!event.isCancelled()) {
             super.write(ctx, event.getPacketContainer().getPacket(), promise);
@@ -6,9 +6,11 @@ import com.google.common.collect.Multimaps;
 import com.minersstudios.mscore.listener.api.packet.AbstractPacketListener;
 import com.minersstudios.mscore.plugin.MSPlugin;
 import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.UnmodifiableView;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Set;
@@ -17,10 +19,81 @@ import java.util.Set;
  * A utility class representing a mapping of packet types to packet listeners in
  * the MSPlugins. This class provides methods to manage and access packet
  * listeners based on their associated packet types.
+ * <br>
+ * In addition to the multimaps, the class keeps two frozen dispatch tables
+ * indexed by {@link PacketType#ordinal()}. The tables are rebuilt on every
+ * modification and published through a volatile write, so the netty event
+ * loop can resolve the listeners of a packet type with a single array read and
+ * without any locking.
+ *
+ * @see #getReceiveListeners(PacketType)
+ * @see #getSendListeners(PacketType)
  */
 public final class PacketListenersMap {
     private final Multimap<PacketType, AbstractPacketListener<? extends MSPlugin<?>>> receiveWhiteList = HashMultimap.create();
     private final Multimap<PacketType, AbstractPacketListener<? extends MSPlugin<?>>> sendWhiteList = HashMultimap.create();
+    private volatile AbstractPacketListener<? extends MSPlugin<?>>[][] receiveTable = newTable(0);
+    private volatile AbstractPacketListener<? extends MSPlugin<?>>[][] sendTable = newTable(0);
+
+    @SuppressWarnings("unchecked")
+    private static final AbstractPacketListener<? extends MSPlugin<?>>[] EMPTY_LISTENERS =
+            (AbstractPacketListener<? extends MSPlugin<?>>[]) new AbstractPacketListener<?>[0];
+
+    /**
+     * Gets the frozen array of receive-packet listeners associated with the
+     * specified packet type.
+     * <br>
+     * The returned array is shared and must not be modified. It is replaced,
+     * not mutated, when the listeners change, so it is safe to iterate from
+     * any thread.
+     *
+     * @param packetType The receive-packet type for which to retrieve the
+     *                   associated packet listeners
+     * @return The frozen array of packet listeners associated with the given
+     *         packet type, or an empty array if there are none
+     * @see #hasReceiveListeners(PacketType)
+     */
+    @ApiStatus.Internal
+    public AbstractPacketListener<? extends MSPlugin<?>> @NotNull [] getReceiveListeners(final @NotNull PacketType packetType) {
+        return lookup(this.receiveTable, packetType);
+    }
+
+    /**
+     * Gets the frozen array of send-packet listeners associated with the
+     * specified packet type.
+     * <br>
+     * The returned array is shared and must not be modified. It is replaced,
+     * not mutated, when the listeners change, so it is safe to iterate from
+     * any thread.
+     *
+     * @param packetType The send-packet type for which to retrieve the
+     *                   associated packet listeners
+     * @return The frozen array of packet listeners associated with the given
+     *         packet type, or an empty array if there are none
+     * @see #hasSendListeners(PacketType)
+     */
+    @ApiStatus.Internal
+    public AbstractPacketListener<? extends MSPlugin<?>> @NotNull [] getSendListeners(final @NotNull PacketType packetType) {
+        return lookup(this.sendTable, packetType);
+    }
+
+    /**
+     * @param packetType The receive-packet type to check for
+     * @return True if there is at least one listener for the given
+     *         receive-packet type
+     */
+    public boolean hasReceiveListeners(final @NotNull PacketType packetType) {
+        return lookup(this.receiveTable, packetType).length != 0;
+    }
+
+    /**
+     * @param packetType The send-packet type to check for
+     * @return True if there is at least one listener for the given send-packet
+     *         type
+     */
+    public boolean hasSendListeners(final @NotNull PacketType packetType) {
+        return lookup(this.sendTable, packetType).length != 0;
+    }
 
     /**
      * Gets an unmodifiable view of the receive-packet type to packet listener
@@ -147,7 +220,7 @@ public final class PacketListenersMap {
      * @see AbstractPacketListener#getReceiveWhiteList()
      * @see AbstractPacketListener#getSendWhiteList()
      */
-    public void addListener(final @NotNull AbstractPacketListener<? extends MSPlugin<?>> listener) {
+    public synchronized void addListener(final @NotNull AbstractPacketListener<? extends MSPlugin<?>> listener) {
         final var receiveWhiteList = listener.getReceiveWhiteList();
         final var sendWhiteList = listener.getSendWhiteList();
 
@@ -162,6 +235,7 @@ public final class PacketListenersMap {
                 this.sendWhiteList.put(packetType, listener);
             }
         }
+        this.rebuildTables();
     }
 
     /**
@@ -172,7 +246,7 @@ public final class PacketListenersMap {
      * @see AbstractPacketListener#getReceiveWhiteList()
      * @see AbstractPacketListener#getSendWhiteList()
      */
-    public void removeListener(final @NotNull AbstractPacketListener<? extends MSPlugin<?>> listener) {
+    public synchronized void removeListener(final @NotNull AbstractPacketListener<? extends MSPlugin<?>> listener) {
         final var receiveWhiteList = listener.getReceiveWhiteList();
         final var sendWhiteList = listener.getSendWhiteList();
 
@@ -187,6 +261,7 @@ public final class PacketListenersMap {
                 this.sendWhiteList.remove(packetType, listener);
             }
         }
+        this.rebuildTables();
     }
 
     /**
@@ -196,12 +271,14 @@ public final class PacketListenersMap {
      *                   packet listeners
      * @see PacketType
      */
-    public void removePacketType(final @NotNull PacketType packetType) {
+    public synchronized void removePacketType(final @NotNull PacketType packetType) {
         if (packetType.isReceive()) {
             this.receiveWhiteList.removeAll(packetType);
         } else {
             this.sendWhiteList.removeAll(packetType);
         }
+
+        this.rebuildTables();
     }
 
     /**
@@ -240,9 +317,10 @@ public final class PacketListenersMap {
     /**
      * Clears the map by removing all packet listeners.
      */
-    public void clear() {
+    public synchronized void clear() {
         this.receiveWhiteList.clear();
         this.sendWhiteList.clear();
+        this.rebuildTables();
     }
 
     /**
@@ -270,4 +348,45 @@ public final class PacketListenersMap {
     public int listenerCount() {
         return this.sendWhiteList.values().size() + this.receiveWhiteList.values().size();
     }
+
+    /**
+     * Rebuilds both dispatch tables from the current multimaps and publishes
+     * them. Must be called while holding the monitor of this map.
+     */
+    private void rebuildTables() {
+        this.receiveTable = buildTable(this.receiveWhiteList);
+        this.sendTable = buildTable(this.sendWhiteList);
+    }
+
+    private static AbstractPacketListener<? extends MSPlugin<?>> @NotNull [][] buildTable(final @NotNull Multimap<PacketType, AbstractPacketListener<? extends MSPlugin<?>>> multimap) {
+        if (multimap.isEmpty()) {
+            return newTable(0);
+        }
+
+        final var result = newTable(PacketType.count());
+
+        Arrays.fill(result, EMPTY_LISTENERS);
+
+        for (final var entry : multimap.asMap().entrySet()) {
+            result[entry.getKey().ordinal()] = entry.getValue().toArray(EMPTY_LISTENERS);
+        }
+
+        return result;
+    }
+
+    private static AbstractPacketListener<? extends MSPlugin<?>> @NotNull [] lookup(
+            final AbstractPacketListener<? extends MSPlugin<?>> @NotNull [][] table,
+            final @NotNull PacketType packetType
+    ) {
+        final int ordinal = packetType.ordinal();
+
+        return ordinal < table.length
+                ? table[ordinal]
+                : EMPTY_LISTENERS;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static AbstractPacketListener<? extends MSPlugin<?>> @NotNull [][] newTable(final int length) {
+        return (AbstractPacketListener<? extends MSPlugin<?>>[][]) new AbstractPacketListener<?>[length][];
+    }
 }
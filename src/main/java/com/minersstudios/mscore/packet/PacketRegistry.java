@@ -27,6 +27,15 @@ import java.util.concurrent.ConcurrentHashMap;
 public final class PacketRegistry {
     private static final Map<Class<?>, PacketType> CLASS_TO_TYPE = new ConcurrentHashMap<>();
     private static final Map<PacketType, Class<?>> TYPE_TO_CLASS = new ConcurrentHashMap<>();
+    private static final ClassValue<PacketType> TYPE_CACHE = new ClassValue<>() {
+
+        @Override
+        protected @Nullable PacketType computeValue(final @NotNull Class<?> type) {
+            return type == ClientboundBundlePacket.class
+                    ? PacketType.Play.Client.BUNDLE_DELIMITER
+                    : CLASS_TO_TYPE.get(type);
+        }
+    };
 
     static {
         final ConnectionProtocol[] protocols = ConnectionProtocol.values();
@@ -154,7 +163,11 @@ public final class PacketRegistry {
     }
 
     /**
-     * Get the {@link PacketType} associated with the given packet class
+     * Get the {@link PacketType} associated with the given packet class.
+     * <br>
+     * The result is resolved once per class and cached in a {@link ClassValue},
+     * so repeated lookups from the netty event loop do not touch the registry
+     * maps.
      *
      * @param packet The packet class for which to retrieve the corresponding
      *               {@link PacketType}
@@ -162,9 +175,7 @@ public final class PacketRegistry {
      *         null if the packet class is not registered
      */
     public static @Nullable PacketType getTypeFromClass(final @NotNull Class<?> packet) {
-        return packet == ClientboundBundlePacket.class
-                ? PacketType.Play.Client.BUNDLE_DELIMITER
-                : CLASS_TO_TYPE.get(packet);
+        return TYPE_CACHE.get(packet);
     }
 
     /**
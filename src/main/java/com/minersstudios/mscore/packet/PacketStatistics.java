@@ -0,0 +1,369 @@
+package com.minersstudios.mscore.packet;
+
+import com.minersstudios.mscore.listener.api.packet.AbstractPacketListener;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects statistics of the packet pipeline. For every {@link PacketType}
+ * (which also determines the direction of the packet) it records the number of
+ * packets, the number of packets dispatched to listeners, the number of
+ * cancelled packets and a histogram of the wall time spent in the listeners.
+ * Additionally, the total time spent in each {@link AbstractPacketListener}
+ * class is recorded.
+ * <br>
+ * All counters are lock-free and do not box. Counters are {@link LongAdder}s,
+ * which are striped under contention, and histograms use an HDR-style
+ * log-linear bucket layout backed by an {@link AtomicLongArray}. When the
+ * statistics are disabled, the only cost on the netty event loop is a single
+ * volatile read in {@link #isEnabled()}.
+ *
+ * @see ChannelHandler
+ */
+public final class PacketStatistics {
+    private volatile boolean enabled;
+    private volatile Entry[] entries;
+    private volatile long startTime;
+    private final Map<Class<?>, ListenerEntry> listenerEntries;
+
+    /** Number of linear sub-buckets per power of two, as bits */
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_MASK = SUB_BUCKET_COUNT - 1;
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+    private static final Entry[] EMPTY_ENTRIES = new Entry[0];
+
+    /**
+     * Constructs a new disabled packet statistics instance
+     */
+    public PacketStatistics() {
+        this.entries = EMPTY_ENTRIES;
+        this.listenerEntries = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * @return True if the statistics are being recorded
+     */
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * Enables or disables the recording of the statistics. Enabling the
+     * statistics when they are disabled also resets them.
+     *
+     * @param enabled True to enable the statistics
+     */
+    public synchronized void setEnabled(final boolean enabled) {
+        if (enabled && !this.enabled) {
+            this.reset();
+        }
+
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return The time in milliseconds when the statistics were last reset
+     */
+    public long getStartTime() {
+        return this.startTime;
+    }
+
+    /**
+     * Resets all recorded statistics
+     */
+    public synchronized void reset() {
+        final Entry[] newEntries = new Entry[PacketType.count()];
+
+        for (int i = 0; i < newEntries.length; ++i) {
+            newEntries[i] = new Entry();
+        }
+
+        this.listenerEntries.clear();
+
+        this.entries = newEntries;
+        this.startTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Records a packet that has not been dispatched to any listener
+     *
+     * @param packetType The packet type of the packet
+     */
+    public void record(final @NotNull PacketType packetType) {
+        final Entry entry = this.getEntry(packetType);
+
+        if (entry != null) {
+            entry.packets.increment();
+        }
+    }
+
+    /**
+     * Records a packet that has been dispatched to the listeners
+     *
+     * @param packetType The packet type of the packet
+     * @param nanos      The wall time spent in the listeners in nanoseconds
+     * @param cancelled  True if the packet has been cancelled by a listener
+     */
+    public void record(
+            final @NotNull PacketType packetType,
+            final long nanos,
+            final boolean cancelled
+    ) {
+        final Entry entry = this.getEntry(packetType);
+
+        if (entry == null) {
+            return;
+        }
+
+        entry.packets.increment();
+        entry.dispatched.increment();
+        entry.totalNanos.add(nanos);
+        entry.maxNanos.accumulate(nanos);
+        entry.histogram.incrementAndGet(bucketIndex(nanos));
+
+        if (cancelled) {
+            entry.cancelled.increment();
+        }
+    }
+
+    /**
+     * Records the wall time spent in the given listener
+     *
+     * @param listener The listener
+     * @param nanos    The wall time spent in the listener in nanoseconds
+     */
+    public void recordListener(
+            final @NotNull AbstractPacketListener<?> listener,
+            final long nanos
+    ) {
+        final Class<?> clazz = listener.getClass();
+        ListenerEntry entry = this.listenerEntries.get(clazz);
+
+        if (entry == null) {
+            entry = this.listenerEntries.computeIfAbsent(clazz, ignored -> new ListenerEntry());
+        }
+
+        entry.calls.increment();
+        entry.totalNanos.add(nanos);
+    }
+
+    /**
+     * Creates a human-readable report of the recorded statistics. Packet types
+     * are sorted by the total time spent in the listeners, then by the number
+     * of packets.
+     *
+     * @param limit The maximum number of packet types and listeners to include
+     * @return The lines of the report
+     */
+    public @NotNull List<String> report(final int limit) {
+        final Entry[] entries = this.entries;
+        final long elapsed = Math.max(1L, System.currentTimeMillis() - this.startTime);
+        final var snapshots = new ObjectArrayList<Snapshot>();
+        final var lines = new ObjectArrayList<String>();
+
+        for (final var packetType : PacketRegistry.getTypeToClass().keySet()) {
+            final int ordinal = packetType.ordinal();
+
+            if (ordinal < entries.length) {
+                final Snapshot snapshot = entries[ordinal].snapshot(packetType);
+
+                if (snapshot.packets != 0L) {
+                    snapshots.add(snapshot);
+                }
+            }
+        }
+
+        snapshots.sort(
+                Comparator.comparingLong(Snapshot::totalNanos)
+                .thenComparingLong(Snapshot::packets)
+                .reversed()
+        );
+
+        lines.add("Packet statistics for the last " + elapsed / 1000L + "s (since " + Instant.ofEpochMilli(this.startTime) + ')');
+        lines.add("flow | name | packets | packets/s | dispatched | cancelled | total ms | p50 us | p99 us | max us");
+
+        for (int i = 0; i < snapshots.size() && i < limit; ++i) {
+            final Snapshot snapshot = snapshots.get(i);
+
+            lines.add(
+                    snapshot.packetType.getFlow() + " | " +
+                    snapshot.packetType.getName() + " | " +
+                    snapshot.packets + " | " +
+                    snapshot.packets * 1000L / elapsed + " | " +
+                    snapshot.dispatched + " | " +
+                    snapshot.cancelled + " | " +
+                    snapshot.totalNanos / 1_000_000L + " | " +
+                    snapshot.p50Nanos / 1000L + " | " +
+                    snapshot.p99Nanos / 1000L + " | " +
+                    snapshot.maxNanos / 1000L
+            );
+        }
+
+        final var listeners = new ObjectArrayList<>(this.listenerEntries.entrySet());
+
+        listeners.sort(
+                Comparator.<Map.Entry<Class<?>, ListenerEntry>>comparingLong(
+                        entry -> entry.getValue().totalNanos.sum()
+                ).reversed()
+        );
+
+        lines.add("listener | calls | total ms | avg us");
+
+        for (int i = 0; i < listeners.size() && i < limit; ++i) {
+            final var entry = listeners.get(i);
+            final long calls = entry.getValue().calls.sum();
+            final long totalNanos = entry.getValue().totalNanos.sum();
+
+            lines.add(
+                    entry.getKey().getName() + " | " +
+                    calls + " | " +
+                    totalNanos / 1_000_000L + " | " +
+                    (calls == 0L ? 0L : totalNanos / calls / 1000L)
+            );
+        }
+
+        return lines;
+    }
+
+    /**
+     * Writes the full report to the given file. The report is written to a
+     * temporary file first and then moved over the target file.
+     *
+     * @param path The path of the file to write the report to
+     * @throws IOException If an I/O error occurs
+     * @see #report(int)
+     */
+    public void dump(final @NotNull Path path) throws IOException {
+        final Path parent = path.toAbsolutePath().getParent();
+        final Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        Files.write(temp, this.report(Integer.MAX_VALUE), StandardCharsets.UTF_8);
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private @Nullable Entry getEntry(final @NotNull PacketType packetType) {
+        final Entry[] entries = this.entries;
+        final int ordinal = packetType.ordinal();
+
+        return ordinal < entries.length
+                ? entries[ordinal]
+                : null;
+    }
+
+    /**
+     * Returns the index of the histogram bucket for the given value. Values
+     * below {@link #SUB_BUCKET_COUNT} have their own bucket, every other power
+     * of two is split into {@link #SUB_BUCKET_COUNT} linear sub-buckets.
+     *
+     * @param value The value
+     * @return The index of the histogram bucket for the given value
+     */
+    private static int bucketIndex(final long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return value < 0L ? 0 : (int) value;
+        }
+
+        final int msb = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        final int sub = (int) (value >>> (msb - SUB_BUCKET_BITS)) & SUB_BUCKET_MASK;
+
+        return (msb - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + sub;
+    }
+
+    /**
+     * @param index The index of the histogram bucket
+     * @return The highest value that falls into the bucket with the given index
+     */
+    private static long bucketUpperBound(final int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+
+        final int msb = index / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+        final long sub = index & SUB_BUCKET_MASK;
+        final long lowerBound = (SUB_BUCKET_COUNT + sub) << (msb - SUB_BUCKET_BITS);
+
+        return lowerBound + (1L << (msb - SUB_BUCKET_BITS)) - 1L;
+    }
+
+    private static final class Entry {
+        final LongAdder packets = new LongAdder();
+        final LongAdder dispatched = new LongAdder();
+        final LongAdder cancelled = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+        final AtomicLongArray histogram = new AtomicLongArray(BUCKET_COUNT);
+
+        @NotNull Snapshot snapshot(final @NotNull PacketType packetType) {
+            final long dispatched = this.dispatched.sum();
+
+            return new Snapshot(
+                    packetType,
+                    this.packets.sum(),
+                    dispatched,
+                    this.cancelled.sum(),
+                    this.totalNanos.sum(),
+                    this.percentile(dispatched, 0.5d),
+                    this.percentile(dispatched, 0.99d),
+                    this.maxNanos.get()
+            );
+        }
+
+        long percentile(
+                final long total,
+                final double percentile
+        ) {
+            if (total == 0L) {
+                return 0L;
+            }
+
+            final long target = Math.max(1L, (long) Math.ceil(total * percentile));
+            long count = 0L;
+
+            for (int i = 0; i < BUCKET_COUNT; ++i) {
+                count += this.histogram.get(i);
+
+                if (count >= target) {
+                    return bucketUpperBound(i);
+                }
+            }
+
+            return this.maxNanos.get();
+        }
+    }
+
+    private static final class ListenerEntry {
+        final LongAdder calls = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+    }
+
+    private record Snapshot(
+            @NotNull PacketType packetType,
+            long packets,
+            long dispatched,
+            long cancelled,
+            long totalNanos,
+            long p50Nanos,
+            long p99Nanos,
+            long maxNanos
+    ) {}
+}
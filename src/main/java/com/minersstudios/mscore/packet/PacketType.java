@@ -14,6 +14,7 @@ import javax.annotation.concurrent.Immutable;
 import java.util.Collections;
 import java.util.EnumMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static net.minecraft.network.protocol.PacketFlow.CLIENTBOUND;
 import static net.minecraft.network.protocol.PacketFlow.SERVERBOUND;
@@ -35,6 +36,9 @@ public final class PacketType {
     private final PacketFlow flow;
     private final int id;
     private final String name;
+    private final int ordinal;
+
+    private static final AtomicInteger ORDINAL_COUNTER = new AtomicInteger();
 
     /**
      * PacketType constructor
@@ -51,6 +55,7 @@ public final class PacketType {
         this.flow = flow;
         this.id = id;
         this.name = name;
+        this.ordinal = ORDINAL_COUNTER.getAndIncrement();
     }
 
     /**
@@ -63,6 +68,16 @@ public final class PacketType {
         return PacketRegistry.getTypeFromClass(clazz);
     }
 
+    /**
+     * Returns the number of packet types created so far. Every packet type has
+     * a unique {@link #ordinal()} in the range {@code [0, count())}.
+     *
+     * @return The number of packet types created so far
+     */
+    public static int count() {
+        return ORDINAL_COUNTER.get();
+    }
+
     /**
      * @return The flow of the packet (CLIENTBOUND or SERVERBOUND)
      */
@@ -77,6 +92,19 @@ public final class PacketType {
         return this.id;
     }
 
+    /**
+     * Returns the unique ordinal of this packet type. Unlike {@link #getId()},
+     * which is only unique within a single protocol and flow, the ordinal is
+     * unique across all packet types and can be used as an index into dense
+     * arrays.
+     *
+     * @return The unique ordinal of this packet type
+     * @see #count()
+     */
+    public int ordinal() {
+        return this.ordinal;
+    }
+
     /**
      * @return The name of the packet
      */
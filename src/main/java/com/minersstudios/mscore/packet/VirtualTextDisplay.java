@@ -0,0 +1,242 @@
+package com.minersstudios.mscore.packet;
+
+import io.netty.buffer.Unpooled;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.protocol.Packet;
+import net.minecraft.network.protocol.game.ClientGamePacketListener;
+import net.minecraft.network.protocol.game.ClientboundAddEntityPacket;
+import net.minecraft.network.protocol.game.ClientboundBundlePacket;
+import net.minecraft.network.protocol.game.ClientboundRemoveEntitiesPacket;
+import net.minecraft.network.protocol.game.ClientboundSetEntityDataPacket;
+import net.minecraft.network.protocol.game.ClientboundSetPassengersPacket;
+import net.minecraft.network.syncher.SynchedEntityData;
+import net.minecraft.world.entity.Display;
+import net.minecraft.world.entity.EntityType;
+import org.bukkit.Location;
+import org.bukkit.craftbukkit.v1_20_R3.CraftWorld;
+import org.bukkit.craftbukkit.v1_20_R3.entity.CraftEntity;
+import org.bukkit.craftbukkit.v1_20_R3.entity.CraftPlayer;
+import org.bukkit.craftbukkit.v1_20_R3.entity.CraftTextDisplay;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.TextDisplay;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Represents a text display, which exists only on the clients of its viewers.
+ * <br>
+ * The text display is never added to the world, so it is not ticked, tracked
+ * or saved by the server. It is shown to each viewer with the spawn, metadata
+ * and passengers packets sent in one bundle, and hidden with the destroy
+ * packet. The properties of the text display should be set with the
+ * {@link #getBukkitView() Bukkit view} before it is shown.
+ * <br>
+ * This class is not thread-safe and must be used on the main thread.
+ */
+public final class VirtualTextDisplay {
+    private final Display.TextDisplay handle;
+    private final CraftTextDisplay bukkitView;
+    private final Set<Player> viewers;
+    private net.minecraft.world.entity.Entity vehicle;
+
+    /**
+     * Constructs a new virtual text display at the given location
+     *
+     * @param location The location of the text display
+     * @throws IllegalArgumentException If the location has no world
+     */
+    public VirtualTextDisplay(final @NotNull Location location) throws IllegalArgumentException {
+        if (location.getWorld() == null) {
+            throw new IllegalArgumentException("Location has no world");
+        }
+
+        final CraftWorld world = (CraftWorld) location.getWorld();
+
+        this.handle = new Display.TextDisplay(EntityType.TEXT_DISPLAY, world.getHandle());
+        this.bukkitView = new CraftTextDisplay(world.getHandle().getCraftServer(), this.handle);
+        this.viewers = new ObjectOpenHashSet<>();
+
+        this.handle.setPos(location.getX(), location.getY(), location.getZ());
+    }
+
+    /**
+     * @return The entity id of the text display
+     */
+    public int getEntityId() {
+        return this.handle.getId();
+    }
+
+    /**
+     * @return The Bukkit view of the text display, which can be used to set
+     *         its properties, the entity itself is not valid and cannot be
+     *         added to the world
+     */
+    public @NotNull TextDisplay getBukkitView() {
+        return this.bukkitView;
+    }
+
+    /**
+     * @return An unmodifiable view of the players, who are currently shown
+     *         the text display
+     */
+    public @NotNull @UnmodifiableView Set<Player> getViewers() {
+        return Collections.unmodifiableSet(this.viewers);
+    }
+
+    /**
+     * Sets the entity, which the text display rides for the new viewers.
+     * Doesn't affect the current viewers until they are synced.
+     *
+     * @param vehicle The vehicle, or null if the text display should not ride
+     *                any entity
+     */
+    public void setVehicle(final @Nullable Entity vehicle) {
+        this.vehicle =
+                vehicle == null
+                ? null
+                : ((CraftEntity) vehicle).getHandle();
+    }
+
+    /**
+     * Shows the text display to the player, if it is not shown yet
+     *
+     * @param player The player
+     * @return True if the text display was not shown to the player before
+     */
+    public boolean show(final @NotNull Player player) {
+        if (!this.viewers.add(player)) {
+            return false;
+        }
+
+        final List<Packet<ClientGamePacketListener>> packets = new ObjectArrayList<>(3);
+        final List<SynchedEntityData.DataValue<?>> data = this.handle.getEntityData().getNonDefaultValues();
+
+        packets.add(new ClientboundAddEntityPacket(this.handle));
+
+        if (data != null) {
+            packets.add(new ClientboundSetEntityDataPacket(this.getEntityId(), data));
+        }
+
+        if (this.vehicle != null) {
+            packets.add(this.createPassengersPacket());
+        }
+
+        send(player, new ClientboundBundlePacket(packets));
+
+        return true;
+    }
+
+    /**
+     * Hides the text display from the player, if it is shown
+     *
+     * @param player The player
+     * @return True if the text display was shown to the player before
+     */
+    public boolean hide(final @NotNull Player player) {
+        if (!this.viewers.remove(player)) {
+            return false;
+        }
+
+        if (player.isOnline()) {
+            send(player, new ClientboundRemoveEntitiesPacket(this.getEntityId()));
+        }
+
+        return true;
+    }
+
+    /**
+     * Hides the text display from all viewers
+     */
+    public void hideAll() {
+        if (this.viewers.isEmpty()) {
+            return;
+        }
+
+        final var packet = new ClientboundRemoveEntitiesPacket(this.getEntityId());
+
+        for (final var viewer : this.viewers) {
+            if (viewer.isOnline()) {
+                send(viewer, packet);
+            }
+        }
+
+        this.viewers.clear();
+    }
+
+    /**
+     * Makes the given players the only viewers of the text display. Hides it
+     * from the viewers, who are not in the collection, shows it to the new
+     * ones, and resends the passengers to the remaining ones, because the
+     * server overrides them on the client, when the passengers of the vehicle
+     * change.
+     *
+     * @param players The players, who should see the text display, should be
+     *                a set for large collections
+     */
+    public void sync(final @NotNull Collection<? extends Player> players) {
+        final var iterator = this.viewers.iterator();
+
+        while (iterator.hasNext()) {
+            final Player viewer = iterator.next();
+
+            if (!players.contains(viewer)) {
+                iterator.remove();
+
+                if (viewer.isOnline()) {
+                    send(viewer, new ClientboundRemoveEntitiesPacket(this.getEntityId()));
+                }
+            }
+        }
+
+        final ClientboundSetPassengersPacket passengersPacket =
+                this.vehicle == null
+                ? null
+                : this.createPassengersPacket();
+
+        for (final var player : players) {
+            if (
+                    !this.show(player)
+                    && passengersPacket != null
+            ) {
+                send(player, passengersPacket);
+            }
+        }
+    }
+
+    private @NotNull ClientboundSetPassengersPacket createPassengersPacket() {
+        final var passengers = this.vehicle.getPassengers();
+        final int[] ids = new int[passengers.size() + 1];
+        final FriendlyByteBuf buffer = new FriendlyByteBuf(Unpooled.buffer());
+
+        for (int i = 0; i < passengers.size(); ++i) {
+            ids[i] = passengers.get(i).getId();
+        }
+
+        ids[ids.length - 1] = this.getEntityId();
+
+        buffer.writeVarInt(this.vehicle.getId());
+        buffer.writeVarIntArray(ids);
+
+        try {
+            return new ClientboundSetPassengersPacket(buffer);
+        } finally {
+            buffer.release();
+        }
+    }
+
+    private static void send(
+            final @NotNull Player player,
+            final @NotNull Packet<?> packet
+    ) {
+        ((CraftPlayer) player).getHandle().connection.send(packet);
+    }
+}
@@ -0,0 +1,142 @@
+package com.minersstudios.mscore.plugin;
+
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectLinkedOpenHashSet;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.annotation.Annotation;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Represents the class index of a plugin jar, which is written at build time
+ * by the {@code com.minersstudios.processor.ClassIndexProcessor} annotation
+ * processor.
+ * <br>
+ * The index maps the names of the annotations, which are marked with
+ * {@link com.minersstudios.mscore.annotation.Indexed}, to the names of the
+ * classes annotated with them, so the plugin can load only these classes
+ * instead of scanning its jar and loading every class.
+ */
+public final class ClassIndex {
+    private final Map<String, List<String>> classNamesByAnnotation;
+    private final List<String> classNames;
+
+    /** The path of the class index in the jar */
+    public static final String INDEX_PATH = "META-INF/msplugin/class-index";
+
+    private ClassIndex(
+            final @NotNull Map<String, List<String>> classNamesByAnnotation,
+            final @NotNull List<String> classNames
+    ) {
+        this.classNamesByAnnotation = classNamesByAnnotation;
+        this.classNames = classNames;
+    }
+
+    /**
+     * Reads the class indexes available to the class loader, and keeps only
+     * the classes in the given package and its subpackages
+     *
+     * @param classLoader The class loader of the plugin
+     * @param packageName The package name of the plugin
+     * @return The class index, or null if there is no class index, or it
+     *         doesn't contain any class in the given package
+     * @throws IOException If an I/O error occurs while reading the index
+     */
+    public static @Nullable ClassIndex read(
+            final @NotNull ClassLoader classLoader,
+            final @NotNull String packageName
+    ) throws IOException {
+        final Enumeration<URL> urls = classLoader.getResources(INDEX_PATH);
+
+        if (!urls.hasMoreElements()) {
+            return null;
+        }
+
+        final String prefix = packageName + '.';
+        final var classNamesByAnnotation = new Object2ObjectOpenHashMap<String, List<String>>();
+        final var classNames = new ObjectLinkedOpenHashSet<String>();
+
+        while (urls.hasMoreElements()) {
+            final URLConnection connection = urls.nextElement().openConnection();
+
+            connection.setUseCaches(false);
+
+            try (
+                    final var reader = new BufferedReader(
+                            new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8)
+                    )
+            ) {
+                String line;
+
+                while ((line = reader.readLine()) != null) {
+                    final int separator = line.indexOf('\t');
+
+                    if (separator <= 0) {
+                        continue;
+                    }
+
+                    final String className = line.substring(separator + 1).trim();
+
+                    if (!className.startsWith(prefix)) {
+                        continue;
+                    }
+
+                    final List<String> annotated = classNamesByAnnotation.computeIfAbsent(
+                            line.substring(0, separator),
+                            name -> new ObjectArrayList<>()
+                    );
+
+                    if (!annotated.contains(className)) {
+                        annotated.add(className);
+                    }
+
+                    classNames.add(className);
+                }
+            }
+        }
+
+        return classNames.isEmpty()
+                ? null
+                : new ClassIndex(classNamesByAnnotation, new ObjectArrayList<>(classNames));
+    }
+
+    /**
+     * @return An unmodifiable view of the names of all indexed classes
+     */
+    public @NotNull @UnmodifiableView List<String> getClassNames() {
+        return Collections.unmodifiableList(this.classNames);
+    }
+
+    /**
+     * @param annotation The indexed annotation
+     * @return An unmodifiable view of the names of the classes annotated with
+     *         the given annotation
+     */
+    public @NotNull @UnmodifiableView List<String> getClassNames(final @NotNull Class<? extends Annotation> annotation) {
+        final List<String> classNames = this.classNamesByAnnotation.get(annotation.getName());
+
+        return classNames == null
+                ? Collections.emptyList()
+                : Collections.unmodifiableList(classNames);
+    }
+
+    /**
+     * @return An unmodifiable view of the names of the indexed annotations
+     */
+    public @NotNull @UnmodifiableView Set<String> getAnnotationNames() {
+        return Collections.unmodifiableSet(this.classNamesByAnnotation.keySet());
+    }
+}
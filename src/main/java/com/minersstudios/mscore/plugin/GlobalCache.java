@@ -1,6 +1,7 @@
 package com.minersstudios.mscore.plugin;
 
 import com.minersstudios.mscore.packet.PacketListenersMap;
+import com.minersstudios.mscore.packet.PacketStatistics;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
 import org.bukkit.inventory.Recipe;
@@ -14,6 +15,7 @@ import java.util.Set;
  */
 public final class GlobalCache {
     public final PacketListenersMap packetListenerMap = new PacketListenersMap();
+    public final PacketStatistics packetStatistics = new PacketStatistics();
     public final Set<String> onlyPlayerCommandSet = new ObjectOpenHashSet<>();
     public final List<Recipe> customDecorRecipes = new ObjectArrayList<>();
     public final List<Recipe> customItemRecipes = new ObjectArrayList<>();
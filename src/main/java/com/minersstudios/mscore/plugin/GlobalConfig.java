@@ -31,6 +31,8 @@ public final class GlobalConfig extends Config {
     private boolean isChristmas;
     private boolean isHalloween;
     private String languageDefaultCode;
+    private boolean isPacketStatisticsEnabled;
+    private long packetStatisticsDumpInterval;
 
     private DateTimeFormatter dateFormatter;
     private Locale defaultLocale;
@@ -44,6 +46,10 @@ public final class GlobalConfig extends Config {
     public static final String KEY_LANGUAGE_SECTION = "language";
     public static final String KEY_DEFAULT_CODE =     "default-code";
     public static final String KEY_CODES =            "codes";
+
+    public static final String KEY_PACKET_STATISTICS_SECTION = "packet-statistics";
+    public static final String KEY_ENABLED =                   "enabled";
+    public static final String KEY_DUMP_INTERVAL =             "dump-interval";
     //</editor-fold>
 
     private static final String JSON_EXTENSION = ".json";
@@ -66,6 +72,8 @@ public final class GlobalConfig extends Config {
         }
 
         this.languageDefaultCode = languageSection.getString(KEY_DEFAULT_CODE);
+        this.isPacketStatisticsEnabled = yaml.getBoolean(KEY_PACKET_STATISTICS_SECTION + '.' + KEY_ENABLED);
+        this.packetStatisticsDumpInterval = yaml.getLong(KEY_PACKET_STATISTICS_SECTION + '.' + KEY_DUMP_INTERVAL);
 
         this.dateFormatter = DateTimeFormatter.ofPattern(
                 ChatUtils.isBlank(this.dateFormat)
@@ -100,6 +108,8 @@ public final class GlobalConfig extends Config {
         this.setIfNotExists(KEY_IS_CHRISTMAS, false);
         this.setIfNotExists(KEY_IS_HALLOWEEN, false);
         this.setIfNotExists(KEY_LANGUAGE_SECTION + '.' + KEY_DEFAULT_CODE, SharedConstants.DEFAULT_LANGUAGE_CODE);
+        this.setIfNotExists(KEY_PACKET_STATISTICS_SECTION + '.' + KEY_ENABLED, false);
+        this.setIfNotExists(KEY_PACKET_STATISTICS_SECTION + '.' + KEY_DUMP_INTERVAL, 6000L);
     }
 
     /**
@@ -130,6 +140,22 @@ public final class GlobalConfig extends Config {
         return this.languageDefaultCode;
     }
 
+    /**
+     * @return True if the packet statistics should be recorded
+     * @see com.minersstudios.mscore.packet.PacketStatistics
+     */
+    public boolean isPacketStatisticsEnabled() {
+        return this.isPacketStatisticsEnabled;
+    }
+
+    /**
+     * @return The interval in ticks between packet statistics dumps, or a
+     *         non-positive value if the statistics should not be dumped
+     */
+    public long getPacketStatisticsDumpInterval() {
+        return this.packetStatisticsDumpInterval;
+    }
+
     /**
      * @return Date formatter
      */
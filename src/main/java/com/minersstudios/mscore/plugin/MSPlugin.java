@@ -12,8 +12,8 @@ import com.minersstudios.mscore.listener.api.packet.AbstractPacketListener;
 import com.minersstudios.mscore.listener.api.packet.PacketListener;
 import com.minersstudios.mscore.locale.Translations;
 import com.minersstudios.mscore.packet.PacketEvent;
-import com.minersstudios.mscore.packet.PacketListenersMap;
 import com.minersstudios.mscore.packet.PacketRegistry;
+import com.minersstudios.mscore.packet.PacketStatistics;
 import com.minersstudios.mscore.packet.PacketType;
 import com.minersstudios.mscore.status.Status;
 import com.minersstudios.mscore.status.StatusHandler;
@@ -70,6 +70,7 @@ import static net.kyori.adventure.text.Component.text;
 @ApiStatus.Internal
 public abstract class MSPlugin<T extends MSPlugin<T>> extends JavaPlugin {
     private final StatusHandler statusHandler;
+    private final ClassIndex classIndex;
     private final List<String> classNames;
     private final Map<MSCommand, AbstractCommandExecutor<T>> commandMap;
     private final Map<Class<? extends AbstractInventoryHolder<T>>, AbstractInventoryHolder<T>> inventoryHolderMap;
@@ -145,7 +146,13 @@ public abstract class MSPlugin<T extends MSPlugin<T>> extends JavaPlugin {
 
         this.assignStatus(INITIALIZING);
 
-        this.classNames = this.loadClassNames(SharedConstants.GLOBAL_PACKAGE + '.' + this.getName().toLowerCase());
+        final String packageName = SharedConstants.GLOBAL_PACKAGE + '.' + this.getName().toLowerCase();
+
+        this.classIndex = this.loadClassIndex(packageName);
+        this.classNames =
+                this.classIndex != null
+                ? this.classIndex.getClassNames()
+                : this.loadClassNames(packageName);
         this.commandMap = new Object2ObjectOpenHashMap<>();
         this.inventoryHolderMap = new Object2ObjectOpenHashMap<>();
         this.eventListeners = new ObjectArrayList<>();
@@ -190,9 +197,13 @@ public abstract class MSPlugin<T extends MSPlugin<T>> extends JavaPlugin {
     }
 
     /**
-     * Gets the names of all plugin classes, similar to the package string
+     * Gets the names of the plugin classes, similar to the package string
      * <br>
      * Example: "com.example.Example"
+     * <br>
+     * If the plugin jar contains the {@link #getClassIndex() class index},
+     * only the names of the indexed classes are returned, otherwise the names
+     * of all classes in the plugin jar are returned
      *
      * @return The unmodifiable set of class names
      */
@@ -200,6 +211,15 @@ public abstract class MSPlugin<T extends MSPlugin<T>> extends JavaPlugin {
         return Collections.unmodifiableList(this.classNames);
     }
 
+    /**
+     * @return The class index of the plugin jar, or null if the plugin jar
+     *         doesn't contain it, and the class names were scanned instead
+     * @see ClassIndex
+     */
+    public final @Nullable ClassIndex getClassIndex() {
+        return this.classIndex;
+    }
+
     /**
      * @return The unmodifiable map of commands
      */
@@ -554,10 +574,17 @@ public abstract class MSPlugin<T extends MSPlugin<T>> extends JavaPlugin {
      */
     public void callPacketReceiveEvent(final @NotNull PacketEvent event) {
         final PacketType packetType = event.getPacketContainer().getType();
-        final PacketListenersMap listenersMap = GLOBAL_CACHE.packetListenerMap;
+        final PacketStatistics statistics = GLOBAL_CACHE.packetStatistics;
+
+        if (statistics.isEnabled()) {
+            for (final var listener : GLOBAL_CACHE.packetListenerMap.getReceiveListeners(packetType)) {
+                final long start = System.nanoTime();
 
-        if (listenersMap.containsPacketType(packetType)) {
-            for (final var listener : listenersMap.getListeners(packetType)) {
+                listener.onPacketReceive(event);
+                statistics.recordListener(listener, System.nanoTime() - start);
+            }
+        } else {
+            for (final var listener : GLOBAL_CACHE.packetListenerMap.getReceiveListeners(packetType)) {
                 listener.onPacketReceive(event);
             }
         }
@@ -572,10 +599,17 @@ public abstract class MSPlugin<T extends MSPlugin<T>> extends JavaPlugin {
      */
     public void callPacketSendEvent(final @NotNull PacketEvent event) {
         final PacketType packetType = event.getPacketContainer().getType();
-        final PacketListenersMap listenersMap = GLOBAL_CACHE.packetListenerMap;
+        final PacketStatistics statistics = GLOBAL_CACHE.packetStatistics;
 
-        if (listenersMap.containsPacketType(packetType)) {
-            for (final var listener : listenersMap.getListeners(packetType)) {
+        if (statistics.isEnabled()) {
+            for (final var listener : GLOBAL_CACHE.packetListenerMap.getSendListeners(packetType)) {
+                final long start = System.nanoTime();
+
+                listener.onPacketSend(event);
+                statistics.recordListener(listener, System.nanoTime() - start);
+            }
+        } else {
+            for (final var listener : GLOBAL_CACHE.packetListenerMap.getSendListeners(packetType)) {
                 listener.onPacketSend(event);
             }
         }
@@ -893,7 +927,8 @@ public abstract class MSPlugin<T extends MSPlugin<T>> extends JavaPlugin {
     }
 
     /**
-     * Loads all classes in the plugin jar file with these annotations:
+     * Loads all classes in the plugin jar file, or only the indexed ones, see
+     * {@link #getClassNames()}, with these annotations:
      * <ul>
      *     <li>{@link PacketListener}</li>
      *     <li>{@link EventListener}</li>
@@ -1097,6 +1132,28 @@ public abstract class MSPlugin<T extends MSPlugin<T>> extends JavaPlugin {
         return GLOBAL_CONFIG;
     }
 
+    /**
+     * Reads the class index of the plugin jar
+     *
+     * @param packageName The package name
+     * @return The class index, or null if the plugin jar doesn't contain it,
+     *         or it could not be read
+     * @see ClassIndex#read(ClassLoader, String)
+     */
+    protected @Nullable ClassIndex loadClassIndex(final @NotNull String packageName) {
+        try {
+            return ClassIndex.read(this.getClassLoader(), packageName);
+        } catch (final IOException e) {
+            this.getLogger().log(
+                    Level.WARNING,
+                    "Failed to read the class index, falling back to scanning the plugin jar",
+                    e
+            );
+
+            return null;
+        }
+    }
+
     /**
      * Loads the names of all classes in the given package
      *
@@ -0,0 +1,1030 @@
+package com.minersstudios.mscore.status;
+
+import com.google.common.base.Joiner;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectLinkedOpenHashSet;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Startup graph, which runs the load phases of a plugin in the order of their
+ * statuses.
+ * <br>
+ * Each {@link Phase phase} declares the statuses it requires and the statuses
+ * it provides. A phase is started as soon as all its required statuses are
+ * provided, so the independent phases run in parallel on a bounded executor,
+ * and only the phases marked as {@link Phase.Builder#mainThread(Runnable)
+ * main-thread} ones are run with the main thread executor.
+ * <br>
+ * Statuses provided by the phases of the graph are tracked by the graph
+ * itself, and the other required statuses are awaited with the
+ * {@link StatusWatcher} of the {@link StatusHandler}. When a phase completes,
+ * the graph assigns its provided statuses. When a phase throws an exception,
+ * or its external required status fails, the failure statuses of its provided
+ * statuses are assigned, and all phases depending on it are skipped.
+ * <br>
+ * When all phases are completed or skipped, the graph logs the
+ * {@link Report report} with the timings of the phases and the critical path.
+ * <br>
+ * You can use the {@link #builder(String)} to create a new graph.
+ *
+ * @see Phase
+ * @see Report
+ */
+@ThreadSafe
+public final class StartupGraph {
+    private final String name;
+    private final List<Phase> phases;
+    private final int[][] dependencies;
+    private final int[][] dependents;
+    private final List<Set<SuccessStatus>> externalInputs;
+    private final CompletableFuture<Report> future;
+    private StatusHandler handler;
+    private Executor mainThreadExecutor;
+    private ThreadPoolExecutor executor;
+    private Logger logger;
+    private long startTime;
+    private int remaining;
+    private int[] pending;
+    private int[] gates;
+    private State[] states;
+    private long[] readyTimes;
+    private long[] startTimes;
+    private long[] finishTimes;
+    private String[] threadNames;
+    private StatusWatcher[] watchers;
+
+    private static final long KEEP_ALIVE_SECONDS = 10L;
+
+    private StartupGraph(
+            final @NotNull String name,
+            final @NotNull List<Phase> phases,
+            final int @NotNull [][] dependencies,
+            final int @NotNull [][] dependents,
+            final @NotNull List<Set<SuccessStatus>> externalInputs
+    ) {
+        this.name = name;
+        this.phases = phases;
+        this.dependencies = dependencies;
+        this.dependents = dependents;
+        this.externalInputs = externalInputs;
+        this.future = new CompletableFuture<>();
+    }
+
+    /**
+     * Returns the name of the graph
+     *
+     * @return The name of the graph
+     */
+    public @NotNull String getName() {
+        return this.name;
+    }
+
+    /**
+     * Returns an unmodifiable view of the phases of the graph
+     *
+     * @return An unmodifiable view of the phases of the graph
+     */
+    public @NotNull @UnmodifiableView List<Phase> phases() {
+        return Collections.unmodifiableList(this.phases);
+    }
+
+    /**
+     * Returns the future of the report, which is completed when all phases
+     * are completed or skipped
+     *
+     * @return The future of the report
+     */
+    public @NotNull CompletableFuture<Report> whenComplete() {
+        return this.future;
+    }
+
+    /**
+     * Starts the graph.
+     * <br>
+     * The phases without required statuses are started immediately, the
+     * others are started when their required statuses are provided. The
+     * external required statuses, which are assigned before the graph is
+     * started, are treated as provided.
+     *
+     * @param handler            The status handler of the plugin
+     * @param mainThreadExecutor The executor of the main thread phases
+     * @param logger             The logger of the failures and the report
+     * @return The future of the report
+     * @throws IllegalStateException If the graph has already been started
+     * @see #whenComplete()
+     */
+    public @NotNull CompletableFuture<Report> start(
+            final @NotNull StatusHandler handler,
+            final @NotNull Executor mainThreadExecutor,
+            final @NotNull Logger logger
+    ) throws IllegalStateException {
+        final int size = this.phases.size();
+        final var ready = new IntArrayList();
+
+        synchronized (this) {
+            if (this.handler != null) {
+                throw new IllegalStateException("Startup graph " + this.name + " has already been started");
+            }
+
+            this.handler = handler;
+            this.mainThreadExecutor = mainThreadExecutor;
+            this.logger = logger;
+            this.startTime = System.nanoTime();
+            this.remaining = size;
+            this.pending = new int[size];
+            this.gates = new int[size];
+            this.states = new State[size];
+            this.readyTimes = new long[size];
+            this.startTimes = new long[size];
+            this.finishTimes = new long[size];
+            this.threadNames = new String[size];
+            this.watchers = new StatusWatcher[size];
+
+            int asyncCount = 0;
+
+            for (int i = 0; i < size; ++i) {
+                final Phase phase = this.phases.get(i);
+
+                this.pending[i] = this.dependencies[i].length;
+                this.gates[i] = -1;
+                this.states[i] = State.WAITING;
+
+                if (this.hasExternalInputs(i)) {
+                    this.pending[i]++;
+                }
+
+                if (this.pending[i] == 0) {
+                    ready.add(i);
+                }
+
+                if (!phase.isMainThread()) {
+                    asyncCount++;
+                }
+            }
+
+            if (asyncCount > 0) {
+                final int threads = Math.min(asyncCount, Runtime.getRuntime().availableProcessors());
+                final var counter = new AtomicInteger();
+
+                this.executor = new ThreadPoolExecutor(
+                        threads, threads,
+                        KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                        new LinkedBlockingQueue<>(),
+                        runnable -> {
+                            final Thread thread = new Thread(runnable, this.name + "-Startup-" + counter.incrementAndGet());
+
+                            thread.setDaemon(true);
+                            return thread;
+                        }
+                );
+
+                this.executor.allowCoreThreadTimeOut(true);
+            }
+        }
+
+        if (size == 0) {
+            this.finish();
+            return this.future;
+        }
+
+        for (final int index : ready) {
+            this.dispatch(index);
+        }
+
+        for (int i = 0; i < size; ++i) {
+            if (this.hasExternalInputs(i)) {
+                this.watchExternalInputs(i);
+            }
+        }
+
+        return this.future;
+    }
+
+    /**
+     * Returns a string representation of the graph
+     *
+     * @return A string representation of the graph
+     */
+    @Override
+    public @NotNull String toString() {
+        return "StartupGraph{" +
+                "name=" + this.name +
+                ", phases=[" + Joiner.on(", ").join(this.phases) + ']' +
+                '}';
+    }
+
+    /**
+     * Creates a new graph builder
+     *
+     * @param name The name of the graph, which is used in the report and the
+     *             names of the threads
+     * @return A new builder
+     */
+    @Contract("_ -> new")
+    public static @NotNull Builder builder(final @NotNull String name) {
+        return new Builder(name);
+    }
+
+    /**
+     * Creates a new phase builder
+     *
+     * @param name The name of the phase, unique in the graph
+     * @return A new phase builder
+     */
+    @Contract("_ -> new")
+    public static @NotNull Phase.Builder phase(final @NotNull String name) {
+        return new Phase.Builder(name);
+    }
+
+    private boolean hasExternalInputs(final int index) {
+        return !this.externalInputs.get(index).isEmpty();
+    }
+
+    private void watchExternalInputs(final int index) {
+        final Set<SuccessStatus> inputs = this.externalInputs.get(index);
+        boolean provided = true;
+
+        for (final var status : inputs) {
+            if (!this.handler.contains(status)) {
+                provided = false;
+                break;
+            }
+        }
+
+        if (provided) {
+            this.onInputsProvided(index);
+            return;
+        }
+
+        final var iterator = inputs.iterator();
+        final SuccessStatus first = iterator.next();
+        final SuccessStatus[] rest = new SuccessStatus[inputs.size() - 1];
+
+        for (int i = 0; i < rest.length; ++i) {
+            rest[i] = iterator.next();
+        }
+
+        final StatusWatcher.Builder builder =
+                StatusWatcher.builder()
+                .successStatuses(first, rest)
+                .successRunnable(() -> this.onInputsProvided(index));
+
+        if (!builder.failureStatuses().isEmpty()) {
+            builder
+            .failureRunnable(() -> this.onInputFailed(index))
+            .anyFailure(true);
+        }
+
+        final StatusWatcher watcher = builder.build();
+
+        synchronized (this) {
+            this.watchers[index] = watcher;
+        }
+
+        this.handler.addWatcher(watcher);
+    }
+
+    private void onInputsProvided(final int index) {
+        synchronized (this) {
+            if (
+                    this.states[index] != State.WAITING
+                    || --this.pending[index] != 0
+            ) {
+                return;
+            }
+
+            this.gates[index] = -1;
+        }
+
+        this.dispatch(index);
+    }
+
+    private void onInputFailed(final int index) {
+        final var skipped = new IntArrayList();
+        final boolean finished;
+
+        synchronized (this) {
+            if (this.states[index] != State.WAITING) {
+                return;
+            }
+
+            this.skip(index, skipped);
+            finished = (this.remaining -= skipped.size()) == 0;
+        }
+
+        this.logger.warning(
+                "Startup phase " + this.phases.get(index).name + " of " + this.name +
+                " is skipped, because its required status has failed"
+        );
+        this.assignSkipped(skipped);
+
+        if (finished) {
+            this.finish();
+        }
+    }
+
+    private void dispatch(final int index) {
+        final Phase phase = this.phases.get(index);
+        final Executor executor;
+
+        synchronized (this) {
+            this.states[index] = State.READY;
+            this.readyTimes[index] = System.nanoTime();
+            executor = phase.isMainThread()
+                       ? this.mainThreadExecutor
+                       : this.executor;
+        }
+
+        try {
+            executor.execute(() -> this.run(index));
+        } catch (final Throwable e) {
+            this.complete(index, e);
+        }
+    }
+
+    private void run(final int index) {
+        final Phase phase = this.phases.get(index);
+
+        synchronized (this) {
+            this.states[index] = State.RUNNING;
+            this.startTimes[index] = System.nanoTime();
+            this.threadNames[index] = Thread.currentThread().getName();
+        }
+
+        Throwable thrown = null;
+
+        try {
+            phase.task.run();
+        } catch (final Throwable e) {
+            thrown = e;
+        }
+
+        this.complete(index, thrown);
+    }
+
+    private void complete(
+            final int index,
+            final @Nullable Throwable thrown
+    ) {
+        final Phase phase = this.phases.get(index);
+        final var ready = new IntArrayList();
+        final var skipped = new IntArrayList();
+        final boolean finished;
+
+        synchronized (this) {
+            this.finishTimes[index] = System.nanoTime();
+
+            if (this.startTimes[index] == 0L) {
+                this.startTimes[index] = this.finishTimes[index];
+            }
+
+            if (thrown == null) {
+                this.states[index] = State.COMPLETED;
+
+                for (final int dependent : this.dependents[index]) {
+                    if (
+                            this.states[dependent] == State.WAITING
+                            && --this.pending[dependent] == 0
+                    ) {
+                        this.gates[dependent] = index;
+                        ready.add(dependent);
+                    }
+                }
+            } else {
+                this.states[index] = State.FAILED;
+
+                for (final int dependent : this.dependents[index]) {
+                    this.skip(dependent, skipped);
+                }
+            }
+
+            finished = (this.remaining -= 1 + skipped.size()) == 0;
+        }
+
+        if (thrown == null) {
+            for (final var status : phase.provides) {
+                this.handler.assignStatus(status);
+            }
+        } else {
+            this.logger.log(
+                    Level.SEVERE,
+                    "Startup phase " + phase.name + " of " + this.name + " has failed",
+                    thrown
+            );
+            assignFailures(this.handler, phase);
+        }
+
+        this.assignSkipped(skipped);
+
+        for (final int dependent : ready) {
+            this.dispatch(dependent);
+        }
+
+        if (finished) {
+            this.finish();
+        }
+    }
+
+    private void skip(
+            final int index,
+            final @NotNull IntArrayList skipped
+    ) {
+        if (this.states[index] != State.WAITING) {
+            return;
+        }
+
+        this.states[index] = State.SKIPPED;
+
+        skipped.add(index);
+
+        for (final int dependent : this.dependents[index]) {
+            this.skip(dependent, skipped);
+        }
+    }
+
+    private void assignSkipped(final @NotNull IntArrayList skipped) {
+        for (final int index : skipped) {
+            final StatusWatcher watcher;
+
+            synchronized (this) {
+                watcher = this.watchers[index];
+            }
+
+            if (watcher != null) {
+                this.handler.removeWatcher(watcher);
+            }
+
+            assignFailures(this.handler, this.phases.get(index));
+        }
+    }
+
+    private void finish() {
+        final Report report;
+
+        synchronized (this) {
+            if (this.executor != null) {
+                this.executor.shutdown();
+            }
+
+            report = this.createReport();
+        }
+
+        for (final var line : report.lines()) {
+            this.logger.info(line);
+        }
+
+        this.future.complete(report);
+    }
+
+    private @NotNull Report createReport() {
+        final int size = this.phases.size();
+        final var timings = new ObjectArrayList<Timing>(size);
+        final var criticalPath = new ObjectArrayList<Timing>();
+        long finishTime = this.startTime;
+        int last = -1;
+
+        for (int i = 0; i < size; ++i) {
+            final State state = this.states[i];
+            final boolean ran = state == State.COMPLETED || state == State.FAILED;
+
+            timings.add(new Timing(
+                    this.phases.get(i),
+                    state,
+                    ran ? this.readyTimes[i] - this.startTime : -1L,
+                    ran ? this.startTimes[i] - this.readyTimes[i] : -1L,
+                    ran ? this.finishTimes[i] - this.startTimes[i] : -1L,
+                    this.threadNames[i]
+            ));
+
+            if (
+                    ran
+                    && this.finishTimes[i] - finishTime > 0L
+            ) {
+                finishTime = this.finishTimes[i];
+                last = i;
+            }
+        }
+
+        for (int i = last; i != -1; i = this.gates[i]) {
+            criticalPath.add(timings.get(i));
+        }
+
+        Collections.reverse(criticalPath);
+
+        return new Report(this.name, finishTime - this.startTime, timings, criticalPath);
+    }
+
+    private static void assignFailures(
+            final @NotNull StatusHandler handler,
+            final @NotNull Phase phase
+    ) {
+        for (final var status : phase.provides) {
+            final FailureStatus failureStatus = status.getFailureStatus();
+
+            if (failureStatus != null) {
+                handler.assignStatus(failureStatus);
+            }
+        }
+    }
+
+    private static long toMillis(final long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    /**
+     * State of a phase in the started graph
+     */
+    public enum State {
+        /** The phase is waiting for its required statuses */
+        WAITING,
+        /** The phase is submitted to its executor */
+        READY,
+        /** The phase is running */
+        RUNNING,
+        /** The phase has completed successfully */
+        COMPLETED,
+        /** The phase has thrown an exception */
+        FAILED,
+        /** The phase has not been run, because its required status has failed */
+        SKIPPED
+    }
+
+    /**
+     * Load phase of the startup graph.
+     * <br>
+     * You can use the {@link StartupGraph#phase(String)} to create a new
+     * phase builder.
+     */
+    public static final class Phase {
+        private final String name;
+        private final Set<SuccessStatus> requires;
+        private final Set<SuccessStatus> provides;
+        private final Runnable task;
+        private final boolean mainThread;
+
+        private Phase(final @NotNull Builder builder) {
+            this.name = builder.name;
+            this.requires = builder.requires;
+            this.provides = builder.provides;
+            this.task = builder.task;
+            this.mainThread = builder.mainThread;
+        }
+
+        /**
+         * @return The name of the phase
+         */
+        public @NotNull String getName() {
+            return this.name;
+        }
+
+        /**
+         * @return An unmodifiable view of the statuses, which must be
+         *         provided before the phase is started
+         */
+        public @NotNull @UnmodifiableView Set<SuccessStatus> requires() {
+            return Collections.unmodifiableSet(this.requires);
+        }
+
+        /**
+         * @return An unmodifiable view of the statuses, which are assigned
+         *         when the phase completes
+         */
+        public @NotNull @UnmodifiableView Set<SuccessStatus> provides() {
+            return Collections.unmodifiableSet(this.provides);
+        }
+
+        /**
+         * @return True if the phase is run with the main thread executor
+         */
+        public boolean isMainThread() {
+            return this.mainThread;
+        }
+
+        /**
+         * @return A string representation of the phase
+         */
+        @Override
+        public @NotNull String toString() {
+            return this.name +
+                    "{requires=[" + Joiner.on(", ").join(this.requires.stream().map(Status::getKey).iterator()) +
+                    "], provides=[" + Joiner.on(", ").join(this.provides.stream().map(Status::getKey).iterator()) +
+                    "], mainThread=" + this.mainThread +
+                    '}';
+        }
+
+        /**
+         * Builder for {@code Phase}
+         *
+         * @see StartupGraph#phase(String)
+         */
+        public static final class Builder {
+            private final String name;
+            private Set<SuccessStatus> requires;
+            private Set<SuccessStatus> provides;
+            private Runnable task;
+            private boolean mainThread;
+
+            private Builder(final @NotNull String name) {
+                this.name = name;
+                this.requires = Collections.emptySet();
+                this.provides = Collections.emptySet();
+            }
+
+            /**
+             * Sets the statuses, which must be provided before the phase is
+             * started
+             *
+             * @param first First status
+             * @param rest  Rest of the statuses
+             * @return This builder, for chaining
+             */
+            @Contract("_, _ -> this")
+            public @NotNull Builder requires(
+                    final @NotNull SuccessStatus first,
+                    final SuccessStatus @NotNull ... rest
+            ) {
+                this.requires = toSet(first, rest);
+
+                return this;
+            }
+
+            /**
+             * Sets the statuses, which are assigned when the phase completes.
+             * If the phase fails, their failure statuses are assigned instead.
+             *
+             * @param first First status
+             * @param rest  Rest of the statuses
+             * @return This builder, for chaining
+             */
+            @Contract("_, _ -> this")
+            public @NotNull Builder provides(
+                    final @NotNull SuccessStatus first,
+                    final SuccessStatus @NotNull ... rest
+            ) {
+                this.provides = toSet(first, rest);
+
+                return this;
+            }
+
+            /**
+             * Sets the task of the phase, which is run on the bounded executor
+             * of the graph
+             *
+             * @param task The task
+             * @return This builder, for chaining
+             */
+            @Contract("_ -> this")
+            public @NotNull Builder async(final @NotNull Runnable task) {
+                this.task = task;
+                this.mainThread = false;
+
+                return this;
+            }
+
+            /**
+             * Sets the task of the phase, which is run with the main thread
+             * executor, use it only for the tasks, which require the main
+             * thread, such as the recipe registration
+             *
+             * @param task The task
+             * @return This builder, for chaining
+             */
+            @Contract("_ -> this")
+            public @NotNull Builder mainThread(final @NotNull Runnable task) {
+                this.task = task;
+                this.mainThread = true;
+
+                return this;
+            }
+
+            /**
+             * Builds a new phase from the builder values
+             *
+             * @return A new phase
+             * @throws IllegalStateException If there is no task
+             */
+            @Contract(" -> new")
+            public @NotNull Phase build() throws IllegalStateException {
+                if (this.task == null) {
+                    throw new IllegalStateException("Provide the task of the phase " + this.name);
+                }
+
+                return new Phase(this);
+            }
+
+            private static @NotNull Set<SuccessStatus> toSet(
+                    final @NotNull SuccessStatus first,
+                    final SuccessStatus @NotNull ... rest
+            ) {
+                final var set = new ObjectLinkedOpenHashSet<SuccessStatus>(rest.length + 1);
+
+                set.add(first);
+                Collections.addAll(set, rest);
+
+                return set;
+            }
+        }
+    }
+
+    /**
+     * Builder for {@code StartupGraph}
+     *
+     * @see StartupGraph#builder(String)
+     */
+    public static final class Builder {
+        private final String name;
+        private final List<Phase> phases;
+
+        private Builder(final @NotNull String name) {
+            this.name = name;
+            this.phases = new ObjectArrayList<>();
+        }
+
+        /**
+         * Adds the phase to the graph
+         *
+         * @param builder The phase builder
+         * @return This builder, for chaining
+         * @throws IllegalStateException If the phase has no task
+         */
+        @Contract("_ -> this")
+        public @NotNull Builder phase(final @NotNull Phase.Builder builder) throws IllegalStateException {
+            this.phases.add(builder.build());
+
+            return this;
+        }
+
+        /**
+         * Builds a new graph from the builder values
+         *
+         * @return A new startup graph
+         * @throws IllegalStateException If there are phases with the same
+         *                               name, statuses provided by multiple
+         *                               phases, or the phases depend on each
+         *                               other cyclically
+         */
+        @Contract(" -> new")
+        public @NotNull StartupGraph build() throws IllegalStateException {
+            final int size = this.phases.size();
+            final var names = new ObjectOpenHashSet<String>(size);
+            final var providers = new Object2IntOpenHashMap<SuccessStatus>();
+            final int[][] dependencies = new int[size][];
+            final var dependents = new IntArrayList[size];
+            final var externalInputs = new ObjectArrayList<Set<SuccessStatus>>(size);
+
+            providers.defaultReturnValue(-1);
+
+            for (int i = 0; i < size; ++i) {
+                final Phase phase = this.phases.get(i);
+
+                if (!names.add(phase.name)) {
+                    throw new IllegalStateException("Duplicate phase " + phase.name + " in " + this.name);
+                }
+
+                for (final var status : phase.provides) {
+                    final int provider = providers.put(status, i);
+
+                    if (provider != -1) {
+                        throw new IllegalStateException(
+                                "Status " + status.getKey() + " is provided by both " +
+                                this.phases.get(provider).name + " and " + phase.name
+                        );
+                    }
+                }
+
+                dependents[i] = new IntArrayList();
+            }
+
+            for (int i = 0; i < size; ++i) {
+                final var phaseDependencies = new IntArrayList();
+                final var inputs = new ObjectLinkedOpenHashSet<SuccessStatus>();
+
+                for (final var status : this.phases.get(i).requires) {
+                    final int provider = providers.getInt(status);
+
+                    if (provider == -1) {
+                        inputs.add(status);
+                    } else if (!phaseDependencies.contains(provider)) {
+                        phaseDependencies.add(provider);
+                        dependents[provider].add(i);
+                    }
+                }
+
+                dependencies[i] = phaseDependencies.toIntArray();
+                externalInputs.add(inputs);
+            }
+
+            final int[][] dependentArrays = new int[size][];
+
+            for (int i = 0; i < size; ++i) {
+                dependentArrays[i] = dependents[i].toIntArray();
+            }
+
+            this.checkCycles(dependencies, dependentArrays);
+
+            return new StartupGraph(
+                    this.name,
+                    new ObjectArrayList<>(this.phases),
+                    dependencies,
+                    dependentArrays,
+                    externalInputs
+            );
+        }
+
+        private void checkCycles(
+                final int @NotNull [][] dependencies,
+                final int @NotNull [][] dependents
+        ) throws IllegalStateException {
+            final int size = dependencies.length;
+            final int[] pending = new int[size];
+            final var queue = new IntArrayList();
+            int visited = 0;
+
+            for (int i = 0; i < size; ++i) {
+                pending[i] = dependencies[i].length;
+
+                if (pending[i] == 0) {
+                    queue.add(i);
+                }
+            }
+
+            while (!queue.isEmpty()) {
+                final int index = queue.popInt();
+
+                visited++;
+
+                for (final int dependent : dependents[index]) {
+                    if (--pending[dependent] == 0) {
+                        queue.add(dependent);
+                    }
+                }
+            }
+
+            if (visited != size) {
+                final var cyclic = new ObjectArrayList<String>();
+
+                for (int i = 0; i < size; ++i) {
+                    if (pending[i] != 0) {
+                        cyclic.add(this.phases.get(i).name);
+                    }
+                }
+
+                throw new IllegalStateException(
+                        "Phases of " + this.name + " depend on each other cyclically: " +
+                        Joiner.on(", ").join(cyclic)
+                );
+            }
+        }
+    }
+
+    /**
+     * Timing of a phase in the report
+     *
+     * @param phase    The phase
+     * @param state    The final state of the phase
+     * @param readyAt  The time from the start of the graph until all required
+     *                 statuses were provided, in nanoseconds, or -1 if the
+     *                 phase was skipped
+     * @param queued   The time the phase waited for its executor, in
+     *                 nanoseconds, or -1 if the phase was skipped
+     * @param duration The time the phase ran, in nanoseconds, or -1 if the
+     *                 phase was skipped
+     * @param thread   The name of the thread, which ran the phase, or null if
+     *                 the phase was skipped
+     */
+    public record Timing(
+            @NotNull Phase phase,
+            @NotNull State state,
+            long readyAt,
+            long queued,
+            long duration,
+            @Nullable String thread
+    ) {}
+
+    /**
+     * Report of the completed startup graph
+     *
+     * @param name         The name of the graph
+     * @param total        The time from the start of the graph until the last
+     *                     phase has finished, in nanoseconds
+     * @param timings      The timings of the phases in the order they were
+     *                     added to the graph
+     * @param criticalPath The timings of the phases on the critical path, from
+     *                     the first to the last finished phase, where each
+     *                     phase was the last required phase of the next one
+     */
+    public record Report(
+            @NotNull String name,
+            long total,
+            @NotNull @Unmodifiable List<Timing> timings,
+            @NotNull @Unmodifiable List<Timing> criticalPath
+    ) {
+
+        public Report {
+            timings = Collections.unmodifiableList(timings);
+            criticalPath = Collections.unmodifiableList(criticalPath);
+        }
+
+        /**
+         * Returns the sum of the durations of all run phases divided by the
+         * total time of the graph
+         *
+         * @return The average number of the phases running in parallel
+         */
+        public double parallelism() {
+            long busy = 0L;
+
+            for (final var timing : this.timings) {
+                if (timing.duration() > 0L) {
+                    busy += timing.duration();
+                }
+            }
+
+            return this.total > 0L
+                   ? (double) busy / this.total
+                   : 0.0d;
+        }
+
+        /**
+         * Formats the report to the lines, one line per phase, the first line
+         * is the summary, and the last line is the critical path
+         *
+         * @return The lines of the report
+         */
+        public @NotNull List<String> lines() {
+            final var lines = new ObjectArrayList<String>(this.timings.size() + 2);
+
+            lines.add(String.format(
+                    "Startup graph %s completed in %dms, %d phases, parallelism %.2f",
+                    this.name,
+                    toMillis(this.total),
+                    this.timings.size(),
+                    this.parallelism()
+            ));
+
+            for (final var timing : this.timings) {
+                final Phase phase = timing.phase();
+
+                lines.add(
+                        timing.duration() < 0L
+                        ? String.format(
+                                "  %-20s %-11s %s",
+                                phase.name,
+                                phase.mainThread ? "main" : "async",
+                                timing.state()
+                        )
+                        : String.format(
+                                "  %-20s %-11s %s, ready at %dms, queued %dms, ran %dms on %s",
+                                phase.name,
+                                phase.mainThread ? "main" : "async",
+                                timing.state(),
+                                toMillis(timing.readyAt()),
+                                toMillis(timing.queued()),
+                                toMillis(timing.duration()),
+                                timing.thread()
+                        )
+                );
+            }
+
+            if (!this.criticalPath.isEmpty()) {
+                final var path = new ObjectArrayList<String>(this.criticalPath.size() + 1);
+                final Timing first = this.criticalPath.get(0);
+
+                if (toMillis(first.readyAt()) > 0L) {
+                    path.add("inputs (" + toMillis(first.readyAt()) + "ms)");
+                }
+
+                for (final var timing : this.criticalPath) {
+                    path.add(
+                            timing.phase().name + " (" +
+                            toMillis(timing.queued() + timing.duration()) + "ms)"
+                    );
+                }
+
+                lines.add("  Critical path: " + Joiner.on(" -> ").join(path));
+            }
+
+            return lines;
+        }
+    }
+}
@@ -6,5 +6,6 @@
  * @see com.minersstudios.mscore.status.Status
  * @see com.minersstudios.mscore.status.StatusWatcher
  * @see com.minersstudios.mscore.status.StatusHandler
+ * @see com.minersstudios.mscore.status.StartupGraph
  */
 package com.minersstudios.mscore.status;
@@ -0,0 +1,382 @@
+package com.minersstudios.mscore.utility;
+
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.Tag;
+import org.bukkit.Bukkit;
+import org.bukkit.NamespacedKey;
+import org.bukkit.craftbukkit.v1_20_R3.inventory.CraftItemStack;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Classifier of the custom items by the string tags of their persistent data
+ * containers.
+ * <br>
+ * Each {@link Kind kind} of the custom items is registered with the key of its
+ * tag and the resolver of its data by the tag value. The classifier reads the
+ * tags of all registered kinds at once, directly from the tag of the NMS item
+ * stack, without building the {@link ItemMeta}, which copies the whole meta
+ * of the item. The data of a kind is resolved only when it is requested, and
+ * is kept in the {@link Classification classification}.
+ * <br>
+ * The classifications of the {@link CraftItemStack craft item stacks} are
+ * cached by their NMS item stacks until the end of the current tick, so the
+ * repeated checks of the same item in one event are free. The cached
+ * classification is discarded when the tag of the item is replaced, which
+ * happens on every {@link ItemStack#setItemMeta(ItemMeta)}.
+ * <br>
+ * All methods are thread-safe.
+ */
+public final class ItemClassifier {
+    private static final List<Kind<?>> KINDS = new ObjectArrayList<>();
+    private static final Entry[] CACHE = new Entry[64];
+    private static final Field HANDLE_FIELD;
+    private static volatile Kind<?>[] kinds = new Kind<?>[0];
+
+    /** The name of the tag of the persistent data container in the item tag */
+    public static final String BUKKIT_VALUES_TAG = "PublicBukkitValues";
+
+    static {
+        try {
+            HANDLE_FIELD = CraftItemStack.class.getDeclaredField("handle");
+
+            HANDLE_FIELD.setAccessible(true);
+        } catch (final NoSuchFieldException e) {
+            throw new IllegalStateException("Could not find craft item stack handle field", e);
+        }
+    }
+
+    @Contract(" -> fail")
+    private ItemClassifier() throws AssertionError {
+        throw new AssertionError("Utility class");
+    }
+
+    /**
+     * Registers a new kind of the custom items
+     *
+     * @param name     The name of the kind
+     * @param key      The key of the string tag, which contains the key of the
+     *                 custom item of this kind
+     * @param resolver The resolver of the custom item data by the tag value,
+     *                 which returns null if there is no data for the value
+     * @param <T>      The type of the custom item data
+     * @return The registered kind
+     * @throws IllegalArgumentException If a kind with the same name or key is
+     *                                  already registered
+     */
+    public static synchronized <T> @NotNull Kind<T> register(
+            final @NotNull String name,
+            final @NotNull NamespacedKey key,
+            final @NotNull Function<String, T> resolver
+    ) throws IllegalArgumentException {
+        for (final var kind : KINDS) {
+            if (
+                    kind.name.equals(name)
+                    || kind.key.equals(key)
+            ) {
+                throw new IllegalArgumentException("Kind " + kind + " is already registered");
+            }
+        }
+
+        final Kind<T> kind = new Kind<>(name, key, resolver, KINDS.size());
+
+        KINDS.add(kind);
+        kinds = KINDS.toArray(new Kind<?>[0]);
+
+        return kind;
+    }
+
+    /**
+     * @return An unmodifiable list of the registered kinds in the order of
+     *         their registration
+     */
+    public static @NotNull @Unmodifiable List<Kind<?>> kinds() {
+        return List.of(kinds);
+    }
+
+    /**
+     * Classifies the item stack by the tags of the registered kinds
+     *
+     * @param itemStack The item stack
+     * @return The classification of the item stack, which is empty if the item
+     *         stack is null, air or has no tags of the registered kinds
+     */
+    public static @NotNull Classification classify(final @Nullable ItemStack itemStack) {
+        final Kind<?>[] kinds = ItemClassifier.kinds;
+
+        if (
+                itemStack == null
+                || kinds.length == 0
+        ) {
+            return Classification.EMPTY;
+        }
+
+        if (itemStack instanceof final CraftItemStack craftItemStack) {
+            return classify(getHandle(craftItemStack), kinds);
+        }
+
+        if (!itemStack.hasItemMeta()) {
+            return Classification.EMPTY;
+        }
+
+        final PersistentDataContainer container = itemStack.getItemMeta().getPersistentDataContainer();
+        final String[] keys = new String[kinds.length];
+        boolean found = false;
+
+        for (final var kind : kinds) {
+            final String key = container.get(kind.key, PersistentDataType.STRING);
+
+            if (key != null) {
+                keys[kind.index] = key;
+                found = true;
+            }
+        }
+
+        return found
+                ? new Classification(kinds, keys)
+                : Classification.EMPTY;
+    }
+
+    private static @NotNull Classification classify(
+            final @Nullable net.minecraft.world.item.ItemStack handle,
+            final Kind<?> @NotNull [] kinds
+    ) {
+        if (
+                handle == null
+                || handle.isEmpty()
+        ) {
+            return Classification.EMPTY;
+        }
+
+        final CompoundTag tag = handle.getTag();
+
+        if (
+                tag == null
+                || !tag.contains(BUKKIT_VALUES_TAG, Tag.TAG_COMPOUND)
+        ) {
+            return Classification.EMPTY;
+        }
+
+        final int tick = Bukkit.getCurrentTick();
+        final int slot = System.identityHashCode(handle) & (CACHE.length - 1);
+        final Entry cached = CACHE[slot];
+
+        if (
+                cached != null
+                && cached.handle == handle
+                && cached.tag == tag
+                && cached.tick == tick
+                && cached.kinds == kinds
+        ) {
+            return cached.classification;
+        }
+
+        final CompoundTag values = tag.getCompound(BUKKIT_VALUES_TAG);
+        final String[] keys = new String[kinds.length];
+        boolean found = false;
+
+        for (final var kind : kinds) {
+            if (values.contains(kind.tagKey, Tag.TAG_STRING)) {
+                keys[kind.index] = values.getString(kind.tagKey);
+                found = true;
+            }
+        }
+
+        final Classification classification =
+                found
+                ? new Classification(kinds, keys)
+                : Classification.EMPTY;
+
+        CACHE[slot] = new Entry(handle, tag, tick, kinds, classification);
+
+        return classification;
+    }
+
+    private static @Nullable net.minecraft.world.item.ItemStack getHandle(final @NotNull CraftItemStack itemStack) {
+        try {
+            return (net.minecraft.world.item.ItemStack) HANDLE_FIELD.get(itemStack);
+        } catch (final IllegalAccessException e) {
+            throw new IllegalStateException("Could not get craft item stack handle", e);
+        }
+    }
+
+    /**
+     * Kind of the custom items, which is registered with
+     * {@link ItemClassifier#register(String, NamespacedKey, Function)}
+     *
+     * @param <T> The type of the custom item data
+     */
+    public static final class Kind<T> {
+        private final String name;
+        private final NamespacedKey key;
+        private final String tagKey;
+        private final Function<String, T> resolver;
+        private final int index;
+
+        private Kind(
+                final @NotNull String name,
+                final @NotNull NamespacedKey key,
+                final @NotNull Function<String, T> resolver,
+                final int index
+        ) {
+            this.name = name;
+            this.key = key;
+            this.tagKey = key.toString();
+            this.resolver = resolver;
+            this.index = index;
+        }
+
+        /**
+         * @return The name of the kind
+         */
+        public @NotNull String getName() {
+            return this.name;
+        }
+
+        /**
+         * @return The key of the string tag, which contains the key of the
+         *         custom item of this kind
+         */
+        public @NotNull NamespacedKey getKey() {
+            return this.key;
+        }
+
+        /**
+         * @return A string representation of the kind
+         */
+        @Override
+        public @NotNull String toString() {
+            return this.name + '{' + this.key + '}';
+        }
+    }
+
+    /**
+     * Classification of an item stack, which contains the tag values of the
+     * registered kinds and their lazily resolved data
+     */
+    public static final class Classification {
+        private final Kind<?>[] kinds;
+        private final String[] keys;
+        private final Object[] values;
+
+        private static final Object UNRESOLVED = new Object();
+        private static final Classification EMPTY = new Classification(new Kind<?>[0], new String[0]);
+
+        private Classification(
+                final Kind<?> @NotNull [] kinds,
+                final String @NotNull [] keys
+        ) {
+            this.kinds = kinds;
+            this.keys = keys;
+            this.values = new Object[keys.length];
+
+            for (int i = 0; i < keys.length; ++i) {
+                if (keys[i] != null) {
+                    this.values[i] = UNRESOLVED;
+                }
+            }
+        }
+
+        /**
+         * @return True if the item stack has no tags of the registered kinds
+         */
+        public boolean isEmpty() {
+            return this == EMPTY;
+        }
+
+        /**
+         * @param kind The kind
+         * @return The value of the tag of the kind, or null if the item stack
+         *         has no such tag
+         */
+        public @Nullable String getKey(final @NotNull Kind<?> kind) {
+            return kind.index < this.keys.length
+                    ? this.keys[kind.index]
+                    : null;
+        }
+
+        /**
+         * @param kind The kind
+         * @param <T>  The type of the custom item data
+         * @return The data of the kind resolved by the value of its tag, or
+         *         null if the item stack has no such tag, or the value is not
+         *         associated with any data
+         */
+        @SuppressWarnings("unchecked")
+        public <T> @Nullable T get(final @NotNull Kind<T> kind) {
+            if (kind.index >= this.values.length) {
+                return null;
+            }
+
+            Object value = this.values[kind.index];
+
+            if (value == UNRESOLVED) {
+                value = kind.resolver.apply(this.keys[kind.index]);
+                this.values[kind.index] = value;
+            }
+
+            return (T) value;
+        }
+
+        /**
+         * @param kind The kind
+         * @return True if the item stack has the tag of the kind, and its
+         *         value is associated with the data
+         */
+        public boolean is(final @NotNull Kind<?> kind) {
+            return this.get(kind) != null;
+        }
+
+        /**
+         * @return The first registered kind, which the item stack is of, or
+         *         null if the item stack is not of any kind
+         * @see #is(Kind)
+         */
+        public @Nullable Kind<?> getKind() {
+            for (final var kind : this.kinds) {
+                if (this.is(kind)) {
+                    return kind;
+                }
+            }
+
+            return null;
+        }
+
+        /**
+         * @return A string representation of the classification
+         */
+        @Override
+        public @NotNull String toString() {
+            final var entries = new ObjectArrayList<String>();
+
+            for (final var kind : this.kinds) {
+                final String key = this.keys[kind.index];
+
+                if (key != null) {
+                    entries.add(kind.name + '=' + key);
+                }
+            }
+
+            return "Classification" + entries;
+        }
+    }
+
+    private record Entry(
+            @NotNull net.minecraft.world.item.ItemStack handle,
+            @NotNull CompoundTag tag,
+            int tick,
+            Kind<?> @NotNull [] kinds,
+            @NotNull Classification classification
+    ) {}
+}
@@ -2,10 +2,13 @@ package com.minersstudios.mscustoms;
 
 import com.google.gson.JsonElement;
 import com.minersstudios.mscore.plugin.cache.PluginCache;
+import com.minersstudios.mscustoms.collection.CustomDecorCache;
+import com.minersstudios.mscustoms.collection.DecorMap;
 import com.minersstudios.mscustoms.collection.DiggingMap;
 import com.minersstudios.mscustoms.collection.StepMap;
 import com.minersstudios.mscustoms.custom.block.CustomBlockData;
 import com.minersstudios.mscustoms.custom.item.renameable.RenameableItem;
+import com.minersstudios.mscustoms.task.DiggingTask;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.EquipmentSlot;
@@ -13,6 +16,8 @@ import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.UnknownNullability;
 
+import java.nio.file.Path;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -23,9 +28,14 @@ import java.util.concurrent.ConcurrentHashMap;
 public final class CustomsCache extends PluginCache<MSCustoms> {
     private StepMap stepMap;
     private DiggingMap diggingMap;
+    private DiggingTask diggingTask;
+    private DecorMap decorMap;
+    private CustomDecorCache customDecorCache;
     private Map<Player, EquipmentSlot> dosimeterPlayers;
     private List<RenameableItem> renameableMenuItems;
     private List<Map.Entry<CustomBlockData, JsonElement>> blockDataRecipes;
+    private Map<Path, String> blockFiles;
+    private Map<Path, String> renameableFiles;
 
     /**
      * Cache constructor
@@ -40,18 +50,28 @@ public final class CustomsCache extends PluginCache<MSCustoms> {
     public void onLoad() {
         this.stepMap = new StepMap();
         this.diggingMap = new DiggingMap();
+        this.diggingTask = new DiggingTask(this.diggingMap);
+        this.decorMap = new DecorMap();
+        this.customDecorCache = new CustomDecorCache();
         this.dosimeterPlayers = new ConcurrentHashMap<>();
-        this.renameableMenuItems = new ObjectArrayList<>();
+        this.renameableMenuItems = Collections.synchronizedList(new ObjectArrayList<>());
         this.blockDataRecipes = new ObjectArrayList<>();
+        this.blockFiles = new ConcurrentHashMap<>();
+        this.renameableFiles = new ConcurrentHashMap<>();
     }
 
     @Override
     public void onUnload() {
         this.stepMap = null;
         this.diggingMap = null;
+        this.diggingTask = null;
+        this.decorMap = null;
+        this.customDecorCache = null;
         this.dosimeterPlayers = null;
         this.renameableMenuItems = null;
         this.blockDataRecipes = null;
+        this.blockFiles = null;
+        this.renameableFiles = null;
     }
 
     public @UnknownNullability StepMap getStepMap() {
@@ -62,6 +82,18 @@ public final class CustomsCache extends PluginCache<MSCustoms> {
         return this.diggingMap;
     }
 
+    public @UnknownNullability DiggingTask getDiggingTask() {
+        return this.diggingTask;
+    }
+
+    public @UnknownNullability DecorMap getDecorMap() {
+        return this.decorMap;
+    }
+
+    public @UnknownNullability CustomDecorCache getCustomDecorCache() {
+        return this.customDecorCache;
+    }
+
     public @UnknownNullability Map<Player, EquipmentSlot> getDosimeterPlayers() {
         return this.dosimeterPlayers;
     }
@@ -74,4 +106,22 @@ public final class CustomsCache extends PluginCache<MSCustoms> {
     public @UnknownNullability List<Map.Entry<CustomBlockData, JsonElement>> getBlockDataRecipes() {
         return this.blockDataRecipes;
     }
+
+    /**
+     * @return The map of the loaded custom block files to the keys of the
+     *         custom block data loaded from them
+     */
+    @ApiStatus.Internal
+    public @UnknownNullability Map<Path, String> getBlockFiles() {
+        return this.blockFiles;
+    }
+
+    /**
+     * @return The map of the loaded renameable item files to the keys of the
+     *         renameable items loaded from them
+     */
+    @ApiStatus.Internal
+    public @UnknownNullability Map<Path, String> getRenameableFiles() {
+        return this.renameableFiles;
+    }
 }
@@ -2,10 +2,11 @@ package com.minersstudios.mscustoms;
 
 import com.minersstudios.mscore.plugin.MSPlugin;
 import com.minersstudios.mscore.plugin.config.PluginConfig;
-import com.minersstudios.mscore.status.StatusWatcher;
+import com.minersstudios.mscore.status.StartupGraph;
 import com.minersstudios.mscore.utility.ChatUtils;
 import com.minersstudios.mscustoms.custom.block.CustomBlockData;
 import com.minersstudios.mscustoms.custom.block.CustomBlockRegistry;
+import com.minersstudios.mscustoms.custom.block.file.BlockFileSnapshot;
 import com.minersstudios.mscustoms.custom.item.renameable.RenameableItem;
 import com.minersstudios.mscustoms.custom.item.renameable.RenameableItemRegistry;
 import com.minersstudios.mscustoms.menu.CraftsMenu;
@@ -18,10 +19,14 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.UnknownNullability;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * Configuration loader class.
@@ -32,6 +37,7 @@ import java.util.logging.Level;
  */
 public final class CustomsConfig extends PluginConfig<MSCustoms> {
     private long dosimeterCheckRate;
+    private boolean hotReload;
     private String woodSoundPlace;
     private String woodSoundBreak;
     private String woodSoundStep;
@@ -50,6 +56,9 @@ public final class CustomsConfig extends PluginConfig<MSCustoms> {
     /** The path in the plugin folder to the example custom block configuration file */
     public static final String EXAMPLE_BLOCK_FILE_PATH = BLOCKS_FOLDER + '/' + EXAMPLE_BLOCK_FILE_NAME;
 
+    /** The name of the binary snapshot file of the loaded custom block configurations */
+    public static final String BLOCKS_SNAPSHOT_FILE_NAME = "blocks.snapshot";
+
     /** The name of the renameable item configurations folder */
     public static final String ITEMS_FOLDER = "items";
 
@@ -62,6 +71,7 @@ public final class CustomsConfig extends PluginConfig<MSCustoms> {
 
     //<editor-fold desc="Config keys" defaultstate="collapsed">
     public static final String KEY_DOSIMETER_CHECK_RATE = "dosimeter-check-rate";
+    public static final String KEY_HOT_RELOAD =           "hot-reload";
 
     public static final String KEY_WOOD_SOUND_SECTION =   "wood-sound";
     public static final String KEY_PLACE =                "place";
@@ -72,6 +82,7 @@ public final class CustomsConfig extends PluginConfig<MSCustoms> {
 
     //<editor-fold desc="Config default values" defaultstate="collapsed">
     public static final long DEFAULT_DOSIMETER_CHECK_RATE = 100;
+    public static final boolean DEFAULT_HOT_RELOAD =        true;
     public static final String DEFAULT_WOOD_SOUND_PLACE =   "custom.block.wood.place";
     public static final String DEFAULT_WOOD_SOUND_BREAK =   "custom.block.wood.break";
     public static final String DEFAULT_WOOD_SOUND_STEP =    "custom.block.wood.step";
@@ -87,6 +98,7 @@ public final class CustomsConfig extends PluginConfig<MSCustoms> {
         final YamlConfiguration yaml = this.getYaml();
 
         this.dosimeterCheckRate = yaml.getLong(KEY_DOSIMETER_CHECK_RATE, DEFAULT_DOSIMETER_CHECK_RATE);
+        this.hotReload = yaml.getBoolean(KEY_HOT_RELOAD, DEFAULT_HOT_RELOAD);
 
         final ConfigurationSection woodSoundSection = yaml.getConfigurationSection(KEY_WOOD_SOUND_SECTION);
 
@@ -117,43 +129,12 @@ public final class CustomsConfig extends PluginConfig<MSCustoms> {
 
         plugin.saveResource(EXAMPLE_BLOCK_FILE_PATH, true);
         plugin.saveResource(EXAMPLE_RENAMEABLE_FILE_PATH, true);
-
-        plugin.runTaskAsync(this::loadBlocks);
-        plugin.getStatusHandler().addWatcher(
-                StatusWatcher.builder()
-                .successStatuses(
-                        MSCustoms.LOADED_BLOCKS,
-                        MSCustoms.LOADED_ITEMS,
-                        MSCustoms.LOADED_DECORATIONS
-                )
-                .successRunnable(
-                        () -> {
-                            plugin.runTaskAsync(this::loadRenames);
-                            plugin.runTask(() -> {
-                                final var list = plugin.getCache().getBlockDataRecipes();
-
-                                for (final var entry : list) {
-                                    entry.getKey().registerRecipes(
-                                            plugin,
-                                            entry.getValue()
-                                    );
-                                }
-
-                                list.clear();
-                                CraftsMenu.putCrafts(
-                                        CraftsMenu.Type.BLOCKS,
-                                        MSPlugin.globalCache().customBlockRecipes
-                                );
-                            });
-                        }
-                )
-                .build()
-        );
     }
 
     @Override
     public void reloadDefaultVariables() {
         this.setIfNotExists(KEY_DOSIMETER_CHECK_RATE, DEFAULT_DOSIMETER_CHECK_RATE);
+        this.setIfNotExists(KEY_HOT_RELOAD, DEFAULT_HOT_RELOAD);
 
         this.setIfNotExists(KEY_WOOD_SOUND_SECTION + '.' + KEY_PLACE, DEFAULT_WOOD_SOUND_PLACE);
         this.setIfNotExists(KEY_WOOD_SOUND_SECTION + '.' + KEY_BREAK, DEFAULT_WOOD_SOUND_BREAK);
@@ -168,6 +149,14 @@ public final class CustomsConfig extends PluginConfig<MSCustoms> {
         return this.dosimeterCheckRate;
     }
 
+    /**
+     * @return True if the custom block and renameable item files should be
+     *         reloaded automatically when they are changed
+     */
+    public boolean isHotReloadEnabled() {
+        return this.hotReload;
+    }
+
     /**
      * @return The wood sound place
      */
@@ -196,48 +185,134 @@ public final class CustomsConfig extends PluginConfig<MSCustoms> {
         return this.woodSoundHit;
     }
 
-    private void loadBlocks() {
+    /**
+     * Reloads the custom blocks and renameable items, and registers the
+     * recipes of the reloaded custom blocks.
+     * <br>
+     * The custom blocks are loaded first, then the renameable items are
+     * loaded in parallel with the block recipe registration on the main
+     * thread. The report is logged when all of them are completed.
+     *
+     * @return The future of the reload report
+     * @see StartupGraph
+     */
+    public @NotNull CompletableFuture<StartupGraph.Report> reloadData() {
+        final MSCustoms plugin = this.getPlugin();
+
+        return StartupGraph.builder("MSCustoms-Reload")
+                .phase(
+                        StartupGraph.phase("blocks")
+                        .provides(MSCustoms.LOADED_BLOCKS)
+                        .async(this::loadBlocks)
+                )
+                .phase(
+                        StartupGraph.phase("renames")
+                        .requires(
+                                MSCustoms.LOADED_BLOCKS,
+                                MSCustoms.LOADED_ITEMS,
+                                MSCustoms.LOADED_DECORATIONS
+                        )
+                        .provides(MSCustoms.LOADED_RENAMEABLES)
+                        .async(this::loadRenames)
+                )
+                .phase(
+                        StartupGraph.phase("block-recipes")
+                        .requires(MSCustoms.LOADED_BLOCKS)
+                        .mainThread(this::registerBlockRecipes)
+                )
+                .build()
+                .start(plugin.getStatusHandler(), plugin::runTask, plugin.getLogger());
+    }
+
+    /**
+     * Loads the custom blocks from the block configurations folder
+     *
+     * @throws UncheckedIOException If an I/O error occurs while walking the
+     *                              folder
+     */
+    void loadBlocks() throws UncheckedIOException {
         final long start = System.currentTimeMillis();
         final MSCustoms plugin = this.getPlugin();
+        final Path root = Paths.get(this.getFile().getParent() + '/' + BLOCKS_FOLDER).toAbsolutePath().normalize();
+        final var blockFiles = plugin.getCache().getBlockFiles();
+        final BlockFileSnapshot snapshot = BlockFileSnapshot.open(
+                Paths.get(this.getFile().getParent() + '/' + BLOCKS_SNAPSHOT_FILE_NAME)
+        );
 
         plugin.assignStatus(MSCustoms.LOADING_BLOCKS);
 
-        try (final var pathStream = Files.walk(Paths.get(this.getFile().getParent() + '/' + BLOCKS_FOLDER))) {
-            pathStream.parallel()
-            .filter(file -> {
-                final String fileName = file.getFileName().toString();
+        try (final var pathStream = Files.walk(root)) {
+            final var files =
+                    pathStream
+                    .filter(file -> {
+                        final String fileName = file.getFileName().toString();
 
-                return fileName.endsWith(JSON_EXTENSION)
-                        && !fileName.equalsIgnoreCase(EXAMPLE_BLOCK_FILE_NAME);
-            })
-            .map(path -> CustomBlockData.fromFile(plugin, path.toFile()))
-            .filter(Objects::nonNull)
-            .forEach(CustomBlockRegistry::register);
+                        return fileName.endsWith(JSON_EXTENSION)
+                                && !fileName.equalsIgnoreCase(EXAMPLE_BLOCK_FILE_NAME);
+                    })
+                    .toList();
+
+            CustomBlockRegistry.registerAll(
+                    files.parallelStream()
+                    .map(path -> {
+                        final CustomBlockData data = snapshot.load(plugin, root, path);
+
+                        if (data != null) {
+                            blockFiles.put(path, data.getKey());
+                        }
+
+                        return data;
+                    })
+                    .filter(Objects::nonNull)
+                    .toList()
+            );
 
-            plugin.assignStatus(MSCustoms.LOADED_BLOCKS);
             plugin.getComponentLogger().info(
                     Component.text(
-                            "Loaded " + CustomBlockRegistry.size() + " custom blocks in " + (System.currentTimeMillis() - start) + "ms",
+                            "Loaded " + CustomBlockRegistry.size() + " custom blocks in " + (System.currentTimeMillis() - start) + "ms" +
+                            " (" + snapshot.getCachedTags() + " cached, " + snapshot.getParsedTags() + " parsed item tags)",
                             NamedTextColor.GREEN
                     )
             );
+
+            final Logger logger = plugin.getLogger();
+
+            if (logger.isLoggable(Level.FINE)) {
+                for (final var line : snapshot.report(Integer.MAX_VALUE)) {
+                    logger.fine(line);
+                }
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException("An error occurred while loading blocks", e);
+        }
+
+        try {
+            snapshot.save();
         } catch (final IOException e) {
-            plugin.assignStatus(MSCustoms.FAILED_LOAD_BLOCKS);
             plugin.getLogger().log(
-                    Level.SEVERE,
-                    "An error occurred while loading blocks",
+                    Level.WARNING,
+                    "An error occurred while saving the custom block snapshot",
                     e
             );
         }
     }
 
-    private void loadRenames() {
+    /**
+     * Loads the renameable items from the renameable item configurations
+     * folder
+     *
+     * @throws UncheckedIOException If an I/O error occurs while walking the
+     *                              folder
+     */
+    void loadRenames() throws UncheckedIOException {
         final long start = System.currentTimeMillis();
         final MSCustoms plugin = this.getPlugin();
 
+        final var renameableFiles = plugin.getCache().getRenameableFiles();
+
         plugin.assignStatus(MSCustoms.LOADING_RENAMEABLES);
 
-        try (final var pathStream = Files.walk(Paths.get(this.getFile().getParent() + '/' + ITEMS_FOLDER))) {
+        try (final var pathStream = Files.walk(Paths.get(this.getFile().getParent() + '/' + ITEMS_FOLDER).toAbsolutePath().normalize())) {
             pathStream.parallel()
             .filter(file -> {
                 final String fileName = file.getFileName().toString();
@@ -245,11 +320,18 @@ public final class CustomsConfig extends PluginConfig<MSCustoms> {
                 return fileName.endsWith(YAML_EXTENSION)
                         && !fileName.equalsIgnoreCase(EXAMPLE_RENAMEABLE_FILE_NAME);
             })
-            .map(path -> RenameableItem.fromFile(plugin, path.toFile()))
+            .map(path -> {
+                final RenameableItem renameableItem = RenameableItem.fromFile(plugin, path.toFile());
+
+                if (renameableItem != null) {
+                    renameableFiles.put(path, renameableItem.getKey());
+                }
+
+                return renameableItem;
+            })
             .filter(Objects::nonNull)
             .forEach(RenameableItemRegistry::register);
 
-            plugin.assignStatus(MSCustoms.LOADED_RENAMEABLES);
             plugin.getComponentLogger().info(
                     Component.text(
                             "Loaded " + RenameableItemRegistry.keysSize() + " renameable items in " + (System.currentTimeMillis() - start) + "ms",
@@ -259,12 +341,29 @@ public final class CustomsConfig extends PluginConfig<MSCustoms> {
 
             RenamesMenu.update(plugin);
         } catch (final IOException e) {
-            plugin.assignStatus(MSCustoms.FAILED_LOAD_RENAMEABLES);
-            plugin.getLogger().log(
-                    Level.SEVERE,
-                    "An error occurred while loading renameable items",
-                    e
+            throw new UncheckedIOException("An error occurred while loading renameable items", e);
+        }
+    }
+
+    /**
+     * Registers the recipes of the loaded custom blocks, must be called on the
+     * main thread
+     */
+    void registerBlockRecipes() {
+        final MSCustoms plugin = this.getPlugin();
+        final var list = plugin.getCache().getBlockDataRecipes();
+
+        for (final var entry : list) {
+            entry.getKey().registerRecipes(
+                    plugin,
+                    entry.getValue()
             );
         }
+
+        list.clear();
+        CraftsMenu.putCrafts(
+                CraftsMenu.Type.BLOCKS,
+                MSPlugin.globalCache().customBlockRecipes
+        );
     }
 }
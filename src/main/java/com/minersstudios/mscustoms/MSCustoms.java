@@ -3,6 +3,7 @@ package com.minersstudios.mscustoms;
 import com.minersstudios.mscore.annotation.Namespace;
 import com.minersstudios.mscore.plugin.MSPlugin;
 import com.minersstudios.mscore.status.FailureStatus;
+import com.minersstudios.mscore.status.StartupGraph;
 import com.minersstudios.mscore.status.SuccessStatus;
 import com.minersstudios.mscore.utility.ItemUtils;
 import com.minersstudios.mscore.utility.PaperUtils;
@@ -12,13 +13,18 @@ import com.minersstudios.mscustoms.custom.item.CustomItemType;
 import com.minersstudios.mscustoms.listener.mechanic.DosimeterMechanic;
 import com.minersstudios.mscustoms.sound.SoundAdapter;
 import com.minersstudios.mscustoms.sound.SoundGroup;
+import com.minersstudios.mscustoms.task.FileWatchTask;
 import net.kyori.adventure.text.logger.slf4j.ComponentLogger;
 import org.bukkit.Material;
+import org.bukkit.entity.Interaction;
+import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.UnknownNullability;
 
-import java.util.concurrent.CompletableFuture;
+import java.io.IOException;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import static com.minersstudios.mscore.status.StartupGraph.phase;
 import static com.minersstudios.mscore.status.Status.failureLow;
 import static com.minersstudios.mscore.status.Status.successLow;
 
@@ -32,6 +38,9 @@ public class MSCustoms extends MSPlugin<MSCustoms> {
 
     private CustomsCache cache;
     private CustomsConfig config;
+    private StartupGraph startupGraph;
+    private FileWatchTask fileWatchTask;
+    private BukkitTask fileWatchBukkitTask;
 
     /** The namespace of the plugin */
     public static final @Namespace String NAMESPACE = "mscustoms";
@@ -66,8 +75,48 @@ public class MSCustoms extends MSPlugin<MSCustoms> {
                 SharedConstants.LEATHER_HORSE_ARMOR_MAX_STACK_SIZE
         );
 
-        CompletableFuture.runAsync(() -> CustomDecorType.load(this));
-        CompletableFuture.runAsync(() -> CustomItemType.load(this));
+        this.startupGraph =
+                StartupGraph.builder("MSCustoms")
+                .phase(
+                        phase("decorations")
+                        .provides(LOADED_DECORATIONS)
+                        .async(() -> CustomDecorType.load(this))
+                )
+                .phase(
+                        phase("items")
+                        .provides(LOADED_ITEMS)
+                        .async(() -> CustomItemType.load(this))
+                )
+                .phase(
+                        phase("blocks")
+                        .requires(ENABLED)
+                        .provides(LOADED_BLOCKS)
+                        .async(() -> this.config.loadBlocks())
+                )
+                .phase(
+                        phase("renames")
+                        .requires(LOADED_BLOCKS, LOADED_ITEMS, LOADED_DECORATIONS)
+                        .provides(LOADED_RENAMEABLES)
+                        .async(() -> this.config.loadRenames())
+                )
+                .phase(
+                        phase("block-recipes")
+                        .requires(LOADED_BLOCKS, LOADED_ITEMS, LOADED_DECORATIONS)
+                        .mainThread(() -> this.config.registerBlockRecipes())
+                )
+                .phase(
+                        phase("item-recipes")
+                        .requires(LOADED_BLOCKS, LOADED_ITEMS, LOADED_DECORATIONS)
+                        .mainThread(() -> CustomItemType.registerRecipes(this))
+                )
+                .phase(
+                        phase("decor-recipes")
+                        .requires(LOADED_BLOCKS, LOADED_ITEMS, LOADED_DECORATIONS)
+                        .mainThread(() -> CustomDecorType.registerRecipes(this))
+                )
+                .build();
+
+        this.startupGraph.start(this.getStatusHandler(), this::runTask, this.getLogger());
     }
 
     @Override
@@ -79,17 +128,68 @@ public class MSCustoms extends MSPlugin<MSCustoms> {
         this.cache.load();
         this.config.reload();
 
+        for (final var world : this.getServer().getWorlds()) {
+            this.cache.getDecorMap().addAll(world.getEntitiesByClass(Interaction.class));
+        }
+
+        this.runTaskTimer(this.cache.getDiggingTask(), 0L, 1L);
+
         this.runTaskTimerAsync(
                 () -> new DosimeterMechanic.DosimeterTask(this).run(),
                 0L, this.config.getDosimeterCheckRate()
         );
+
+        this.setupFileWatcher();
     }
 
     @Override
     public void disable() {
+        this.stopFileWatcher();
+
         singleton = null;
     }
 
+    /**
+     * Setups the file watch task, which reloads the changed custom block and
+     * renameable item files, if it is enabled in the config. If the task is
+     * already running, it will be restarted.
+     *
+     * @see FileWatchTask
+     * @see CustomsConfig#isHotReloadEnabled()
+     */
+    public void setupFileWatcher() {
+        this.stopFileWatcher();
+
+        if (!this.config.isHotReloadEnabled()) {
+            return;
+        }
+
+        try {
+            this.fileWatchTask = new FileWatchTask(this);
+            this.fileWatchBukkitTask = this.runTaskTimerAsync(this.fileWatchTask, 20L, 20L);
+        } catch (final IOException e) {
+            this.getLogger().log(
+                    Level.SEVERE,
+                    "Failed to watch the custom block and renameable item files",
+                    e
+            );
+        }
+    }
+
+    private void stopFileWatcher() {
+        if (this.fileWatchBukkitTask != null) {
+            this.fileWatchBukkitTask.cancel();
+
+            this.fileWatchBukkitTask = null;
+        }
+
+        if (this.fileWatchTask != null) {
+            this.fileWatchTask.close();
+
+            this.fileWatchTask = null;
+        }
+    }
+
     /**
      * Returns the cache of the plugin
      *
@@ -106,6 +206,16 @@ public class MSCustoms extends MSPlugin<MSCustoms> {
         return this.config;
     }
 
+    /**
+     * @return The startup graph of the plugin, which loads the custom
+     *         decorations, items, blocks and renameable items, or null if the
+     *         plugin is not loaded yet
+     * @see StartupGraph#whenComplete()
+     */
+    public @UnknownNullability StartupGraph getStartupGraph() {
+        return this.startupGraph;
+    }
+
     /**
      * @return True if the plugin is fully loaded
      */
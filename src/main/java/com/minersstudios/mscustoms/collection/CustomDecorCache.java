@@ -0,0 +1,131 @@
+package com.minersstudios.mscustoms.collection;
+
+import com.minersstudios.mscustoms.custom.decor.CustomDecor;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Interaction;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The CustomDecorCache class represents a cache of the resolved custom decors
+ * by the entity ids of their interactions. It allows to get the custom decor
+ * of an interaction without reading and parsing the persistent data of the
+ * hitbox on every interaction with it.
+ * <br>
+ * The entries are removed when the custom decor is destroyed, when any of its
+ * interactions is removed from the world, and when the chunk with them is
+ * unloaded, so the cache doesn't keep the removed entities. A cached custom
+ * decor is returned only if its display and all its interactions are still
+ * valid, otherwise it is removed from the cache.
+ * <br>
+ * All methods are synchronized on the cache instance.
+ *
+ * @see CustomDecor#fromInteraction(Interaction)
+ */
+public class CustomDecorCache {
+    private final Int2ObjectMap<CustomDecor> map = new Int2ObjectOpenHashMap<>();
+
+    /**
+     * @param interaction The interaction of the custom decor
+     * @return The cached custom decor of the interaction, or null if it is not
+     *         cached or is no longer valid
+     */
+    public synchronized @Nullable CustomDecor get(final @NotNull Interaction interaction) {
+        final CustomDecor customDecor = this.map.get(interaction.getEntityId());
+
+        if (customDecor == null) {
+            return null;
+        }
+
+        if (!isValid(customDecor, interaction)) {
+            this.removeEntries(customDecor);
+            return null;
+        }
+
+        return customDecor;
+    }
+
+    /**
+     * Caches the custom decor by the entity ids of all its interactions
+     *
+     * @param customDecor The custom decor to cache
+     */
+    public synchronized void put(final @NotNull CustomDecor customDecor) {
+        for (final var interaction : customDecor.getInteractions()) {
+            this.map.put(interaction.getEntityId(), customDecor);
+        }
+    }
+
+    /**
+     * Removes the cached custom decor of the entity from the cache, including
+     * the entries of the other interactions of the custom decor
+     *
+     * @param entity The entity, whose entry should be removed
+     */
+    public synchronized void remove(final @NotNull Entity entity) {
+        final CustomDecor customDecor = this.map.remove(entity.getEntityId());
+
+        if (customDecor != null) {
+            this.removeEntries(customDecor);
+        }
+    }
+
+    /**
+     * Removes the entries of all interactions of the custom decor from the
+     * cache
+     *
+     * @param customDecor The custom decor to remove
+     */
+    public synchronized void remove(final @NotNull CustomDecor customDecor) {
+        this.removeEntries(customDecor);
+    }
+
+    /**
+     * Removes all entries from the cache
+     */
+    public synchronized void clear() {
+        this.map.clear();
+    }
+
+    /**
+     * @return The number of cached interactions
+     */
+    public synchronized int size() {
+        return this.map.size();
+    }
+
+    private void removeEntries(final @NotNull CustomDecor customDecor) {
+        for (final var interaction : customDecor.getInteractions()) {
+            final int id = interaction.getEntityId();
+
+            if (this.map.get(id) == customDecor) {
+                this.map.remove(id);
+            }
+        }
+    }
+
+    private static boolean isValid(
+            final @NotNull CustomDecor customDecor,
+            final @NotNull Interaction interaction
+    ) {
+        if (!customDecor.getDisplay().isValid()) {
+            return false;
+        }
+
+        boolean found = false;
+
+        for (final var decorInteraction : customDecor.getInteractions()) {
+            if (!decorInteraction.isValid()) {
+                return false;
+            }
+
+            if (decorInteraction.getUniqueId().equals(interaction.getUniqueId())) {
+                found = true;
+            }
+        }
+
+        return found;
+    }
+}
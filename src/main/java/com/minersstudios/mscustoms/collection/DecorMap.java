@@ -0,0 +1,364 @@
+package com.minersstudios.mscustoms.collection;
+
+import com.minersstudios.mscustoms.custom.decor.DecorHitBox;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.ChunkPos;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Interaction;
+import org.bukkit.util.BoundingBox;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * The DecorMap class represents an index of the custom decor interactions by
+ * the blocks their hitboxes occupy. It replaces the entity bounding box scans
+ * of the custom decor lookups by a hash probe.
+ * <br>
+ * Every world has its own index, in which the blocks are grouped by chunk and
+ * indexed by their packed position (see {@link BlockPos#asLong(int, int, int)}).
+ * An interaction is indexed in every block its bounding box intersects, and
+ * only if it is a parent or a child of a custom decor hitbox. The index is
+ * maintained when a custom decor is placed or destroyed, and when the
+ * entities of a chunk are loaded or unloaded.
+ * <br>
+ * All methods are synchronized on the map instance.
+ *
+ * @see DecorHitBox#isParent(Interaction)
+ * @see DecorHitBox#isChild(Interaction)
+ */
+public class DecorMap {
+    private final Map<UUID, WorldIndex> worldMap = new Object2ObjectOpenHashMap<>();
+
+    private static final UUID[] EMPTY_UUIDS = new UUID[0];
+    private static final Interaction[] EMPTY_INTERACTIONS = new Interaction[0];
+    private static final double EPSILON = 1.0e-6d;
+    private static final int MAX_BLOCKS_PER_INTERACTION = 64;
+
+    /**
+     * Indexes the interaction if it is a part of a custom decor hitbox. If the
+     * interaction is already indexed, it is re-indexed at its current
+     * position.
+     *
+     * @param interaction The interaction to index
+     * @return True if the interaction was indexed
+     */
+    public synchronized boolean add(final @NotNull Interaction interaction) {
+        if (
+                !DecorHitBox.isParent(interaction)
+                && !DecorHitBox.isChild(interaction)
+        ) {
+            return false;
+        }
+
+        final UUID uuid = interaction.getUniqueId();
+        final WorldIndex worldIndex = this.worldMap.computeIfAbsent(
+                interaction.getWorld().getUID(),
+                ignored -> new WorldIndex()
+        );
+
+        worldIndex.remove(uuid);
+        worldIndex.add(interaction);
+
+        return true;
+    }
+
+    /**
+     * Indexes all interactions of the given entities, which are a part of a
+     * custom decor hitbox
+     *
+     * @param entities The entities to index
+     * @see #add(Interaction)
+     */
+    public synchronized void addAll(final @NotNull Iterable<? extends Entity> entities) {
+        for (final var entity : entities) {
+            if (entity instanceof final Interaction interaction) {
+                this.add(interaction);
+            }
+        }
+    }
+
+    /**
+     * Removes the interaction from the index
+     *
+     * @param interaction The interaction to remove
+     * @return True if the interaction was indexed
+     */
+    public synchronized boolean remove(final @NotNull Interaction interaction) {
+        final WorldIndex worldIndex = this.worldMap.get(interaction.getWorld().getUID());
+
+        return worldIndex != null
+                && worldIndex.remove(interaction.getUniqueId());
+    }
+
+    /**
+     * Removes all interactions located in the given chunk from the index
+     *
+     * @param chunk The chunk, whose interactions should be removed
+     */
+    public synchronized void removeChunk(final @NotNull Chunk chunk) {
+        final WorldIndex worldIndex = this.worldMap.get(chunk.getWorld().getUID());
+
+        if (worldIndex == null) {
+            return;
+        }
+
+        final Set<UUID> uuids = worldIndex.entitiesByChunk.remove(ChunkPos.asLong(chunk.getX(), chunk.getZ()));
+
+        if (uuids != null) {
+            for (final var uuid : uuids) {
+                worldIndex.remove(uuid);
+            }
+        }
+    }
+
+    /**
+     * Removes all interactions of the given world from the index
+     *
+     * @param world The world, whose interactions should be removed
+     */
+    public synchronized void removeWorld(final @NotNull World world) {
+        this.worldMap.remove(world.getUID());
+    }
+
+    /**
+     * @param block The block to check
+     * @return True if the block is occupied by at least one custom decor
+     *         interaction
+     */
+    public synchronized boolean contains(final @NotNull Block block) {
+        return this.get(block.getWorld(), block.getX(), block.getY(), block.getZ()).length != 0;
+    }
+
+    /**
+     * @param world The world of the block
+     * @param x     The x coordinate of the block
+     * @param y     The y coordinate of the block
+     * @param z     The z coordinate of the block
+     * @return The UUIDs of the custom decor interactions, which occupy the
+     *         block, or an empty array if there are none
+     */
+    public synchronized UUID @NotNull [] get(
+            final @NotNull World world,
+            final int x,
+            final int y,
+            final int z
+    ) {
+        final WorldIndex worldIndex = this.worldMap.get(world.getUID());
+
+        if (worldIndex == null) {
+            return EMPTY_UUIDS;
+        }
+
+        final var blockMap = worldIndex.chunkMap.get(ChunkPos.asLong(x >> 4, z >> 4));
+
+        if (blockMap == null) {
+            return EMPTY_UUIDS;
+        }
+
+        final UUID[] uuids = blockMap.get(BlockPos.asLong(x, y, z));
+
+        return uuids == null
+                ? EMPTY_UUIDS
+                : uuids.clone();
+    }
+
+    /**
+     * @param world The world of the block
+     * @param x     The x coordinate of the block
+     * @param y     The y coordinate of the block
+     * @param z     The z coordinate of the block
+     * @return The custom decor interactions, which occupy the block, or an
+     *         empty array if there are none
+     */
+    public Interaction @NotNull [] getInteractions(
+            final @NotNull World world,
+            final int x,
+            final int y,
+            final int z
+    ) {
+        final UUID[] uuids = this.get(world, x, y, z);
+
+        if (uuids.length == 0) {
+            return EMPTY_INTERACTIONS;
+        }
+
+        final var interactions = new ObjectArrayList<Interaction>(uuids.length);
+
+        for (final var uuid : uuids) {
+            if (world.getEntity(uuid) instanceof final Interaction interaction) {
+                interactions.add(interaction);
+            }
+        }
+
+        return interactions.toArray(EMPTY_INTERACTIONS);
+    }
+
+    /**
+     * @param world The world of the block
+     * @param x     The x coordinate of the block
+     * @param y     The y coordinate of the block
+     * @param z     The z coordinate of the block
+     * @return The first custom decor interaction, which occupies the block, or
+     *         null if there are none
+     */
+    public @Nullable Interaction getInteraction(
+            final @NotNull World world,
+            final int x,
+            final int y,
+            final int z
+    ) {
+        for (final var uuid : this.get(world, x, y, z)) {
+            if (world.getEntity(uuid) instanceof final Interaction interaction) {
+                return interaction;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * @return The number of indexed interactions in all worlds
+     */
+    public synchronized int size() {
+        int size = 0;
+
+        for (final var worldIndex : this.worldMap.values()) {
+            size += worldIndex.entities.size();
+        }
+
+        return size;
+    }
+
+    private static final class WorldIndex {
+        final Long2ObjectMap<Long2ObjectMap<UUID[]>> chunkMap = new Long2ObjectOpenHashMap<>();
+        final Long2ObjectMap<Set<UUID>> entitiesByChunk = new Long2ObjectOpenHashMap<>();
+        final Map<UUID, IndexedEntity> entities = new Object2ObjectOpenHashMap<>();
+
+        void add(final @NotNull Interaction interaction) {
+            final UUID uuid = interaction.getUniqueId();
+            final BoundingBox box = interaction.getBoundingBox();
+            final int minX = (int) Math.floor(box.getMinX() + EPSILON);
+            final int minY = (int) Math.floor(box.getMinY() + EPSILON);
+            final int minZ = (int) Math.floor(box.getMinZ() + EPSILON);
+            final int maxX = Math.max(minX, (int) Math.floor(box.getMaxX() - EPSILON));
+            final int maxY = Math.max(minY, (int) Math.floor(box.getMaxY() - EPSILON));
+            final int maxZ = Math.max(minZ, (int) Math.floor(box.getMaxZ() - EPSILON));
+            final var blockKeys = new ObjectArrayList<long[]>();
+
+            for (int x = minX; x <= maxX; ++x) {
+                for (int z = minZ; z <= maxZ; ++z) {
+                    for (int y = minY; y <= maxY; ++y) {
+                        if (blockKeys.size() == MAX_BLOCKS_PER_INTERACTION) {
+                            break;
+                        }
+
+                        final long chunkKey = ChunkPos.asLong(x >> 4, z >> 4);
+                        final long blockKey = BlockPos.asLong(x, y, z);
+                        final var blockMap = this.chunkMap.computeIfAbsent(chunkKey, k -> new Long2ObjectOpenHashMap<>());
+                        final UUID[] uuids = blockMap.get(blockKey);
+
+                        if (uuids == null) {
+                            blockMap.put(blockKey, new UUID[] { uuid });
+                        } else {
+                            final UUID[] newUUIDs = new UUID[uuids.length + 1];
+
+                            System.arraycopy(uuids, 0, newUUIDs, 0, uuids.length);
+                            newUUIDs[uuids.length] = uuid;
+                            blockMap.put(blockKey, newUUIDs);
+                        }
+
+                        blockKeys.add(new long[] { chunkKey, blockKey });
+                    }
+                }
+            }
+
+            final long entityChunkKey = ChunkPos.asLong(
+                    interaction.getLocation().getBlockX() >> 4,
+                    interaction.getLocation().getBlockZ() >> 4
+            );
+
+            this.entities.put(uuid, new IndexedEntity(entityChunkKey, blockKeys.toArray(long[][]::new)));
+            this.entitiesByChunk.computeIfAbsent(entityChunkKey, k -> new ObjectOpenHashSet<>()).add(uuid);
+        }
+
+        boolean remove(final @NotNull UUID uuid) {
+            final IndexedEntity indexed = this.entities.remove(uuid);
+
+            if (indexed == null) {
+                return false;
+            }
+
+            final Set<UUID> chunkEntities = this.entitiesByChunk.get(indexed.chunkKey);
+
+            if (chunkEntities != null) {
+                chunkEntities.remove(uuid);
+
+                if (chunkEntities.isEmpty()) {
+                    this.entitiesByChunk.remove(indexed.chunkKey);
+                }
+            }
+
+            for (final var keys : indexed.blockKeys) {
+                final var blockMap = this.chunkMap.get(keys[0]);
+
+                if (blockMap == null) {
+                    continue;
+                }
+
+                final UUID[] uuids = blockMap.get(keys[1]);
+
+                if (uuids == null) {
+                    continue;
+                }
+
+                final UUID[] newUUIDs = without(uuids, uuid);
+
+                if (newUUIDs.length == 0) {
+                    blockMap.remove(keys[1]);
+
+                    if (blockMap.isEmpty()) {
+                        this.chunkMap.remove(keys[0]);
+                    }
+                } else {
+                    blockMap.put(keys[1], newUUIDs);
+                }
+            }
+
+            return true;
+        }
+
+        static UUID @NotNull [] without(
+                final UUID @NotNull [] uuids,
+                final @NotNull UUID uuid
+        ) {
+            final var list = new ObjectArrayList<UUID>(uuids.length);
+
+            for (final var current : uuids) {
+                if (!current.equals(uuid)) {
+                    list.add(current);
+                }
+            }
+
+            return list.isEmpty()
+                    ? EMPTY_UUIDS
+                    : list.toArray(EMPTY_UUIDS);
+        }
+    }
+
+    private record IndexedEntity(
+            long chunkKey,
+            long @NotNull [] @NotNull [] blockKeys
+    ) {}
+}
@@ -1,61 +1,77 @@
 package com.minersstudios.mscustoms.collection;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.minersstudios.mscustoms.MSCustoms;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import net.minecraft.core.BlockPos;
 import org.bukkit.block.Block;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitScheduler;
 import org.jetbrains.annotations.*;
 
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.UUID;
 
 /**
  * The DiggingMap class represents a data structure that associates digging
  * entries with blocks. It allows storing and managing multiple digging entries
  * for different blocks and players.
+ * <br>
+ * Blocks are indexed per world by their packed position (see
+ * {@link BlockPos#asLong(int, int, int)}), and every player is indexed by
+ * their UUID, so all lookups by block, player or entry are O(1). A player
+ * can dig only one block at a time, putting a new entry for the player
+ * replaces the previous one. The entry with the biggest stage is tracked for
+ * every block when the stage of an entry changes.
+ * <br>
+ * All methods are synchronized on the map instance, as the map is accessed
+ * both from the main thread and from the netty event loop.
  */
 public class DiggingMap {
-    private final Map<Block, List<Entry>> diggingBlockMap = new ConcurrentHashMap<>();
+    private final Map<UUID, Long2ObjectMap<DiggingBlock>> worldMap = new Object2ObjectOpenHashMap<>();
+    private final Map<UUID, Entry> playerMap = new Object2ObjectOpenHashMap<>();
+    private int blocksSize;
 
     /**
      * @return An unmodifiable set of all digging entries present in the
      *         DiggingMap
      * @see Entry
      */
-    public @NotNull @Unmodifiable Set<Entry> diggingEntrySet() {
-        final var setBuilder = new ImmutableSet.Builder<Entry>();
-
-        for (final var diggingEntrySet : this.diggingBlockMap.values()) {
-            setBuilder.addAll(diggingEntrySet);
-        }
-
-        return setBuilder.build();
+    public synchronized @NotNull @Unmodifiable Set<Entry> diggingEntrySet() {
+        return ImmutableSet.copyOf(this.playerMap.values());
     }
 
     /**
      * @return An unmodifiable set of all blocks present in the DiggingMap
      */
-    public @NotNull @UnmodifiableView Set<Block> blockSet() {
-        return Collections.unmodifiableSet(this.diggingBlockMap.keySet());
+    public synchronized @NotNull @Unmodifiable Set<Block> blockSet() {
+        final var setBuilder = new ImmutableSet.Builder<Block>();
+
+        for (final var blockMap : this.worldMap.values()) {
+            for (final var diggingBlock : blockMap.values()) {
+                setBuilder.add(diggingBlock.block);
+            }
+        }
+
+        return setBuilder.build();
     }
 
     /**
      * @return An unmodifiable set of map entries containing blocks and their
      *         corresponding digging entries
      */
-    public @NotNull @Unmodifiable Set<Map.Entry<Block, Entry>> entrySet() {
+    public synchronized @NotNull @Unmodifiable Set<Map.Entry<Block, Entry>> entrySet() {
         final var entries = new ImmutableSet.Builder<Map.Entry<Block, Entry>>();
 
-        this.diggingBlockMap.forEach((block, entrySet) ->
-                entrySet.forEach(diggingEntry ->
-                        entries.add(Map.entry(block, diggingEntry))
-                )
-        );
+        for (final var diggingEntry : this.playerMap.values()) {
+            entries.add(Map.entry(diggingEntry.owner.block, diggingEntry));
+        }
 
         return entries.build();
     }
@@ -67,10 +83,22 @@ public class DiggingMap {
      *         block
      * @see Entry
      */
-    public @NotNull @Unmodifiable List<Entry> getDiggingEntries(final @NotNull Block block) {
-        return Collections.unmodifiableList(
-                this.diggingBlockMap.getOrDefault(block, Collections.emptyList())
-        );
+    public synchronized @NotNull @Unmodifiable List<Entry> getDiggingEntries(final @NotNull Block block) {
+        final DiggingBlock diggingBlock = this.getDiggingBlock(block);
+
+        return diggingBlock == null
+                ? Collections.emptyList()
+                : ImmutableList.copyOf(diggingBlock.entries);
+    }
+
+    /**
+     * @param block The block for which to count the associated digging entries
+     * @return The number of digging entries associated with the given block
+     */
+    public synchronized int entriesSize(final @NotNull Block block) {
+        final DiggingBlock diggingBlock = this.getDiggingBlock(block);
+
+        return diggingBlock == null ? 0 : diggingBlock.entries.size();
     }
 
     /**
@@ -80,14 +108,12 @@ public class DiggingMap {
      *         is not found in the map
      * @see Entry
      */
-    public @Nullable Block getBlock(final @NotNull Entry diggingEntry) {
-        for (final var entry : this.diggingBlockMap.entrySet()) {
-            if (entry.getValue().contains(diggingEntry)) {
-                return entry.getKey();
-            }
-        }
+    public synchronized @Nullable Block getBlock(final @NotNull Entry diggingEntry) {
+        final DiggingBlock owner = diggingEntry.owner;
 
-        return null;
+        return owner != null && owner.map == this
+                ? owner.block
+                : null;
     }
 
     /**
@@ -97,19 +123,21 @@ public class DiggingMap {
      * @see Entry
      * @see Entry#getPlayer()
      */
-    public @Nullable Block getBlock(final @NotNull Player player) {
-        for (final var entry : this.diggingBlockMap.entrySet()) {
-            final Block block = entry.getKey();
-            final var entries = entry.getValue();
-
-            for (final var diggingEntry : entries) {
-                if (diggingEntry.player.equals(player)) {
-                    return block;
-                }
-            }
-        }
+    public synchronized @Nullable Block getBlock(final @NotNull Player player) {
+        final Entry diggingEntry = this.playerMap.get(player.getUniqueId());
+
+        return diggingEntry == null
+                ? null
+                : diggingEntry.owner.block;
+    }
 
-        return null;
+    /**
+     * @param player The player for which to retrieve the digging entry
+     * @return The digging entry associated with the player, or null if the
+     *         player is not found in the map
+     */
+    public synchronized @Nullable Entry getEntry(final @NotNull Player player) {
+        return this.playerMap.get(player.getUniqueId());
     }
 
     /**
@@ -118,23 +146,16 @@ public class DiggingMap {
      * @return The digging entry associated with the block and player,
      *         or null if no entry is found for the block and player
      */
-    public @Nullable Entry getEntry(
+    public synchronized @Nullable Entry getEntry(
             final @NotNull Block block,
             final @NotNull Player player
     ) {
-        final var entries = this.diggingBlockMap.get(block);
-
-        if (entries == null) {
-            return null;
-        }
+        final Entry diggingEntry = this.playerMap.get(player.getUniqueId());
 
-        for (final var diggingEntry : entries) {
-            if (diggingEntry.player.equals(player)) {
-                return diggingEntry;
-            }
-        }
-
-        return null;
+        return diggingEntry != null
+                && diggingEntry.owner.block.equals(block)
+                ? diggingEntry
+                : null;
     }
 
     /**
@@ -145,26 +166,12 @@ public class DiggingMap {
      * @see Entry
      * @see Entry#getStage()
      */
-    public @Nullable Entry getBiggestStageEntry(final @NotNull Block block) {
-        final var entries = this.diggingBlockMap.get(block);
-
-        if (entries == null) {
-            return null;
-        }
+    public synchronized @Nullable Entry getBiggestStageEntry(final @NotNull Block block) {
+        final DiggingBlock diggingBlock = this.getDiggingBlock(block);
 
-        Entry maxStageEntry = null;
-        int maxStage = Integer.MIN_VALUE;
-
-        for (final var entry : entries) {
-            final int currentStage = entry.stage;
-
-            if (currentStage > maxStage) {
-                maxStage = currentStage;
-                maxStageEntry = entry;
-            }
-        }
-
-        return maxStageEntry;
+        return diggingBlock == null
+                ? null
+                : diggingBlock.biggest;
     }
 
     /**
@@ -172,19 +179,50 @@ public class DiggingMap {
      * the DiggingMap. If the block already exists in the map, the
      * digging entry is added to the existing set of entries. Otherwise,
      * a new set of entries is created and the digging entry is added to it.
+     * <br>
+     * If the player of the entry is already digging another block, or the
+     * entry is already associated with a block, the previous association is
+     * removed first.
      *
      * @param block        The block to associate with the digging entry
      * @param diggingEntry The digging entry to associate with the block
      * @see Entry
      */
-    public void put(
+    public synchronized void put(
             final @NotNull Block block,
             final @NotNull Entry diggingEntry
     ) {
-        this.diggingBlockMap.computeIfAbsent(
-                block,
-                unused -> new ObjectArrayList<>()
-        ).add(diggingEntry);
+        final Entry previous = this.playerMap.get(diggingEntry.player.getUniqueId());
+
+        if (previous != null) {
+            this.removeEntry(previous);
+        }
+
+        if (
+                diggingEntry.owner != null
+                && diggingEntry.owner.map == this
+        ) {
+            this.removeEntry(diggingEntry);
+        }
+
+        final var blockMap = this.worldMap.computeIfAbsent(
+                block.getWorld().getUID(),
+                unused -> new Long2ObjectOpenHashMap<>()
+        );
+        final long key = BlockPos.asLong(block.getX(), block.getY(), block.getZ());
+        DiggingBlock diggingBlock = blockMap.get(key);
+
+        if (diggingBlock == null) {
+            diggingBlock = new DiggingBlock(this, block, key);
+
+            blockMap.put(key, diggingBlock);
+            this.blocksSize++;
+        }
+
+        diggingEntry.owner = diggingBlock;
+
+        diggingBlock.add(diggingEntry);
+        this.playerMap.put(diggingEntry.player.getUniqueId(), diggingEntry);
     }
 
     /**
@@ -192,30 +230,25 @@ public class DiggingMap {
      * block from the DiggingMap. If the block has no other associated
      * digging entries, the block is removed from the map. Otherwise,
      * the digging entry is removed from the set of entries associated
-     * with the block. Additionally, the digging entry's task is cancelled.
+     * with the block. A removed entry is no longer ticked by the
+     * {@link com.minersstudios.mscustoms.task.DiggingTask}.
      *
      * @param block        The block from which to remove the digging entry
      * @param diggingEntry The digging entry to remove
      * @see Entry
-     * @see Entry#cancelTask()
      */
-    public void remove(
+    public synchronized void remove(
             final @NotNull Block block,
             final @NotNull Entry diggingEntry
     ) {
-        final var entries = this.diggingBlockMap.get(block);
+        final DiggingBlock owner = diggingEntry.owner;
 
-        if (entries == null) {
-            return;
-        }
-
-        entries.remove(diggingEntry);
-        diggingEntry.cancelTask();
-
-        if (entries.isEmpty()) {
-            this.diggingBlockMap.remove(block);
-        } else {
-            this.diggingBlockMap.put(block, entries);
+        if (
+                owner != null
+                && owner.map == this
+                && owner.block.equals(block)
+        ) {
+            this.removeEntry(diggingEntry);
         }
     }
 
@@ -224,123 +257,106 @@ public class DiggingMap {
      * and player from the DiggingMap. If the block has no other associated
      * digging entries, the block is removed from the map. Otherwise,
      * the digging entry is removed from the set of entries associated
-     * with the block. Additionally, the digging entry's task is cancelled.
+     * with the block. A removed entry is no longer ticked by the
+     * {@link com.minersstudios.mscustoms.task.DiggingTask}.
      *
      * @param block  The block from which to remove the digging entry
      * @param player The player whose digging entry to remove
      * @see Entry
-     * @see Entry#cancelTask()
      */
-    public void remove(
+    public synchronized void remove(
             final @NotNull Block block,
             final @NotNull Player player
     ) {
-        if (!this.diggingBlockMap.containsKey(block)) {
-            return;
-        }
+        final Entry diggingEntry = this.getEntry(block, player);
 
-        this.diggingBlockMap.forEach((diggingBlock, diggingEntrySet) ->
-                diggingEntrySet.forEach(diggingEntry -> {
-                    if (
-                            diggingBlock.equals(block)
-                            && diggingEntry.player.equals(player)
-                    ) {
-                        this.remove(block, diggingEntry);
-                    }
-                })
-        );
+        if (diggingEntry != null) {
+            this.removeEntry(diggingEntry);
+        }
     }
 
     /**
      * Removes all digging entries associated with the specified block
-     * from the DiggingMap. Additionally, all digging entries' tasks are
-     * cancelled.
+     * from the DiggingMap. Removed entries are no longer ticked.
      *
      * @param block The block from which to remove all digging entries
      * @see Entry
-     * @see Entry#cancelTask()
      */
-    public void removeAll(final @NotNull Block block) {
-        final var entries = this.diggingBlockMap.remove(block);
+    public synchronized void removeAll(final @NotNull Block block) {
+        final var blockMap = this.worldMap.get(block.getWorld().getUID());
 
-        if (entries != null) {
-            for (final var diggingEntry : entries) {
-                diggingEntry.cancelTask();
-            }
+        if (blockMap == null) {
+            return;
+        }
+
+        final DiggingBlock diggingBlock =
+                blockMap.remove(BlockPos.asLong(block.getX(), block.getY(), block.getZ()));
+
+        if (diggingBlock == null) {
+            return;
+        }
+
+        this.blocksSize--;
+
+        for (final var diggingEntry : diggingBlock.entries) {
+            this.playerMap.remove(diggingEntry.player.getUniqueId(), diggingEntry);
+            diggingEntry.owner = null;
+        }
+
+        if (blockMap.isEmpty()) {
+            this.worldMap.remove(block.getWorld().getUID());
         }
     }
 
     /**
-     * Removes all digging entries that match the specified digging entry
-     * from the DiggingMap. Additionally, all digging entries' tasks are
-     * cancelled.
+     * Removes the specified digging entry from the DiggingMap. A removed entry
+     * is no longer ticked.
      *
      * @param diggingEntry The digging entry to remove from the DiggingMap
      * @see Entry
-     * @see Entry#cancelTask()
      * @see #remove(Block, Entry)
      */
-    public void removeAll(final @NotNull Entry diggingEntry) {
-        final var toRemove = new ObjectArrayList<Block>();
-
-        for (final var entry : this.diggingBlockMap.entrySet()) {
-            final Block block = entry.getKey();
-            final var entries = entry.getValue();
-
-            if (entries.contains(diggingEntry)) {
-                toRemove.add(block);
-            }
-        }
+    public synchronized void removeAll(final @NotNull Entry diggingEntry) {
+        final DiggingBlock owner = diggingEntry.owner;
 
-        for (final var block : toRemove) {
-            this.remove(block, diggingEntry);
+        if (
+                owner != null
+                && owner.map == this
+        ) {
+            this.removeEntry(diggingEntry);
         }
     }
 
     /**
      * Removes all digging entries associated with the specified player
-     * from the DiggingMap. Additionally, all digging entries' tasks are
-     * cancelled.
+     * from the DiggingMap. Removed entries are no longer ticked.
      *
      * @param player The player whose digging entries to remove
      * @return A list of map entries containing blocks and their corresponding
      *         digging entries that were removed from the DiggingMap
      * @see Entry
-     * @see Entry#cancelTask()
      * @see #remove(Block, Entry)
      */
-    public @NotNull List<Map.Entry<Block, Entry>> removeAll(final @NotNull Player player) {
-        final var toRemove = new ObjectArrayList<Map.Entry<Block, Entry>>();
-
-        for (final var entry : this.diggingBlockMap.entrySet()) {
-            final Block block = entry.getKey();
-            final var entries = entry.getValue();
+    public synchronized @NotNull List<Map.Entry<Block, Entry>> removeAll(final @NotNull Player player) {
+        final Entry diggingEntry = this.playerMap.get(player.getUniqueId());
 
-            for (final var diggingEntry : entries) {
-                if (diggingEntry.player.equals(player)) {
-                    toRemove.add(
-                            Map.entry(block, diggingEntry)
-                    );
-                }
-            }
+        if (diggingEntry == null) {
+            return Collections.emptyList();
         }
 
-        for (final var entry : toRemove) {
-            this.remove(
-                    entry.getKey(),
-                    entry.getValue()
-            );
-        }
+        final Block block = diggingEntry.owner.block;
+
+        this.removeEntry(diggingEntry);
 
-        return toRemove;
+        return Collections.singletonList(Map.entry(block, diggingEntry));
     }
 
     /**
      * @param block The block to check for existence in the DiggingMap
      * @return True if the block is present in the DiggingMap
      */
-    public boolean containsBlock(final @NotNull Block block) {
-        return this.diggingBlockMap.containsKey(block);
+    public synchronized boolean containsBlock(final @NotNull Block block) {
+        return this.getDiggingBlock(block) != null;
     }
 
     /**
@@ -350,14 +366,9 @@ public class DiggingMap {
      *                     in the DiggingMap
      * @return True if the digging entry is present in the DiggingMap
      */
-    public boolean containsEntry(final @NotNull Entry diggingEntry) {
-        for (final var diggingEntrySet : this.diggingBlockMap.values()) {
-            if (diggingEntrySet.contains(diggingEntry)) {
-                return true;
-            }
-        }
-
-        return false;
+    public synchronized boolean containsEntry(final @NotNull Entry diggingEntry) {
+        return diggingEntry.owner != null
+                && diggingEntry.owner.map == this;
     }
 
     /**
@@ -368,51 +379,166 @@ public class DiggingMap {
      * @return True if the DiggingMap contains any digging entry
      *         associated with the player
      */
-    public boolean containsPlayer(final @NotNull Player player) {
-        for (final var diggingEntrySet : this.diggingBlockMap.values()) {
-            for (final var diggingEntry : diggingEntrySet) {
-                if (diggingEntry.player.equals(player)) {
-                    return true;
-                }
-            }
-        }
-
-        return false;
+    public synchronized boolean containsPlayer(final @NotNull Player player) {
+        return this.playerMap.containsKey(player.getUniqueId());
     }
 
     /**
      * @return True if the DiggingMap contains no blocks
      */
-    public boolean isEmpty() {
-        return this.diggingBlockMap.isEmpty();
+    public synchronized boolean isEmpty() {
+        return this.blocksSize == 0;
     }
 
     /**
      * Clears all blocks and their associated digging entries from
      * the DiggingMap
      */
-    public void clear() {
-        this.diggingBlockMap.clear();
+    public synchronized void clear() {
+        for (final var diggingEntry : this.playerMap.values()) {
+            diggingEntry.owner = null;
+        }
+
+        this.worldMap.clear();
+        this.playerMap.clear();
+        this.blocksSize = 0;
     }
 
     /**
      * @return The total number of blocks present in the DiggingMap
      */
-    public int blocksSize() {
-        return this.diggingBlockMap.size();
+    public synchronized int blocksSize() {
+        return this.blocksSize;
     }
 
     /**
      * @return The total number of digging entries present in the DiggingMap
      */
-    public int entriesSize() {
-        int totalSize = 0;
+    public synchronized int entriesSize() {
+        return this.playerMap.size();
+    }
 
-        for (final var diggingEntrySet : this.diggingBlockMap.values()) {
-            totalSize += diggingEntrySet.size();
+    /**
+     * Copies all digging entries present in the DiggingMap into the given
+     * array, if it is big enough, otherwise into a new array. If the array has
+     * room to spare, the element following the last entry is set to null.
+     * <br>
+     * This method is meant for the tick loop, that reuses the same array every
+     * tick and does not allocate once the array is big enough.
+     *
+     * @param array The array to copy the entries into
+     * @return The array containing all digging entries
+     * @see java.util.Collection#toArray(Object[])
+     */
+    public synchronized Entry @NotNull [] toEntryArray(final Entry @NotNull [] array) {
+        return this.playerMap.values().toArray(array);
+    }
+
+    private @Nullable DiggingBlock getDiggingBlock(final @NotNull Block block) {
+        final var blockMap = this.worldMap.get(block.getWorld().getUID());
+
+        return blockMap == null
+                ? null
+                : blockMap.get(BlockPos.asLong(block.getX(), block.getY(), block.getZ()));
+    }
+
+    /**
+     * Removes the given entry from its block and from the player index. The
+     * block is removed from the map if it has no other entries.
+     *
+     * @param diggingEntry The digging entry to remove, must be owned by this
+     *                     map
+     */
+    private void removeEntry(final @NotNull Entry diggingEntry) {
+        final DiggingBlock owner = diggingEntry.owner;
+
+        this.playerMap.remove(diggingEntry.player.getUniqueId(), diggingEntry);
+        owner.remove(diggingEntry);
+
+        diggingEntry.owner = null;
+
+        if (owner.entries.isEmpty()) {
+            final UUID worldUUID = owner.block.getWorld().getUID();
+            final var blockMap = this.worldMap.get(worldUUID);
+
+            if (
+                    blockMap != null
+                    && blockMap.remove(owner.key, owner)
+            ) {
+                this.blocksSize--;
+
+                if (blockMap.isEmpty()) {
+                    this.worldMap.remove(worldUUID);
+                }
+            }
         }
+    }
 
-        return totalSize;
+    /**
+     * Digging entries of a single block with the cached entry of the biggest
+     * stage
+     */
+    private static final class DiggingBlock {
+        final DiggingMap map;
+        final Block block;
+        final long key;
+        final List<Entry> entries;
+        Entry biggest;
+
+        DiggingBlock(
+                final @NotNull DiggingMap map,
+                final @NotNull Block block,
+                final long key
+        ) {
+            this.map = map;
+            this.block = block;
+            this.key = key;
+            this.entries = new ObjectArrayList<>(1);
+        }
+
+        void add(final @NotNull Entry entry) {
+            this.entries.add(entry);
+
+            if (
+                    this.biggest == null
+                    || entry.stage > this.biggest.stage
+            ) {
+                this.biggest = entry;
+            }
+        }
+
+        void remove(final @NotNull Entry entry) {
+            this.entries.remove(entry);
+
+            if (this.biggest == entry) {
+                this.recalculateBiggest();
+            }
+        }
+
+        void onStageChange(final @NotNull Entry entry) {
+            if (this.biggest == null) {
+                this.biggest = entry;
+            } else if (this.biggest == entry) {
+                this.recalculateBiggest();
+            } else if (entry.stage > this.biggest.stage) {
+                this.biggest = entry;
+            }
+        }
+
+        private void recalculateBiggest() {
+            Entry maxStageEntry = null;
+
+            for (final var entry : this.entries) {
+                if (
+                        maxStageEntry == null
+                        || entry.stage > maxStageEntry.stage
+                ) {
+                    maxStageEntry = entry;
+                }
+            }
+
+            this.biggest = maxStageEntry;
+        }
     }
 
     /**
@@ -420,29 +546,37 @@ public class DiggingMap {
      * associated with a player and a block in the DiggingMap.
      * It contains information about the player, the stage,
      * and other properties related to the digging process.
+     * <br>
+     * Instead of owning a scheduled task, every entry has a ticker, that is
+     * run once per server tick by the
+     * {@link com.minersstudios.mscustoms.task.DiggingTask} while the entry is
+     * present in the DiggingMap.
      */
     public static class Entry {
         private final Player player;
-        private int taskId;
+        private final Runnable ticker;
+        private DiggingBlock owner;
         private int stage;
         private boolean isAborting;
 
+        private static final Runnable EMPTY_TICKER = () -> {};
+
         private Entry(
                 final @NotNull Player player,
-                final int taskId,
+                final @NotNull Runnable ticker,
                 final int stage,
                 final boolean farAway
         ) {
             this.player = player;
+            this.ticker = ticker;
             this.stage = stage;
-            this.taskId = taskId;
             this.isAborting = farAway;
         }
 
         /**
          * Creates a new Entry instance for the specified player with
-         * default values for task ID, stage, and farAway. The task ID
-         * is required to be set later.
+         * default values for ticker, stage, and farAway. The entry does
+         * nothing when ticked.
          *
          * @param player The player associated with the digging entry
          * @return A new Entry instance with the specified player
@@ -450,32 +584,32 @@ public class DiggingMap {
          */
         @Contract("_ -> new")
         public static @NotNull Entry create(final @NotNull Player player) {
-            return new Entry(player, -1, 0, false);
+            return new Entry(player, EMPTY_TICKER, 0, false);
         }
 
         /**
          * Creates a new Entry instance with the specified player
-         * and task ID. The stage and farAway properties are set
+         * and ticker. The stage and farAway properties are set
          * to default values.
          *
          * @param player The player associated with the digging entry
-         * @param taskId The task ID associated with the digging entry
+         * @param ticker The ticker to run once per server tick
          * @return A new Entry instance with the specified player
-         *         and task ID
+         *         and ticker
          */
         @Contract("_, _ -> new")
         public static @NotNull Entry create(
                 final @NotNull Player player,
-                final int taskId
+                final @NotNull Runnable ticker
         ) {
-            return new Entry(player, taskId, 0, false);
+            return new Entry(player, ticker, 0, false);
         }
 
         /**
          * Creates a new Entry instance with the specified parameters
          *
          * @param player   The player associated with the digging entry
-         * @param taskId   The task ID associated with the digging entry
+         * @param ticker   The ticker to run once per server tick
          * @param stage    The current stage of the digging process
          * @param farAway  A boolean indicating whether the player is
          *                 far away from the block being dug
@@ -484,11 +618,11 @@ public class DiggingMap {
         @Contract("_, _, _, _ -> new")
         public static @NotNull Entry create(
                 final @NotNull Player player,
-                final int taskId,
+                final @NotNull Runnable ticker,
                 final int stage,
                 final boolean farAway
         ) {
-            return new Entry(player, taskId, stage, farAway);
+            return new Entry(player, ticker, stage, farAway);
         }
 
         /**
@@ -499,22 +633,10 @@ public class DiggingMap {
         }
 
         /**
-         * @return The task ID associated with the digging entry
+         * Runs the ticker of this entry. Must be called from the main thread.
          */
-        public int getTaskId() {
-            return this.taskId;
-        }
-
-        /**
-         * Sets the task ID for the digging entry
-         *
-         * @param taskId The task ID to set for the digging entry
-         * @return The current Entry instance with the updated task ID
-         */
-        public @NotNull Entry setTaskId(final int taskId) {
-            this.taskId = taskId;
-
-            return this;
+        public void tick() {
+            this.ticker.run();
         }
 
         /**
@@ -531,7 +653,19 @@ public class DiggingMap {
          * @return The current Entry instance with the updated stage
          */
         public @NotNull Entry setStage(final int stage) {
-            this.stage = stage;
+            final DiggingBlock owner = this.owner;
+
+            if (owner == null) {
+                this.stage = stage;
+            } else {
+                synchronized (owner.map) {
+                    this.stage = stage;
+
+                    if (this.owner == owner) {
+                        owner.onStageChange(this);
+                    }
+                }
+            }
 
             return this;
         }
@@ -586,25 +720,9 @@ public class DiggingMap {
         public @NotNull String toString() {
             return "DiggingEntry{" +
                     "player=" + this.player.getName() +
-                    ", taskId=" + this.taskId +
                     ", stage=" + this.stage +
                     ", isAborting=" + this.isAborting +
                     '}';
         }
-
-        /**
-         * Cancels the task associated with this Entry. If the task ID
-         * is valid, it cancels the scheduled task using Bukkit's scheduler.
-         * After cancellation, the task ID is set to -1.
-         *
-         * @throws NullPointerException If the server is not running
-         * @see BukkitScheduler#cancelTask(int)
-         */
-        public void cancelTask() throws NullPointerException {
-            if (this.taskId != -1) {
-                this.player.getServer().getScheduler().cancelTask(this.taskId);
-                this.taskId = -1;
-            }
-        }
     }
 }
@@ -24,7 +24,10 @@ public final class ReloadCommand {
         }
 
         CustomBlockRegistry.unregisterAll();
+        plugin.getCache().getBlockFiles().clear();
         plugin.getConfiguration().reload();
+        plugin.getConfiguration().reloadData();
+        plugin.setupFileWatcher();
         MSLogger.fine(
                 sender,
                 Translations.COMMAND_MSBLOCK_RELOAD_SUCCESS.asTranslatable()
@@ -38,7 +38,10 @@ public final class ReloadCommand {
         MSPlugin.globalCache().customItemRecipes.clear();
         plugin.getCache().getRenameableMenuItems().clear();
         RenameableItemRegistry.unregisterAll();
+        plugin.getCache().getRenameableFiles().clear();
         plugin.getConfiguration().reload();
+        plugin.getConfiguration().reloadData();
+        plugin.setupFileWatcher();
         MSLogger.fine(
                 sender,
                 Translations.COMMAND_MSITEM_RELOAD_SUCCESS.asTranslatable()
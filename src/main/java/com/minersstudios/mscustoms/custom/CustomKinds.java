@@ -0,0 +1,61 @@
+package com.minersstudios.mscustoms.custom;
+
+import com.minersstudios.mscore.utility.ItemClassifier;
+import com.minersstudios.mscustoms.custom.block.CustomBlockData;
+import com.minersstudios.mscustoms.custom.block.CustomBlockRegistry;
+import com.minersstudios.mscustoms.custom.decor.CustomDecorType;
+import com.minersstudios.mscustoms.custom.item.CustomItemType;
+import com.minersstudios.mscustoms.custom.item.renameable.RenameableItem;
+import com.minersstudios.mscustoms.custom.item.renameable.RenameableItemRegistry;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The kinds of the MSCustoms items, which are registered in the
+ * {@link ItemClassifier} in the order of their priority: custom blocks,
+ * custom decors, custom items and renameable items.
+ * <br>
+ * Use {@link #classify(ItemStack)} to get all kinds of an item stack at once
+ * instead of calling the {@code fromItemStack} methods of the registries one
+ * by one.
+ *
+ * @see ItemClassifier
+ */
+public final class CustomKinds {
+    public static final ItemClassifier.Kind<CustomBlockData> BLOCK = ItemClassifier.register(
+            "block",
+            CustomBlockRegistry.TYPE_NAMESPACED_KEY,
+            key -> CustomBlockRegistry.fromKey(key).orElse(null)
+    );
+    public static final ItemClassifier.Kind<CustomDecorType> DECOR = ItemClassifier.register(
+            "decor",
+            CustomDecorType.TYPE_NAMESPACED_KEY,
+            CustomDecorType::fromKey
+    );
+    public static final ItemClassifier.Kind<CustomItemType> ITEM = ItemClassifier.register(
+            "item",
+            CustomItemType.TYPE_NAMESPACED_KEY,
+            CustomItemType::fromKey
+    );
+    public static final ItemClassifier.Kind<RenameableItem> RENAMEABLE = ItemClassifier.register(
+            "renameable",
+            RenameableItemRegistry.RENAMEABLE_NAMESPACED_KEY,
+            key -> RenameableItemRegistry.fromKey(key).orElse(null)
+    );
+
+    @Contract(" -> fail")
+    private CustomKinds() throws AssertionError {
+        throw new AssertionError("Utility class");
+    }
+
+    /**
+     * @param itemStack The item stack to classify
+     * @return The classification of the item stack
+     * @see ItemClassifier#classify(ItemStack)
+     */
+    public static @NotNull ItemClassifier.Classification classify(final @Nullable ItemStack itemStack) {
+        return ItemClassifier.classify(itemStack);
+    }
+}
@@ -5,6 +5,7 @@ import com.minersstudios.mscustoms.MSCustoms;
 import com.minersstudios.mscustoms.custom.block.params.NoteBlockData;
 import com.minersstudios.mscustoms.custom.block.params.PlacingType;
 import com.minersstudios.mscore.utility.ChatUtils;
+import com.minersstudios.mscustoms.custom.CustomKinds;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
@@ -15,8 +16,6 @@ import org.bukkit.block.Block;
 import org.bukkit.block.data.BlockData;
 import org.bukkit.block.data.type.NoteBlock;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.ItemMeta;
-import org.bukkit.persistence.PersistentDataType;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -30,14 +29,20 @@ import java.util.*;
  * register, unregister, and retrieve custom block data based on different 
  * criteria, such as the custom block's key, hash code, or block data.
  * <br>
- * The CustomBlockRegistry uses one concurrent map to store all the registered
- * custom block data associated with the corresponding hash code of the
- * {@link NoteBlockData} of the custom block. And another concurrent map to
- * store the registered keys associated with the corresponding hash code of the
+ * The CustomBlockRegistry uses one map to store all the registered custom
+ * block data associated with the corresponding hash code of the
+ * {@link NoteBlockData} of the custom block. And another map to store the
+ * registered keys associated with the corresponding hash codes of the
  * {@link NoteBlockData} of the custom block. The {@link #HASH_CODE_MAP} is a
- * main map that stores all the registered custom block data. The 
+ * main map that stores all the registered custom block data. The
  * {@link #KEY_MAP} is used to store the registered keys and associated hash
- * codes.
+ * codes. Both maps are only accessed while holding the registry lock.
+ * <br>
+ * All lookups are served from an immutable {@link Snapshot}, which is rebuilt
+ * from the maps after each modification and published through a volatile
+ * field. The snapshot contains a dense array indexed by
+ * {@link NoteBlockData#stateIndex()}, so the lookups by note block are a single
+ * array access, which does not allocate and does not lock.
  * <br>
  * All recipes by default are registered after all custom blocks, items, and
  * decorations are registered. This is to avoid problems related to dependencies 
@@ -74,14 +79,17 @@ import java.util.*;
  * }</pre>
  *
  * <br>
- * <b>NOTE:</b> This class is designed to be thread-safe by utilizing 
- * ConcurrentHashMap for the storage of custom block data and recipes.
+ * <b>NOTE:</b> This class is thread-safe. Modifications are synchronized, and
+ * lookups read the latest published snapshot without locking. Use
+ * {@link #registerAll(Collection)} to register many custom block data at once,
+ * so the snapshot is published only once.
  */
 public final class CustomBlockRegistry {
     public static final NamespacedKey TYPE_NAMESPACED_KEY = new NamespacedKey(SharedConstants.MSBLOCK_NAMESPACE, "type");
 
     private static final Int2ObjectMap<CustomBlockData> HASH_CODE_MAP = new Int2ObjectOpenHashMap<>();
     private static final Map<String, IntSet> KEY_MAP = new Object2ObjectOpenHashMap<>();
+    private static volatile Snapshot snapshot = Snapshot.EMPTY;
 
     static {
         register(CustomBlockData.defaultData());
@@ -98,7 +106,7 @@ public final class CustomBlockRegistry {
      * @see #HASH_CODE_MAP
      */
     public static @NotNull @UnmodifiableView Set<Integer> hashCodeSet() {
-        return Collections.unmodifiableSet(HASH_CODE_MAP.keySet());
+        return Collections.unmodifiableSet(snapshot.hashCodeMap.keySet());
     }
 
     /**
@@ -107,7 +115,7 @@ public final class CustomBlockRegistry {
      * @see #KEY_MAP
      */
     public static @NotNull @UnmodifiableView Set<String> keySet() {
-        return Collections.unmodifiableSet(KEY_MAP.keySet());
+        return Collections.unmodifiableSet(snapshot.keyMap.keySet());
     }
 
     /**
@@ -115,7 +123,7 @@ public final class CustomBlockRegistry {
      * @see #HASH_CODE_MAP
      */
     public static @NotNull @UnmodifiableView Collection<CustomBlockData> customBlockDataCollection() {
-        return Collections.unmodifiableCollection(HASH_CODE_MAP.values());
+        return Collections.unmodifiableCollection(snapshot.hashCodeMap.values());
     }
 
     /**
@@ -130,7 +138,7 @@ public final class CustomBlockRegistry {
      * @see #HASH_CODE_MAP
      */
     public static @NotNull Optional<CustomBlockData> fromHashCode(final int hashCode) {
-        return Optional.ofNullable(HASH_CODE_MAP.get(hashCode));
+        return Optional.ofNullable(snapshot.hashCodeMap.get(hashCode));
     }
 
     /**
@@ -144,17 +152,11 @@ public final class CustomBlockRegistry {
      *         or an {@link Optional#empty()} if the given key is not associated 
      *         with any custom block data
      * @see #KEY_MAP
-     * @see #fromHashCode(int)
      */
     public static @NotNull Optional<CustomBlockData> fromKey(final @Nullable String key) {
         return ChatUtils.isBlank(key)
                 ? Optional.empty()
-                : Optional.ofNullable(KEY_MAP.get(key.toLowerCase(Locale.ENGLISH)))
-                .flatMap(
-                        hashCodes -> hashCodes.isEmpty()
-                                ? Optional.empty()
-                                : fromHashCode(hashCodes.iterator().nextInt())
-                );
+                : Optional.ofNullable(snapshot.keyMap.get(key.toLowerCase(Locale.ENGLISH)));
     }
 
     /**
@@ -179,38 +181,34 @@ public final class CustomBlockRegistry {
 
     /**
      * Gets the {@link CustomBlockData} from the given note block. It will get
-     * the {@link NoteBlockData} from the note block, by calling
-     * {@link NoteBlockData#from(NoteBlock)} method, and then it will
-     * get the custom block data from the note block data, by calling
-     * {@link #fromNoteBlockData(NoteBlockData)} method.
+     * the custom block data from the dense state index by the
+     * {@link NoteBlockData#stateIndex(NoteBlock)}, without creating new note
+     * block data.
      *
      * @param noteBlock The note block to get the {@link CustomBlockData} from
      * @return An {@link Optional} containing the {@link CustomBlockData},
      *         or an {@link Optional#empty()} if the given note block is not
      *         associated with any custom block data
-     * @see NoteBlockData#from(NoteBlock)
-     * @see #fromNoteBlockData(NoteBlockData)
+     * @see NoteBlockData#stateIndex(NoteBlock)
      */
     public static @NotNull Optional<CustomBlockData> fromNoteBlock(final @NotNull NoteBlock noteBlock) {
-        return fromNoteBlockData(NoteBlockData.from(noteBlock));
+        return Optional.ofNullable(snapshot.fromStateIndex(NoteBlockData.stateIndex(noteBlock)));
     }
 
     /**
      * Gets the {@link CustomBlockData} from the given note block data. It will
-     * check the hash code of the note block data, and if it is registered, it
-     * will get the {@link CustomBlockData} from the hash code by calling
-     * {@link #fromHashCode(int)} method.
+     * get the custom block data from the dense state index by the
+     * {@link NoteBlockData#stateIndex()}.
      *
      * @param noteBlockData The note block data get the {@link CustomBlockData} 
      *                      from
      * @return An {@link Optional} containing the {@link CustomBlockData}
      *         or an {@link Optional#empty()} if the given note block data
      *         is not associated with any custom block data
-     * @see NoteBlockData#hashCode()
-     * @see #fromHashCode(int)
+     * @see NoteBlockData#stateIndex()
      */
     public static @NotNull Optional<CustomBlockData> fromNoteBlockData(final @NotNull NoteBlockData noteBlockData) {
-        return fromHashCode(noteBlockData.hashCode());
+        return Optional.ofNullable(snapshot.fromStateIndex(noteBlockData.stateIndex()));
     }
 
     /**
@@ -228,16 +226,9 @@ public final class CustomBlockRegistry {
      * @see #fromKey(String)
      */
     public static @NotNull Optional<CustomBlockData> fromItemStack(final @Nullable ItemStack itemStack) {
-        if (itemStack == null) {
-            return Optional.empty();
-        }
-        
-        final ItemMeta itemMeta = itemStack.getItemMeta();
-        return itemMeta == null
-                ? Optional.empty()
-                : fromKey(
-                        itemMeta.getPersistentDataContainer().get(TYPE_NAMESPACED_KEY, PersistentDataType.STRING)
-                );
+        return Optional.ofNullable(
+                CustomKinds.classify(itemStack).get(CustomKinds.BLOCK)
+        );
     }
 
     /**
@@ -245,7 +236,7 @@ public final class CustomBlockRegistry {
      * @return True if the {@link #HASH_CODE_MAP} contains the hash code
      */
     public static boolean containsHashCode(final int hashCode) {
-        return HASH_CODE_MAP.containsKey(hashCode);
+        return snapshot.hashCodeMap.containsKey(hashCode);
     }
 
     /**
@@ -256,7 +247,7 @@ public final class CustomBlockRegistry {
     @Contract("null -> false")
     public static boolean containsKey(final @Nullable String key) {
         return ChatUtils.isNotBlank(key)
-                && KEY_MAP.containsKey(key.toLowerCase(Locale.ENGLISH));
+                && snapshot.keyMap.containsKey(key.toLowerCase(Locale.ENGLISH));
     }
 
     /**
@@ -270,24 +261,12 @@ public final class CustomBlockRegistry {
             return false;
         }
 
-        final PlacingType placingType = customBlockData.getBlockSettings().getPlacing().getType();
+        final var hashCodeMap = snapshot.hashCodeMap;
 
-        if (placingType instanceof final PlacingType.Default normal) {
-            return containsHashCode(normal.getNoteBlockData().hashCode());
-        } else if (placingType instanceof final PlacingType.Directional directional) {
-            for (final var noteBlockData : directional.getMap().values()) {
-                if (containsHashCode(noteBlockData.hashCode())) {
-                    return true;
-                }
-            }
-        } else if (placingType instanceof final PlacingType.Orientable orientable) {
-            for (final var noteBlockData : orientable.getMap().values()) {
-                if (containsHashCode(noteBlockData.hashCode())) {
-                    return true;
-                }
+        for (final var noteBlockData : noteBlockDataOf(customBlockData)) {
+            if (hashCodeMap.containsKey(noteBlockData.hashCode())) {
+                return true;
             }
-        } else {
-            throw new IllegalArgumentException("Unknown placing type: " + placingType.getClass().getName());
         }
 
         return false;
@@ -329,12 +308,12 @@ public final class CustomBlockRegistry {
      *
      * @param blockData The block data to check
      * @return True if the block data is a custom block
-     * @see #fromNoteBlock(NoteBlock)
+     * @see NoteBlockData#stateIndex(NoteBlock)
      */
     @Contract("null -> false")
     public static boolean isCustomBlock(final @Nullable BlockData blockData) {
-        return blockData instanceof NoteBlock noteBlock
-                && fromNoteBlock(noteBlock).isPresent();
+        return blockData instanceof final NoteBlock noteBlock
+                && snapshot.fromStateIndex(NoteBlockData.stateIndex(noteBlock)) != null;
     }
 
     /**
@@ -342,7 +321,7 @@ public final class CustomBlockRegistry {
      * @see #HASH_CODE_MAP
      */
     public static boolean isEmpty() {
-        return HASH_CODE_MAP.isEmpty();
+        return snapshot.hashCodeMap.isEmpty();
     }
 
     /**
@@ -350,7 +329,7 @@ public final class CustomBlockRegistry {
      * @see #HASH_CODE_MAP
      */
     public static int size() {
-        return HASH_CODE_MAP.size();
+        return snapshot.hashCodeMap.size();
     }
 
     /**
@@ -361,6 +340,9 @@ public final class CustomBlockRegistry {
      * {@link PlacingType.Directional} or {@link PlacingType.Orientable} is used
      * to generate the hash code of the note block data. Make sure that one of
      * the note block data, block face map, or block axis map is not null.
+     * <br>
+     * The lookup snapshot is republished after the registration, so prefer
+     * {@link #registerAll(Collection)} when registering many custom block data.
      *
      * @param customBlockData The custom block data to register
      * @throws IllegalArgumentException If the custom block data is already 
@@ -371,33 +353,29 @@ public final class CustomBlockRegistry {
      * @see #HASH_CODE_MAP
      */
     public static synchronized void register(final @NotNull CustomBlockData customBlockData) throws IllegalArgumentException {
-        final String key = customBlockData.getKey();
-        final PlacingType placingType = customBlockData.getBlockSettings().getPlacing().getType();
+        registerUnpublished(customBlockData);
+        publish();
+    }
 
-        if (placingType instanceof final PlacingType.Default normal) {
-            register(
-                    customBlockData,
-                    normal.getNoteBlockData().hashCode(),
-                    key
-            );
-        } else if (placingType instanceof final PlacingType.Directional directional) {
-            directional.getMap().forEach(
-                    (blockFace, data) -> register(
-                            customBlockData,
-                            data.hashCode(),
-                            key
-                    )
-            );
-        } else if (placingType instanceof final PlacingType.Orientable orientable) {
-            orientable.getMap().forEach(
-                    (blockAxis, data) -> register(
-                            customBlockData,
-                            data.hashCode(),
-                            key
-                    )
-            );
-        } else {
-            throw new IllegalArgumentException("Unknown placing type: " + placingType.getClass().getName());
+    /**
+     * Registers all the given custom block data and publishes the lookup
+     * snapshot once, after all of them are registered. If one of the custom
+     * block data can't be registered, the ones registered before it stay
+     * registered and are published as well.
+     *
+     * @param customBlockDataCollection The custom block data to register
+     * @throws IllegalArgumentException If one of the custom block data is
+     *                                  already registered, or if it has an
+     *                                  unknown placing type
+     * @see #register(CustomBlockData)
+     */
+    public static synchronized void registerAll(final @NotNull Collection<CustomBlockData> customBlockDataCollection) throws IllegalArgumentException {
+        try {
+            for (final var customBlockData : customBlockDataCollection) {
+                registerUnpublished(customBlockData);
+            }
+        } finally {
+            publish();
         }
     }
 
@@ -409,19 +387,47 @@ public final class CustomBlockRegistry {
      *                                  registered
      */
     public static synchronized void unregister(final @NotNull CustomBlockData customBlockData) throws IllegalArgumentException {
-        final String key = customBlockData.getKey().toLowerCase(Locale.ENGLISH);
-        final int hashCode = customBlockData.hashCode();
+        unregisterUnpublished(customBlockData);
+        publish();
+    }
 
-        if (!containsKey(key)) {
-            throw new IllegalArgumentException("The key " + key + " is not registered! See " + key + " custom block data!");
-        }
+    /**
+     * Replaces the old custom block data with the new one and publishes the
+     * lookup snapshot once, so the lookups see either the old or the new
+     * custom block data, but never neither of them. If the new custom block
+     * data can't be registered, the old one is registered back.
+     *
+     * @param oldData The custom block data to unregister, or null to only
+     *                register the new custom block data
+     * @param newData The custom block data to register, or null to only
+     *                unregister the old custom block data
+     * @throws IllegalArgumentException If the old custom block data is not
+     *                                  registered, or if the new custom block
+     *                                  data can't be registered
+     */
+    public static synchronized void replace(
+            final @Nullable CustomBlockData oldData,
+            final @Nullable CustomBlockData newData
+    ) throws IllegalArgumentException {
+        try {
+            if (oldData != null) {
+                unregisterUnpublished(oldData);
+            }
 
-        if (!containsHashCode(hashCode)) {
-            throw new IllegalArgumentException("The hash code " + hashCode + " is not registered! See " + key + " custom block data!");
-        }
+            if (newData != null) {
+                try {
+                    registerUnpublished(newData);
+                } catch (final IllegalArgumentException e) {
+                    if (oldData != null) {
+                        registerUnpublished(oldData);
+                    }
 
-        KEY_MAP.remove(key);
-        HASH_CODE_MAP.remove(hashCode);
+                    throw e;
+                }
+            }
+        } finally {
+            publish();
+        }
     }
 
     /**
@@ -432,6 +438,7 @@ public final class CustomBlockRegistry {
     public static synchronized void unregisterAll() {
         KEY_MAP.clear();
         HASH_CODE_MAP.clear();
+        publish();
     }
 
     /**
@@ -440,35 +447,147 @@ public final class CustomBlockRegistry {
      *     <li>{@link #HASH_CODE_MAP}</li>
      *     <li>{@link #KEY_MAP}</li>
      * </ul>
+     * All note block data of the custom block data are checked before any of
+     * them is registered, so a failed registration doesn't leave the maps
+     * partially modified. The snapshot is not published.
      *
      * @param customBlockData The custom block data to register
-     * @param hashCode        The hash code of the note block data to register
-     * @param key             The key of the custom block data to register
      * @throws IllegalArgumentException If the hash code, or key is already 
      *                                  registered
      * @see #HASH_CODE_MAP
      * @see #KEY_MAP
      */
-    private static synchronized void register(
-            final @NotNull CustomBlockData customBlockData,
-            final int hashCode,
-            final String key
-    ) throws IllegalArgumentException {
-        if (containsCustomBlockData(customBlockData)) {
-            throw new IllegalArgumentException("The custom block data is already registered! See " + key + " custom block data!");
-        }
+    private static void registerUnpublished(final @NotNull CustomBlockData customBlockData) throws IllegalArgumentException {
+        final String key = customBlockData.getKey().toLowerCase(Locale.ENGLISH);
+        final var noteBlockDataCollection = noteBlockDataOf(customBlockData);
 
-        if (
-                customBlockData.getBlockSettings().getPlacing().getType() instanceof PlacingType.Default
-                && containsHashCode(hashCode)
-        ) {
-            throw new IllegalArgumentException("The hash code " + hashCode + " is already registered! See " + key + " custom block data!");
+        for (final var noteBlockData : noteBlockDataCollection) {
+            final int hashCode = noteBlockData.hashCode();
+
+            if (HASH_CODE_MAP.containsKey(hashCode)) {
+                throw new IllegalArgumentException("The hash code " + hashCode + " is already registered! See " + key + " custom block data!");
+            }
         }
 
         final var hashKeys = KEY_MAP.computeIfAbsent(key, k -> new IntOpenHashSet());
 
-        hashKeys.add(hashCode);
-        HASH_CODE_MAP.put(hashCode, customBlockData);
-        KEY_MAP.put(key, hashKeys);
+        for (final var noteBlockData : noteBlockDataCollection) {
+            final int hashCode = noteBlockData.hashCode();
+
+            hashKeys.add(hashCode);
+            HASH_CODE_MAP.put(hashCode, customBlockData);
+        }
+    }
+
+    /**
+     * Unregisters the custom block data from the {@link #HASH_CODE_MAP} and
+     * the {@link #KEY_MAP} without publishing the snapshot
+     *
+     * @param customBlockData The custom block data to unregister
+     * @throws IllegalArgumentException If the key, or hash code is not
+     *                                  registered
+     */
+    private static void unregisterUnpublished(final @NotNull CustomBlockData customBlockData) throws IllegalArgumentException {
+        final String key = customBlockData.getKey().toLowerCase(Locale.ENGLISH);
+        final IntSet hashCodes = KEY_MAP.get(key);
+
+        if (hashCodes == null) {
+            throw new IllegalArgumentException("The key " + key + " is not registered! See " + key + " custom block data!");
+        }
+
+        for (final var noteBlockData : noteBlockDataOf(customBlockData)) {
+            final int hashCode = noteBlockData.hashCode();
+
+            if (!hashCodes.contains(hashCode)) {
+                throw new IllegalArgumentException("The hash code " + hashCode + " is not registered! See " + key + " custom block data!");
+            }
+        }
+
+        KEY_MAP.remove(key);
+        hashCodes.forEach(HASH_CODE_MAP::remove);
+    }
+
+    /**
+     * Rebuilds the lookup snapshot from the {@link #HASH_CODE_MAP} and the
+     * {@link #KEY_MAP} and publishes it. Must be called while holding the
+     * registry lock.
+     */
+    private static void publish() {
+        final var stateArray = new CustomBlockData[NoteBlockData.STATE_COUNT];
+        final var hashCodeMap = new Int2ObjectOpenHashMap<CustomBlockData>(HASH_CODE_MAP.size());
+        final var keyMap = new Object2ObjectOpenHashMap<String, CustomBlockData>(KEY_MAP.size());
+
+        for (final var customBlockData : HASH_CODE_MAP.values()) {
+            for (final var noteBlockData : noteBlockDataOf(customBlockData)) {
+                final int hashCode = noteBlockData.hashCode();
+
+                if (HASH_CODE_MAP.get(hashCode) == customBlockData) {
+                    stateArray[noteBlockData.stateIndex()] = customBlockData;
+                    hashCodeMap.put(hashCode, customBlockData);
+                }
+            }
+        }
+
+        for (final var entry : KEY_MAP.entrySet()) {
+            final var iterator = entry.getValue().iterator();
+
+            if (iterator.hasNext()) {
+                keyMap.put(entry.getKey(), HASH_CODE_MAP.get(iterator.nextInt()));
+            }
+        }
+
+        snapshot = new Snapshot(stateArray, hashCodeMap, keyMap);
+    }
+
+    /**
+     * @param customBlockData The custom block data
+     * @return All note block data, which the custom block data can be placed
+     *         with
+     * @throws IllegalArgumentException If the custom block data has an unknown
+     *                                  placing type
+     */
+    private static @NotNull Collection<NoteBlockData> noteBlockDataOf(final @NotNull CustomBlockData customBlockData) throws IllegalArgumentException {
+        final PlacingType placingType = customBlockData.getBlockSettings().getPlacing().getType();
+
+        if (placingType instanceof final PlacingType.Default normal) {
+            return Collections.singletonList(normal.getNoteBlockData());
+        } else if (placingType instanceof final PlacingType.Directional directional) {
+            return directional.getMap().values();
+        } else if (placingType instanceof final PlacingType.Orientable orientable) {
+            return orientable.getMap().values();
+        } else {
+            throw new IllegalArgumentException("Unknown placing type: " + placingType.getClass().getName());
+        }
+    }
+
+    /**
+     * Immutable lookup snapshot of the registry
+     */
+    private static final class Snapshot {
+        final CustomBlockData[] stateArray;
+        final Int2ObjectMap<CustomBlockData> hashCodeMap;
+        final Map<String, CustomBlockData> keyMap;
+
+        static final Snapshot EMPTY = new Snapshot(
+                new CustomBlockData[NoteBlockData.STATE_COUNT],
+                new Int2ObjectOpenHashMap<>(),
+                new Object2ObjectOpenHashMap<>()
+        );
+
+        Snapshot(
+                final CustomBlockData @NotNull [] stateArray,
+                final @NotNull Int2ObjectMap<CustomBlockData> hashCodeMap,
+                final @NotNull Map<String, CustomBlockData> keyMap
+        ) {
+            this.stateArray = stateArray;
+            this.hashCodeMap = hashCodeMap;
+            this.keyMap = keyMap;
+        }
+
+        @Nullable CustomBlockData fromStateIndex(final int stateIndex) {
+            return stateIndex >= 0 && stateIndex < this.stateArray.length
+                    ? this.stateArray[stateIndex]
+                    : null;
+        }
     }
 }
@@ -0,0 +1,451 @@
+package com.minersstudios.mscustoms.custom.block.file;
+
+import com.minersstudios.mscustoms.MSCustoms;
+import com.minersstudios.mscustoms.custom.block.CustomBlockData;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.nbt.Tag;
+import net.minecraft.nbt.TagParser;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Represents a binary snapshot of the loaded custom block files, which is used
+ * to speed up the next load of them. Parsing of the item NBT strings with
+ * {@link TagParser} is the most expensive part of loading a custom block file,
+ * so for every loaded file the snapshot stores its path, last modification
+ * time, size and all NBT tags parsed from it in the binary NBT format.
+ * <br>
+ * When a file with the same modification time and size is loaded again, its
+ * tags are taken from the snapshot by {@link #parseTag(String)} instead of
+ * being parsed. The tags are looked up by their NBT string, so a stale entry
+ * can only cause the tag to be parsed again, never a wrong tag to be used.
+ * <br>
+ * The snapshot file is memory-mapped on {@link #open(Path)}, and the tags of
+ * an entry are decoded only when the file of the entry is loaded. A mapped
+ * file can't be unmapped explicitly, and some file systems don't allow to
+ * replace or delete it while it is mapped, so every {@link #save() save} writes
+ * a new generation of the snapshot file, named with the generation number
+ * after the snapshot path, and the older generations are deleted once they are
+ * no longer in use.
+ *
+ * @see #load(MSCustoms, Path, Path)
+ * @see #save()
+ */
+public final class BlockFileSnapshot {
+    private final Path path;
+    private final int generation;
+    private final Map<String, Entry> oldEntries;
+    private final Map<String, Entry> newEntries;
+    private final List<Timing> timings;
+    private final AtomicInteger cachedTags;
+    private final AtomicInteger parsedTags;
+
+    private static final int MAGIC = 0x4D53424B;
+    private static final int VERSION = 1;
+    private static final int MAX_CACHED_NBT_LENGTH = 16384;
+    private static final ThreadLocal<Session> SESSION = new ThreadLocal<>();
+
+    private BlockFileSnapshot(
+            final @NotNull Path path,
+            final int generation,
+            final @NotNull Map<String, Entry> oldEntries
+    ) {
+        this.path = path;
+        this.generation = generation;
+        this.oldEntries = oldEntries;
+        this.newEntries = new ConcurrentHashMap<>();
+        this.timings = new ObjectArrayList<>();
+        this.cachedTags = new AtomicInteger();
+        this.parsedTags = new AtomicInteger();
+    }
+
+    /**
+     * Opens the latest generation of the snapshot at the specified path. If
+     * there is no generation, or it has an unknown format, an empty snapshot
+     * is returned.
+     *
+     * @param path The path of the snapshot, which the generation numbers are
+     *             appended to
+     * @return The snapshot at the specified path
+     */
+    public static @NotNull BlockFileSnapshot open(final @NotNull Path path) {
+        final int generation = latestGeneration(path);
+        final Path file = generationFile(path, generation);
+
+        if (
+                generation == 0
+                || !Files.isRegularFile(file)
+        ) {
+            return new BlockFileSnapshot(path, generation, new ConcurrentHashMap<>());
+        }
+
+        try (final var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0L, channel.size());
+
+            if (
+                    buffer.remaining() < Integer.BYTES * 3
+                    || buffer.getInt() != MAGIC
+                    || buffer.getInt() != VERSION
+            ) {
+                return new BlockFileSnapshot(path, generation, new ConcurrentHashMap<>());
+            }
+
+            final int count = buffer.getInt();
+            final var entries = new ConcurrentHashMap<String, Entry>(count);
+
+            for (int i = 0; i < count; ++i) {
+                final byte[] keyBytes = new byte[buffer.getInt()];
+
+                buffer.get(keyBytes);
+
+                final long lastModified = buffer.getLong();
+                final long size = buffer.getLong();
+                final int tagsLength = buffer.getInt();
+                final ByteBuffer tags = buffer.slice(buffer.position(), tagsLength);
+
+                buffer.position(buffer.position() + tagsLength);
+                entries.put(
+                        new String(keyBytes, StandardCharsets.UTF_8),
+                        new Entry(lastModified, size, tags, null)
+                );
+            }
+
+            return new BlockFileSnapshot(path, generation, entries);
+        } catch (final IOException | RuntimeException e) {
+            MSCustoms.logger().warning("Failed to read the custom block snapshot, it will be recreated : " + e.getMessage());
+
+            return new BlockFileSnapshot(path, generation, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Loads the custom block data from the specified file, reusing the tags
+     * from the snapshot if the file has not been changed since the snapshot
+     * was saved. Can be called from multiple threads at the same time.
+     *
+     * @param plugin The plugin to load the data for
+     * @param root   The root folder of the custom block files
+     * @param file   The file to load
+     * @return The custom block data loaded from the file, or null if an error
+     *         occurred
+     * @see CustomBlockData#fromFile(MSCustoms, File)
+     */
+    public @Nullable CustomBlockData load(
+            final @NotNull MSCustoms plugin,
+            final @NotNull Path root,
+            final @NotNull Path file
+    ) {
+        final long start = System.nanoTime();
+        final String key = root.relativize(file).toString().replace(File.separatorChar, '/');
+        long lastModified = -1L;
+        long size = -1L;
+
+        try {
+            final BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+
+            lastModified = attributes.lastModifiedTime().toMillis();
+            size = attributes.size();
+        } catch (final IOException ignored) {
+            // The file will be parsed without the cached tags
+        }
+
+        final Entry oldEntry = this.oldEntries.get(key);
+        final Session session = new Session(
+                oldEntry != null
+                && oldEntry.matches(lastModified, size)
+                        ? oldEntry.decodeTags()
+                        : new CompoundTag()
+        );
+        final CustomBlockData data;
+
+        SESSION.set(session);
+
+        try {
+            data = CustomBlockData.fromFile(plugin, file.toFile());
+        } finally {
+            SESSION.remove();
+        }
+
+        if (
+                data != null
+                && lastModified != -1L
+        ) {
+            this.newEntries.put(key, new Entry(lastModified, size, null, session.parsed));
+        }
+
+        this.cachedTags.addAndGet(session.cached);
+        this.parsedTags.addAndGet(session.parsedCount);
+
+        synchronized (this.timings) {
+            this.timings.add(new Timing(key, System.nanoTime() - start, session.cached, session.parsedCount));
+        }
+
+        return data;
+    }
+
+    /**
+     * Saves the entries of all files successfully loaded by this snapshot to
+     * the next generation of the snapshot file. The snapshot is written to a
+     * temporary file first and then moved to the generation file, after that
+     * the older generations are deleted. The generations, which can't be
+     * deleted because they are still mapped, are deleted by the next save.
+     *
+     * @throws IOException If an I/O error occurs
+     */
+    public void save() throws IOException {
+        final Path file = generationFile(this.path, this.generation + 1);
+        final Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+
+        try (
+                final var output = new DataOutputStream(
+                        new BufferedOutputStream(Files.newOutputStream(temp))
+                )
+        ) {
+            final var tagsOutput = new ByteArrayOutputStream();
+
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeInt(this.newEntries.size());
+
+            for (final var mapEntry : this.newEntries.entrySet()) {
+                final byte[] keyBytes = mapEntry.getKey().getBytes(StandardCharsets.UTF_8);
+                final Entry entry = mapEntry.getValue();
+
+                tagsOutput.reset();
+                NbtIo.write(entry.decodeTags(), new DataOutputStream(tagsOutput));
+
+                output.writeInt(keyBytes.length);
+                output.write(keyBytes);
+                output.writeLong(entry.lastModified);
+                output.writeLong(entry.size);
+                output.writeInt(tagsOutput.size());
+                tagsOutput.writeTo(output);
+            }
+        }
+
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        this.deleteOldGenerations(file);
+    }
+
+    /**
+     * @return The number of tags taken from the snapshot
+     */
+    public int getCachedTags() {
+        return this.cachedTags.get();
+    }
+
+    /**
+     * @return The number of tags parsed from the NBT strings
+     */
+    public int getParsedTags() {
+        return this.parsedTags.get();
+    }
+
+    /**
+     * Creates a report of the load time of the files loaded by this snapshot,
+     * sorted by the load time in descending order
+     *
+     * @param limit The maximum number of files to include
+     * @return The lines of the report
+     */
+    public @NotNull List<String> report(final int limit) {
+        final var timings = new ObjectArrayList<Timing>();
+        final var lines = new ObjectArrayList<String>();
+
+        synchronized (this.timings) {
+            timings.addAll(this.timings);
+        }
+
+        timings.sort(Comparator.comparingLong(Timing::nanos).reversed());
+
+        for (int i = 0; i < timings.size() && i < limit; ++i) {
+            final Timing timing = timings.get(i);
+
+            lines.add(
+                    timing.key() + " : " +
+                    TimeUnit.NANOSECONDS.toMicros(timing.nanos()) / 1000.0d + "ms (" +
+                    timing.cached() + " cached, " +
+                    timing.parsed() + " parsed tags)"
+            );
+        }
+
+        return lines;
+    }
+
+    /**
+     * Parses the specified NBT string to a compound tag. If the current thread
+     * is loading a file with {@link #load(MSCustoms, Path, Path)} and the tag
+     * is present in the snapshot entry of the file, the copy of the cached tag
+     * is returned instead of parsing the string.
+     *
+     * @param nbt The NBT string to parse
+     * @return The compound tag parsed from the NBT string
+     * @throws CommandSyntaxException If the NBT string is invalid
+     */
+    public static @NotNull CompoundTag parseTag(final @NotNull String nbt) throws CommandSyntaxException {
+        final Session session = SESSION.get();
+
+        return session == null
+                ? TagParser.parseTag(nbt)
+                : session.parseTag(nbt);
+    }
+
+    private void deleteOldGenerations(final @NotNull Path current) {
+        final Path parent = this.path.toAbsolutePath().getParent();
+
+        try (final var files = Files.newDirectoryStream(parent, this.path.getFileName() + ".*")) {
+            for (final var file : files) {
+                if (!file.getFileName().equals(current.getFileName())) {
+                    deleteQuietly(file);
+                }
+            }
+        } catch (final IOException e) {
+            MSCustoms.logger().warning("Failed to list the old custom block snapshots : " + e.getMessage());
+        }
+
+        // The snapshot file written before the generations were introduced
+        deleteQuietly(this.path);
+    }
+
+    private static void deleteQuietly(final @NotNull Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (final IOException ignored) {
+            // The file is still mapped, it will be deleted by the next save
+        }
+    }
+
+    private static int latestGeneration(final @NotNull Path path) {
+        final String prefix = path.getFileName() + ".";
+        int latest = 0;
+
+        try (final var files = Files.newDirectoryStream(path.toAbsolutePath().getParent(), prefix + '*')) {
+            for (final var file : files) {
+                try {
+                    latest = Math.max(latest, Integer.parseInt(file.getFileName().toString().substring(prefix.length())));
+                } catch (final NumberFormatException ignored) {
+                    // Not a generation file, for example, a temporary one
+                }
+            }
+        } catch (final IOException ignored) {
+            // There are no generations yet
+        }
+
+        return latest;
+    }
+
+    private static @NotNull Path generationFile(
+            final @NotNull Path path,
+            final int generation
+    ) {
+        return path.resolveSibling(path.getFileName() + "." + generation);
+    }
+
+    private static final class Session {
+        final CompoundTag cachedTags;
+        final CompoundTag parsed;
+        int cached;
+        int parsedCount;
+
+        Session(final @NotNull CompoundTag cachedTags) {
+            this.cachedTags = cachedTags;
+            this.parsed = new CompoundTag();
+        }
+
+        @NotNull CompoundTag parseTag(final @NotNull String nbt) throws CommandSyntaxException {
+            final CompoundTag tag;
+
+            if (this.cachedTags.contains(nbt, Tag.TAG_COMPOUND)) {
+                tag = this.cachedTags.getCompound(nbt);
+                ++this.cached;
+            } else {
+                tag = TagParser.parseTag(nbt);
+                ++this.parsedCount;
+            }
+
+            if (nbt.length() <= MAX_CACHED_NBT_LENGTH) {
+                this.parsed.put(nbt, tag);
+            }
+
+            return tag.copy();
+        }
+    }
+
+    private static final class Entry {
+        final long lastModified;
+        final long size;
+        final ByteBuffer encodedTags;
+        CompoundTag tags;
+
+        Entry(
+                final long lastModified,
+                final long size,
+                final @Nullable ByteBuffer encodedTags,
+                final @Nullable CompoundTag tags
+        ) {
+            this.lastModified = lastModified;
+            this.size = size;
+            this.encodedTags = encodedTags;
+            this.tags = tags;
+        }
+
+        boolean matches(
+                final long lastModified,
+                final long size
+        ) {
+            return this.lastModified == lastModified
+                    && this.size == size;
+        }
+
+        synchronized @NotNull CompoundTag decodeTags() {
+            if (this.tags != null) {
+                return this.tags;
+            }
+
+            final byte[] bytes = new byte[this.encodedTags.remaining()];
+
+            this.encodedTags.duplicate().get(bytes);
+
+            try {
+                this.tags = NbtIo.read(new DataInputStream(new ByteArrayInputStream(bytes)));
+            } catch (final IOException | RuntimeException e) {
+                this.tags = new CompoundTag();
+            }
+
+            return this.tags;
+        }
+    }
+
+    private record Timing(
+            @NotNull String key,
+            long nanos,
+            int cached,
+            int parsed
+    ) {}
+}
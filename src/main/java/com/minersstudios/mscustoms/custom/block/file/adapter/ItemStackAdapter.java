@@ -2,8 +2,8 @@ package com.minersstudios.mscustoms.custom.block.file.adapter;
 
 import com.google.gson.*;
 import com.minersstudios.mscore.utility.BlockUtils;
+import com.minersstudios.mscustoms.custom.block.file.BlockFileSnapshot;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
-import net.minecraft.nbt.TagParser;
 import org.bukkit.Material;
 import org.bukkit.craftbukkit.v1_20_R3.inventory.CraftItemStack;
 import org.bukkit.inventory.ItemStack;
@@ -49,7 +49,7 @@ public class ItemStackAdapter implements JsonSerializer<ItemStack>, JsonDeserial
             final String nbt = jsonObject.get(NBT_KEY).getAsString();
 
             try {
-                nmsItemStack.setTag(TagParser.parseTag(nbt));
+                nmsItemStack.setTag(BlockFileSnapshot.parseTag(nbt));
             } catch (final CommandSyntaxException e) {
                 throw new JsonParseException("Invalid NBT: " + nbt);
             }
@@ -25,6 +25,15 @@ public final class NoteBlockData {
 
     private static final NoteBlockData DEFAULT = new NoteBlockData(Instrument.BIT, new Note(0), false);
     private static final int PRIME = 31;
+    private static final int NOTE_COUNT = 25;
+
+    /**
+     * The number of all possible note block states, which is the number of
+     * instruments multiplied by the number of notes and the two powered states
+     *
+     * @see #stateIndex()
+     */
+    public static final int STATE_COUNT = Instrument.values().length * NOTE_COUNT * 2;
 
     private NoteBlockData(
             final @NotNull Instrument instrument,
@@ -166,6 +175,51 @@ public final class NoteBlockData {
         return new NoteBlockData(this.instrument, this.note, powered);
     }
 
+    /**
+     * @return The dense index of the note block state in the interval
+     *         [0; {@link #STATE_COUNT}), based on the instrument, note and
+     *         powered state
+     * @see #stateIndex(Instrument, int, boolean)
+     */
+    public int stateIndex() {
+        return stateIndex(this.instrument, this.noteId(), this.powered);
+    }
+
+    /**
+     * Gets the dense index of the state of the given note block without
+     * creating new note block data
+     *
+     * @param noteBlock The note block to get the state index from
+     * @return The dense index of the note block state in the interval
+     *         [0; {@link #STATE_COUNT})
+     * @see #stateIndex(Instrument, int, boolean)
+     */
+    public static int stateIndex(final @NotNull NoteBlock noteBlock) {
+        return stateIndex(
+                noteBlock.getInstrument(),
+                noteBlock.getNote().getId(),
+                noteBlock.isPowered()
+        );
+    }
+
+    /**
+     * Gets the dense index of the note block state with the given values
+     *
+     * @param instrument The instrument of the note block
+     * @param note       Internal note id, the value has to be in the interval
+     *                   [0; 24]
+     * @param powered    True if the note block is powered
+     * @return The dense index of the note block state in the interval
+     *         [0; {@link #STATE_COUNT})
+     */
+    public static int stateIndex(
+            final @NotNull Instrument instrument,
+            final @Range(from = 0, to = 24) int note,
+            final boolean powered
+    ) {
+        return (instrument.ordinal() * NOTE_COUNT + note) * 2 + (powered ? 1 : 0);
+    }
+
     /**
      * @return True if the note block data is default
      * @see #defaultData()
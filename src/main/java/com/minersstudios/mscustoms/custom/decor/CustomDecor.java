@@ -4,16 +4,15 @@ import com.minersstudios.mscore.location.MSBoundingBox;
 import com.minersstudios.mscore.location.MSPosition;
 import com.minersstudios.mscore.plugin.MSLogger;
 import com.minersstudios.mscore.utility.ChatUtils;
-import com.minersstudios.mscustoms.utility.MSDecorUtils;
+import com.minersstudios.mscustoms.MSCustoms;
+import com.minersstudios.mscustoms.collection.CustomDecorCache;
+import com.minersstudios.mscustoms.collection.DecorMap;
 import com.minersstudios.mscustoms.event.decor.CustomDecorBreakEvent;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import net.kyori.adventure.text.Component;
-import net.minecraft.world.level.block.Blocks;
 import org.bukkit.GameMode;
-import org.bukkit.Material;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
-import org.bukkit.block.data.type.Light;
 import org.bukkit.craftbukkit.v1_20_R3.CraftWorld;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Interaction;
@@ -72,8 +71,11 @@ public final class CustomDecor {
         return block == null
                 ? Optional.empty()
                 : fromInteraction(
-                        MSDecorUtils.getNearbyInteraction(
-                                MSPosition.of(block.getLocation().toCenterLocation())
+                        MSCustoms.cache().getDecorMap().getInteraction(
+                                block.getWorld(),
+                                block.getX(),
+                                block.getY(),
+                                block.getZ()
                         )
                 );
     }
@@ -90,15 +92,28 @@ public final class CustomDecor {
             return Optional.empty();
         }
 
-        final PersistentDataContainer container = interaction.getPersistentDataContainer();
+        final CustomDecorCache cache = MSCustoms.cache().getCustomDecorCache();
+        final CustomDecor cached = cache.get(interaction);
 
-        return container.isEmpty()
-                ? Optional.empty()
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        final PersistentDataContainer container = interaction.getPersistentDataContainer();
+        final CustomDecor customDecor =
+                container.isEmpty()
+                ? null
                 : DecorHitBox.isParent(container)
-                ? Optional.ofNullable(fromParent(interaction))
+                ? fromParent(interaction)
                 : DecorHitBox.isChild(container)
-                ? Optional.ofNullable(fromChild(interaction))
-                : Optional.empty();
+                ? fromChild(interaction)
+                : null;
+
+        if (customDecor != null) {
+            cache.put(customDecor);
+        }
+
+        return Optional.ofNullable(customDecor);
     }
 
     /**
@@ -148,6 +163,27 @@ public final class CustomDecor {
 
         final CraftWorld world = (CraftWorld) destroyer.getWorld();
         final MSPosition center = this.msbb.getCenter(world);
+        final DecorBlockBatch batch = new DecorBlockBatch(destroyer.getName(), world.getHandle());
+
+        this.removeFromWorld(batch, dropItem);
+        batch.apply();
+        this.data.getSoundGroup().playBreakSound(center);
+        this.getData().doBreakAction(event);
+    }
+
+    /**
+     * Removes the display and interactions of this custom decor and adds the
+     * removal of its blocks to the batch. The blocks will be removed when the
+     * batch is applied.
+     *
+     * @param batch    The batch to add the block removals to
+     * @param dropItem Whether to drop the item
+     */
+    void removeFromWorld(
+            final @NotNull DecorBlockBatch batch,
+            final boolean dropItem
+    ) {
+        final CraftWorld world = batch.getServerLevel().getWorld();
 
         if (dropItem) {
             ItemStack displayItem = this.display.getItemStack();
@@ -159,7 +195,7 @@ public final class CustomDecor {
             }
 
             world.dropItemNaturally(
-                    center.toLocation(),
+                    this.msbb.getCenter(world).toLocation(),
                     !this.data.isAnyTyped()
                     || this.data.isDropType()
                             ? displayItem.clone()
@@ -171,34 +207,21 @@ public final class CustomDecor {
         }
 
         if (!this.data.getHitBox().getType().isNone()) {
-            CustomDecorDataImpl.fillBlocks(
-                    destroyer.getName(),
-                    world.getHandle(),
-                    this.msbb.getBlockPositions(),
-                    Blocks.AIR.defaultBlockState(),
-                    blockPos -> {
-                        final Block block = world.getBlockAt(blockPos.getX(), blockPos.getY(), blockPos.getZ());
-
-                        if (
-                                block.getBlockData() instanceof final Light light
-                                && light.isWaterlogged()
-                        ) {
-                            block.setType(Material.WATER);
-                            return false;
-                        }
-
-                        return true;
-                    }
-            );
+            for (final var blockPos : this.msbb.getBlockPositions()) {
+                batch.remove(blockPos);
+            }
         }
 
+        final DecorMap decorMap = MSCustoms.cache().getDecorMap();
+
+        MSCustoms.cache().getCustomDecorCache().remove(this);
+
         for (final var interaction : this.interactions) {
+            decorMap.remove(interaction);
             interaction.remove();
         }
 
         this.display.remove();
-        this.data.getSoundGroup().playBreakSound(center);
-        this.getData().doBreakAction(event);
     }
 
     /**
@@ -297,8 +320,11 @@ public final class CustomDecor {
     ) {
         for (
                 final var interaction :
-                MSDecorUtils.getNearbyInteractions(
-                        MSPosition.of(block.getLocation().toCenterLocation())
+                MSCustoms.cache().getDecorMap().getInteractions(
+                        block.getWorld(),
+                        block.getX(),
+                        block.getY(),
+                        block.getZ()
                 )
         ) {
             destroy(destroyer, interaction, dropItem);
@@ -341,92 +367,53 @@ public final class CustomDecor {
             return null;
         }
 
-        CustomDecorData<?> data = null;
-        ItemDisplay display = null;
-        final var interactions = new ObjectArrayList<Interaction>();
-        MSBoundingBox msbb = null;
+        final String key = container.get(CustomDecorType.TYPE_NAMESPACED_KEY, PersistentDataType.STRING);
+        final UUID displayUUID = DecorHitBox.getDisplayUUID(container);
+        final UUID[] childUUIDs = DecorHitBox.getInteractionUUIDs(container);
+        final MSBoundingBox msbb = DecorHitBox.getBoundingBox(container);
 
-        interactions.add(interaction);
+        if (
+                ChatUtils.isBlank(key)
+                || displayUUID == null
+                || childUUIDs == null
+                || msbb == null
+        ) {
+            return null;
+        }
 
-        for (final var key : container.getKeys()) {
-            final String value = container.get(key, PersistentDataType.STRING);
+        final CustomDecorData<?> data = CustomDecorData.fromKey(key).orElse(null);
 
-            if (ChatUtils.isBlank(value)) {
-                continue;
-            }
+        if (
+                data == null
+                || !(interaction.getWorld().getEntity(displayUUID) instanceof final ItemDisplay display)
+        ) {
+            return null;
+        }
 
-            switch (key.getKey()) {
-                case CustomDecorType.TYPE_TAG_NAME -> data = CustomDecorData.fromKey(value).orElse(null);
-                case DecorHitBox.HITBOX_DISPLAY_KEY -> {
-                    try {
-                        if (interaction.getWorld().getEntity(UUID.fromString(value)) instanceof final ItemDisplay itemDisplay) {
-                            display = itemDisplay;
-                        }
-                    } catch (final IllegalArgumentException ignored) {
-                        return null;
-                    }
-                }
-                case DecorHitBox.HITBOX_INTERACTIONS_KEY -> {
-                    for (final var uuid : value.split(",")) {
-                        try {
-                            if (interaction.getWorld().getEntity(UUID.fromString(uuid)) instanceof final Interaction child) {
-                                interactions.add(child);
-                            }
-                        } catch (final IllegalArgumentException ignored) {
-                            return null;
-                        }
-                    }
-                }
-                case DecorHitBox.HITBOX_BOUNDING_BOX_KEY -> {
-                    final String[] coordinates = value.split(",");
-
-                    if (coordinates.length != 6) {
-                        return null;
-                    }
-
-                    try {
-                        msbb = MSBoundingBox.of(
-                                Double.parseDouble(coordinates[0]),
-                                Double.parseDouble(coordinates[1]),
-                                Double.parseDouble(coordinates[2]),
-                                Double.parseDouble(coordinates[3]),
-                                Double.parseDouble(coordinates[4]),
-                                Double.parseDouble(coordinates[5])
-                        );
-                    } catch (final NumberFormatException ignored) {
-                        return null;
-                    }
-                }
+        final var interactions = new ObjectArrayList<Interaction>(childUUIDs.length + 1);
+
+        interactions.add(interaction);
+
+        for (final var uuid : childUUIDs) {
+            if (interaction.getWorld().getEntity(uuid) instanceof final Interaction child) {
+                interactions.add(child);
             }
         }
 
-        return data == null
-                || display == null
-                || msbb == null
-                ? null
-                : new CustomDecor(
-                        data,
-                        display,
-                        interactions.toArray(new Interaction[0]),
-                        msbb
-                );
+        return new CustomDecor(
+                data,
+                display,
+                interactions.toArray(new Interaction[0]),
+                msbb
+        );
     }
 
     private static @Nullable CustomDecor fromChild(final @NotNull Interaction interaction) {
-        final String uuid =
-                interaction.getPersistentDataContainer()
-                .get(
-                        DecorHitBox.HITBOX_CHILD_NAMESPACED_KEY,
-                        PersistentDataType.STRING
-                );
+        final UUID uuid = DecorHitBox.getParentUUID(interaction.getPersistentDataContainer());
 
-        try {
-            return ChatUtils.isBlank(uuid)
-                    || !(interaction.getWorld().getEntity(UUID.fromString(uuid)) instanceof final Interaction parent)
-                    ? null
-                    : fromParent(parent);
-        } catch (final IllegalArgumentException ignored) {
-            return null;
-        }
+        return uuid == null
+                || !(interaction.getWorld().getEntity(uuid) instanceof final Interaction parent)
+                ? null
+                : fromParent(parent);
     }
 }
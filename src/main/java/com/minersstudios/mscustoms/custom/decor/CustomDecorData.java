@@ -2,7 +2,7 @@ package com.minersstudios.mscustoms.custom.decor;
 
 import com.minersstudios.mscore.inventory.recipe.entry.RecipeEntry;
 import com.minersstudios.mscore.location.MSPosition;
-import com.minersstudios.mscore.utility.ChatUtils;
+import com.minersstudios.mscustoms.custom.CustomKinds;
 import com.minersstudios.mscustoms.utility.MSDecorUtils;
 import com.minersstudios.mscustoms.custom.decor.action.DecorBreakAction;
 import com.minersstudios.mscustoms.custom.decor.action.DecorClickAction;
@@ -23,7 +23,6 @@ import org.bukkit.entity.Interaction;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.EquipmentSlot;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.persistence.PersistentDataContainer;
 import org.bukkit.persistence.PersistentDataType;
 import org.jetbrains.annotations.*;
@@ -536,21 +535,11 @@ public interface CustomDecorData<D extends CustomDecorData<D>> extends Keyed {
      * @see #fromKey(String)
      */
     static @NotNull Optional<CustomDecorData<?>> fromItemStack(final @Nullable ItemStack itemStack) {
-        if (itemStack == null) {
-            return Optional.empty();
-        }
+        final CustomDecorType type = CustomKinds.classify(itemStack).get(CustomKinds.DECOR);
 
-        final ItemMeta itemMeta = itemStack.getItemMeta();
-
-        return itemMeta == null
+        return type == null
                 ? Optional.empty()
-                : fromKey(
-                        itemMeta.getPersistentDataContainer()
-                        .get(
-                                CustomDecorType.TYPE_NAMESPACED_KEY,
-                                PersistentDataType.STRING
-                        )
-                );
+                : Optional.of(type.getCustomDecorData());
     }
 
     /**
@@ -567,25 +556,16 @@ public interface CustomDecorData<D extends CustomDecorData<D>> extends Keyed {
             final @Nullable ItemStack itemStack,
             final @Nullable Class<D> clazz
     ) {
-        if (
-                itemStack == null
-                || clazz == null
-        ) {
+        if (clazz == null) {
             return Optional.empty();
         }
 
-        final ItemMeta itemMeta = itemStack.getItemMeta();
+        final CustomDecorType type = CustomKinds.classify(itemStack).get(CustomKinds.DECOR);
 
-        return itemMeta == null
-                ? Optional.empty()
-                : fromKey(
-                        itemMeta.getPersistentDataContainer()
-                        .get(
-                                CustomDecorType.TYPE_NAMESPACED_KEY,
-                                PersistentDataType.STRING
-                        ),
-                        clazz
-                );
+        return type != null
+                && clazz.isInstance(type.getCustomDecorData())
+                ? Optional.of(type.getCustomDecorData(clazz))
+                : Optional.empty();
     }
 
     /**
@@ -607,22 +587,18 @@ public interface CustomDecorData<D extends CustomDecorData<D>> extends Keyed {
         }
 
         if (DecorHitBox.isChild(interaction)) {
-            final String uuid = container.get(DecorHitBox.HITBOX_CHILD_NAMESPACED_KEY, PersistentDataType.STRING);
-
-            try {
-                return ChatUtils.isBlank(uuid)
-                        || !(interaction.getWorld().getEntity(UUID.fromString(uuid)) instanceof final Interaction parent)
-                        ? Optional.empty()
-                        : fromKey(
-                                parent.getPersistentDataContainer()
-                                .get(
-                                        CustomDecorType.TYPE_NAMESPACED_KEY,
-                                        PersistentDataType.STRING
-                                )
-                        );
-            } catch (final IllegalArgumentException ignored) {
-                return Optional.empty();
-            }
+            final UUID uuid = DecorHitBox.getParentUUID(container);
+
+            return uuid == null
+                    || !(interaction.getWorld().getEntity(uuid) instanceof final Interaction parent)
+                    ? Optional.empty()
+                    : fromKey(
+                            parent.getPersistentDataContainer()
+                            .get(
+                                    CustomDecorType.TYPE_NAMESPACED_KEY,
+                                    PersistentDataType.STRING
+                            )
+                    );
         } else if (DecorHitBox.isParent(interaction)) {
             return fromKey(
                     container.get(
@@ -663,23 +639,19 @@ public interface CustomDecorData<D extends CustomDecorData<D>> extends Keyed {
         }
 
         if (DecorHitBox.isChild(container)) {
-            final String uuid = container.get(DecorHitBox.HITBOX_CHILD_NAMESPACED_KEY, PersistentDataType.STRING);
-
-            try {
-                return ChatUtils.isBlank(uuid)
-                        || !(interaction.getWorld().getEntity(UUID.fromString(uuid)) instanceof final Interaction parent)
-                        ? Optional.empty()
-                        : fromKey(
-                                parent.getPersistentDataContainer()
-                                .get(
-                                        CustomDecorType.TYPE_NAMESPACED_KEY,
-                                        PersistentDataType.STRING
-                                ),
-                                clazz
-                        );
-            } catch (final IllegalArgumentException ignored) {
-                return Optional.empty();
-            }
+            final UUID uuid = DecorHitBox.getParentUUID(container);
+
+            return uuid == null
+                    || !(interaction.getWorld().getEntity(uuid) instanceof final Interaction parent)
+                    ? Optional.empty()
+                    : fromKey(
+                            parent.getPersistentDataContainer()
+                            .get(
+                                    CustomDecorType.TYPE_NAMESPACED_KEY,
+                                    PersistentDataType.STRING
+                            ),
+                            clazz
+                    );
         } else if (DecorHitBox.isParent(container)) {
             return fromKey(
                     container.get(
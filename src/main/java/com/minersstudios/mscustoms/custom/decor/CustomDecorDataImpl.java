@@ -7,6 +7,7 @@ import com.minersstudios.mscore.location.MSPosition;
 import com.minersstudios.mscore.location.MSVector;
 import com.minersstudios.mscore.throwable.InvalidRegexException;
 import com.minersstudios.mscore.utility.*;
+import com.minersstudios.mscustoms.MSCustoms;
 import com.minersstudios.mscustoms.custom.decor.action.DecorBreakAction;
 import com.minersstudios.mscustoms.custom.decor.action.DecorClickAction;
 import com.minersstudios.mscustoms.custom.decor.action.DecorPlaceAction;
@@ -20,17 +21,14 @@ import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import net.kyori.adventure.text.Component;
 import net.minecraft.core.BlockPos;
 import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.LightBlock;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.block.state.properties.BlockStateProperties;
 import org.bukkit.*;
-import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
-import org.bukkit.block.data.BlockData;
-import org.bukkit.block.data.Levelled;
 import org.bukkit.block.data.type.Light;
 import org.bukkit.craftbukkit.v1_20_R3.CraftWorld;
 import org.bukkit.craftbukkit.v1_20_R3.block.CraftBlockStates;
-import org.bukkit.craftbukkit.v1_20_R3.block.data.CraftBlockData;
 import org.bukkit.entity.Interaction;
 import org.bukkit.entity.ItemDisplay;
 import org.bukkit.entity.Player;
@@ -50,7 +48,7 @@ import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Function;
-import java.util.function.Predicate;
+import java.util.function.LongPredicate;
 
 import static com.minersstudios.mscore.plugin.MSPlugin.globalCache;
 
@@ -857,6 +855,44 @@ public abstract class CustomDecorDataImpl<D extends CustomDecorData<D>> implemen
             final BlockPos @NotNull [] replacePositions,
             final @NotNull BlockFace blockFace,
             final float rotation
+    ) {
+        final DecorBlockBatch batch = new DecorBlockBatch(
+                placerName,
+                ((CraftWorld) itemDisplay.getWorld()).getHandle()
+        );
+        final CustomDecor customDecor = this.placeInWorld(
+                batch,
+                itemDisplay,
+                boundingBox,
+                replacePositions,
+                blockFace,
+                rotation
+        );
+
+        batch.apply();
+
+        return customDecor;
+    }
+
+    /**
+     * Spawns the interactions of the custom decor and adds its blocks to the
+     * batch. The blocks will be placed when the batch is applied.
+     *
+     * @param batch            The batch to add the blocks to
+     * @param itemDisplay      The item display of the custom decor
+     * @param boundingBox      The bounding box of the custom decor
+     * @param replacePositions The positions of the blocks to replace
+     * @param blockFace        The face the custom decor is placed on
+     * @param rotation         The rotation of the custom decor
+     * @return The placed custom decor
+     */
+    @NotNull CustomDecor placeInWorld(
+            final @NotNull DecorBlockBatch batch,
+            final @NotNull ItemDisplay itemDisplay,
+            final @NotNull MSBoundingBox boundingBox,
+            final BlockPos @NotNull [] replacePositions,
+            final @NotNull BlockFace blockFace,
+            final float rotation
     ) {
         final Interaction[] interactions = this.fillInteractions(
                 itemDisplay,
@@ -866,37 +902,42 @@ public abstract class CustomDecorDataImpl<D extends CustomDecorData<D>> implemen
         );
         final DecorHitBox.Type type = this.hitBox.getType();
 
+        MSCustoms.cache().getDecorMap().addAll(Arrays.asList(interactions));
+
         if (!type.isNone()) {
-            final var blocks = fillBlocks(
-                    placerName,
-                    ((CraftWorld) itemDisplay.getWorld()).getHandle(),
-                    replacePositions,
-                    type.getNMSMaterial().defaultBlockState(),
-                    null
-            );
+            BlockState fillBlockState = type.getNMSMaterial().defaultBlockState();
 
             if (
-                    this.isLightable()
-                    || this.isLightTyped()
+                    fillBlockState.hasProperty(LightBlock.LEVEL)
+                    && (this.isLightable() || this.isLightTyped())
             ) {
-                final int lightLevel =
+                fillBlockState = fillBlockState.setValue(
+                        LightBlock.LEVEL,
                         this.isLightTyped()
                         ? this.getLightLevelOf(itemDisplay.getItemStack())
-                        : this.lightLevels[0];
+                        : this.lightLevels[0]
+                );
+            }
 
-                for (final var currentBlock : blocks) {
-                    if (currentBlock.getBlockData() instanceof final Light light) {
-                        light.setLevel(lightLevel);
-                        currentBlock.setBlockData(light);
-                    }
-                }
+            for (final var blockPos : replacePositions) {
+                batch.set(blockPos, fillBlockState);
             }
         }
 
         return new CustomDecor(this, itemDisplay, interactions, boundingBox);
     }
 
-    private @NotNull ItemDisplay summonItem(
+    /**
+     * Spawns the item display of the custom decor
+     *
+     * @param position  The position to spawn the item display at
+     * @param blockFace The face the custom decor is placed on
+     * @param item      The item of the custom decor
+     * @return The spawned item display
+     * @throws IllegalArgumentException If the world is not specified in the
+     *                                  position
+     */
+    @NotNull ItemDisplay summonItem(
             final @NotNull MSPosition position,
             final @NotNull BlockFace blockFace,
             final @NotNull ItemStack item
@@ -1019,6 +1060,52 @@ public abstract class CustomDecorDataImpl<D extends CustomDecorData<D>> implemen
         );
     }
 
+    /**
+     * Checks whether the custom decor can be placed in the bounding box. The
+     * blocks of the bounding box must be replaceable and not reserved, and
+     * the bounding box must not contain entities, which would block the
+     * custom decor.
+     *
+     * @param serverLevel The level to check in
+     * @param msbb        The bounding box of the custom decor
+     * @param reserved    The predicate, which returns true for the block
+     *                    positions already taken by other custom decors
+     * @return True if the custom decor can be placed
+     */
+    boolean canPlace(
+            final @NotNull ServerLevel serverLevel,
+            final @NotNull MSBoundingBox msbb,
+            final @NotNull LongPredicate reserved
+    ) {
+        for (final var blockPos : msbb.getBlockPositions()) {
+            if (
+                    reserved.test(blockPos.asLong())
+                    || !BlockUtils.isReplaceable(serverLevel.getBlockState(blockPos).getBlock())
+            ) {
+                return false;
+            }
+        }
+
+        return !this.hasEntitiesInside(
+                serverLevel,
+                msbb.max(msbb.max().offset(1.0d))
+        );
+    }
+
+    /**
+     * @param blockFace The block face to check
+     * @return True if the custom decor can be placed on the block face
+     */
+    boolean hasFace(final @NotNull BlockFace blockFace) {
+        for (final var facing : this.facingSet) {
+            if (facing.hasFace(blockFace)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
     private boolean hasEntitiesInside(
             final @NotNull ServerLevel serverLevel,
             final @NotNull MSBoundingBox searchBox
@@ -1061,20 +1148,14 @@ public abstract class CustomDecorDataImpl<D extends CustomDecorData<D>> implemen
             final @NotNull MSBoundingBox msbb
     ) {
         final Interaction firstInteraction = interactions[0];
-        final String firstUUID = firstInteraction.getUniqueId().toString();
-        final StringBuilder uuidsBuilder = new StringBuilder();
+        final UUID firstUUID = firstInteraction.getUniqueId();
+        final UUID[] childUUIDs = new UUID[interactions.length - 1];
 
         for (int i = 1; i < interactions.length; ++i) {
             final Interaction interaction = interactions[i];
 
-            uuidsBuilder
-            .append(interaction.getUniqueId())
-            .append(',');
-            interaction.getPersistentDataContainer().set(
-                    DecorHitBox.HITBOX_CHILD_NAMESPACED_KEY,
-                    PersistentDataType.STRING,
-                    firstUUID
-            );
+            childUUIDs[i - 1] = interaction.getUniqueId();
+            DecorHitBox.setParentUUID(interaction.getPersistentDataContainer(), firstUUID);
         }
 
         final PersistentDataContainer firstContainer = firstInteraction.getPersistentDataContainer();
@@ -1084,102 +1165,13 @@ public abstract class CustomDecorDataImpl<D extends CustomDecorData<D>> implemen
                 PersistentDataType.STRING,
                 this.namespacedKey.getKey()
         );
+        DecorHitBox.setDisplayUUID(firstContainer, display.getUniqueId());
 
-        firstContainer.set(
-                DecorHitBox.HITBOX_DISPLAY_NAMESPACED_KEY,
-                PersistentDataType.STRING,
-                display.getUniqueId().toString()
-        );
-
-        if (!uuidsBuilder.isEmpty()) {
-            firstContainer.set(
-                    DecorHitBox.HITBOX_INTERACTIONS_NAMESPACED_KEY,
-                    PersistentDataType.STRING,
-                    uuidsBuilder
-                    .deleteCharAt(uuidsBuilder.length() - 1)
-                    .toString()
-            );
-        }
-
-        firstContainer.set(
-                DecorHitBox.HITBOX_BOUNDING_BOX_NAMESPACED_KEY,
-                PersistentDataType.STRING,
-                String.join(
-                        ",",
-                        String.valueOf(msbb.minX()),
-                        String.valueOf(msbb.minY()),
-                        String.valueOf(msbb.minZ()),
-                        String.valueOf(msbb.maxX()),
-                        String.valueOf(msbb.maxY()),
-                        String.valueOf(msbb.maxZ())
-                )
-        );
-    }
-
-    static @NotNull List<Block> fillBlocks(
-            final @NotNull String changerName,
-            final @NotNull ServerLevel serverLevel,
-            final BlockPos @NotNull [] replacePositions,
-            final @NotNull BlockState fillBlockState,
-            final @Nullable Predicate<BlockPos> predicate
-    ) {
-        final var blockList = new ObjectArrayList<Block>();
-        final var list = new ObjectArrayList<BlockPos>();
-        final Material fillMaterial = fillBlockState.getBukkitMaterial();
-        final BlockData fillBlockData = fillBlockState.createCraftBlockData();
-
-        for (final var blockPos : replacePositions) {
-            if (
-                    predicate != null
-                    && !predicate.test(blockPos)
-            ) {
-                continue;
-            }
-
-            final Location location = LocationUtils.nmsToBukkit(blockPos, serverLevel);
-            final BlockData replacedData = location.getBlock().getBlockData();
-            BlockState blockState = net.minecraft.world.level.block.Block.updateFromNeighbourShapes(fillBlockState, serverLevel, blockPos);
-
-            if (
-                    fillBlockData instanceof Light light
-                    && replacedData instanceof Levelled levelled
-                    && levelled.getLevel() == levelled.getMinimumLevel()
-            ) {
-                light.setWaterlogged(true);
-
-                blockState = ((CraftBlockData) light).getState();
-            } else if (blockState.isAir()) {
-                blockState = fillBlockState;
-            }
-
-            CoreProtectUtils.logRemoval(
-                    changerName,
-                    location,
-                    replacedData.getMaterial(),
-                    replacedData
-            );
-            serverLevel.setBlock(blockPos, blockState, 2);
-            list.add(blockPos.immutable());
-
-            final Block newBlock = location.getBlock();
-
-            blockList.add(newBlock);
-            CoreProtectUtils.logPlacement(
-                    changerName,
-                    location,
-                    fillMaterial,
-                    newBlock.getBlockData()
-            );
-        }
-
-        for (final var blockPos : list) {
-            serverLevel.blockUpdated(
-                    blockPos,
-                    serverLevel.getBlockState(blockPos).getBlock()
-            );
+        if (childUUIDs.length != 0) {
+            DecorHitBox.setInteractionUUIDs(firstContainer, childUUIDs);
         }
 
-        return blockList;
+        DecorHitBox.setBoundingBox(firstContainer, msbb);
     }
 
     private static @NotNull ItemStack setTypeKey(
@@ -2,10 +2,10 @@ package com.minersstudios.mscustoms.custom.decor;
 
 import com.minersstudios.mscore.annotation.Key;
 import com.minersstudios.mscore.plugin.MSPlugin;
-import com.minersstudios.mscore.status.StatusWatcher;
 import com.minersstudios.mscore.utility.ChatUtils;
 import com.minersstudios.mscore.utility.SharedConstants;
 import com.minersstudios.mscustoms.MSCustoms;
+import com.minersstudios.mscustoms.custom.CustomKinds;
 import com.minersstudios.mscustoms.menu.CraftsMenu;
 import com.minersstudios.mscustoms.registry.decor.christmas.*;
 import com.minersstudios.mscustoms.registry.decor.decoration.home.*;
@@ -28,13 +28,10 @@ import com.minersstudios.mscustoms.registry.decor.furniture.table.BigTable;
 import com.minersstudios.mscustoms.registry.decor.furniture.table.SmallTable;
 import com.minersstudios.mscustoms.registry.decor.other.Poop;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
-import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import org.bukkit.NamespacedKey;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.ItemMeta;
-import org.bukkit.persistence.PersistentDataType;
 import org.jetbrains.annotations.*;
 
 import java.util.*;
@@ -220,7 +217,6 @@ public enum CustomDecorType {
         }
 
         final long startTime = System.currentTimeMillis();
-        final var typesWithRecipes = new ObjectArrayList<CustomDecorType>();
 
         plugin.assignStatus(MSCustoms.LOADING_DECORATIONS);
         Stream.of(VALUES).parallel()
@@ -243,11 +239,8 @@ public enum CustomDecorType {
                 KEY_TO_TYPE_MAP.put(data.getKey().getKey().toLowerCase(Locale.ENGLISH), type);
                 CLASS_TO_TYPE_MAP.put(type.clazz, type);
                 CLASS_TO_DATA_MAP.put(type.clazz, data);
-                typesWithRecipes.add(type);
             }
         });
-        typesWithRecipes.sort(Comparator.comparingInt(CustomDecorType::ordinal));
-        plugin.assignStatus(MSCustoms.LOADED_DECORATIONS);
 
         plugin.getComponentLogger().info(
                 Component.text(
@@ -255,27 +248,27 @@ public enum CustomDecorType {
                         NamedTextColor.GREEN
                 )
         );
+    }
 
-        plugin.getStatusHandler().addWatcher(
-                StatusWatcher.builder()
-                .successStatuses(
-                        MSCustoms.LOADED_BLOCKS,
-                        MSCustoms.LOADED_ITEMS,
-                        MSCustoms.LOADED_DECORATIONS
-                )
-                .successRunnable(
-                        () -> plugin.runTask(() -> {
-                            for (final var type : typesWithRecipes) {
-                                type.getCustomDecorData().registerRecipes(plugin.getServer());
-                            }
-
-                            CraftsMenu.putCrafts(
-                                    CraftsMenu.Type.DECORS,
-                                    MSPlugin.globalCache().customDecorRecipes
-                            );
-                        })
-                )
-                .build()
+    /**
+     * Registers the recipes of all loaded custom decors, must be called on the
+     * main thread after the custom blocks, decorations and items are loaded
+     *
+     * @param plugin The plugin instance
+     */
+    @ApiStatus.Internal
+    public static void registerRecipes(final @NotNull MSCustoms plugin) {
+        for (final var type : VALUES) {
+            final CustomDecorData<?> data = CLASS_TO_DATA_MAP.get(type.clazz);
+
+            if (data != null) {
+                data.registerRecipes(plugin.getServer());
+            }
+        }
+
+        CraftsMenu.putCrafts(
+                CraftsMenu.Type.DECORS,
+                MSPlugin.globalCache().customDecorRecipes
         );
     }
 
@@ -385,21 +378,7 @@ public enum CustomDecorType {
     @Contract("null -> null")
     public static @Nullable CustomDecorType fromItemStack(final @Nullable ItemStack itemStack) throws IllegalStateException {
         checkLoaded();
-
-        if (itemStack == null) {
-            return null;
-        }
-
-        final ItemMeta itemMeta = itemStack.getItemMeta();
-
-        return itemMeta == null
-                ? null
-                : fromKey(
-                        itemMeta.getPersistentDataContainer().get(
-                                TYPE_NAMESPACED_KEY,
-                                PersistentDataType.STRING
-                        )
-                );
+        return CustomKinds.classify(itemStack).get(CustomKinds.DECOR);
     }
 
     /**
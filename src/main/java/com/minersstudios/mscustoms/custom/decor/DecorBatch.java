@@ -0,0 +1,197 @@
+package com.minersstudios.mscustoms.custom.decor;
+
+import com.minersstudios.mscore.location.MSBoundingBox;
+import com.minersstudios.mscore.location.MSPosition;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import net.minecraft.core.BlockPos;
+import org.bukkit.World;
+import org.bukkit.block.BlockFace;
+import org.bukkit.craftbukkit.v1_20_R3.CraftWorld;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Places and destroys many custom decors in one world at once, for example
+ * when a structure with custom decors is pasted or cleared.
+ * <br>
+ * The placements and destructions are collected with
+ * {@link #place(CustomDecorData, MSPosition, BlockFace, float, ItemStack)} and
+ * {@link #destroy(CustomDecor, boolean)}, and are performed by
+ * {@link #apply()}. The entities of all custom decors are spawned and removed
+ * first, then the blocks of all custom decors are changed in a single pass,
+ * grouped by chunk section, and logged in the CoreProtect at the end of it.
+ * <br>
+ * Unlike the placement and destruction by a player, the batch does not call
+ * the custom decor events, does not perform the place and break actions, and
+ * does not play the sounds. The batch is not thread-safe and must be used on
+ * the main thread.
+ */
+public final class DecorBatch {
+    private final String changerName;
+    private final CraftWorld world;
+    private final List<Placement> placements;
+    private final List<Destruction> destructions;
+    private final LongSet reserved;
+
+    /**
+     * Constructs a new empty decor batch
+     *
+     * @param changerName The name of the changer, which will be logged in the
+     *                    CoreProtect
+     * @param world       The world, in which the custom decors will be placed
+     *                    and destroyed
+     */
+    public DecorBatch(
+            final @NotNull String changerName,
+            final @NotNull World world
+    ) {
+        this.changerName = changerName;
+        this.world = (CraftWorld) world;
+        this.placements = new ObjectArrayList<>();
+        this.destructions = new ObjectArrayList<>();
+        this.reserved = new LongOpenHashSet();
+    }
+
+    /**
+     * @return The world, in which the custom decors will be placed and
+     *         destroyed
+     */
+    public @NotNull World getWorld() {
+        return this.world;
+    }
+
+    /**
+     * @return The number of the collected placements and destructions
+     */
+    public int size() {
+        return this.placements.size() + this.destructions.size();
+    }
+
+    /**
+     * Adds the placement of the custom decor to the batch. The custom decor is
+     * placed only if it can be placed on the block face, all the blocks of its
+     * hitbox are replaceable and not taken by another placement of this
+     * batch, and there are no entities in its hitbox.
+     *
+     * @param data      The custom decor data to place
+     * @param position  The position of the block to place the decor at, its
+     *                  world is ignored
+     * @param blockFace The block face to place the decor on
+     * @param rotation  The rotation of the decor
+     * @param item      The item of the decor, or null to use the default item
+     *                  of the custom decor data
+     * @return True if the placement was added
+     */
+    public boolean place(
+            final @NotNull CustomDecorData<?> data,
+            final @NotNull MSPosition position,
+            final @NotNull BlockFace blockFace,
+            final float rotation,
+            final @Nullable ItemStack item
+    ) {
+        final CustomDecorDataImpl<?> impl = (CustomDecorDataImpl<?>) data;
+
+        if (!impl.hasFace(blockFace)) {
+            return false;
+        }
+
+        final MSPosition worldPosition = position.world(this.world);
+        final MSBoundingBox msbb = impl.getHitBox().getBoundingBox(worldPosition, blockFace, rotation);
+
+        if (!impl.canPlace(this.world.getHandle(), msbb, this.reserved::contains)) {
+            return false;
+        }
+
+        final BlockPos[] blockPositions = msbb.getBlockPositions();
+
+        for (final var blockPos : blockPositions) {
+            this.reserved.add(blockPos.asLong());
+        }
+
+        this.placements.add(
+                new Placement(
+                        impl,
+                        worldPosition.yaw(rotation),
+                        msbb,
+                        blockPositions,
+                        blockFace,
+                        rotation,
+                        item == null ? impl.getItem() : item
+                )
+        );
+
+        return true;
+    }
+
+    /**
+     * Adds the destruction of the custom decor to the batch
+     *
+     * @param customDecor The custom decor to destroy
+     * @param dropItem    Whether to drop the item of the custom decor
+     */
+    public void destroy(
+            final @NotNull CustomDecor customDecor,
+            final boolean dropItem
+    ) {
+        this.destructions.add(new Destruction(customDecor, dropItem));
+    }
+
+    /**
+     * Performs all collected destructions and placements and clears the
+     * batch. The destructions are performed before the placements.
+     *
+     * @return The placed custom decors
+     */
+    public @NotNull @UnmodifiableView List<CustomDecor> apply() {
+        final DecorBlockBatch blockBatch = new DecorBlockBatch(this.changerName, this.world.getHandle());
+        final var placed = new ObjectArrayList<CustomDecor>(this.placements.size());
+
+        for (final var destruction : this.destructions) {
+            destruction.customDecor().removeFromWorld(blockBatch, destruction.dropItem());
+        }
+
+        for (final var placement : this.placements) {
+            final CustomDecorDataImpl<?> data = placement.data();
+
+            placed.add(
+                    data.placeInWorld(
+                            blockBatch,
+                            data.summonItem(placement.position(), placement.blockFace(), placement.item()),
+                            placement.msbb(),
+                            placement.blockPositions(),
+                            placement.blockFace(),
+                            placement.rotation()
+                    )
+            );
+        }
+
+        blockBatch.apply();
+        this.placements.clear();
+        this.destructions.clear();
+        this.reserved.clear();
+
+        return Collections.unmodifiableList(placed);
+    }
+
+    private record Placement(
+            @NotNull CustomDecorDataImpl<?> data,
+            @NotNull MSPosition position,
+            @NotNull MSBoundingBox msbb,
+            BlockPos @NotNull [] blockPositions,
+            @NotNull BlockFace blockFace,
+            float rotation,
+            @NotNull ItemStack item
+    ) {}
+
+    private record Destruction(
+            @NotNull CustomDecor customDecor,
+            boolean dropItem
+    ) {}
+}
@@ -0,0 +1,189 @@
+package com.minersstudios.mscustoms.custom.decor;
+
+import com.minersstudios.mscore.utility.CoreProtectUtils;
+import com.minersstudios.mscore.utility.LocationUtils;
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.LightBlock;
+import net.minecraft.world.level.block.LiquidBlock;
+import net.minecraft.world.level.block.state.BlockState;
+import org.bukkit.Location;
+import org.bukkit.block.Block;
+import org.bukkit.craftbukkit.v1_20_R3.block.data.CraftBlockData;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Collects the block changes of custom decors and applies them in a single
+ * pass, grouped by chunk section.
+ * <br>
+ * All blocks are written first, without notifying their neighbours, so the
+ * client receives the changes of a section together when the chunk changes
+ * are broadcast. The neighbours are notified only after all blocks are
+ * written, once per changed block. The changes are logged in the CoreProtect
+ * after the write pass, in one loop over the whole batch.
+ */
+final class DecorBlockBatch {
+    private final String changerName;
+    private final ServerLevel serverLevel;
+    private final Long2ObjectMap<List<Change>> sections;
+    private int size;
+
+    /**
+     * Constructs a new empty block batch
+     *
+     * @param changerName The name of the changer, which will be logged in the
+     *                    CoreProtect
+     * @param serverLevel The level, in which the blocks will be changed
+     */
+    DecorBlockBatch(
+            final @NotNull String changerName,
+            final @NotNull ServerLevel serverLevel
+    ) {
+        this.changerName = changerName;
+        this.serverLevel = serverLevel;
+        this.sections = new Long2ObjectLinkedOpenHashMap<>();
+    }
+
+    /**
+     * @return The level, in which the blocks will be changed
+     */
+    @NotNull ServerLevel getServerLevel() {
+        return this.serverLevel;
+    }
+
+    /**
+     * @return The number of the collected block changes
+     */
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * Adds the block change to the batch. If the replaced block is a liquid
+     * source and the new block is a light block, the light block will be
+     * waterlogged.
+     *
+     * @param blockPos   The position of the block
+     * @param blockState The new state of the block
+     */
+    void set(
+            final @NotNull BlockPos blockPos,
+            final @NotNull BlockState blockState
+    ) {
+        this.sections.computeIfAbsent(
+                SectionPos.asLong(
+                        SectionPos.blockToSectionCoord(blockPos.getX()),
+                        SectionPos.blockToSectionCoord(blockPos.getY()),
+                        SectionPos.blockToSectionCoord(blockPos.getZ())
+                ),
+                k -> new ObjectArrayList<>()
+        ).add(new Change(blockPos.immutable(), blockState));
+        ++this.size;
+    }
+
+    /**
+     * Adds the removal of the block to the batch. A waterlogged light block is
+     * replaced with water, any other block with air.
+     *
+     * @param blockPos The position of the block
+     */
+    void remove(final @NotNull BlockPos blockPos) {
+        final BlockState blockState = this.serverLevel.getBlockState(blockPos);
+
+        this.set(
+                blockPos,
+                blockState.is(Blocks.LIGHT)
+                && blockState.getValue(LightBlock.WATERLOGGED)
+                        ? Blocks.WATER.defaultBlockState()
+                        : Blocks.AIR.defaultBlockState()
+        );
+    }
+
+    /**
+     * Applies all collected block changes and clears the batch
+     *
+     * @return The changed blocks
+     */
+    @NotNull List<Block> apply() {
+        final var changes = new ObjectArrayList<AppliedChange>(this.size);
+        final var blocks = new ObjectArrayList<Block>(this.size);
+
+        for (final var sectionChanges : this.sections.values()) {
+            for (final var change : sectionChanges) {
+                final BlockPos blockPos = change.blockPos();
+                final BlockState replaced = this.serverLevel.getBlockState(blockPos);
+                BlockState blockState = change.blockState();
+
+                if (!blockState.isAir()) {
+                    blockState = net.minecraft.world.level.block.Block.updateFromNeighbourShapes(blockState, this.serverLevel, blockPos);
+
+                    if (blockState.isAir()) {
+                        blockState = change.blockState();
+                    }
+                }
+
+                if (
+                        blockState.is(Blocks.LIGHT)
+                        && replaced.getBlock() instanceof LiquidBlock
+                        && replaced.getValue(LiquidBlock.LEVEL) == 0
+                ) {
+                    blockState = blockState.setValue(LightBlock.WATERLOGGED, true);
+                }
+
+                this.serverLevel.setBlock(blockPos, blockState, net.minecraft.world.level.block.Block.UPDATE_CLIENTS);
+                changes.add(new AppliedChange(blockPos, replaced, this.serverLevel.getBlockState(blockPos)));
+            }
+        }
+
+        for (final var change : changes) {
+            this.serverLevel.blockUpdated(change.blockPos(), change.placed().getBlock());
+        }
+
+        for (final var change : changes) {
+            final Location location = LocationUtils.nmsToBukkit(change.blockPos(), this.serverLevel);
+
+            if (!change.replaced().isAir()) {
+                CoreProtectUtils.logRemoval(
+                        this.changerName,
+                        location,
+                        change.replaced().getBukkitMaterial(),
+                        CraftBlockData.fromData(change.replaced())
+                );
+            }
+
+            if (!change.placed().isAir()) {
+                CoreProtectUtils.logPlacement(
+                        this.changerName,
+                        location,
+                        change.placed().getBukkitMaterial(),
+                        CraftBlockData.fromData(change.placed())
+                );
+            }
+
+            blocks.add(location.getBlock());
+        }
+
+        this.sections.clear();
+        this.size = 0;
+
+        return blocks;
+    }
+
+    private record Change(
+            @NotNull BlockPos blockPos,
+            @NotNull BlockState blockState
+    ) {}
+
+    private record AppliedChange(
+            @NotNull BlockPos blockPos,
+            @NotNull BlockState replaced,
+            @NotNull BlockState placed
+    ) {}
+}
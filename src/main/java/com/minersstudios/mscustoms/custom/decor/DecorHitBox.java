@@ -11,13 +11,16 @@ import org.bukkit.NamespacedKey;
 import org.bukkit.block.BlockFace;
 import org.bukkit.entity.Interaction;
 import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Range;
 
 import javax.annotation.concurrent.Immutable;
+import java.nio.ByteBuffer;
 import java.util.EnumSet;
 import java.util.Set;
+import java.util.UUID;
 
 import static com.minersstudios.mscore.utility.SharedConstants.MSDECOR_NAMESPACE;
 
@@ -315,6 +318,249 @@ public final class DecorHitBox {
         return dataContainer.has(DecorHitBox.HITBOX_CHILD_NAMESPACED_KEY);
     }
 
+    /**
+     * Gets the UUID of the parent interaction from the data container of a
+     * child interaction. Both the binary and the legacy string formats are
+     * supported.
+     *
+     * @param dataContainer The data container of the child interaction
+     * @return The UUID of the parent interaction, or null if the data
+     *         container has no valid parent link
+     * @see #setParentUUID(PersistentDataContainer, UUID)
+     */
+    public static @Nullable UUID getParentUUID(final @NotNull PersistentDataContainer dataContainer) {
+        return getUUID(dataContainer, HITBOX_CHILD_NAMESPACED_KEY);
+    }
+
+    /**
+     * Sets the UUID of the parent interaction to the data container of a
+     * child interaction in the binary format
+     *
+     * @param dataContainer The data container of the child interaction
+     * @param uuid          The UUID of the parent interaction
+     */
+    public static void setParentUUID(
+            final @NotNull PersistentDataContainer dataContainer,
+            final @NotNull UUID uuid
+    ) {
+        dataContainer.set(HITBOX_CHILD_NAMESPACED_KEY, PersistentDataType.LONG_ARRAY, toLongs(uuid));
+    }
+
+    /**
+     * Gets the UUID of the item display from the data container of a parent
+     * interaction. Both the binary and the legacy string formats are
+     * supported.
+     *
+     * @param dataContainer The data container of the parent interaction
+     * @return The UUID of the item display, or null if the data container has
+     *         no valid display link
+     * @see #setDisplayUUID(PersistentDataContainer, UUID)
+     */
+    public static @Nullable UUID getDisplayUUID(final @NotNull PersistentDataContainer dataContainer) {
+        return getUUID(dataContainer, HITBOX_DISPLAY_NAMESPACED_KEY);
+    }
+
+    /**
+     * Sets the UUID of the item display to the data container of a parent
+     * interaction in the binary format
+     *
+     * @param dataContainer The data container of the parent interaction
+     * @param uuid          The UUID of the item display
+     */
+    public static void setDisplayUUID(
+            final @NotNull PersistentDataContainer dataContainer,
+            final @NotNull UUID uuid
+    ) {
+        dataContainer.set(HITBOX_DISPLAY_NAMESPACED_KEY, PersistentDataType.LONG_ARRAY, toLongs(uuid));
+    }
+
+    /**
+     * Gets the UUIDs of the child interactions from the data container of a
+     * parent interaction. Both the binary and the legacy string formats are
+     * supported.
+     *
+     * @param dataContainer The data container of the parent interaction
+     * @return The UUIDs of the child interactions, an empty array if the
+     *         parent has no children, or null if the link is invalid
+     * @see #setInteractionUUIDs(PersistentDataContainer, UUID[])
+     */
+    public static UUID @Nullable [] getInteractionUUIDs(final @NotNull PersistentDataContainer dataContainer) {
+        final long[] longs = getIfPresent(dataContainer, HITBOX_INTERACTIONS_NAMESPACED_KEY, PersistentDataType.LONG_ARRAY);
+
+        if (longs != null) {
+            if (longs.length % 2 != 0) {
+                return null;
+            }
+
+            final UUID[] uuids = new UUID[longs.length / 2];
+
+            for (int i = 0; i < uuids.length; ++i) {
+                uuids[i] = new UUID(longs[i * 2], longs[i * 2 + 1]);
+            }
+
+            return uuids;
+        }
+
+        final String value = getIfPresent(dataContainer, HITBOX_INTERACTIONS_NAMESPACED_KEY, PersistentDataType.STRING);
+
+        if (value == null) {
+            return new UUID[0];
+        }
+
+        final String[] strings = value.split(",");
+        final UUID[] uuids = new UUID[strings.length];
+
+        try {
+            for (int i = 0; i < strings.length; ++i) {
+                uuids[i] = UUID.fromString(strings[i]);
+            }
+        } catch (final IllegalArgumentException ignored) {
+            return null;
+        }
+
+        return uuids;
+    }
+
+    /**
+     * Sets the UUIDs of the child interactions to the data container of a
+     * parent interaction in the binary format, two longs per UUID
+     *
+     * @param dataContainer The data container of the parent interaction
+     * @param uuids         The UUIDs of the child interactions
+     */
+    public static void setInteractionUUIDs(
+            final @NotNull PersistentDataContainer dataContainer,
+            final UUID @NotNull [] uuids
+    ) {
+        final long[] longs = new long[uuids.length * 2];
+
+        for (int i = 0; i < uuids.length; ++i) {
+            longs[i * 2] = uuids[i].getMostSignificantBits();
+            longs[i * 2 + 1] = uuids[i].getLeastSignificantBits();
+        }
+
+        dataContainer.set(HITBOX_INTERACTIONS_NAMESPACED_KEY, PersistentDataType.LONG_ARRAY, longs);
+    }
+
+    /**
+     * Gets the bounding box from the data container of a parent interaction.
+     * Both the binary and the legacy string formats are supported.
+     *
+     * @param dataContainer The data container of the parent interaction
+     * @return The bounding box, or null if the data container has no valid
+     *         bounding box
+     * @see #setBoundingBox(PersistentDataContainer, MSBoundingBox)
+     */
+    public static @Nullable MSBoundingBox getBoundingBox(final @NotNull PersistentDataContainer dataContainer) {
+        final byte[] bytes = getIfPresent(dataContainer, HITBOX_BOUNDING_BOX_NAMESPACED_KEY, PersistentDataType.BYTE_ARRAY);
+
+        if (bytes != null) {
+            if (bytes.length != Double.BYTES * 6) {
+                return null;
+            }
+
+            final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+
+            return MSBoundingBox.of(
+                    buffer.getDouble(),
+                    buffer.getDouble(),
+                    buffer.getDouble(),
+                    buffer.getDouble(),
+                    buffer.getDouble(),
+                    buffer.getDouble()
+            );
+        }
+
+        final String value = getIfPresent(dataContainer, HITBOX_BOUNDING_BOX_NAMESPACED_KEY, PersistentDataType.STRING);
+
+        if (value == null) {
+            return null;
+        }
+
+        final String[] coordinates = value.split(",");
+
+        if (coordinates.length != 6) {
+            return null;
+        }
+
+        try {
+            return MSBoundingBox.of(
+                    Double.parseDouble(coordinates[0]),
+                    Double.parseDouble(coordinates[1]),
+                    Double.parseDouble(coordinates[2]),
+                    Double.parseDouble(coordinates[3]),
+                    Double.parseDouble(coordinates[4]),
+                    Double.parseDouble(coordinates[5])
+            );
+        } catch (final NumberFormatException ignored) {
+            return null;
+        }
+    }
+
+    /**
+     * Sets the bounding box to the data container of a parent interaction in
+     * the binary format, six doubles
+     *
+     * @param dataContainer The data container of the parent interaction
+     * @param msbb          The bounding box
+     */
+    public static void setBoundingBox(
+            final @NotNull PersistentDataContainer dataContainer,
+            final @NotNull MSBoundingBox msbb
+    ) {
+        dataContainer.set(
+                HITBOX_BOUNDING_BOX_NAMESPACED_KEY,
+                PersistentDataType.BYTE_ARRAY,
+                ByteBuffer.allocate(Double.BYTES * 6)
+                .putDouble(msbb.minX())
+                .putDouble(msbb.minY())
+                .putDouble(msbb.minZ())
+                .putDouble(msbb.maxX())
+                .putDouble(msbb.maxY())
+                .putDouble(msbb.maxZ())
+                .array()
+        );
+    }
+
+    private static @Nullable UUID getUUID(
+            final @NotNull PersistentDataContainer dataContainer,
+            final @NotNull NamespacedKey key
+    ) {
+        final long[] longs = getIfPresent(dataContainer, key, PersistentDataType.LONG_ARRAY);
+
+        if (longs != null) {
+            return longs.length == 2
+                    ? new UUID(longs[0], longs[1])
+                    : null;
+        }
+
+        final String value = getIfPresent(dataContainer, key, PersistentDataType.STRING);
+
+        if (value == null) {
+            return null;
+        }
+
+        try {
+            return UUID.fromString(value);
+        } catch (final IllegalArgumentException ignored) {
+            return null;
+        }
+    }
+
+    private static <T> @Nullable T getIfPresent(
+            final @NotNull PersistentDataContainer dataContainer,
+            final @NotNull NamespacedKey key,
+            final @NotNull PersistentDataType<?, T> type
+    ) {
+        return dataContainer.has(key, type)
+                ? dataContainer.get(key, type)
+                : null;
+    }
+
+    private static long @NotNull [] toLongs(final @NotNull UUID uuid) {
+        return new long[] { uuid.getMostSignificantBits(), uuid.getLeastSignificantBits() };
+    }
+
     /**
      * @return Builder with the same values as this DecorHitBox
      */
@@ -1,13 +1,12 @@
 package com.minersstudios.mscustoms.custom.item;
 
 import com.minersstudios.mscore.inventory.recipe.entry.RecipeEntry;
+import com.minersstudios.mscustoms.custom.CustomKinds;
 import com.minersstudios.mscustoms.menu.CraftsMenu;
 import org.bukkit.Keyed;
 import org.bukkit.NamespacedKey;
 import org.bukkit.Server;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.ItemMeta;
-import org.bukkit.persistence.PersistentDataType;
 import org.jetbrains.annotations.*;
 
 import java.util.List;
@@ -276,20 +275,15 @@ public interface CustomItem extends Keyed {
             final @Nullable ItemStack itemStack,
             final @Nullable Class<I> clazz
     ) {
-        if (
-                itemStack == null
-                 || clazz == null
-        ) {
+        if (clazz == null) {
             return Optional.empty();
         }
 
-        final ItemMeta itemMeta = itemStack.getItemMeta();
+        final CustomItemType type = CustomKinds.classify(itemStack).get(CustomKinds.ITEM);
 
-        return itemMeta == null
-                ? Optional.empty()
-                : fromKey(
-                itemMeta.getPersistentDataContainer().get(CustomItemType.TYPE_NAMESPACED_KEY, PersistentDataType.STRING),
-                clazz
-        );
+        return type != null
+                && clazz.isInstance(type.getCustomItem())
+                ? Optional.of(type.getCustomItem(clazz))
+                : Optional.empty();
     }
 }
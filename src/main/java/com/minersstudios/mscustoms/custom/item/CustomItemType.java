@@ -1,10 +1,10 @@
 package com.minersstudios.mscustoms.custom.item;
 
 import com.minersstudios.mscore.plugin.MSPlugin;
-import com.minersstudios.mscore.status.StatusWatcher;
 import com.minersstudios.mscore.utility.ChatUtils;
 import com.minersstudios.mscore.utility.SharedConstants;
 import com.minersstudios.mscustoms.MSCustoms;
+import com.minersstudios.mscustoms.custom.CustomKinds;
 import com.minersstudios.mscustoms.custom.item.damageable.Damageable;
 import com.minersstudios.mscustoms.menu.CraftsMenu;
 import com.minersstudios.mscustoms.registry.item.*;
@@ -15,14 +15,11 @@ import com.minersstudios.mscustoms.registry.item.armor.hazmat.HazmatLeggings;
 import com.minersstudios.mscustoms.registry.item.cards.CardsBicycle;
 import com.minersstudios.mscustoms.registry.item.cosmetics.LeatherHat;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
-import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import org.bukkit.NamespacedKey;
 import org.bukkit.Server;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.ItemMeta;
-import org.bukkit.persistence.PersistentDataType;
 import org.jetbrains.annotations.*;
 
 import java.util.*;
@@ -89,7 +86,6 @@ public enum CustomItemType {
         }
 
         final long startTime = System.currentTimeMillis();
-        final var typesWithRecipes = new ObjectArrayList<CustomItemType>();
 
         plugin.assignStatus(MSCustoms.LOADING_ITEMS);
         Stream.of(VALUES).parallel()
@@ -116,11 +112,8 @@ public enum CustomItemType {
                 KEY_TO_TYPE_MAP.put(customItem.getKey().getKey().toLowerCase(Locale.ENGLISH), type);
                 CLASS_TO_TYPE_MAP.put(type.clazz, type);
                 CLASS_TO_ITEM_MAP.put(type.clazz, customItem);
-                typesWithRecipes.add(type);
             }
         });
-        typesWithRecipes.sort(Comparator.comparingInt(CustomItemType::ordinal));
-        plugin.assignStatus(MSCustoms.LOADED_ITEMS);
 
         plugin.getComponentLogger().info(
                 Component.text(
@@ -128,29 +121,29 @@ public enum CustomItemType {
                         NamedTextColor.GREEN
                 )
         );
+    }
 
-        plugin.getStatusHandler().addWatcher(
-                StatusWatcher.builder()
-                .successStatuses(
-                        MSCustoms.LOADED_BLOCKS,
-                        MSCustoms.LOADED_DECORATIONS,
-                        MSCustoms.LOADED_ITEMS
-                )
-                .successRunnable(
-                        () -> plugin.runTask(() -> {
-                            final Server server = plugin.getServer();
-
-                            for (final var item : typesWithRecipes) {
-                                item.getCustomItem().registerRecipes(server);
-                            }
-
-                            CraftsMenu.putCrafts(
-                                    CraftsMenu.Type.ITEMS,
-                                    MSPlugin.globalCache().customItemRecipes
-                            );
-                        })
-                )
-                .build()
+    /**
+     * Registers the recipes of all loaded custom items, must be called on the
+     * main thread after the custom blocks, decorations and items are loaded
+     *
+     * @param plugin The plugin instance
+     */
+    @ApiStatus.Internal
+    public static void registerRecipes(final @NotNull MSCustoms plugin) {
+        final Server server = plugin.getServer();
+
+        for (final var type : VALUES) {
+            final CustomItem customItem = CLASS_TO_ITEM_MAP.get(type.clazz);
+
+            if (customItem != null) {
+                customItem.registerRecipes(server);
+            }
+        }
+
+        CraftsMenu.putCrafts(
+                CraftsMenu.Type.ITEMS,
+                MSPlugin.globalCache().customItemRecipes
         );
     }
 
@@ -248,21 +241,7 @@ public enum CustomItemType {
     @Contract("null -> null")
     public static @Nullable CustomItemType fromItemStack(final @Nullable ItemStack itemStack) throws IllegalStateException {
         checkLoaded();
-
-        if (itemStack == null) {
-            return null;
-        }
-
-        final ItemMeta itemMeta = itemStack.getItemMeta();
-
-        return itemMeta == null
-                ? null
-                : fromKey(
-                        itemMeta.getPersistentDataContainer().get(
-                                TYPE_NAMESPACED_KEY,
-                                PersistentDataType.STRING
-                        )
-                );
+        return CustomKinds.classify(itemStack).get(CustomKinds.ITEM);
     }
 
     /**
@@ -0,0 +1,402 @@
+package com.minersstudios.mscustoms.custom.item.renameable;
+
+import it.unimi.dsi.fastutil.chars.Char2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectLinkedOpenHashSet;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index of the registered {@link RenameEntry rename entries}, which is used by
+ * the {@link RenameableItemRegistry} to look up the renameable items without
+ * comparing the query with every registered entry.
+ * <br>
+ * The entries are grouped into buckets by the material of their items and the
+ * string tags of their persistent data containers, except the
+ * {@link RenameableItemRegistry#RENAMEABLE_NAMESPACED_KEY renameable key}.
+ * Each bucket keeps its renames in a prefix trie of the normalized characters,
+ * so the lookup walks the query rename only once, and the suggestions are
+ * collected from the subtree of the typed prefix.
+ * <br>
+ * The matching rules are the same as in {@link RenameEntry#equals(Object)}:
+ * the query rename must start with the registered rename (case-insensitive),
+ * the items must have the same material, and the registered item must have
+ * all the string tags of the queried item. If several registered renames
+ * match, the longest one wins across all matching buckets, and the bucket
+ * with exactly the same tags as the queried item wins a tie.
+ * <br>
+ * The renames are stored and suggested in their normalized form, in which
+ * every character is converted to the lower case, so the case variants of a
+ * rename share the same trie node.
+ */
+final class RenameIndex {
+    private final Map<Material, List<Bucket>> bucketMap = new Object2ObjectOpenHashMap<>();
+
+    /**
+     * Adds the rename entry associated with the given key to the index
+     *
+     * @param entry The rename entry
+     * @param key   The key of the renameable item
+     */
+    void put(
+            final @NotNull RenameEntry entry,
+            final @NotNull String key
+    ) {
+        final ItemStack item = entry.getItem();
+        final Map<String, String> tags = tagsOf(item);
+        final List<Bucket> buckets = this.bucketMap.computeIfAbsent(item.getType(), material -> new ObjectArrayList<>());
+        Bucket bucket = findBucket(buckets, tags);
+
+        if (bucket == null) {
+            bucket = new Bucket(tags);
+
+            buckets.add(bucket);
+        }
+
+        bucket.put(entry.getRename(), key);
+    }
+
+    /**
+     * Removes the rename entry associated with the given key from the index
+     *
+     * @param entry The rename entry
+     * @param key   The key of the renameable item
+     */
+    void remove(
+            final @NotNull RenameEntry entry,
+            final @NotNull String key
+    ) {
+        final ItemStack item = entry.getItem();
+        final List<Bucket> buckets = this.bucketMap.get(item.getType());
+
+        if (buckets == null) {
+            return;
+        }
+
+        final Bucket bucket = findBucket(buckets, tagsOf(item));
+
+        if (
+                bucket != null
+                && bucket.remove(entry.getRename(), key)
+                && bucket.root.isEmpty()
+        ) {
+            buckets.remove(bucket);
+
+            if (buckets.isEmpty()) {
+                this.bucketMap.remove(item.getType());
+            }
+        }
+    }
+
+    /**
+     * Removes all the entries from the index
+     */
+    void clear() {
+        this.bucketMap.clear();
+    }
+
+    /**
+     * @param rename The rename of the item
+     * @param item   The item to rename
+     * @return The key of the renameable item with the longest registered rename
+     *         that the given rename starts with in any matching bucket, or null
+     *         if there is no such renameable item
+     */
+    @Nullable String find(
+            final @NotNull String rename,
+            final @NotNull ItemStack item
+    ) {
+        final List<Bucket> buckets = this.bucketMap.get(item.getType());
+
+        if (buckets == null) {
+            return null;
+        }
+
+        final Map<String, String> tags = tagsOf(item);
+        final Bucket exact = findBucket(buckets, tags);
+        Node best = exact == null ? null : exact.find(rename);
+
+        for (final var bucket : buckets) {
+            if (
+                    bucket != exact
+                    && bucket.matches(tags)
+            ) {
+                final Node node = bucket.find(rename);
+
+                if (
+                        node != null
+                        && (best == null || node.depth > best.depth)
+                ) {
+                    best = node;
+                }
+            }
+        }
+
+        return best == null
+                ? null
+                : best.keys.get(0);
+    }
+
+    /**
+     * @param prefix The typed prefix of the rename
+     * @param item   The item to rename
+     * @param limit  The maximum number of suggestions
+     * @return An unmodifiable list of the normalized registered renames
+     *         applicable to the given item, which start with the given prefix
+     *         (case-insensitive)
+     */
+    @NotNull @Unmodifiable List<String> suggest(
+            final @NotNull String prefix,
+            final @NotNull ItemStack item,
+            final int limit
+    ) {
+        final List<Bucket> buckets = this.bucketMap.get(item.getType());
+
+        if (
+                buckets == null
+                || limit <= 0
+        ) {
+            return List.of();
+        }
+
+        final Map<String, String> tags = tagsOf(item);
+        final var suggestions = new ObjectLinkedOpenHashSet<String>();
+
+        for (final var bucket : buckets) {
+            if (bucket.matches(tags)) {
+                bucket.suggest(prefix, suggestions, limit);
+
+                if (suggestions.size() >= limit) {
+                    break;
+                }
+            }
+        }
+
+        return List.copyOf(suggestions);
+    }
+
+    private static @Nullable Bucket findBucket(
+            final @NotNull List<Bucket> buckets,
+            final @NotNull Map<String, String> tags
+    ) {
+        for (final var bucket : buckets) {
+            if (bucket.tags.equals(tags)) {
+                return bucket;
+            }
+        }
+
+        return null;
+    }
+
+    private static @NotNull Map<String, String> tagsOf(final @NotNull ItemStack item) {
+        if (!item.hasItemMeta()) {
+            return Map.of();
+        }
+
+        final PersistentDataContainer container = item.getItemMeta().getPersistentDataContainer();
+        final var tags = new Object2ObjectOpenHashMap<String, String>();
+
+        for (final var namespacedKey : container.getKeys()) {
+            if (namespacedKey.equals(RenameableItemRegistry.RENAMEABLE_NAMESPACED_KEY)) {
+                continue;
+            }
+
+            final String value = container.get(namespacedKey, PersistentDataType.STRING);
+
+            if (value != null) {
+                tags.put(namespacedKey.toString(), value);
+            }
+        }
+
+        return tags.isEmpty()
+                ? Map.of()
+                : Map.copyOf(tags);
+    }
+
+    private static char normalize(final char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    private static final class Bucket {
+        final Map<String, String> tags;
+        final Node root;
+
+        Bucket(final @NotNull Map<String, String> tags) {
+            this.tags = tags;
+            this.root = new Node(0);
+        }
+
+        boolean matches(final @NotNull Map<String, String> tags) {
+            return this.tags.entrySet().containsAll(tags.entrySet());
+        }
+
+        void put(
+                final @NotNull String rename,
+                final @NotNull String key
+        ) {
+            final var normalized = new StringBuilder(rename.length());
+            Node node = this.root;
+
+            for (int i = 0; i < rename.length(); ++i) {
+                final char c = normalize(rename.charAt(i));
+
+                normalized.append(c);
+                node = node.child(c, true);
+            }
+
+            node.rename = normalized.toString();
+
+            if (!node.keys.contains(key)) {
+                node.keys.add(key);
+            }
+        }
+
+        boolean remove(
+                final @NotNull String rename,
+                final @NotNull String key
+        ) {
+            final Node[] path = new Node[rename.length() + 1];
+            Node node = this.root;
+            path[0] = node;
+
+            for (int i = 0; i < rename.length(); ++i) {
+                node = node.child(normalize(rename.charAt(i)), false);
+
+                if (node == null) {
+                    return false;
+                }
+
+                path[i + 1] = node;
+            }
+
+            if (!node.keys.remove(key)) {
+                return false;
+            }
+
+            if (node.keys.isEmpty()) {
+                node.rename = null;
+            }
+
+            for (int i = rename.length(); i > 0 && path[i].isEmpty(); --i) {
+                path[i - 1].children.remove(normalize(rename.charAt(i - 1)));
+            }
+
+            return true;
+        }
+
+        /**
+         * @return The deepest node with keys, whose rename the given rename
+         *         starts with, or null if there is no such node
+         */
+        @Nullable Node find(final @NotNull String rename) {
+            Node node = this.root;
+            Node found = null;
+
+            for (int i = 0; i < rename.length(); ++i) {
+                node = node.child(normalize(rename.charAt(i)), false);
+
+                if (node == null) {
+                    break;
+                }
+
+                if (!node.keys.isEmpty()) {
+                    found = node;
+                }
+            }
+
+            return found;
+        }
+
+        void suggest(
+                final @NotNull String prefix,
+                final @NotNull ObjectLinkedOpenHashSet<String> suggestions,
+                final int limit
+        ) {
+            Node node = this.root;
+
+            for (int i = 0; i < prefix.length() && node != null; ++i) {
+                node = node.child(normalize(prefix.charAt(i)), false);
+            }
+
+            if (node != null) {
+                collect(node, suggestions, limit);
+            }
+        }
+
+        private static void collect(
+                final @NotNull Node node,
+                final @NotNull ObjectLinkedOpenHashSet<String> suggestions,
+                final int limit
+        ) {
+            if (
+                    !node.keys.isEmpty()
+                    && suggestions.size() < limit
+            ) {
+                suggestions.add(node.rename);
+            }
+
+            if (node.children == null) {
+                return;
+            }
+
+            for (final var child : node.children.values()) {
+                if (suggestions.size() >= limit) {
+                    return;
+                }
+
+                collect(child, suggestions, limit);
+            }
+        }
+    }
+
+    private static final class Node {
+        Char2ObjectOpenHashMap<Node> children;
+        String rename;
+        final int depth;
+        final List<String> keys = new ObjectArrayList<>(1);
+
+        Node(final int depth) {
+            this.depth = depth;
+        }
+
+        @Nullable Node child(
+                final char c,
+                final boolean create
+        ) {
+            if (this.children == null) {
+                if (!create) {
+                    return null;
+                }
+
+                this.children = new Char2ObjectOpenHashMap<>();
+            }
+
+            Node child = this.children.get(c);
+
+            if (
+                    child == null
+                    && create
+            ) {
+                child = new Node(this.depth + 1);
+
+                this.children.put(c, child);
+            }
+
+            return child;
+        }
+
+        boolean isEmpty() {
+            return this.keys.isEmpty()
+                    && (this.children == null || this.children.isEmpty());
+        }
+    }
+}
@@ -2,14 +2,14 @@ package com.minersstudios.mscustoms.custom.item.renameable;
 
 import com.minersstudios.mscore.utility.ChatUtils;
 import com.minersstudios.mscore.utility.SharedConstants;
+import com.minersstudios.mscustoms.custom.CustomKinds;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import org.bukkit.NamespacedKey;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.ItemMeta;
-import org.bukkit.persistence.PersistentDataType;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
 import org.jetbrains.annotations.UnmodifiableView;
 
 import java.util.*;
@@ -24,7 +24,9 @@ import java.util.*;
  * associated with their lowercase keys and another to store rename entries
  * associated with their keys. The keys are used as identifiers for the items,
  * and rename entries are used to look up items based on rename values and item
- * stacks.
+ * stacks. The rename entries are also kept in the {@link RenameIndex}, so the
+ * lookups by rename and the rename suggestions don't scan all the registered
+ * entries.
  * <br>
  * Make sure to use the provided methods and their respective Optional return
  * types to handle cases where the desired renameable item data might not be
@@ -55,6 +57,7 @@ public final class RenameableItemRegistry {
 
     private static final Map<String, RenameableItem> KEY_MAP = new Object2ObjectOpenHashMap<>();
     private static final Map<RenameEntry, String> RENAME_ENTRY_MAP = new Object2ObjectOpenHashMap<>();
+    private static final RenameIndex RENAME_INDEX = new RenameIndex();
 
     @Contract(" -> fail")
     private RenameableItemRegistry() throws AssertionError {
@@ -102,27 +105,21 @@ public final class RenameableItemRegistry {
     }
 
     /**
-     * Gets the {@link RenameableItem} from the given rename entry. It will get
-     * the item from the {@link #RENAME_ENTRY_MAP}
+     * Gets the {@link RenameableItem} from the given rename entry. It will find
+     * the key of the item in the {@link #RENAME_INDEX}. If several registered
+     * renames match the rename of the entry, the longest one is used.
      *
      * @param renameEntry The rename entry to get the RenameableItem from
      * @return An {@link Optional} containing the {@link RenameableItem} or an
      *         {@link Optional#empty()} if the given rename entry is not
      *         associated with any renameable item
-     * @see #RENAME_ENTRY_MAP
+     * @see #RENAME_INDEX
+     * @see RenameEntry#equals(Object)
      */
     public static @NotNull Optional<RenameableItem> fromRenameEntry(final @Nullable RenameEntry renameEntry) {
-        if (renameEntry == null) {
-            return Optional.empty();
-        }
-
-        for (final var entry : RENAME_ENTRY_MAP.entrySet()) {
-            if (entry.getKey().equals(renameEntry)) {
-                return fromKey(entry.getValue());
-            }
-        }
-
-        return Optional.empty();
+        return renameEntry == null
+                ? Optional.empty()
+                : fromKey(RENAME_INDEX.find(renameEntry.getRename(), renameEntry.getItem()));
     }
 
     /**
@@ -144,6 +141,30 @@ public final class RenameableItemRegistry {
         return fromRenameEntry(RenameEntry.create(rename, itemStack));
     }
 
+    /**
+     * Gets the registered renames, which start with the given prefix
+     * (case-insensitive) and can be applied to the given item stack. Can be
+     * used to suggest the renames while the player is typing.
+     *
+     * @param prefix    The typed prefix of the rename
+     * @param itemStack The item stack to rename
+     * @param limit     The maximum number of suggestions
+     * @return An unmodifiable list of the renames normalized to the lower case,
+     *         or an empty list if the item stack is null or air, or there are
+     *         no such renames
+     * @see #RENAME_INDEX
+     */
+    public static @NotNull @Unmodifiable List<String> suggestRenames(
+            final @Nullable String prefix,
+            final @Nullable ItemStack itemStack,
+            final int limit
+    ) {
+        return itemStack == null
+                || itemStack.getType().isAir()
+                ? Collections.emptyList()
+                : RENAME_INDEX.suggest(prefix == null ? "" : prefix, itemStack, limit);
+    }
+
     /**
      * Gets the {@link RenameableItem} from the given item stack. It will check
      * the item stack's persistent data container for the
@@ -160,17 +181,9 @@ public final class RenameableItemRegistry {
      * @see #fromKey(String)
      */
     public static @NotNull Optional<RenameableItem> fromItemStack(final @Nullable ItemStack itemStack) {
-        if (itemStack == null) {
-            return Optional.empty();
-        }
-
-        final ItemMeta itemMeta = itemStack.getItemMeta();
-
-        return itemMeta == null
-                ? Optional.empty()
-                : fromKey(
-                        itemMeta.getPersistentDataContainer().get(RENAMEABLE_NAMESPACED_KEY, PersistentDataType.STRING)
-                );
+        return Optional.ofNullable(
+                CustomKinds.classify(itemStack).get(CustomKinds.RENAMEABLE)
+        );
     }
 
     /**
@@ -277,8 +290,8 @@ public final class RenameableItemRegistry {
     }
 
     /**
-     * Registers the given renameable item to the {@link #KEY_MAP} and
-     * {@link #RENAME_ENTRY_MAP}
+     * Registers the given renameable item to the {@link #KEY_MAP},
+     * {@link #RENAME_ENTRY_MAP} and {@link #RENAME_INDEX}
      *
      * @param renameableItem The renameable item to register
      * @throws IllegalArgumentException If the key or any of the rename entries
@@ -298,13 +311,16 @@ public final class RenameableItemRegistry {
 
         KEY_MAP.put(key, renameableItem);
         renameCollection.entrySet().forEach(
-                rename -> RENAME_ENTRY_MAP.put(rename, key)
+                rename -> {
+                    RENAME_ENTRY_MAP.put(rename, key);
+                    RENAME_INDEX.put(rename, key);
+                }
         );
     }
 
     /**
-     * Unregisters the given renameable item from the {@link #KEY_MAP} and
-     * {@link #RENAME_ENTRY_MAP}
+     * Unregisters the given renameable item from the {@link #KEY_MAP},
+     * {@link #RENAME_ENTRY_MAP} and {@link #RENAME_INDEX}
      *
      * @param renameableItem The renameable item to unregister
      * @throws IllegalArgumentException If the key or any of the rename entries
@@ -323,15 +339,54 @@ public final class RenameableItemRegistry {
         }
 
         KEY_MAP.remove(key);
-        renameCollection.entrySet().forEach(RENAME_ENTRY_MAP::remove);
+        renameCollection.entrySet().forEach(
+                rename -> {
+                    RENAME_ENTRY_MAP.remove(rename);
+                    RENAME_INDEX.remove(rename, key);
+                }
+        );
+    }
+
+    /**
+     * Replaces the old renameable item with the new one. If the new renameable
+     * item can't be registered, the old one is registered back.
+     *
+     * @param oldItem The renameable item to unregister, or null to only
+     *                register the new renameable item
+     * @param newItem The renameable item to register, or null to only
+     *                unregister the old renameable item
+     * @throws IllegalArgumentException If the old renameable item is not
+     *                                  registered, or if the new renameable
+     *                                  item can't be registered
+     */
+    public static synchronized void replace(
+            final @Nullable RenameableItem oldItem,
+            final @Nullable RenameableItem newItem
+    ) throws IllegalArgumentException {
+        if (oldItem != null) {
+            unregister(oldItem);
+        }
+
+        if (newItem != null) {
+            try {
+                register(newItem);
+            } catch (final IllegalArgumentException e) {
+                if (oldItem != null) {
+                    register(oldItem);
+                }
+
+                throw e;
+            }
+        }
     }
 
     /**
-     * Unregisters all renameable items from the {@link #KEY_MAP} and
-     * {@link #RENAME_ENTRY_MAP}
+     * Unregisters all renameable items from the {@link #KEY_MAP},
+     * {@link #RENAME_ENTRY_MAP} and {@link #RENAME_INDEX}
      */
     public static synchronized void unregisterAll() {
         KEY_MAP.clear();
         RENAME_ENTRY_MAP.clear();
+        RENAME_INDEX.clear();
     }
 }
@@ -0,0 +1,24 @@
+package com.minersstudios.mscustoms.listener.event.entity;
+
+import com.destroystokyo.paper.event.entity.EntityRemoveFromWorldEvent;
+import com.minersstudios.mscore.listener.api.event.AbstractEventListener;
+import com.minersstudios.mscore.listener.api.event.EventListener;
+import com.minersstudios.mscustoms.MSCustoms;
+import org.bukkit.entity.Interaction;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.jetbrains.annotations.NotNull;
+
+@EventListener
+public final class EntityRemoveFromWorldListener extends AbstractEventListener<MSCustoms> {
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntityRemoveFromWorld(final @NotNull EntityRemoveFromWorldEvent event) {
+        if (event.getEntity() instanceof final Interaction interaction) {
+            final var cache = this.getPlugin().getCache();
+
+            cache.getDecorMap().remove(interaction);
+            cache.getCustomDecorCache().remove(interaction);
+        }
+    }
+}
@@ -5,9 +5,11 @@ import com.minersstudios.mscore.listener.api.event.EventListener;
 import com.minersstudios.mscore.location.MSPosition;
 import com.minersstudios.mscore.utility.BlockUtils;
 import com.minersstudios.mscore.utility.CoreProtectUtils;
+import com.minersstudios.mscore.utility.ItemClassifier;
 import com.minersstudios.mscustoms.utility.MSDecorUtils;
 import com.minersstudios.mscore.utility.PlayerUtils;
 import com.minersstudios.mscustoms.MSCustoms;
+import com.minersstudios.mscustoms.custom.CustomKinds;
 import com.minersstudios.mscustoms.custom.block.CustomBlock;
 import com.minersstudios.mscustoms.custom.block.CustomBlockData;
 import com.minersstudios.mscustoms.custom.block.CustomBlockRegistry;
@@ -295,17 +297,20 @@ public final class PlayerInteractListener extends AbstractEventListener<MSCustom
             PlayerUtils.openShulkerBoxSilent(player, shulkerBox, true);
         }
 
-        if (MSDecorUtils.isCustomDecor(itemInMainHand)) {
+        final ItemClassifier.Classification mainHandClassification = CustomKinds.classify(itemInMainHand);
+
+        if (mainHandClassification.is(CustomKinds.DECOR)) {
             return;
         }
 
-        if (hand != EquipmentSlot.HAND && CustomBlockRegistry.isCustomBlock(itemInMainHand)) {
+        if (hand != EquipmentSlot.HAND && mainHandClassification.is(CustomKinds.BLOCK)) {
             hand = EquipmentSlot.HAND;
         }
 
         final MSCustoms plugin = this.getPlugin();
         final Block blockAtFace = clickedBlock.getRelative(blockFace);
         final ItemStack itemInHand = player.getInventory().getItem(hand);
+        final CustomBlockData customBlockData = CustomKinds.classify(itemInHand).get(CustomKinds.BLOCK);
         final Location interactionPoint = getInteractionPoint(player.getEyeLocation(), 8);
         final boolean validGameMode =
                 player.getGameMode() != GameMode.ADVENTURE
@@ -319,7 +324,7 @@ public final class PlayerInteractListener extends AbstractEventListener<MSCustom
                         hand == EquipmentSlot.HAND
                         || hand == EquipmentSlot.OFF_HAND
                 )
-                && !CustomBlockRegistry.isCustomBlock(itemInHand)
+                && customBlockData == null
                 && interactionPoint != null
         ) {
             final CustomBlockData clickedCustomBlockData = CustomBlockRegistry.fromNoteBlock(noteBlock).orElseThrow();
@@ -339,7 +344,7 @@ public final class PlayerInteractListener extends AbstractEventListener<MSCustom
         }
 
         if (
-                CustomBlockRegistry.isCustomBlock(itemInHand)
+                customBlockData != null
                 && (event.getHand() == EquipmentSlot.HAND || hand == EquipmentSlot.OFF_HAND)
                 && BlockUtils.isReplaceable(blockAtFace.getType())
                 && validGameMode
@@ -370,7 +375,6 @@ public final class PlayerInteractListener extends AbstractEventListener<MSCustom
                 }
             }
 
-            final CustomBlockData customBlockData = CustomBlockRegistry.fromItemStack(itemInHand).orElseThrow();
             final BlockSettings blockSettings = customBlockData.getBlockSettings();
             final Placing placing = blockSettings.getPlacing();
             final PlacingType placingType = placing.getType();
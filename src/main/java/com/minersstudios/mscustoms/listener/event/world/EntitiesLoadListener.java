@@ -0,0 +1,18 @@
+package com.minersstudios.mscustoms.listener.event.world;
+
+import com.minersstudios.mscore.listener.api.event.AbstractEventListener;
+import com.minersstudios.mscore.listener.api.event.EventListener;
+import com.minersstudios.mscustoms.MSCustoms;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.world.EntitiesLoadEvent;
+import org.jetbrains.annotations.NotNull;
+
+@EventListener
+public final class EntitiesLoadListener extends AbstractEventListener<MSCustoms> {
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntitiesLoad(final @NotNull EntitiesLoadEvent event) {
+        this.getPlugin().getCache().getDecorMap().addAll(event.getEntities());
+    }
+}
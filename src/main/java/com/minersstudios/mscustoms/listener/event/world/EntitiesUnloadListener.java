@@ -0,0 +1,28 @@
+package com.minersstudios.mscustoms.listener.event.world;
+
+import com.minersstudios.mscore.listener.api.event.AbstractEventListener;
+import com.minersstudios.mscore.listener.api.event.EventListener;
+import com.minersstudios.mscustoms.MSCustoms;
+import org.bukkit.entity.Interaction;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.world.EntitiesUnloadEvent;
+import org.jetbrains.annotations.NotNull;
+
+@EventListener
+public final class EntitiesUnloadListener extends AbstractEventListener<MSCustoms> {
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntitiesUnload(final @NotNull EntitiesUnloadEvent event) {
+        final var cache = this.getPlugin().getCache();
+        final var customDecorCache = cache.getCustomDecorCache();
+
+        cache.getDecorMap().removeChunk(event.getChunk());
+
+        for (final var entity : event.getEntities()) {
+            if (entity instanceof Interaction) {
+                customDecorCache.remove(entity);
+            }
+        }
+    }
+}
@@ -4,10 +4,9 @@ import com.minersstudios.mscore.listener.api.event.AbstractEventListener;
 import com.minersstudios.mscore.listener.api.event.EventListener;
 import com.minersstudios.mscustoms.MSCustoms;
 import com.minersstudios.msessentials.MSEssentials;
-import com.minersstudios.msessentials.anomaly.Anomaly;
+import com.minersstudios.msessentials.anomaly.AnomalyIndex;
 import com.minersstudios.mscustoms.custom.item.CustomItem;
 import com.minersstudios.mscustoms.registry.item.Dosimeter;
-import it.unimi.dsi.fastutil.objects.Object2DoubleOpenHashMap;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
@@ -218,25 +217,15 @@ public final class DosimeterMechanic extends AbstractEventListener<MSCustoms> {
                     copy.setItem(itemStack);
 
                     if (copy.isEnabled()) {
-                        final var radiiPlayerInside = new Object2DoubleOpenHashMap<Anomaly>();
-
-                        for (final var anomaly : MSEssentials.cache().getAnomalies().values()) {
-                            final double radiusInside = anomaly.getBoundingBox().getRadiusInside(player);
-
-                            if (radiusInside != -1.0d) {
-                                radiiPlayerInside.put(anomaly, radiusInside);
-                            }
-                        }
-
-                        final var anomalyEntry = getEntryWithMinValue(radiiPlayerInside);
+                        final AnomalyIndex.Hit hit = getHitWithMinRadius(MSEssentials.cache().getAnomalyIndex().getHits(player));
                         final List<Double> radii =
-                                anomalyEntry == null
+                                hit == null
                                 ? Collections.emptyList()
-                                : anomalyEntry.getKey().getBoundingBox().getRadii();
+                                : hit.anomaly().getBoundingBox().getRadii();
                         final Double radius =
-                                anomalyEntry == null
+                                hit == null
                                 ? null
-                                : anomalyEntry.getValue();
+                                : hit.radius();
 
                         copy.setItem(itemStack);
                         copy.setScreenTypeByRadius(radii, radius);
@@ -271,20 +260,20 @@ public final class DosimeterMechanic extends AbstractEventListener<MSCustoms> {
                     + String.valueOf(Math.min(Math.round(Math.random() * 10.0d), 9));
         }
 
-        private static @Nullable Map.Entry<Anomaly, Double> getEntryWithMinValue(final @NotNull Map<Anomaly, Double> map) {
-            Map.Entry<Anomaly, Double> minEntry = null;
+        private static @Nullable AnomalyIndex.Hit getHitWithMinRadius(final @NotNull List<AnomalyIndex.Hit> hits) {
+            AnomalyIndex.Hit minHit = null;
             double minValue = Double.POSITIVE_INFINITY;
 
-            for (final var entry : map.entrySet()) {
-                final double value = entry.getValue();
+            for (final var hit : hits) {
+                final double value = hit.radius();
 
                 if (value < minValue) {
                     minValue = value;
-                    minEntry = entry;
+                    minHit = hit;
                 }
             }
 
-            return minEntry;
+            return minHit;
         }
     }
 }
@@ -1,5 +1,6 @@
 package com.minersstudios.mscustoms.listener.packet.player;
 
+import com.minersstudios.mscustoms.CustomsCache;
 import com.minersstudios.mscustoms.MSCustoms;
 import com.minersstudios.mscustoms.custom.block.CustomBlock;
 import com.minersstudios.mscustoms.custom.block.CustomBlockData;
@@ -12,11 +13,11 @@ import com.minersstudios.mscore.packet.PacketContainer;
 import com.minersstudios.mscore.packet.PacketEvent;
 import com.minersstudios.mscore.packet.PacketType;
 import com.minersstudios.mscustoms.sound.SoundGroup;
+import com.minersstudios.mscustoms.task.DiggingTask;
 import com.minersstudios.mscore.utility.BlockUtils;
 import com.minersstudios.mscore.utility.PlayerUtils;
 import com.minersstudios.mscore.utility.SharedConstants;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
-import net.minecraft.core.BlockPos;
 import net.minecraft.network.protocol.game.ServerboundPlayerActionPacket;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.effect.MobEffectInstance;
@@ -99,7 +100,7 @@ public final class PlayerActionListener extends AbstractPacketListener<MSCustoms
                 this.handlerMap.remove(serverPlayer.getStringUUID());
             }
 
-            this.getPlugin().runTask(
+            this.getPlugin().getCache().getDiggingTask().execute(
                     () -> this.removeSlowDigging(serverPlayer)
             );
 
@@ -172,6 +173,7 @@ public final class PlayerActionListener extends AbstractPacketListener<MSCustoms
      */
     private class Handler {
         private final DiggingMap diggingMap;
+        private final DiggingTask diggingTask;
         private final ServerPlayer serverPlayer;
         private final MSPosition position;
         private final Block block;
@@ -186,7 +188,10 @@ public final class PlayerActionListener extends AbstractPacketListener<MSCustoms
                 final @NotNull ServerPlayer serverPlayer,
                 final @NotNull MSPosition position
         ) {
-            this.diggingMap = PlayerActionListener.this.getPlugin().getCache().getDiggingMap();
+            final CustomsCache cache = PlayerActionListener.this.getPlugin().getCache();
+
+            this.diggingMap = cache.getDiggingMap();
+            this.diggingTask = cache.getDiggingTask();
             this.serverPlayer = serverPlayer;
             this.position = position;
             this.block = position.getBlock();
@@ -196,17 +201,15 @@ public final class PlayerActionListener extends AbstractPacketListener<MSCustoms
          * Starts the block-breaking process
          */
         public void start() {
-            final MSCustoms plugin = PlayerActionListener.this.getPlugin();
-
             this.stop();
 
             if (this.block.getBlockData() instanceof final NoteBlock noteBlock) {
-                plugin.runTask(
+                this.diggingTask.execute(
                         () -> PlayerActionListener.this.addSlowDigging(this.serverPlayer)
                 );
                 this.handleNoteBlock(noteBlock);
             } else {
-                plugin.runTask(
+                this.diggingTask.execute(
                         () -> PlayerActionListener.this.removeSlowDigging(this.serverPlayer)
                 );
                 this.handleWoodenBlock();
@@ -235,14 +238,13 @@ public final class PlayerActionListener extends AbstractPacketListener<MSCustoms
             );
 
             if (entry != null) {
-                final MSCustoms plugin = PlayerActionListener.this.getPlugin();
                 final String uuid = this.serverPlayer.getStringUUID();
 
                 if (PlayerActionListener.this.clickRequestMap.containsKey(uuid)) {
                     return;
                 }
 
-                plugin.runTask(() -> {
+                this.diggingTask.execute(() -> {
                     if (fromPacket) {
                         if (this.block.equals(getTargetBlock(this.serverPlayer))) {
                             this.stop(entry);
@@ -250,10 +252,7 @@ public final class PlayerActionListener extends AbstractPacketListener<MSCustoms
                         }
 
                         entry.setStage(-1);
-
-                        if (this.diggingMap.getDiggingEntries(this.block).size() == 1) {
-                            this.broadcastStage(this.block, -1);
-                        }
+                        this.diggingTask.broadcast(this.block);
                     }
 
                     final var future = new CompletableFuture<Block>();
@@ -297,21 +296,13 @@ public final class PlayerActionListener extends AbstractPacketListener<MSCustoms
          *              the player will be stopped
          */
         public void stop(final @Nullable DiggingMap.Entry entry) {
-            final MSCustoms plugin = PlayerActionListener.this.getPlugin();
-
             if (entry == null) {
-                final var removed = this.diggingMap.removeAll(this.serverPlayer.getBukkitEntity());
-
-                if (!removed.isEmpty()) {
-                    plugin.runTask(() -> {
-                        for (final var removedEntry : removed) {
-                            broadcastBiggestStage(removedEntry.getKey());
-                        }
-                    });
+                for (final var removedEntry : this.diggingMap.removeAll(this.serverPlayer.getBukkitEntity())) {
+                    this.diggingTask.broadcast(removedEntry.getKey());
                 }
             } else {
                 this.diggingMap.remove(this.block, entry);
-                plugin.runTask(() -> broadcastBiggestStage(this.block));
+                this.diggingTask.broadcast(this.block);
             }
 
             PlayerActionListener.this.clickRequestMap.remove(this.serverPlayer.getStringUUID());
@@ -327,50 +318,10 @@ public final class PlayerActionListener extends AbstractPacketListener<MSCustoms
                 PlayerActionListener.this.clickRequestMap.remove(
                         this.serverPlayer.getStringUUID()
                 );
-                PlayerActionListener.this.getPlugin().runTask(
-                        () -> this.broadcastStage(this.block, -1)
-                );
+                this.diggingTask.broadcast(this.block);
             }
         }
 
-        /**
-         * Broadcasts the block-breaking progress with the specified stage
-         *
-         * @param block The block to set the progress for
-         * @param stage The destroying stage of the block
-         */
-        public void broadcastStage(
-                final @NotNull Block block,
-                final int stage
-        ) {
-            final BlockPos blockPos = new BlockPos(
-                    block.getX(),
-                    block.getY(),
-                    block.getZ()
-            );
-
-            this.serverPlayer.level().destroyBlockProgress(
-                    blockPos.hashCode(),
-                    blockPos,
-                    stage
-            );
-        }
-
-        /**
-         * Broadcasts the block-breaking progress with the biggest stage in the
-         * digging map
-         *
-         * @param block The block to get the biggest stage entry from
-         */
-        public void broadcastBiggestStage(final @NotNull Block block) {
-            final DiggingMap.Entry entry = this.diggingMap.getBiggestStageEntry(block);
-
-            this.broadcastStage(
-                    block,
-                    entry == null ? -1 : entry.getStage()
-            );
-        }
-
         private int getSlowDiggingAmplifier() {
             MobEffectInstance slowDigging =
                     PlayerActionListener.this.effectMap.get(this.serverPlayer.getStringUUID());
@@ -389,7 +340,6 @@ public final class PlayerActionListener extends AbstractPacketListener<MSCustoms
             final MSCustoms plugin = PlayerActionListener.this.getPlugin();
             final Player player = this.serverPlayer.getBukkitEntity();
             final Location center = this.position.center().toLocation();
-            final DiggingMap.Entry entry = DiggingMap.Entry.create(player);
 
             final CustomBlockData customBlockData =
                     CustomBlockRegistry
@@ -400,90 +350,91 @@ public final class PlayerActionListener extends AbstractPacketListener<MSCustoms
                     player,
                     this.getSlowDiggingAmplifier()
             );
+            final var ticker = new Runnable() {
+                DiggingMap.Entry entry;
+                float ticks = 0.0f;
+                float progress = 0.0f;
+                boolean isAlreadyAborted = false;
+
+                @Override
+                public void run() {
+                    if (
+                            this.isAlreadyAborted
+                            || !block.equals(getTargetBlock(serverPlayer))
+                    ) {
+                        Handler.this.abort(false);
+                    }
 
-            this.diggingMap.put(this.block, entry.setTaskId(
-                    plugin.runTaskTimer(new Runnable() {
-                        float ticks = 0.0f;
-                        float progress = 0.0f;
-                        boolean isAlreadyAborted = false;
-
-                        @Override
-                        public void run() {
-                            if (
-                                    this.isAlreadyAborted
-                                    || !block.equals(getTargetBlock(serverPlayer))
-                            ) {
-                                Handler.this.abort(false);
-                            }
-
-                            if (entry.isAborting()) {
-                                this.isAlreadyAborted = true;
+                    if (this.entry.isAborting()) {
+                        this.isAlreadyAborted = true;
 
-                                return;
-                            }
+                        return;
+                    }
 
-                            final int stage = entry.getStage();
+                    final int stage = this.entry.getStage();
 
-                            if (stage == -1) {
-                                this.progress = 0.0f;
-                            }
+                    if (stage == -1) {
+                        this.progress = 0.0f;
+                    }
 
-                            this.ticks++;
-                            this.progress += digSpeed;
-                            final int progressInStage = (int) Math.floor(this.progress * 10.0f);
+                    this.ticks++;
+                    this.progress += digSpeed;
+                    final int progressInStage = (int) Math.floor(this.progress * 10.0f);
 
-                            if (this.ticks % 4.0f == 0.0f) {
-                                soundGroup.playHitSound(center);
-                            }
+                    if (this.ticks % 4.0f == 0.0f) {
+                        soundGroup.playHitSound(center);
+                    }
 
-                            if (progressInStage > stage) {
-                                entry.setStage(progressInStage);
+                    if (progressInStage > stage) {
+                        this.entry.setStage(progressInStage);
 
-                                if (progressInStage > SharedConstants.FINAL_DESTROY_STAGE) {
-                                    Handler.this.finish();
-                                    new CustomBlock(block, customBlockData)
-                                            .destroy(plugin, player);
-                                } else if (entry.isStageTheBiggest(plugin, block)) {
-                                    Handler.this.broadcastStage(block, progressInStage);
-                                }
-                            }
+                        if (progressInStage > SharedConstants.FINAL_DESTROY_STAGE) {
+                            Handler.this.finish();
+                            new CustomBlock(block, customBlockData)
+                                    .destroy(plugin, player);
+                        } else if (this.entry.isStageTheBiggest(plugin, block)) {
+                            Handler.this.diggingTask.broadcast(block);
                         }
-                    }, 0L, 1L).getTaskId())
-            );
+                    }
+                }
+            };
+            ticker.entry = DiggingMap.Entry.create(player, ticker);
+
+            this.diggingMap.put(this.block, ticker.entry);
         }
 
         private void handleWoodenBlock() {
-            final DiggingMap.Entry entry = DiggingMap.Entry.create(this.serverPlayer.getBukkitEntity());
             final Location center = this.position.center().toLocation();
+            final var ticker = new Runnable() {
+                DiggingMap.Entry entry;
+                float ticks = 0.0f;
+                boolean isAlreadyAborted = false;
+
+                @Override
+                public void run() {
+                    if (
+                            this.isAlreadyAborted
+                            || !block.equals(getTargetBlock(serverPlayer))
+                    ) {
+                        abort(false);
+                    }
 
-            this.diggingMap.put(this.block, entry.setTaskId(
-                    PlayerActionListener.this.getPlugin().runTaskTimer(new Runnable() {
-                        float ticks = 0.0f;
-                        boolean isAlreadyAborted = false;
-
-                        @Override
-                        public void run() {
-                            if (
-                                    this.isAlreadyAborted
-                                    || !block.equals(getTargetBlock(serverPlayer))
-                            ) {
-                                abort(false);
-                            }
+                    if (this.entry.isAborting()) {
+                        this.isAlreadyAborted = true;
 
-                            if (entry.isAborting()) {
-                                this.isAlreadyAborted = true;
+                        return;
+                    }
 
-                                return;
-                            }
+                    this.ticks++;
 
-                            this.ticks++;
+                    if (this.ticks % 4.0f == 0.0f) {
+                        SoundGroup.WOOD.playHitSound(center);
+                    }
+                }
+            };
+            ticker.entry = DiggingMap.Entry.create(this.serverPlayer.getBukkitEntity(), ticker);
 
-                            if (this.ticks % 4.0f == 0.0f) {
-                                SoundGroup.WOOD.playHitSound(center);
-                            }
-                        }
-                    }, 0L, 1L).getTaskId())
-            );
+            this.diggingMap.put(this.block, ticker.entry);
         }
     }
 }
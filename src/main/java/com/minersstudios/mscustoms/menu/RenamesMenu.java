@@ -140,8 +140,14 @@ public final class RenamesMenu {
 
     public static void update(final @NotNull MSCustoms plugin) {
         final var elements = new ObjectArrayList<InventoryButton>();
+        final var menuItems = plugin.getCache().getRenameableMenuItems();
+        final RenameableItem[] renameableItems;
 
-        for (final var renameableItem : plugin.getCache().getRenameableMenuItems()) {
+        synchronized (menuItems) {
+            renameableItems = menuItems.toArray(RenameableItem[]::new);
+        }
+
+        for (final var renameableItem : renameableItems) {
             final RenameCollection renameCollection = renameableItem.getRenames();
             final ItemStack resultItem = renameCollection.getMainItem();
             final var renameableItemStacks = new ObjectArrayList<>(renameCollection.items());
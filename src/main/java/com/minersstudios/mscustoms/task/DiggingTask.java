@@ -0,0 +1,151 @@
+package com.minersstudios.mscustoms.task;
+
+import com.minersstudios.mscore.plugin.MSLogger;
+import com.minersstudios.mscustoms.collection.DiggingMap;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import net.minecraft.core.BlockPos;
+import org.bukkit.block.Block;
+import org.bukkit.craftbukkit.v1_20_R3.CraftWorld;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * The single dig progress engine of the plugin. It is run once per server tick
+ * and does all the main thread work related to digging :
+ * <ol>
+ *     <li>Runs the actions submitted from other threads with
+ *     {@link #execute(Runnable)}, instead of scheduling a separate task for
+ *     each of them</li>
+ *     <li>Ticks every entry present in the {@link DiggingMap} in a single
+ *     loop</li>
+ *     <li>Broadcasts the destroy progress once per block, for all blocks
+ *     marked with {@link #broadcast(Block)} during the tick</li>
+ * </ol>
+ *
+ * @see DiggingMap.Entry#tick()
+ */
+public final class DiggingTask implements Runnable {
+    private final DiggingMap diggingMap;
+    private final Queue<Runnable> actions;
+    private Set<Block> dirtyBlocks;
+    private Set<Block> flushingBlocks;
+    private DiggingMap.Entry[] entries;
+
+    /**
+     * Constructs a new digging task
+     *
+     * @param diggingMap The digging map, whose entries should be ticked
+     */
+    public DiggingTask(final @NotNull DiggingMap diggingMap) {
+        this.diggingMap = diggingMap;
+        this.actions = new ConcurrentLinkedQueue<>();
+        this.dirtyBlocks = new ObjectOpenHashSet<>();
+        this.flushingBlocks = new ObjectOpenHashSet<>();
+        this.entries = new DiggingMap.Entry[16];
+    }
+
+    /**
+     * Submits an action to be run on the main thread at the beginning of the
+     * next tick. Can be called from any thread.
+     *
+     * @param action The action to run
+     */
+    public void execute(final @NotNull Runnable action) {
+        this.actions.add(action);
+    }
+
+    /**
+     * Marks the block, so the biggest destroy stage of it is broadcast at the
+     * end of the current or the next tick. The block is broadcast only once per
+     * tick, no matter how many times it was marked. If the block has no digging
+     * entries left, the destroy progress is reset. Can be called from any
+     * thread.
+     *
+     * @param block The block to broadcast the destroy stage of
+     * @see DiggingMap#getBiggestStageEntry(Block)
+     */
+    public void broadcast(final @NotNull Block block) {
+        synchronized (this) {
+            this.dirtyBlocks.add(block);
+        }
+    }
+
+    @Override
+    public void run() {
+        this.runActions();
+        this.tickEntries();
+        this.flushBroadcasts();
+    }
+
+    private void runActions() {
+        Runnable action;
+
+        while ((action = this.actions.poll()) != null) {
+            try {
+                action.run();
+            } catch (final Throwable e) {
+                MSLogger.severe("An error occurred while running a digging action", e);
+            }
+        }
+    }
+
+    private void tickEntries() {
+        final DiggingMap.Entry[] entries = this.diggingMap.toEntryArray(this.entries);
+        int size = 0;
+
+        this.entries = entries;
+
+        for (final var entry : entries) {
+            if (entry == null) {
+                break;
+            }
+
+            ++size;
+
+            if (this.diggingMap.containsEntry(entry)) {
+                try {
+                    entry.tick();
+                } catch (final Throwable e) {
+                    MSLogger.severe("An error occurred while ticking a digging entry : " + entry, e);
+                }
+            }
+        }
+
+        Arrays.fill(entries, 0, size, null);
+    }
+
+    private void flushBroadcasts() {
+        final Set<Block> blocks;
+
+        synchronized (this) {
+            if (this.dirtyBlocks.isEmpty()) {
+                return;
+            }
+
+            blocks = this.dirtyBlocks;
+            this.dirtyBlocks = this.flushingBlocks;
+            this.flushingBlocks = blocks;
+        }
+
+        for (final var block : blocks) {
+            final DiggingMap.Entry entry = this.diggingMap.getBiggestStageEntry(block);
+            final BlockPos blockPos = new BlockPos(
+                    block.getX(),
+                    block.getY(),
+                    block.getZ()
+            );
+
+            ((CraftWorld) block.getWorld()).getHandle().destroyBlockProgress(
+                    blockPos.hashCode(),
+                    blockPos,
+                    entry == null ? -1 : entry.getStage()
+            );
+        }
+
+        blocks.clear();
+    }
+}
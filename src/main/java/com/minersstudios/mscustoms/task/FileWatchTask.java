@@ -0,0 +1,343 @@
+package com.minersstudios.mscustoms.task;
+
+import com.google.gson.JsonElement;
+import com.minersstudios.mscore.plugin.MSPlugin;
+import com.minersstudios.mscustoms.CustomsConfig;
+import com.minersstudios.mscustoms.MSCustoms;
+import com.minersstudios.mscustoms.custom.block.CustomBlockData;
+import com.minersstudios.mscustoms.custom.block.CustomBlockRegistry;
+import com.minersstudios.mscustoms.custom.item.renameable.RenameableItem;
+import com.minersstudios.mscustoms.custom.item.renameable.RenameableItemRegistry;
+import com.minersstudios.mscustoms.menu.CraftsMenu;
+import com.minersstudios.mscustoms.menu.RenamesMenu;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectLinkedOpenHashSet;
+import org.bukkit.Server;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * Watches the custom block and renameable item folders and reloads only the
+ * changed, added and removed files, instead of reloading the whole plugin.
+ * <br>
+ * The task should be run asynchronously with a fixed period. Every run it
+ * polls the {@link WatchService} without blocking. The changed files are
+ * collected until a run receives no new events, so a file saved in several
+ * writes is parsed only once. The files are parsed on the task thread, and the
+ * parsed data is swapped in the {@link CustomBlockRegistry} and the
+ * {@link RenameableItemRegistry} on the main thread, together with the recipes
+ * and the menus.
+ *
+ * @see CustomsConfig#isHotReloadEnabled()
+ */
+public final class FileWatchTask implements Runnable, AutoCloseable {
+    private final MSCustoms plugin;
+    private final Path blocksFolder;
+    private final Path itemsFolder;
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> directories;
+    private final Set<Path> pendingFiles;
+
+    private static final String JSON_EXTENSION = ".json";
+    private static final String YAML_EXTENSION = ".yml";
+
+    /**
+     * Constructs a new file watch task and registers the custom block and
+     * renameable item folders with all their subfolders
+     *
+     * @param plugin The plugin, whose files should be watched
+     * @throws IOException If an I/O error occurs while registering the folders
+     */
+    public FileWatchTask(final @NotNull MSCustoms plugin) throws IOException {
+        final Path folder = plugin.getConfigFile().getParentFile().toPath().toAbsolutePath().normalize();
+
+        this.plugin = plugin;
+        this.blocksFolder = folder.resolve(CustomsConfig.BLOCKS_FOLDER);
+        this.itemsFolder = folder.resolve(CustomsConfig.ITEMS_FOLDER);
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.directories = new ConcurrentHashMap<>();
+        this.pendingFiles = new ObjectLinkedOpenHashSet<>();
+
+        this.registerTree(this.blocksFolder, null);
+        this.registerTree(this.itemsFolder, null);
+    }
+
+    @Override
+    public synchronized void run() {
+        boolean received = false;
+
+        try {
+            WatchKey key;
+
+            while ((key = this.watchService.poll()) != null) {
+                final Path directory = this.directories.get(key);
+
+                for (final var event : key.pollEvents()) {
+                    if (
+                            directory == null
+                            || event.kind() == OVERFLOW
+                    ) {
+                        continue;
+                    }
+
+                    final Path path = directory.resolve((Path) event.context());
+
+                    if (
+                            event.kind() == ENTRY_CREATE
+                            && Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)
+                    ) {
+                        this.registerTree(path, this.pendingFiles);
+                    } else {
+                        this.pendingFiles.add(path);
+                    }
+
+                    received = true;
+                }
+
+                if (!key.reset()) {
+                    this.directories.remove(key);
+                }
+            }
+        } catch (final ClosedWatchServiceException ignored) {
+            return;
+        } catch (final IOException e) {
+            this.plugin.getLogger().log(Level.SEVERE, "An error occurred while watching the custom files", e);
+        }
+
+        if (
+                !received
+                && !this.pendingFiles.isEmpty()
+        ) {
+            final var files = new ObjectArrayList<>(this.pendingFiles);
+
+            this.pendingFiles.clear();
+            this.reload(files);
+        }
+    }
+
+    /**
+     * Closes the watch service. The task will do nothing after this method is
+     * called.
+     */
+    @Override
+    public void close() {
+        try {
+            this.watchService.close();
+        } catch (final IOException e) {
+            this.plugin.getLogger().log(Level.WARNING, "An error occurred while closing the custom files watch service", e);
+        }
+    }
+
+    private void registerTree(
+            final @NotNull Path root,
+            final @Nullable Set<Path> files
+    ) throws IOException {
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+
+        try (final var pathStream = Files.walk(root)) {
+            for (final var path : (Iterable<Path>) pathStream::iterator) {
+                if (Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
+                    this.directories.put(
+                            path.register(this.watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE),
+                            path
+                    );
+                } else if (files != null) {
+                    files.add(path);
+                }
+            }
+        }
+    }
+
+    private void reload(final @NotNull List<Path> files) {
+        final var cache = this.plugin.getCache();
+        final var blockUpdates = new ObjectArrayList<Update<CustomBlockData>>();
+        final var renameableUpdates = new ObjectArrayList<Update<RenameableItem>>();
+
+        for (final var path : files) {
+            final String fileName = path.getFileName().toString().toLowerCase(Locale.ENGLISH);
+            final boolean exists = Files.isRegularFile(path);
+
+            if (
+                    path.startsWith(this.blocksFolder)
+                    && fileName.endsWith(JSON_EXTENSION)
+                    && !fileName.equals(CustomsConfig.EXAMPLE_BLOCK_FILE_NAME)
+            ) {
+                final CustomBlockData data = exists ? CustomBlockData.fromFile(this.plugin, path.toFile()) : null;
+
+                if (
+                        !exists
+                        || data != null
+                ) {
+                    blockUpdates.add(new Update<>(path, cache.getBlockFiles().get(path), data));
+                }
+            } else if (
+                    path.startsWith(this.itemsFolder)
+                    && fileName.endsWith(YAML_EXTENSION)
+                    && !fileName.equals(CustomsConfig.EXAMPLE_RENAMEABLE_FILE_NAME)
+            ) {
+                final RenameableItem item = exists ? RenameableItem.fromFile(this.plugin, path.toFile()) : null;
+
+                if (
+                        !exists
+                        || item != null
+                ) {
+                    renameableUpdates.add(new Update<>(path, cache.getRenameableFiles().get(path), item));
+                }
+            }
+        }
+
+        if (
+                blockUpdates.isEmpty()
+                && renameableUpdates.isEmpty()
+        ) {
+            return;
+        }
+
+        this.plugin.runTask(() -> {
+            if (!blockUpdates.isEmpty()) {
+                this.applyBlockUpdates(blockUpdates);
+            }
+
+            if (!renameableUpdates.isEmpty()) {
+                this.applyRenameableUpdates(renameableUpdates);
+            }
+        });
+    }
+
+    private void applyBlockUpdates(final @NotNull List<Update<CustomBlockData>> updates) {
+        final Server server = this.plugin.getServer();
+        final Logger logger = this.plugin.getLogger();
+        final var blockFiles = this.plugin.getCache().getBlockFiles();
+        final var recipes = this.plugin.getCache().getBlockDataRecipes();
+        int applied = 0;
+
+        for (final var update : updates) {
+            final CustomBlockData oldData =
+                    update.oldKey() == null
+                    ? null
+                    : CustomBlockRegistry.fromKey(update.oldKey()).orElse(null);
+            final CustomBlockData newData = update.newValue();
+            final JsonElement recipeJson = newData == null ? null : takeRecipes(recipes, newData);
+
+            try {
+                CustomBlockRegistry.replace(oldData, newData);
+            } catch (final IllegalArgumentException e) {
+                logger.log(Level.SEVERE, "Failed to reload the custom block file : " + update.path(), e);
+                continue;
+            }
+
+            if (oldData != null) {
+                oldData.unregisterRecipes(server);
+            }
+
+            if (newData == null) {
+                blockFiles.remove(update.path());
+            } else {
+                blockFiles.put(update.path(), newData.getKey());
+
+                if (recipeJson != null) {
+                    newData.registerRecipes(this.plugin, recipeJson);
+                }
+            }
+
+            ++applied;
+        }
+
+        if (applied != 0) {
+            CraftsMenu.putCrafts(
+                    CraftsMenu.Type.BLOCKS,
+                    MSPlugin.globalCache().customBlockRecipes
+            );
+            logger.info("Reloaded " + applied + " custom block files");
+        }
+    }
+
+    private void applyRenameableUpdates(final @NotNull List<Update<RenameableItem>> updates) {
+        final Logger logger = this.plugin.getLogger();
+        final var renameableFiles = this.plugin.getCache().getRenameableFiles();
+        final var menuItems = this.plugin.getCache().getRenameableMenuItems();
+        int applied = 0;
+
+        for (final var update : updates) {
+            final RenameableItem oldItem =
+                    update.oldKey() == null
+                    ? null
+                    : RenameableItemRegistry.fromKey(update.oldKey()).orElse(null);
+            final RenameableItem newItem = update.newValue();
+
+            try {
+                RenameableItemRegistry.replace(oldItem, newItem);
+            } catch (final IllegalArgumentException e) {
+                menuItems.remove(newItem);
+                logger.log(Level.SEVERE, "Failed to reload the renameable item file : " + update.path(), e);
+                continue;
+            }
+
+            if (oldItem != null) {
+                menuItems.remove(oldItem);
+            }
+
+            if (newItem == null) {
+                renameableFiles.remove(update.path());
+            } else {
+                renameableFiles.put(update.path(), newItem.getKey());
+            }
+
+            ++applied;
+        }
+
+        if (applied != 0) {
+            RenamesMenu.update(this.plugin);
+            logger.info("Reloaded " + applied + " renameable item files");
+        }
+    }
+
+    /**
+     * Removes and returns the recipes, which were stored while deserializing
+     * the specified custom block data
+     *
+     * @param recipes The list of the stored recipes
+     * @param data    The custom block data
+     * @return The recipes of the custom block data, or null if it has none
+     */
+    private static @Nullable JsonElement takeRecipes(
+            final @NotNull List<Map.Entry<CustomBlockData, JsonElement>> recipes,
+            final @NotNull CustomBlockData data
+    ) {
+        synchronized (recipes) {
+            final var iterator = recipes.iterator();
+
+            while (iterator.hasNext()) {
+                final var entry = iterator.next();
+
+                if (entry.getKey() == data) {
+                    iterator.remove();
+
+                    return entry.getValue();
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private record Update<T>(
+            @NotNull Path path,
+            @Nullable String oldKey,
+            @Nullable T newValue
+    ) {}
+}
@@ -1,19 +1,20 @@
 package com.minersstudios.mscustoms.utility;
 
 import com.minersstudios.mscore.annotation.Key;
-import com.minersstudios.mscore.location.MSBoundingBox;
 import com.minersstudios.mscore.location.MSPosition;
 import com.minersstudios.mscore.utility.ChatUtils;
 import com.minersstudios.mscore.utility.SharedConstants;
+import com.minersstudios.mscustoms.MSCustoms;
+import com.minersstudios.mscustoms.collection.DecorMap;
 import com.minersstudios.mscustoms.custom.decor.CustomDecorData;
 import com.minersstudios.mscustoms.custom.decor.DecorHitBox;
 import org.bukkit.Material;
 import org.bukkit.World;
 import org.bukkit.block.Block;
-import org.bukkit.craftbukkit.v1_20_R3.CraftWorld;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Interaction;
 import org.bukkit.inventory.ItemStack;
+import org.bukkit.util.NumberConversions;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -60,9 +61,14 @@ public final class MSDecorUtils {
     }
 
     /**
+     * Gets the custom decor interactions, which occupy the block at the given
+     * position. The interactions are looked up in the {@link DecorMap},
+     * instead of scanning the entities of the world.
+     *
      * @param position Position to be checked
      * @return Nearby {@link Interaction} array
      * @throws IllegalArgumentException If position world is null
+     * @see DecorMap#getInteractions(World, int, int, int)
      */
     public static Interaction @NotNull [] getNearbyInteractions(final @NotNull MSPosition position) throws IllegalArgumentException {
         final World world = position.world();
@@ -71,25 +77,23 @@ public final class MSDecorUtils {
             throw new IllegalArgumentException("Location world cannot be null");
         }
 
-        final var entities = MSBoundingBox.ofSize(position, 1.0d, 1.0d, 1.0d)
-                .getNMSEntities(
-                        ((CraftWorld) world).getHandle(),
-                        entity -> entity instanceof net.minecraft.world.entity.Interaction
-                );
-        final int size = entities.size();
-        final Interaction[] interactions = new Interaction[size];
-
-        for (int i = 0; i < size; ++i) {
-            interactions[i] = (Interaction) entities.get(i).getBukkitEntity();
-        }
-
-        return interactions;
+        return MSCustoms.cache().getDecorMap().getInteractions(
+                world,
+                NumberConversions.floor(position.x()),
+                NumberConversions.floor(position.y()),
+                NumberConversions.floor(position.z())
+        );
     }
 
     /**
+     * Gets the first custom decor interaction, which occupies the block at the
+     * given position. The interaction is looked up in the {@link DecorMap},
+     * instead of scanning the entities of the world.
+     *
      * @param position Position to be checked
      * @return Nearby {@link Interaction} or null if not found
      * @throws IllegalArgumentException If position world is null
+     * @see DecorMap#getInteraction(World, int, int, int)
      */
     public static @Nullable Interaction getNearbyInteraction(final @NotNull MSPosition position) throws IllegalArgumentException {
         final World world = position.world();
@@ -98,14 +102,12 @@ public final class MSDecorUtils {
             throw new IllegalArgumentException("Location world cannot be null");
         }
 
-        final var entities = MSBoundingBox.ofSize(position, 1.0d, 1.0d, 1.0d)
-                .getNMSEntities(
-                        ((CraftWorld) world).getHandle(),
-                        entity -> entity instanceof net.minecraft.world.entity.Interaction
-                );
-        return entities.isEmpty()
-                ? null
-                : (Interaction) entities.get(0).getBukkitEntity();
+        return MSCustoms.cache().getDecorMap().getInteraction(
+                world,
+                NumberConversions.floor(position.x()),
+                NumberConversions.floor(position.y()),
+                NumberConversions.floor(position.z())
+        );
     }
 
     /**
@@ -153,16 +155,13 @@ public final class MSDecorUtils {
 
     /**
      * @param block Block to be checked
-     * @return True if block is custom decor block
+     * @return True if block is occupied by a custom decor
+     * @see DecorMap#contains(Block)
      */
     @Contract("null -> false")
     public static boolean isCustomDecor(final @Nullable Block block) {
         return block != null
-                && MSBoundingBox.of(block)
-                .hasNMSEntity(
-                        ((CraftWorld) block.getWorld()).getHandle(),
-                        MSDecorUtils::isCustomDecor
-                );
+                && MSCustoms.cache().getDecorMap().contains(block);
     }
 
     /**
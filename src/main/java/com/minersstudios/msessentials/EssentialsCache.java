@@ -3,14 +3,18 @@ package com.minersstudios.msessentials;
 import com.minersstudios.mscore.plugin.cache.PluginCache;
 import com.minersstudios.msessentials.anomaly.Anomaly;
 import com.minersstudios.msessentials.anomaly.AnomalyAction;
+import com.minersstudios.msessentials.anomaly.AnomalyIndex;
 import com.minersstudios.msessentials.chat.ChatBuffer;
 import com.minersstudios.msessentials.discord.BotHandler;
 import com.minersstudios.msessentials.discord.DiscordManager;
 import com.minersstudios.msessentials.discord.DiscordMap;
 import com.minersstudios.msessentials.player.PlayerInfo;
+import com.minersstudios.msessentials.player.collection.ExpiryQueue;
 import com.minersstudios.msessentials.player.collection.IDMap;
 import com.minersstudios.msessentials.player.collection.MuteMap;
 import com.minersstudios.msessentials.player.collection.PlayerInfoMap;
+import com.minersstudios.msessentials.player.storage.PlayerStorage;
+import com.minersstudios.msessentials.storage.WriteBehindStore;
 import com.minersstudios.msessentials.world.WorldDark;
 import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
@@ -24,26 +28,33 @@ import org.jetbrains.annotations.UnknownNullability;
 
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Cache for all custom data
  */
 public final class EssentialsCache extends PluginCache<MSEssentials> {
+    private WriteBehindStore store;
     private PlayerInfoMap playerInfoMap;
     private MuteMap muteMap;
+    private ExpiryQueue<UUID> banExpiryQueue;
     private DiscordMap discordMap;
     private IDMap idMap;
     private Map<Player, ArmorStand> seats;
     private Map<NamespacedKey, Anomaly> anomalies;
+    private AnomalyIndex anomalyIndex;
     private Map<Player, Map<AnomalyAction, Long>> playerAnomalyActionMap;
     private ChatBuffer chatBuffer;
     private List<BukkitTask> bukkitTasks;
     private Long2ObjectMap<BotHandler> botHandlers;
     private DiscordManager discordManager;
+    PlayerStorage playerStorage;
     PlayerInfo consolePlayerInfo;
     WorldDark worldDark;
 
+    private static final long STORE_INTERVAL = 1000L;
+
     /**
      * Cache constructor
      *
@@ -57,12 +68,15 @@ public final class EssentialsCache extends PluginCache<MSEssentials> {
     protected void onLoad() {
         final MSEssentials plugin = this.getPlugin();
 
+        this.store = new WriteBehindStore("MSEssentials-IO", plugin.getLogger(), STORE_INTERVAL);
         this.playerInfoMap = new PlayerInfoMap(plugin);
-        this.muteMap = new MuteMap(plugin);
-        this.discordMap = new DiscordMap(plugin);
-        this.idMap = new IDMap(plugin);
+        this.muteMap = new MuteMap(plugin, this.store);
+        this.banExpiryQueue = new ExpiryQueue<>();
+        this.discordMap = new DiscordMap(plugin, this.store);
+        this.idMap = new IDMap(plugin, this.store);
         this.seats = new ConcurrentHashMap<>();
         this.anomalies = new ConcurrentHashMap<>();
+        this.anomalyIndex = new AnomalyIndex(plugin.getServer(), this.anomalies);
         this.playerAnomalyActionMap = new ConcurrentHashMap<>();
         this.chatBuffer = new ChatBuffer(plugin);
         this.bukkitTasks = new ObjectArrayList<>();
@@ -73,17 +87,28 @@ public final class EssentialsCache extends PluginCache<MSEssentials> {
     @Override
     protected void onUnload() {
         this.discordManager.unload();
+        this.chatBuffer.clear();
 
         for (final var task : this.bukkitTasks) {
             task.cancel();
         }
 
+        this.store.close();
+
+        if (this.playerStorage != null) {
+            this.playerStorage.close();
+        }
+
+        this.store = null;
+        this.playerStorage = null;
         this.playerInfoMap = null;
         this.muteMap = null;
+        this.banExpiryQueue = null;
         this.discordMap = null;
         this.idMap = null;
         this.seats = null;
         this.anomalies = null;
+        this.anomalyIndex = null;
         this.playerAnomalyActionMap = null;
         this.chatBuffer = null;
         this.bukkitTasks = null;
@@ -91,6 +116,21 @@ public final class EssentialsCache extends PluginCache<MSEssentials> {
         this.discordManager = null;
     }
 
+    /**
+     * @return The write-behind store of the data files
+     */
+    public @UnknownNullability WriteBehindStore getStore() {
+        return this.store;
+    }
+
+    /**
+     * @return The storage of the player files, or null if the configuration
+     *         has not been loaded yet
+     */
+    public @UnknownNullability PlayerStorage getPlayerStorage() {
+        return this.playerStorage;
+    }
+
     public @UnknownNullability PlayerInfoMap getPlayerInfoMap() {
         return this.playerInfoMap;
     }
@@ -99,6 +139,13 @@ public final class EssentialsCache extends PluginCache<MSEssentials> {
         return this.muteMap;
     }
 
+    /**
+     * @return The expiry queue of the temporary bans by the player UUIDs
+     */
+    public @UnknownNullability ExpiryQueue<UUID> getBanExpiryQueue() {
+        return this.banExpiryQueue;
+    }
+
     public @UnknownNullability DiscordMap getDiscordMap() {
         return this.discordMap;
     }
@@ -115,6 +162,14 @@ public final class EssentialsCache extends PluginCache<MSEssentials> {
         return this.anomalies;
     }
 
+    /**
+     * @return The spatial index of the anomalies with the snapshot of the
+     *         players inside them
+     */
+    public @UnknownNullability AnomalyIndex getAnomalyIndex() {
+        return this.anomalyIndex;
+    }
+
     public @UnknownNullability Map<Player, Map<AnomalyAction, Long>> getPlayerAnomalyActionMap() {
         return this.playerAnomalyActionMap;
     }
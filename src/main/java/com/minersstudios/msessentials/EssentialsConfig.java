@@ -6,6 +6,7 @@ import com.minersstudios.msessentials.anomaly.Anomaly;
 import com.minersstudios.msessentials.anomaly.task.AnomalyParticleTask;
 import com.minersstudios.msessentials.anomaly.task.MainAnomalyActionTask;
 import com.minersstudios.msessentials.player.PlayerInfo;
+import com.minersstudios.msessentials.player.storage.PlayerStorage;
 import com.minersstudios.msessentials.resourcepack.ResourcePack;
 import com.minersstudios.msessentials.resourcepack.throwable.FatalPackLoadException;
 import net.kyori.adventure.text.logger.slf4j.ComponentLogger;
@@ -19,8 +20,8 @@ import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -50,6 +51,7 @@ public final class EssentialsConfig extends PluginConfig<MSEssentials> {
     private double localChatRadius;
     private String mineSkinApiKey;
     private Location spawnLocation;
+    private PlayerStorage.Type playerStorageType;
 
     //<editor-fold desc="File paths" defaultstate="collapsed">
     private static final String YAML_EXTENSION = ".yml";
@@ -77,6 +79,7 @@ public final class EssentialsConfig extends PluginConfig<MSEssentials> {
     public static final String KEY_DEVELOPER_MODE =               "developer-mode";
     public static final String KEY_ANOMALY_CHECK_RATE =           "anomaly-check-rate";
     public static final String KEY_ANOMALY_PARTICLES_CHECK_RATE = "anomaly-particles-check-rate";
+    public static final String KEY_PLAYER_STORAGE =               "player-storage";
 
     public static final String KEY_SKIN_SECTION =                 "skin";
     public static final String KEY_MINE_SKIN_API_KEY =            "mine-skin-api-key";
@@ -107,6 +110,7 @@ public final class EssentialsConfig extends PluginConfig<MSEssentials> {
     public static final boolean DEFAULT_DEVELOPER_MODE =            false;
     public static final long DEFAULT_ANOMALY_CHECK_RATE =           100L;
     public static final long DEFAULT_ANOMALY_PARTICLES_CHECK_RATE = 10L;
+    public static final String DEFAULT_PLAYER_STORAGE =             "yaml";
     public static final double DEFAULT_LOCAL_CHAT_RADIUS =          25.0d;
     public static final long DEFAULT_DISCORD_CHANNEL_ID =           -1;
     public static final char DEFAULT_BOT_TOKEN =                    ' ';
@@ -128,6 +132,7 @@ public final class EssentialsConfig extends PluginConfig<MSEssentials> {
         this.developerMode = yaml.getBoolean(KEY_DEVELOPER_MODE);
         this.anomalyCheckRate = yaml.getLong(KEY_ANOMALY_CHECK_RATE);
         this.anomalyParticlesCheckRate = yaml.getLong(KEY_ANOMALY_PARTICLES_CHECK_RATE);
+        this.playerStorageType = PlayerStorage.Type.fromName(yaml.getString(KEY_PLAYER_STORAGE));
 
         final ConfigurationSection chatSection = yaml.getConfigurationSection(KEY_CHAT_SECTION);
 
@@ -190,13 +195,16 @@ public final class EssentialsConfig extends PluginConfig<MSEssentials> {
         cache.getBukkitTasks().clear();
         cache.getPlayerAnomalyActionMap().clear();
         cache.getAnomalies().clear();
+        cache.getAnomalyIndex().clear();
 
         plugin.saveResource(EXAMPLE_ANOMALY_FILE_PATH, true);
 
-        final File consoleDataFile = new File(plugin.getPluginFolder(), CONSOLE_FILE_PATH);
+        if (cache.playerStorage == null) {
+            cache.playerStorage = PlayerStorage.open(plugin, this.playerStorageType);
+        }
 
-        if (!consoleDataFile.exists()) {
-            plugin.saveResource(CONSOLE_FILE_PATH, false);
+        if (!cache.playerStorage.contains(PlayerStorage.CONSOLE_KEY)) {
+            this.saveConsoleFile(cache.playerStorage);
         }
 
         cache.consolePlayerInfo = new PlayerInfo(plugin, UUID.randomUUID(), SharedConstants.CONSOLE_NICKNAME);
@@ -204,6 +212,7 @@ public final class EssentialsConfig extends PluginConfig<MSEssentials> {
         this.loadResourcePacks();
         plugin.runTaskAsync(this::loadAnomalies);
 
+        cache.getBukkitTasks().add(plugin.runTaskTimer(cache.getAnomalyIndex()::update, 0L, 1L));
         cache.getBukkitTasks().add(plugin.runTaskTimer(new MainAnomalyActionTask(plugin), 0L, this.anomalyCheckRate));
         cache.getBukkitTasks().add(plugin.runTaskTimer(new AnomalyParticleTask(plugin), 0L, this.anomalyParticlesCheckRate));
 
@@ -215,6 +224,7 @@ public final class EssentialsConfig extends PluginConfig<MSEssentials> {
         this.setIfNotExists(KEY_DEVELOPER_MODE, DEFAULT_DEVELOPER_MODE);
         this.setIfNotExists(KEY_ANOMALY_CHECK_RATE, DEFAULT_ANOMALY_CHECK_RATE);
         this.setIfNotExists(KEY_ANOMALY_PARTICLES_CHECK_RATE, DEFAULT_ANOMALY_PARTICLES_CHECK_RATE);
+        this.setIfNotExists(KEY_PLAYER_STORAGE, DEFAULT_PLAYER_STORAGE);
 
         this.setIfNotExists(KEY_CHAT_SECTION + '.' + KEY_LOCAL_SECTION + '.' + KEY_RADIUS, DEFAULT_LOCAL_CHAT_RADIUS);
         this.setIfNotExists(KEY_CHAT_SECTION + '.' + KEY_LOCAL_SECTION + '.' + KEY_DISCORD_CHANNEL_ID, DEFAULT_DISCORD_CHANNEL_ID);
@@ -296,6 +306,15 @@ public final class EssentialsConfig extends PluginConfig<MSEssentials> {
         this.save();
     }
 
+    /**
+     * @return The type of the player storage, which is used since the plugin
+     *         has been enabled, the changes of the type are applied after the
+     *         restart
+     */
+    public @NotNull PlayerStorage.Type getPlayerStorageType() {
+        return this.playerStorageType;
+    }
+
     /**
      * @return Discord server id
      */
@@ -508,6 +527,29 @@ public final class EssentialsConfig extends PluginConfig<MSEssentials> {
         );
     }
 
+    private void saveConsoleFile(final @NotNull PlayerStorage storage) {
+        final MSEssentials plugin = this.getPlugin();
+
+        try (final var in = plugin.getResource(CONSOLE_FILE_PATH)) {
+            if (in == null) {
+                plugin.getLogger().severe("The embedded resource \"" + CONSOLE_FILE_PATH + "\" cannot be found");
+                return;
+            }
+
+            storage.write(
+                    PlayerStorage.CONSOLE_KEY,
+                    SharedConstants.CONSOLE_NICKNAME,
+                    new String(in.readAllBytes(), StandardCharsets.UTF_8)
+            );
+        } catch (final IOException e) {
+            plugin.getLogger().log(
+                    Level.SEVERE,
+                    "An error occurred while saving the console player file!",
+                    e
+            );
+        }
+    }
+
     private void loadAnomalies() {
         final MSEssentials plugin = this.getPlugin();
         final EssentialsCache cache = plugin.getCache();
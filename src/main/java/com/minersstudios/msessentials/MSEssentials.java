@@ -9,7 +9,9 @@ import com.minersstudios.msessentials.chat.ChatType;
 import com.minersstudios.msessentials.discord.DiscordManager;
 import com.minersstudios.msessentials.player.collection.PlayerInfoMap;
 import com.minersstudios.msessentials.task.BanListTask;
+import com.minersstudios.msessentials.task.ChatBubbleTask;
 import com.minersstudios.msessentials.task.MuteMapTask;
+import com.minersstudios.msessentials.task.PlayerInfoMapTask;
 import com.minersstudios.msessentials.task.PlayerListTask;
 import com.minersstudios.msessentials.task.SeatsTask;
 import com.minersstudios.msessentials.world.WorldDark;
@@ -69,9 +71,11 @@ public final class MSEssentials extends MSPlugin<MSEssentials> {
 
         this.runTask(() -> this.cache.worldDark = new WorldDark());
         this.runTaskTimer(new SeatsTask(this), 0L, 1L);            // 0.05 seconds
-        this.runTaskTimer(new PlayerListTask(this), 6000L, 6000L); // 5 minutes
-        this.runTaskTimer(new MuteMapTask(this), 0L, 50L);         // 2.5 seconds
-        this.runTaskTimer(new BanListTask(this), 0L, 6000L);       // 5 minutes
+        this.runTaskTimer(new PlayerListTask(this), 0L, 1L);       // 0.05 seconds
+        this.runTaskTimer(new MuteMapTask(this), 0L, 1L);          // 0.05 seconds
+        this.runTaskTimer(new BanListTask(this), 0L, 1L);          // 0.05 seconds
+        this.runTaskTimer(new ChatBubbleTask(this), 0L, 1L);       // 0.05 seconds
+        this.runTaskTimer(new PlayerInfoMapTask(this), 600L, 600L); // 30 seconds
 
         this.setupHideTags();
         this.setupAuthMe();
@@ -82,6 +86,14 @@ public final class MSEssentials extends MSPlugin<MSEssentials> {
         this.kickAll();
         this.sendServerDisableMessage();
 
+        if (this.cache.getStore() != null) {
+            this.cache.getStore().close();
+        }
+
+        if (this.cache.getPlayerStorage() != null) {
+            this.cache.getPlayerStorage().close();
+        }
+
         if (!this.cache.isLoaded()) {
             this.cache.unload();
         }
@@ -211,6 +223,7 @@ public final class MSEssentials extends MSPlugin<MSEssentials> {
         if (discordManager != null) {
             discordManager.sendMessage(ChatType.GLOBAL, DISCORD_SERVER_DISABLED.asString());
             discordManager.sendMessage(ChatType.LOCAL, DISCORD_SERVER_DISABLED.asString());
+            discordManager.unload();
         }
     }
 }
@@ -3,11 +3,12 @@ package com.minersstudios.msessentials.anomaly;
 import com.minersstudios.mscore.location.MSBoundingBox;
 import it.unimi.dsi.fastutil.doubles.Double2ObjectArrayMap;
 import it.unimi.dsi.fastutil.doubles.Double2ObjectMap;
+import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.entity.Player;
 import org.bukkit.util.BoundingBox;
-import org.bukkit.util.Vector;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
 
 import javax.annotation.concurrent.Immutable;
@@ -26,6 +27,7 @@ public final class AnomalyBoundingBox extends BoundingBox {
     private final World world;
     private final List<Double> radii;
     private final Double2ObjectMap<MSBoundingBox> radiusBoundingBoxes;
+    private final MSBoundingBox outerBoundingBox;
 
     /**
      * Creates a new anomaly bounding box, with a list of radii and a map of
@@ -45,12 +47,21 @@ public final class AnomalyBoundingBox extends BoundingBox {
         this.radii = radii;
         this.radiusBoundingBoxes = new Double2ObjectArrayMap<>();
 
+        double maxRadius = Double.NEGATIVE_INFINITY;
+
         for (final double radius : radii) {
             this.radiusBoundingBoxes.put(
                     radius,
                     boundingBox.inflate(radius)
             );
+
+            maxRadius = Math.max(maxRadius, radius);
         }
+
+        this.outerBoundingBox =
+                radii.isEmpty()
+                ? null
+                : boundingBox.inflate(Math.max(maxRadius, 0.0d));
     }
 
     /**
@@ -74,20 +85,55 @@ public final class AnomalyBoundingBox extends BoundingBox {
         return Collections.unmodifiableMap(this.radiusBoundingBoxes);
     }
 
+    /**
+     * @return The bounding box of the largest radius, which contains the
+     *         bounding boxes of all radii, or null if there are no radii
+     */
+    public @Nullable MSBoundingBox getOuterBoundingBox() {
+        return this.outerBoundingBox;
+    }
+
     /**
      * Gets the radius if any bounding box contains the player position
      *
      * @param player The player to check
      * @return -1 if the bounding box does not contain the player position
+     * @see AnomalyIndex#getHits(Player)
      */
     public double getRadiusInside(final @NotNull Player player) {
-        if (player.getWorld() == this.world) {
-            final Vector playerPosition = player.getLocation().toVector();
+        if (player.getWorld() != this.world) {
+            return -1.0d;
+        }
+
+        final Location location = player.getLocation();
+
+        return this.getRadiusInside(location.getX(), location.getY(), location.getZ());
+    }
+
+    /**
+     * Gets the radius if any bounding box contains the position in the world
+     * of this anomaly
+     *
+     * @param x The x coordinate of the position
+     * @param y The y coordinate of the position
+     * @param z The z coordinate of the position
+     * @return -1 if the bounding box does not contain the position
+     */
+    public double getRadiusInside(
+            final double x,
+            final double y,
+            final double z
+    ) {
+        if (
+                this.outerBoundingBox == null
+                || !this.outerBoundingBox.contains(x, y, z)
+        ) {
+            return -1.0d;
+        }
 
-            for (final var entry : this.radiusBoundingBoxes.double2ObjectEntrySet()) {
-                if (entry.getValue().contains(playerPosition)) {
-                    return entry.getDoubleKey();
-                }
+        for (final var entry : this.radiusBoundingBoxes.double2ObjectEntrySet()) {
+            if (entry.getValue().contains(x, y, z)) {
+                return entry.getDoubleKey();
             }
         }
 
@@ -0,0 +1,225 @@
+package com.minersstudios.msessentials.anomaly;
+
+import com.minersstudios.mscore.location.MSBoundingBox;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import org.bukkit.Location;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Server;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Spatial index of the anomalies and the snapshot of the players inside them.
+ * <br>
+ * The outer bounding boxes of the anomalies are indexed in a grid of
+ * {@link #CELL_SIZE} block columns per world, so finding the anomalies around
+ * a player is a single hash lookup instead of a check of every anomaly. The
+ * grid is rebuilt when the anomalies change.
+ * <br>
+ * {@link #update()} must be called on the main thread every tick. It looks up
+ * every online player in the grid once and publishes an immutable snapshot of
+ * the anomalies and radii the players are inside, which is then shared by
+ * {@link com.minersstudios.msessentials.anomaly.task.MainAnomalyActionTask},
+ * {@link com.minersstudios.msessentials.anomaly.task.AnomalyParticleTask} and
+ * the dosimeter, and can be read from any thread.
+ */
+public final class AnomalyIndex {
+    private final Server server;
+    private final Map<NamespacedKey, Anomaly> anomalies;
+    private final Set<Anomaly> indexed;
+    private final Map<World, Long2ObjectMap<List<Anomaly>>> grid;
+    private final Location location;
+    private volatile Map<Player, List<Hit>> snapshot;
+
+    private static final int CELL_SHIFT = 5;
+
+    /** The size of the grid cells in blocks */
+    public static final int CELL_SIZE = 1 << CELL_SHIFT;
+
+    /**
+     * Constructs a new empty anomaly index
+     *
+     * @param server    The server
+     * @param anomalies The anomalies to index, the map is read on every
+     *                  update to detect changes
+     */
+    public AnomalyIndex(
+            final @NotNull Server server,
+            final @NotNull Map<NamespacedKey, Anomaly> anomalies
+    ) {
+        this.server = server;
+        this.anomalies = anomalies;
+        this.indexed = new ReferenceOpenHashSet<>();
+        this.grid = new Reference2ObjectOpenHashMap<>();
+        this.location = new Location(null, 0.0d, 0.0d, 0.0d);
+        this.snapshot = Collections.emptyMap();
+    }
+
+    /**
+     * @param player The player
+     * @return The anomalies and radii the player was inside at the last
+     *         update, in the order of the anomalies, or an empty list if the
+     *         player was not inside any anomaly
+     */
+    public @NotNull @Unmodifiable List<Hit> getHits(final @NotNull Player player) {
+        return this.snapshot.getOrDefault(player, Collections.emptyList());
+    }
+
+    /**
+     * @return An unmodifiable snapshot of the players, which were inside any
+     *         anomaly at the last update, with their hits
+     */
+    public @NotNull @Unmodifiable Map<Player, List<Hit>> getSnapshot() {
+        return this.snapshot;
+    }
+
+    /**
+     * Rebuilds the grid if the anomalies have changed, and publishes a new
+     * snapshot of the players inside the anomalies. Must be called on the main
+     * thread.
+     */
+    public void update() {
+        if (this.isOutdated()) {
+            this.rebuild();
+        }
+
+        if (this.grid.isEmpty()) {
+            this.snapshot = Collections.emptyMap();
+            return;
+        }
+
+        final var snapshot = new Object2ObjectOpenHashMap<Player, List<Hit>>();
+
+        for (final var player : this.server.getOnlinePlayers()) {
+            player.getLocation(this.location);
+
+            final var cells = this.grid.get(this.location.getWorld());
+
+            if (cells == null) {
+                continue;
+            }
+
+            final List<Anomaly> candidates = cells.get(cellKey(this.location.getBlockX(), this.location.getBlockZ()));
+
+            if (candidates == null) {
+                continue;
+            }
+
+            List<Hit> hits = null;
+
+            for (final var anomaly : candidates) {
+                final double radius = anomaly.getBoundingBox().getRadiusInside(
+                        this.location.getX(),
+                        this.location.getY(),
+                        this.location.getZ()
+                );
+
+                if (radius != -1.0d) {
+                    if (hits == null) {
+                        hits = new ObjectArrayList<>(candidates.size());
+                    }
+
+                    hits.add(new Hit(anomaly, radius));
+                }
+            }
+
+            if (hits != null) {
+                snapshot.put(player, Collections.unmodifiableList(hits));
+            }
+        }
+
+        this.snapshot = Collections.unmodifiableMap(snapshot);
+    }
+
+    /**
+     * Removes all anomalies from the index and clears the snapshot
+     */
+    public void clear() {
+        this.indexed.clear();
+        this.grid.clear();
+        this.snapshot = Collections.emptyMap();
+    }
+
+    private boolean isOutdated() {
+        if (this.anomalies.size() != this.indexed.size()) {
+            return true;
+        }
+
+        for (final var anomaly : this.anomalies.values()) {
+            if (!this.indexed.contains(anomaly)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private void rebuild() {
+        this.indexed.clear();
+        this.grid.clear();
+
+        for (final var anomaly : this.anomalies.values()) {
+            this.indexed.add(anomaly);
+
+            final AnomalyBoundingBox boundingBox = anomaly.getBoundingBox();
+            final MSBoundingBox outer = boundingBox.getOuterBoundingBox();
+
+            if (outer == null) {
+                continue;
+            }
+
+            final var cells = this.grid.computeIfAbsent(boundingBox.getWorld(), world -> new Long2ObjectOpenHashMap<>());
+            final int minX = cellCoord((int) Math.floor(outer.minX()));
+            final int minZ = cellCoord((int) Math.floor(outer.minZ()));
+            final int maxX = cellCoord((int) Math.floor(outer.maxX()));
+            final int maxZ = cellCoord((int) Math.floor(outer.maxZ()));
+
+            for (int x = minX; x <= maxX; ++x) {
+                for (int z = minZ; z <= maxZ; ++z) {
+                    cells.computeIfAbsent(packCell(x, z), k -> new ObjectArrayList<>()).add(anomaly);
+                }
+            }
+        }
+    }
+
+    private static int cellCoord(final int blockCoord) {
+        return blockCoord >> CELL_SHIFT;
+    }
+
+    private static long cellKey(
+            final int blockX,
+            final int blockZ
+    ) {
+        return packCell(cellCoord(blockX), cellCoord(blockZ));
+    }
+
+    private static long packCell(
+            final int cellX,
+            final int cellZ
+    ) {
+        return (long) cellX & 0xFFFFFFFFL | ((long) cellZ & 0xFFFFFFFFL) << 32;
+    }
+
+    /**
+     * The anomaly a player is inside, with the radius of the player
+     *
+     * @param anomaly The anomaly
+     * @param radius  The radius of the anomaly the player is inside
+     */
+    public record Hit(
+            @NotNull Anomaly anomaly,
+            double radius
+    ) {}
+}
@@ -2,14 +2,13 @@ package com.minersstudios.msessentials.anomaly.task;
 
 import com.minersstudios.msessentials.EssentialsConfig;
 import com.minersstudios.msessentials.MSEssentials;
-import com.minersstudios.msessentials.anomaly.Anomaly;
 import com.minersstudios.msessentials.anomaly.AnomalyAction;
 import com.minersstudios.msessentials.anomaly.AnomalyBoundingBox;
+import com.minersstudios.msessentials.anomaly.AnomalyIndex;
 import com.minersstudios.msessentials.anomaly.action.SpawnParticlesAction;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.Collection;
 import java.util.Map;
 
 /**
@@ -23,30 +22,40 @@ import java.util.Map;
  *
  * @see SpawnParticlesAction
  * @see AnomalyBoundingBox
+ * @see AnomalyIndex
  */
 public final class AnomalyParticleTask implements Runnable {
     private final MSEssentials plugin;
     private final Map<Player, Map<AnomalyAction, Long>> anomalyActionMap;
-    private final Collection<Anomaly> anomalies;
+    private final AnomalyIndex anomalyIndex;
 
     public AnomalyParticleTask(final @NotNull MSEssentials plugin) {
         this.plugin = plugin;
         this.anomalyActionMap = plugin.getCache().getPlayerAnomalyActionMap();
-        this.anomalies = plugin.getCache().getAnomalies().values();
+        this.anomalyIndex = plugin.getCache().getAnomalyIndex();
     }
 
     @Override
     public void run() {
-        if (
-                this.anomalies.isEmpty()
-                || this.anomalyActionMap.isEmpty()
-        ) {
+        if (this.anomalyActionMap.isEmpty()) {
+            return;
+        }
+
+        final var snapshot = this.anomalyIndex.getSnapshot();
+
+        if (snapshot.isEmpty()) {
             return;
         }
 
         this.plugin.runTaskAsync(() -> {
             for (final var entry : this.anomalyActionMap.entrySet()) {
                 final Player player = entry.getKey();
+                final var hits = snapshot.get(player);
+
+                if (hits == null) {
+                    continue;
+                }
+
                 final var actionMap = entry.getValue();
 
                 for (final var action : actionMap.keySet()) {
@@ -54,14 +63,8 @@ public final class AnomalyParticleTask implements Runnable {
                         continue;
                     }
 
-                    for (final var anomaly : this.anomalies) {
-                        final double radiusInside = anomaly.getBoundingBox().getRadiusInside(player);
-
-                        if (radiusInside == -1.0d) {
-                            continue;
-                        }
-
-                        if (anomaly.getAnomalyActionMap().get(radiusInside).contains(action)) {
+                    for (final var hit : hits) {
+                        if (hit.anomaly().getAnomalyActionMap().get(hit.radius()).contains(action)) {
                             action.doAction(player, null);
                         } else {
                             action.removeAction(player);
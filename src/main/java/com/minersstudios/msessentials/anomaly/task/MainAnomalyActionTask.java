@@ -5,8 +5,8 @@ import com.minersstudios.msessentials.MSEssentials;
 import com.minersstudios.msessentials.anomaly.Anomaly;
 import com.minersstudios.msessentials.anomaly.AnomalyAction;
 import com.minersstudios.msessentials.anomaly.AnomalyBoundingBox;
+import com.minersstudios.msessentials.anomaly.AnomalyIndex;
 import com.minersstudios.msessentials.anomaly.action.SpawnParticlesAction;
-import org.bukkit.NamespacedKey;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
@@ -22,16 +22,17 @@ import java.util.Map;
  *
  * @see AnomalyAction
  * @see AnomalyBoundingBox
+ * @see AnomalyIndex
  */
 public final class MainAnomalyActionTask implements Runnable {
     private final MSEssentials plugin;
     private final Map<Player, Map<AnomalyAction, Long>> actionMap;
-    private final Map<NamespacedKey, Anomaly> anomalyMap;
+    private final AnomalyIndex anomalyIndex;
 
     public MainAnomalyActionTask(final @NotNull MSEssentials plugin) {
         this.plugin = plugin;
         this.actionMap = plugin.getCache().getPlayerAnomalyActionMap();
-        this.anomalyMap = plugin.getCache().getAnomalies();
+        this.anomalyIndex = plugin.getCache().getAnomalyIndex();
     }
 
     @Override
@@ -43,55 +44,58 @@ public final class MainAnomalyActionTask implements Runnable {
         }
 
         for (final var player : onlinePlayers) {
-            for (final var anomaly : this.anomalyMap.values()) {
-                final double radiusInside = anomaly.getBoundingBox().getRadiusInside(player);
+            final var hits = this.anomalyIndex.getHits(player);
 
-                if (radiusInside == -1.0d) {
-                    continue;
-                }
+            if (hits.isEmpty()) {
+                this.actionMap.remove(player);
+                continue;
+            }
+
+            final AnomalyIndex.Hit hit = hits.get(0);
+            final Anomaly anomaly = hit.anomaly();
+            final double radiusInside = hit.radius();
+            var timedAction = this.actionMap.get(player);
+            final var ignorablePlayers = anomaly.getIgnorablePlayers();
+            boolean ignored = false;
 
-                var timedAction = this.actionMap.get(player);
-                final var ignorablePlayers = anomaly.getIgnorablePlayers();
+            for (final var action : anomaly.getAnomalyActionMap().get(radiusInside)) {
+                if (
+                        timedAction == null
+                        || !timedAction.containsKey(action)
+                ) {
+                    final boolean isIgnorable = ignorablePlayers.contains(player);
 
-                for (final var action : anomaly.getAnomalyActionMap().get(radiusInside)) {
                     if (
-                            timedAction == null
-                            || !timedAction.containsKey(action)
+                            isIgnorable
+                            && action instanceof SpawnParticlesAction
                     ) {
-                        final boolean isIgnorable = ignorablePlayers.contains(player);
-
-                        if (
-                                isIgnorable
-                                && action instanceof SpawnParticlesAction
-                        ) {
-                            action.putAction(player);
-                            return;
-                        } else if (!isIgnorable) {
-                            timedAction = action.putAction(player);
-                        }
+                        action.putAction(player);
+                        ignored = true;
+                        break;
+                    } else if (!isIgnorable) {
+                        timedAction = action.putAction(player);
                     }
                 }
+            }
 
-                if (timedAction == null) {
-                    return;
-                }
+            if (
+                    ignored
+                    || timedAction == null
+            ) {
+                continue;
+            }
 
-                final var ignorableItems = anomaly.getIgnorableItems();
+            final var ignorableItems = anomaly.getIgnorableItems();
 
-                for (final var action : timedAction.keySet()) {
-                    if (anomaly.isAnomalyActionRadius(action, radiusInside)) {
-                        if (!(action instanceof SpawnParticlesAction)) {
-                            action.doAction(player, ignorableItems);
-                        }
-                    } else {
-                        action.removeAction(player);
+            for (final var action : timedAction.keySet()) {
+                if (anomaly.isAnomalyActionRadius(action, radiusInside)) {
+                    if (!(action instanceof SpawnParticlesAction)) {
+                        action.doAction(player, ignorableItems);
                     }
+                } else {
+                    action.removeAction(player);
                 }
-
-                return;
             }
-
-            this.actionMap.remove(player);
         }
     }
 }
@@ -0,0 +1,109 @@
+package com.minersstudios.msessentials.chat;
+
+import com.minersstudios.mscore.packet.VirtualTextDisplay;
+import com.minersstudios.mscore.utility.Font;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.World;
+import org.bukkit.entity.Display;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.TextDisplay;
+import org.bukkit.util.Transformation;
+import org.jetbrains.annotations.NotNull;
+import org.joml.AxisAngle4f;
+import org.joml.Vector3f;
+
+import java.util.Set;
+
+import static net.kyori.adventure.text.Component.text;
+
+/**
+ * Chat bubble above the player, which is rendered as a virtual text display
+ * riding the player. It is shown only to the players, who track the speaker,
+ * and to the speaker themselves.
+ *
+ * @see VirtualTextDisplay
+ * @see ChatBuffer
+ */
+final class ChatBubble {
+    private final Player speaker;
+    private final World world;
+    private final VirtualTextDisplay display;
+    private int remainingTicks;
+
+    private static final int SYNC_PERIOD = 5;
+    private static final int LINE_WIDTH = 1000;
+    private static final Transformation TRANSFORMATION = new Transformation(
+            new Vector3f(0.0f, 0.6f, 0.0f),
+            new AxisAngle4f(),
+            new Vector3f(1.0f, 1.0f, 1.0f),
+            new AxisAngle4f()
+    );
+
+    /**
+     * Constructs a new chat bubble and shows it to the current viewers
+     *
+     * @param speaker  The player, who sent the message
+     * @param message  The message lines separated by the new line
+     * @param duration The duration of the bubble in ticks
+     */
+    ChatBubble(
+            final @NotNull Player speaker,
+            final @NotNull String message,
+            final int duration
+    ) {
+        this.speaker = speaker;
+        this.world = speaker.getWorld();
+        this.display = new VirtualTextDisplay(speaker.getLocation());
+        this.remainingTicks = duration;
+
+        final TextDisplay view = this.display.getBukkitView();
+
+        view.text(
+                Font.Components.SPEECH
+                .append(text(message.strip()))
+                .color(NamedTextColor.WHITE)
+        );
+        view.setBillboard(Display.Billboard.CENTER);
+        view.setLineWidth(LINE_WIDTH);
+        view.setTransformation(TRANSFORMATION);
+        this.display.setVehicle(speaker);
+        this.sync();
+    }
+
+    /**
+     * Advances the bubble by one tick and syncs its viewers periodically
+     *
+     * @return True if the bubble has expired, or the speaker has left the
+     *         world, and the bubble should be removed
+     */
+    boolean tick() {
+        if (
+                --this.remainingTicks <= 0
+                || !this.speaker.isValid()
+                || this.speaker.getWorld() != this.world
+        ) {
+            return true;
+        }
+
+        if (this.remainingTicks % SYNC_PERIOD == 0) {
+            this.sync();
+        }
+
+        return false;
+    }
+
+    /**
+     * Hides the bubble from all viewers
+     */
+    void remove() {
+        this.display.hideAll();
+    }
+
+    private void sync() {
+        final Set<Player> viewers = new ObjectOpenHashSet<>(this.speaker.getTrackedPlayers());
+
+        viewers.add(this.speaker);
+        this.display.sync(viewers);
+    }
+}
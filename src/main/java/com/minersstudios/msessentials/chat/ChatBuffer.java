@@ -1,30 +1,37 @@
 package com.minersstudios.msessentials.chat;
 
-import com.minersstudios.mscore.utility.Font;
 import com.minersstudios.msessentials.MSEssentials;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
-import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.format.NamedTextColor;
-import org.bukkit.Location;
-import org.bukkit.Particle;
-import org.bukkit.entity.AreaEffectCloud;
-import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.UnmodifiableView;
 
-import java.util.*;
-
-import static net.kyori.adventure.text.Component.space;
-import static net.kyori.adventure.text.Component.text;
-
+import java.util.Collections;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Chat buffer, which shows the chat messages of the players as the chat
+ * bubbles above their heads, one message at a time.
+ * <br>
+ * The messages can be received from any thread, the queues of the players are
+ * thread-safe. The bubbles are virtual text displays, which are shown and
+ * hidden with the packets on the main thread, see {@link #tick()}.
+ *
+ * @see ChatBubble
+ */
 public final class ChatBuffer {
     private final @NotNull MSEssentials plugin;
     private final @NotNull Map<UUID, Queue<String>> chatQueue;
+    private final @NotNull Map<UUID, ChatBubble> bubbles;
 
     public ChatBuffer(final @NotNull MSEssentials plugin) {
         this.plugin = plugin;
-        this.chatQueue = new Object2ObjectOpenHashMap<>();
+        this.chatQueue = new ConcurrentHashMap<>();
+        this.bubbles = new Object2ObjectOpenHashMap<>();
     }
 
     public @NotNull @UnmodifiableView Map<UUID, Queue<String>> getChatQueue() {
@@ -71,40 +78,84 @@ public final class ChatBuffer {
         }
     }
 
-    public static int spawnMessage(
+    /**
+     * Shows the message as the chat bubble above the player, replacing the
+     * current bubble of the player. Must be called on the main thread.
+     *
+     * @param player  The player
+     * @param message The message lines separated by the new line
+     * @return The duration of the bubble in ticks
+     */
+    public int spawnMessage(
             final @NotNull Player player,
             final @NotNull String message
     ) {
-        final String[] chatLines = message.split("\n");
-        final Location spawnLocation = player.getLocation().add(0.0d, 1.0d, 0.0d);
-        final int duration = (message.length() + (17 * chatLines.length)) * 1200 / 800;
-        Entity vehicle = player;
-
-        for (int i = chatLines.length - 1; i >= 0; i--) {
-            vehicle = spawnNameTag(
-                    vehicle,
-                    chatLines[i],
-                    spawnLocation,
-                    duration,
-                    i == 0
-            );
+        final int lineCount = message.split("\n").length;
+        final int duration = (message.length() + (17 * lineCount)) * 1200 / 800;
+        final ChatBubble previous = this.bubbles.put(
+                player.getUniqueId(),
+                new ChatBubble(player, message, duration)
+        );
+
+        if (previous != null) {
+            previous.remove();
         }
 
         return duration;
     }
 
+    /**
+     * Advances the chat bubbles by one tick, removing the expired ones and
+     * syncing the viewers of the others. Must be called on the main thread
+     * every tick.
+     */
+    public void tick() {
+        if (this.bubbles.isEmpty()) {
+            return;
+        }
+
+        final var iterator = this.bubbles.values().iterator();
+
+        while (iterator.hasNext()) {
+            final ChatBubble bubble = iterator.next();
+
+            if (bubble.tick()) {
+                bubble.remove();
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Removes all chat bubbles and queued messages. Must be called on the
+     * main thread.
+     */
+    public void clear() {
+        this.chatQueue.clear();
+
+        for (final var bubble : this.bubbles.values()) {
+            bubble.remove();
+        }
+
+        this.bubbles.clear();
+    }
+
     private void queueMessage(
             final @NotNull Player player,
             final @NotNull String message
     ) {
         final UUID uuid = player.getUniqueId();
 
-        if (!this.chatQueue.containsKey(uuid)) {
-            this.chatQueue.put(uuid, new LinkedList<>());
-            scheduleMessageUpdate(player, uuid, 0);
-        }
+        this.chatQueue.compute(uuid, (key, queue) -> {
+            if (queue == null) {
+                queue = new ConcurrentLinkedQueue<>();
+
+                this.scheduleMessageUpdate(player, uuid, 0);
+            }
 
-        this.chatQueue.get(uuid).add(message);
+            queue.add(message);
+            return queue;
+        });
     }
 
     private void scheduleMessageUpdate(
@@ -113,52 +164,27 @@ public final class ChatBuffer {
             final int delay
     ) {
         this.plugin.runTaskLater(() -> {
-            if (
-                    !player.isOnline()
-                    || this.chatQueue.get(uuid).isEmpty()
-            ) {
-                this.chatQueue.remove(uuid);
-            } else {
-                final String message = this.chatQueue.get(uuid).poll();
-
-                if (message != null) {
-                    this.scheduleMessageUpdate(
-                            player,
-                            uuid,
-                            spawnMessage(player, message) + 5
-                    );
-                }
+            final Queue<String> queue = this.chatQueue.computeIfPresent(
+                    uuid,
+                    (key, value) ->
+                            !player.isOnline() || value.isEmpty()
+                            ? null
+                            : value
+            );
+
+            if (queue == null) {
+                return;
             }
-        }, delay);
-    }
 
-    private static @NotNull AreaEffectCloud spawnNameTag(
-            final @NotNull Entity vehicle,
-            final @NotNull String text,
-            final @NotNull Location spawnLocation,
-            final int duration,
-            final boolean firstLine
-    ) {
-        return spawnLocation.getWorld().spawn(
-                spawnLocation,
-                AreaEffectCloud.class,
-                entity -> {
-                    entity.customName(
-                            (
-                                    firstLine
-                                    ? Font.Components.SPEECH
-                                    : Component.empty()
-                            )
-                            .append(text(text))
-                            .append(space())
-                            .color(NamedTextColor.WHITE)
-                    );
-                    entity.setParticle(Particle.TOWN_AURA);
-                    entity.setRadius(0);
-                    entity.setCustomNameVisible(true);
-                    entity.setWaitTime(0);
-                    entity.setDuration(duration);
-                    vehicle.addPassenger(entity);
-                });
+            final String message = queue.poll();
+
+            if (message != null) {
+                this.scheduleMessageUpdate(
+                        player,
+                        uuid,
+                        this.spawnMessage(player, message) + 5
+                );
+            }
+        }, delay);
     }
 }
@@ -28,6 +28,13 @@ abstract class AbstractInteractionHandler<T extends Interaction> {
         return this.interaction;
     }
 
+    /**
+     * Never blocks, so the verification is checked only against the cached
+     * members, see {@link com.minersstudios.msessentials.discord.DiscordManager#isVerifiedCached(User)}
+     *
+     * @return The player info of the verified user, or null if the user is
+     *         not verified, or is not cached yet
+     */
     public final @Nullable PlayerInfo getPlayerInfo() {
         if (this.playerInfo != null) {
             return this.playerInfo;
@@ -35,7 +42,7 @@ abstract class AbstractInteractionHandler<T extends Interaction> {
 
         final User user = this.interaction.getUser();
 
-        if (this.plugin.getCache().getDiscordManager().isVerified(user)) {
+        if (this.plugin.getCache().getDiscordManager().isVerifiedCached(user)) {
             this.playerInfo = PlayerInfo.fromDiscord(this.plugin, user.getIdLong());
         }
 
@@ -10,7 +10,9 @@ import net.dv8tion.jda.api.interactions.commands.SlashCommandInteraction;
 import net.dv8tion.jda.api.utils.FileUpload;
 import net.dv8tion.jda.api.utils.messages.MessageCreateData;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Consumer;
+import java.util.logging.Level;
 
 public final class CommandHandler extends AbstractInteractionHandler<SlashCommandInteraction> {
 
@@ -26,28 +28,49 @@ public final class CommandHandler extends AbstractInteractionHandler<SlashComman
         return this.getInteraction().getName();
     }
 
-    public @Nullable PlayerInfo retrievePlayerInfo() {
+    /**
+     * Retrieves the player info of the user without blocking and runs the
+     * action with it. If the user is not verified or not linked, the
+     * corresponding message is sent instead, and the action is not run.
+     *
+     * @param action The action to run with the player info, may be run on
+     *               another thread
+     */
+    public void retrievePlayerInfo(final @NotNull Consumer<PlayerInfo> action) {
         if (this.playerInfo != null) {
-            return this.playerInfo;
+            action.accept(this.playerInfo);
+            return;
         }
 
         final User user = this.getInteraction().getUser();
 
-        if (!this.getPlugin().getCache().getDiscordManager().isVerified(user)) {
-            this.send(Translations.DISCORD_NOT_A_USER.asString());
+        this.getPlugin().getCache().getDiscordManager().isVerifiedAsync(user)
+        .thenAccept(verified -> {
+            if (!verified) {
+                this.send(Translations.DISCORD_NOT_A_USER.asString());
+                return;
+            }
 
-            return null;
-        }
+            final PlayerInfo playerInfo = PlayerInfo.fromDiscord(this.getPlugin(), user.getIdLong());
 
-        final PlayerInfo playerInfo = PlayerInfo.fromDiscord(this.getPlugin(), user.getIdLong());
+            if (playerInfo == null) {
+                this.send(Translations.DISCORD_NOT_LINKED.asString());
+                return;
+            }
 
-        if (playerInfo == null) {
-            this.send(Translations.DISCORD_NOT_LINKED.asString());
+            this.playerInfo = playerInfo;
 
-            return null;
-        }
+            action.accept(playerInfo);
+        })
+        .exceptionally(throwable -> {
+            this.getPlugin().getLogger().log(
+                    Level.SEVERE,
+                    "An error occurred while executing Discord command : " + this.getCommandName(),
+                    throwable
+            );
 
-        return this.playerInfo = playerInfo;
+            return null;
+        });
     }
 
     public void deferReply() {
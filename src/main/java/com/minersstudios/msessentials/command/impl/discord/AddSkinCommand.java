@@ -51,12 +51,13 @@ public final class AddSkinCommand extends SlashCommandExecutor {
     protected void onCommand(final @NotNull CommandHandler handler) {
         handler.deferReply();
 
-        final PlayerInfo playerInfo = handler.retrievePlayerInfo();
-
-        if (playerInfo == null) {
-            return;
-        }
+        handler.retrievePlayerInfo(playerInfo -> this.handle(handler, playerInfo));
+    }
 
+    private void handle(
+            final @NotNull CommandHandler handler,
+            final @NotNull PlayerInfo playerInfo
+    ) {
         final SlashCommandInteraction interaction = handler.getInteraction();
         final OptionMapping nameOption = interaction.getOption("name");
 
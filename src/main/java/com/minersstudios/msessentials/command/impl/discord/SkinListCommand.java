@@ -5,7 +5,6 @@ import com.minersstudios.msessentials.command.api.discord.SlashCommand;
 import com.minersstudios.msessentials.command.api.discord.SlashCommandExecutor;
 import com.minersstudios.msessentials.command.api.discord.interaction.CommandHandler;
 import com.minersstudios.msessentials.discord.BotHandler;
-import com.minersstudios.msessentials.player.PlayerInfo;
 import net.dv8tion.jda.api.interactions.commands.build.Commands;
 import org.jetbrains.annotations.NotNull;
 
@@ -22,9 +21,7 @@ public final class SkinListCommand extends SlashCommandExecutor {
     public void onCommand(final @NotNull CommandHandler handler) {
         handler.deferReply();
 
-        final PlayerInfo playerInfo = handler.retrievePlayerInfo();
-
-        if (playerInfo != null) {
+        handler.retrievePlayerInfo(playerInfo -> {
             final StringBuilder skinList = new StringBuilder();
 
             for (final var skin : playerInfo.getPlayerFile().getSkins()) {
@@ -40,6 +37,6 @@ public final class SkinListCommand extends SlashCommandExecutor {
                             .asString(skinList.toString())
                     )
             );
-        }
+        });
     }
 }
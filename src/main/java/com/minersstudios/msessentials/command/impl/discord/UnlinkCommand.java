@@ -6,7 +6,6 @@ import com.minersstudios.msessentials.command.api.discord.SlashCommand;
 import com.minersstudios.msessentials.command.api.discord.SlashCommandExecutor;
 import com.minersstudios.msessentials.command.api.discord.interaction.CommandHandler;
 import com.minersstudios.msessentials.discord.BotHandler;
-import com.minersstudios.msessentials.player.PlayerInfo;
 import net.dv8tion.jda.api.interactions.commands.build.Commands;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
@@ -28,9 +27,7 @@ public final class UnlinkCommand extends SlashCommandExecutor {
     public void onCommand(final @NotNull CommandHandler handler) {
         handler.deferReply();
 
-        final PlayerInfo playerInfo = handler.retrievePlayerInfo();
-
-        if (playerInfo != null) {
+        handler.retrievePlayerInfo(playerInfo -> {
             playerInfo.unlinkDiscord();
             handler.send(
                     BotHandler.craftEmbed(
@@ -51,6 +48,6 @@ public final class UnlinkCommand extends SlashCommandExecutor {
                         .arguments(text(handler.getInteraction().getUser().getName()))
                 );
             }
-        }
+        });
     }
 }
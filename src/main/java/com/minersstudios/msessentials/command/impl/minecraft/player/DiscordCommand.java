@@ -84,8 +84,8 @@ public final class DiscordCommand extends AbstractCommandExecutor<MSEssentials>
 
                     final DiscordManager discordManager = plugin.getCache().getDiscordManager();
 
-                    discordManager.retrieveUser(id)
-                    .ifPresent(user -> {
+                    discordManager.retrieveUserAsync(id)
+                    .thenAccept(optional -> optional.ifPresent(user -> {
                         discordManager.sendEmbeds(
                                 user,
                                 BotHandler.craftEmbed(
@@ -103,7 +103,7 @@ public final class DiscordCommand extends AbstractCommandExecutor<MSEssentials>
                                 COMMAND_DISCORD_UNLINK_MINECRAFT_SUCCESS.asTranslatable()
                                 .arguments(text(user.getName()))
                         );
-                    });
+                    }));
                 }
                 default -> {
                     return false;
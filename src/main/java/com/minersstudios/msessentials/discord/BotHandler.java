@@ -18,6 +18,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Locale;
+import java.util.logging.Level;
 import java.util.regex.Pattern;
 
 import static com.minersstudios.mscore.locale.Translations.*;
@@ -86,6 +87,26 @@ public final class BotHandler {
     }
 
     public void handleMessage(final @NotNull Message message) {
+        this.plugin.getCache().getDiscordManager().isVerifiedAsync(this.user)
+        .thenAccept(verified -> {
+            if (verified) {
+                this.handleVerifiedMessage(message);
+            } else {
+                message.reply(DISCORD_NOT_A_USER.asString()).queue();
+            }
+        })
+        .exceptionally(throwable -> {
+            this.plugin.getLogger().log(
+                    Level.SEVERE,
+                    "An error occurred while handling Discord message from " + this.user.getName(),
+                    throwable
+            );
+
+            return null;
+        });
+    }
+
+    private synchronized void handleVerifiedMessage(final @NotNull Message message) {
         this.message = message;
         this.messageString = this.message.getContentDisplay();
 
@@ -93,12 +114,6 @@ public final class BotHandler {
         final int attachmentSize = attachments.size();
         short code = 0;
 
-        if (!this.plugin.getCache().getDiscordManager().isVerified(this.user)) {
-            this.reply(DISCORD_NOT_A_USER.asString());
-
-            return;
-        }
-
         if (this.isFlooding()) {
             this.reply(DISCORD_MESSAGE_ATTEMPTS_LIMIT_REACHED.asString());
 
@@ -0,0 +1,153 @@
+package com.minersstudios.msessentials.discord;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongFunction;
+
+/**
+ * Cache of the Discord lookups by the id, which keeps the results for the
+ * time-to-live and coalesces the concurrent lookups.
+ * <br>
+ * When a value is not cached or has expired, the first lookup starts the
+ * loader, and all lookups of the same id made until the loader completes
+ * share its future, so only one REST request is made per id. Failed lookups
+ * are not cached. A lookup, which was in flight while its id was invalidated,
+ * completes normally, but its result is not cached.
+ * <br>
+ * All methods are thread-safe and never block.
+ *
+ * @param <V> The type of the cached values
+ */
+final class DiscordLookupCache<V> {
+    private final LongFunction<CompletableFuture<V>> loader;
+    private final long ttl;
+    private final Map<Long, Entry<V>> entries;
+    private final Map<Long, CompletableFuture<V>> loading;
+
+    private static final int PURGE_THRESHOLD = 4096;
+
+    /**
+     * Constructs a new empty lookup cache
+     *
+     * @param loader The loader of the values by the id
+     * @param ttl    The time-to-live of the cached values
+     */
+    DiscordLookupCache(
+            final @NotNull LongFunction<CompletableFuture<V>> loader,
+            final @NotNull Duration ttl
+    ) {
+        this.loader = loader;
+        this.ttl = ttl.toNanos();
+        this.entries = new ConcurrentHashMap<>();
+        this.loading = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * @param id The id
+     * @return The future of the value, which is already completed if the
+     *         value is cached
+     */
+    @NotNull CompletableFuture<V> get(final long id) {
+        final V cached = this.getIfPresent(id);
+
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        final CompletableFuture<V> promise = new CompletableFuture<>();
+        final CompletableFuture<V> existing = this.loading.putIfAbsent(id, promise);
+
+        if (existing != null) {
+            return existing;
+        }
+
+        CompletableFuture<V> future;
+
+        try {
+            future = this.loader.apply(id);
+        } catch (final Throwable e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+
+        future.whenComplete((value, throwable) -> {
+            if (
+                    this.loading.remove(id, promise)
+                    && throwable == null
+                    && value != null
+            ) {
+                this.put(id, value);
+            }
+
+            if (throwable == null) {
+                promise.complete(value);
+            } else {
+                promise.completeExceptionally(throwable);
+            }
+        });
+
+        return promise;
+    }
+
+    /**
+     * @param id The id
+     * @return The cached value, or null if the value is not cached or has
+     *         expired
+     */
+    @Nullable V getIfPresent(final long id) {
+        final Entry<V> entry = this.entries.get(id);
+
+        if (entry == null) {
+            return null;
+        }
+
+        if (entry.expiresAt() - System.nanoTime() <= 0L) {
+            this.entries.remove(id, entry);
+            return null;
+        }
+
+        return entry.value();
+    }
+
+    /**
+     * Removes the cached value of the id, the result of its in-flight lookup
+     * will not be cached
+     *
+     * @param id The id
+     */
+    void invalidate(final long id) {
+        this.entries.remove(id);
+        this.loading.remove(id);
+    }
+
+    /**
+     * Removes all cached values, the results of the in-flight lookups will
+     * not be cached
+     */
+    void clear() {
+        this.entries.clear();
+        this.loading.clear();
+    }
+
+    private void put(
+            final long id,
+            final @NotNull V value
+    ) {
+        final long now = System.nanoTime();
+
+        if (this.entries.size() >= PURGE_THRESHOLD) {
+            this.entries.values().removeIf(entry -> entry.expiresAt() - now <= 0L);
+        }
+
+        this.entries.put(id, new Entry<>(value, now + this.ttl));
+    }
+
+    private record Entry<V>(
+            @NotNull V value,
+            long expiresAt
+    ) {}
+}
@@ -17,19 +17,33 @@ import net.dv8tion.jda.api.JDABuilder;
 import net.dv8tion.jda.api.OnlineStatus;
 import net.dv8tion.jda.api.entities.*;
 import net.dv8tion.jda.api.entities.channel.concrete.TextChannel;
+import net.dv8tion.jda.api.events.guild.member.GuildMemberJoinEvent;
+import net.dv8tion.jda.api.events.guild.member.GuildMemberRemoveEvent;
+import net.dv8tion.jda.api.events.guild.member.GuildMemberRoleAddEvent;
+import net.dv8tion.jda.api.events.guild.member.GuildMemberRoleRemoveEvent;
 import net.dv8tion.jda.api.events.session.ShutdownEvent;
+import net.dv8tion.jda.api.exceptions.ErrorResponseException;
 import net.dv8tion.jda.api.hooks.ListenerAdapter;
 import net.dv8tion.jda.api.managers.Presence;
+import net.dv8tion.jda.api.requests.ErrorResponse;
 import net.dv8tion.jda.api.requests.GatewayIntent;
 import net.dv8tion.jda.api.utils.MemberCachePolicy;
+import org.jetbrains.annotations.Blocking;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.UnknownNullability;
 import org.jetbrains.annotations.UnmodifiableView;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Predicate;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -47,12 +61,27 @@ public final class DiscordManager {
     private final MSEssentials plugin;
     private final Long2ObjectMap<SlashCommandExecutor> slashCommandMap;
     private final List<AbstractDiscordListener> listeners;
+    private final ScheduledExecutorService messageExecutor;
+    private final DiscordMessageQueue globalQueue;
+    private final DiscordMessageQueue localQueue;
+    private final DiscordLookupCache<Optional<User>> userCache;
+    private final DiscordLookupCache<Optional<Member>> memberCache;
     private JDA jda;
     private Guild mainGuild;
     private TextChannel globalChannel;
     private TextChannel localChannel;
     private Role memberRole;
 
+    private static final Duration MESSAGE_WINDOW = Duration.ofMillis(1000L);
+    private static final int MESSAGE_QUEUE_CAPACITY = 512;
+    private static final Duration MESSAGE_QUEUE_CLOSE_TIMEOUT = Duration.ofSeconds(5L);
+
+    /** The time-to-live of the cached users */
+    public static final Duration USER_CACHE_TTL = Duration.ofMinutes(30L);
+
+    /** The time-to-live of the cached members */
+    public static final Duration MEMBER_CACHE_TTL = Duration.ofMinutes(5L);
+
     /**
      * Constructor for the DiscordHandler class
      *
@@ -62,6 +91,19 @@ public final class DiscordManager {
         this.plugin = plugin;
         this.slashCommandMap = new Long2ObjectOpenHashMap<>();
         this.listeners = new ObjectArrayList<>();
+        this.messageExecutor = Executors.newSingleThreadScheduledExecutor(
+                runnable -> {
+                    final Thread thread = new Thread(runnable, "MSEssentials-Discord");
+
+                    thread.setDaemon(true);
+
+                    return thread;
+                }
+        );
+        this.globalQueue = this.createMessageQueue(ChatType.GLOBAL);
+        this.localQueue = this.createMessageQueue(ChatType.LOCAL);
+        this.userCache = new DiscordLookupCache<>(this::loadUser, USER_CACHE_TTL);
+        this.memberCache = new DiscordLookupCache<>(this::loadMember, MEMBER_CACHE_TTL);
     }
 
     /**
@@ -113,6 +155,18 @@ public final class DiscordManager {
         return Optional.ofNullable(this.memberRole);
     }
 
+    /**
+     * @param chatType The chat type
+     * @return The outbound message queue of the channel of the chat type
+     * @see DiscordMessageQueue#getStats()
+     */
+    public @NotNull DiscordMessageQueue getMessageQueue(final @NotNull ChatType chatType) {
+        return switch (chatType) {
+            case GLOBAL -> this.globalQueue;
+            case LOCAL -> this.localQueue;
+        };
+    }
+
     /**
      * @return An unmodifiable view of the slash commands map
      */
@@ -138,15 +192,28 @@ public final class DiscordManager {
                 : Optional.ofNullable(this.jda.getUserById(userId));
     }
 
+    /**
+     * Retrieves the user without blocking. The users are cached for
+     * {@link #USER_CACHE_TTL}, and the concurrent lookups of the same user
+     * share one request.
+     *
+     * @param userId The id of the user to retrieve
+     * @return The future of an Optional containing the user, or an empty
+     *         Optional if not available
+     */
+    public @NotNull CompletableFuture<Optional<User>> retrieveUserAsync(final long userId) {
+        return this.userCache.get(userId);
+    }
+
     /**
      * @param userId The id of the user to retrieve
      * @return An Optional containing the user, or an empty Optional if not
      *         available
+     * @see #retrieveUserAsync(long)
      */
+    @Blocking
     public @NotNull Optional<User> retrieveUser(final long userId) {
-        return this.jda == null
-                ? Optional.empty()
-                : Optional.ofNullable(this.jda.retrieveUserById(userId).complete());
+        return this.retrieveUserAsync(userId).join();
     }
 
     /**
@@ -172,27 +239,51 @@ public final class DiscordManager {
                 : Optional.ofNullable(this.mainGuild.getMemberById(userId));
     }
 
+    /**
+     * Retrieves the member of the main guild without blocking. The members
+     * are cached for {@link #MEMBER_CACHE_TTL} or until their roles change,
+     * and the concurrent lookups of the same member share one request.
+     *
+     * @param userId The id of the user to retrieve the member of
+     * @return The future of an Optional containing the member, or an empty
+     *         Optional if not available
+     */
+    public @NotNull CompletableFuture<Optional<Member>> retrieveMemberAsync(final long userId) {
+        return this.memberCache.get(userId);
+    }
+
+    /**
+     * @param user The user to retrieve the member of
+     * @return The future of an Optional containing the member, or an empty
+     *         Optional if not available
+     * @see #retrieveMemberAsync(long)
+     */
+    public @NotNull CompletableFuture<Optional<Member>> retrieveMemberAsync(final @Nullable User user) {
+        return user == null
+                ? CompletableFuture.completedFuture(Optional.empty())
+                : this.retrieveMemberAsync(user.getIdLong());
+    }
+
     /**
      * @param user The user to retrieve the member of
      * @return An Optional containing the member, or an empty Optional if not
      *         available
+     * @see #retrieveMemberAsync(User)
      */
+    @Blocking
     public @NotNull Optional<Member> retrieveMember(final @Nullable User user) {
-        return this.mainGuild == null
-                || user == null
-                ? Optional.empty()
-                : Optional.ofNullable(this.mainGuild.retrieveMember(user).complete());
+        return this.retrieveMemberAsync(user).join();
     }
 
     /**
      * @param userId The id of the user to retrieve the member of
      * @return An Optional containing the member, or an empty Optional if not
      *         available
+     * @see #retrieveMemberAsync(long)
      */
+    @Blocking
     public @NotNull Optional<Member> retrieveMember(final long userId) {
-        return this.mainGuild == null
-                ? Optional.empty()
-                : Optional.ofNullable(this.mainGuild.retrieveMemberById(userId).complete());
+        return this.retrieveMemberAsync(userId).join();
     }
 
     /**
@@ -214,81 +305,140 @@ public final class DiscordManager {
                 && this.jda.getStatus() == JDA.Status.CONNECTED;
     }
 
+    /**
+     * @param userId The id of the user to check
+     * @return The future, which completes with true if the user is a member
+     *         of the main guild, or with false if not, or if the lookup
+     *         failed
+     * @see #retrieveMemberAsync(long)
+     */
+    public @NotNull CompletableFuture<Boolean> isMemberAsync(final long userId) {
+        return this.checkMember(userId, member -> true);
+    }
+
     /**
      * @param user The user to check
      * @return True if the user is a member of the main guild, false otherwise
-     * @see #retrieveMember(User)
+     * @see #isMemberAsync(long)
      */
+    @Blocking
     public boolean isMember(final @Nullable User user) {
-        return this.retrieveMember(user).isPresent();
+        return user != null
+                && this.isMember(user.getIdLong());
     }
 
     /**
      * @param userId The id of the user to check
      * @return True if the user is a member of the main guild, false otherwise
-     * @see #retrieveMember(long)
+     * @see #isMemberAsync(long)
      */
+    @Blocking
     public boolean isMember(final long userId) {
-        return this.retrieveMember(userId).isPresent();
+        return this.isMemberAsync(userId).join();
+    }
+
+    /**
+     * @param userId The id of the user to check
+     * @return The future, which completes with true if the user is a member
+     *         of the main guild and has the member role, or with false if
+     *         not, or if the lookup failed
+     * @see #retrieveMemberAsync(long)
+     * @see #getMemberRole()
+     */
+    public @NotNull CompletableFuture<Boolean> isVerifiedAsync(final long userId) {
+        final Role memberRole = this.memberRole;
+
+        return memberRole == null
+                ? CompletableFuture.completedFuture(false)
+                : this.checkMember(userId, member -> member.getRoles().contains(memberRole));
+    }
+
+    /**
+     * @param user The user to check
+     * @return The future, which completes with true if the user is a member
+     *         of the main guild and has the member role, or with false if
+     *         not, or if the lookup failed
+     * @see #isVerifiedAsync(long)
+     */
+    public @NotNull CompletableFuture<Boolean> isVerifiedAsync(final @Nullable User user) {
+        return user == null
+                ? CompletableFuture.completedFuture(false)
+                : this.isVerifiedAsync(user.getIdLong());
+    }
+
+    /**
+     * Checks whether the user is verified using only the cached members, so
+     * it never makes a request. If the member is not cached, the lookup is
+     * started in the background, and false is returned.
+     *
+     * @param user The user to check
+     * @return True if the cached member of the user has the member role
+     * @see #isVerifiedAsync(User)
+     */
+    public boolean isVerifiedCached(final @Nullable User user) {
+        if (
+                user == null
+                || this.memberRole == null
+        ) {
+            return false;
+        }
+
+        final long userId = user.getIdLong();
+        final Optional<Member> cached = this.memberCache.getIfPresent(userId);
+        final Member member =
+                cached != null
+                ? cached.orElse(null)
+                : this.getMember(userId).orElse(null);
+
+        if (
+                cached == null
+                && member == null
+        ) {
+            this.retrieveMemberAsync(userId);
+            return false;
+        }
+
+        return member != null
+                && member.getRoles().contains(this.memberRole);
     }
 
     /**
      * @param user The user to check
      * @return True if the user is a member of the main guild and has the member
      *         role, false otherwise
-     * @see #retrieveMember(User)
-     * @see #getMemberRole()
+     * @see #isVerifiedAsync(User)
      */
+    @Blocking
     public boolean isVerified(final @Nullable User user) {
-        return user != null
-                && this.memberRole != null
-                && this.retrieveMember(user)
-                .map(member -> member.getRoles().contains(this.memberRole))
-                .orElse(false);
+        return this.isVerifiedAsync(user).join();
     }
 
     /**
      * @param userId The id of the user to check
      * @return True if the user is a member of the main guild and has the member
      *         role, false otherwise
-     * @see #retrieveMember(long)
-     * @see #getMemberRole()
+     * @see #isVerifiedAsync(long)
      */
+    @Blocking
     public boolean isVerified(final long userId) {
-        return this.memberRole != null
-                && this.retrieveMember(userId)
-                .map(member -> member.getRoles().contains(this.memberRole))
-                .orElse(false);
+        return this.isVerifiedAsync(userId).join();
     }
 
     /**
-     * Sends a message to the specified chat type
+     * Queues a message to be sent to the specified chat type. The messages
+     * queued within a short window are sent as one Discord message.
      *
      * @param chatType The chat type to send the message to
      * @param message  The message to send
      * @see ChatType
-     * @see #getGlobalChannel()
-     * @see #getLocalChannel()
+     * @see #getMessageQueue(ChatType)
      */
     public void sendMessage(
             final @NotNull ChatType chatType,
             final @NotNull CharSequence message
     ) {
-        if (!this.isLoaded()) {
-            return;
-        }
-
-        switch (chatType) {
-            case GLOBAL -> {
-                if (this.globalChannel != null) {
-                    this.globalChannel.sendMessage(message).queue();
-                }
-            }
-            case LOCAL -> {
-                if (this.localChannel != null) {
-                    this.localChannel.sendMessage(message).queue();
-                }
-            }
+        if (this.isLoaded()) {
+            this.getMessageQueue(chatType).offer(message);
         }
     }
 
@@ -314,27 +464,27 @@ public final class DiscordManager {
      *
      * @param userId  The id of the user to send the message to
      * @param message The message to send
-     * @see #retrieveUser(long)
+     * @see #retrieveUserAsync(long)
      * @see #sendMessage(User, CharSequence)
      */
     public void sendMessage(
             final long userId,
             final @NotNull CharSequence message
     ) {
-        this.retrieveUser(userId).ifPresent(
-                user -> this.sendMessage(user, message)
+        this.retrieveUserAsync(userId).thenAccept(
+                optional -> optional.ifPresent(user -> this.sendMessage(user, message))
         );
     }
 
     /**
-     * Sends an embeds to the specified chat type
+     * Queues an embeds to be sent to the specified chat type. The embeds
+     * queued within a short window are sent as one Discord message.
      *
      * @param chatType The chat type to send the message to
      * @param first    The first embed to send
      * @param rest     The rest of the embeds to send
      * @see ChatType
-     * @see #getGlobalChannel()
-     * @see #getLocalChannel()
+     * @see #getMessageQueue(ChatType)
      */
     public void sendEmbeds(
             final @NotNull ChatType chatType,
@@ -345,17 +495,12 @@ public final class DiscordManager {
             return;
         }
 
-        switch (chatType) {
-            case GLOBAL -> {
-                if (this.globalChannel != null) {
-                    this.globalChannel.sendMessageEmbeds(first, rest).queue();
-                }
-            }
-            case LOCAL -> {
-                if (this.localChannel != null) {
-                    this.localChannel.sendMessageEmbeds(first, rest).queue();
-                }
-            }
+        final DiscordMessageQueue queue = this.getMessageQueue(chatType);
+
+        queue.offer(first);
+
+        for (final var embed : rest) {
+            queue.offer(embed);
         }
     }
 
@@ -384,7 +529,7 @@ public final class DiscordManager {
      * @param userId The id of the user to send the message to
      * @param first  The first embed to send
      * @param rest   The rest of the embeds to send
-     * @see #retrieveUser(long)
+     * @see #retrieveUserAsync(long)
      * @see #sendEmbeds(User, MessageEmbed, MessageEmbed...)
      */
     public void sendEmbeds(
@@ -392,8 +537,8 @@ public final class DiscordManager {
             final @NotNull MessageEmbed first,
             final MessageEmbed @NotNull ... rest
     ) {
-        this.retrieveUser(userId).ifPresent(
-                user -> this.sendEmbeds(user, first, rest)
+        this.retrieveUserAsync(userId).thenAccept(
+                optional -> optional.ifPresent(user -> this.sendEmbeds(user, first, rest))
         );
     }
 
@@ -534,9 +679,13 @@ public final class DiscordManager {
     }
 
     /**
-     * Unloads the Discord bot
+     * Sends the queued messages and unloads the Discord bot
      */
     public void unload() {
+        this.globalQueue.close(MESSAGE_QUEUE_CLOSE_TIMEOUT);
+        this.localQueue.close(MESSAGE_QUEUE_CLOSE_TIMEOUT);
+        this.messageExecutor.shutdown();
+
         if (this.isLoaded()) {
             this.jda.shutdown();
         }
@@ -598,6 +747,110 @@ public final class DiscordManager {
         });
     }
 
+    private @NotNull CompletableFuture<Boolean> checkMember(
+            final long userId,
+            final @NotNull Predicate<Member> predicate
+    ) {
+        return this.retrieveMemberAsync(userId)
+                .thenApply(member -> member.map(predicate::test).orElse(false))
+                .exceptionally(throwable -> {
+                    this.plugin.getLogger().log(
+                            Level.WARNING,
+                            "Failed to retrieve Discord member : " + userId,
+                            throwable
+                    );
+
+                    return false;
+                });
+    }
+
+    private @NotNull CompletableFuture<Optional<User>> loadUser(final long userId) {
+        final JDA jda = this.jda;
+
+        return jda == null
+                ? CompletableFuture.completedFuture(Optional.empty())
+                : jda.retrieveUserById(userId).submit().handle(
+                        (user, throwable) -> orEmptyIfUnknown(user, throwable, ErrorResponse.UNKNOWN_USER)
+                );
+    }
+
+    private @NotNull CompletableFuture<Optional<Member>> loadMember(final long userId) {
+        final Guild mainGuild = this.mainGuild;
+
+        return mainGuild == null
+                ? CompletableFuture.completedFuture(Optional.empty())
+                : mainGuild.retrieveMemberById(userId).submit().handle(
+                        (member, throwable) -> orEmptyIfUnknown(member, throwable, ErrorResponse.UNKNOWN_MEMBER, ErrorResponse.UNKNOWN_USER)
+                );
+    }
+
+    private static <T> @NotNull Optional<T> orEmptyIfUnknown(
+            final @Nullable T value,
+            final @Nullable Throwable throwable,
+            final ErrorResponse @NotNull ... unknownResponses
+    ) throws CompletionException {
+        if (throwable == null) {
+            return Optional.ofNullable(value);
+        }
+
+        final Throwable cause =
+                throwable instanceof CompletionException
+                && throwable.getCause() != null
+                ? throwable.getCause()
+                : throwable;
+
+        if (cause instanceof final ErrorResponseException exception) {
+            for (final var response : unknownResponses) {
+                if (exception.getErrorResponse() == response) {
+                    return Optional.empty();
+                }
+            }
+        }
+
+        throw new CompletionException(cause);
+    }
+
+    private @NotNull DiscordMessageQueue createMessageQueue(final @NotNull ChatType chatType) {
+        return new DiscordMessageQueue(
+                chatType.name().toLowerCase(Locale.ROOT),
+                this.plugin.getLogger(),
+                new DiscordMessageQueue.Sender() {
+
+                    @Override
+                    public @NotNull CompletableFuture<?> sendText(final @NotNull String content) {
+                        final TextChannel channel = DiscordManager.this.getChannel(chatType);
+
+                        return channel == null
+                                ? CompletableFuture.completedFuture(null)
+                                : channel.sendMessage(content).submit();
+                    }
+
+                    @Override
+                    public @NotNull CompletableFuture<?> sendEmbeds(final @NotNull List<MessageEmbed> embeds) {
+                        final TextChannel channel = DiscordManager.this.getChannel(chatType);
+
+                        return channel == null
+                                ? CompletableFuture.completedFuture(null)
+                                : channel.sendMessageEmbeds(embeds).submit();
+                    }
+                },
+                this.messageExecutor,
+                MESSAGE_WINDOW,
+                MESSAGE_QUEUE_CAPACITY
+        );
+    }
+
+    private @Nullable TextChannel getChannel(final @NotNull ChatType chatType) {
+        if (!this.isLoaded()) {
+            return null;
+        }
+
+        return switch (chatType) {
+            case GLOBAL -> this.globalChannel;
+            case LOCAL -> this.localChannel;
+        };
+    }
+
     private @Nullable JDA buildJda(final @Nullable String botToken) throws InterruptedException, IllegalStateException {
         return ChatUtils.isBlank(botToken)
                 ? null
@@ -609,8 +862,30 @@ public final class DiscordManager {
                 )
                 .addEventListeners(new ListenerAdapter() {
 
+                    @Override
+                    public void onGuildMemberJoin(final @NotNull GuildMemberJoinEvent event) {
+                        DiscordManager.this.memberCache.invalidate(event.getUser().getIdLong());
+                    }
+
+                    @Override
+                    public void onGuildMemberRemove(final @NotNull GuildMemberRemoveEvent event) {
+                        DiscordManager.this.memberCache.invalidate(event.getUser().getIdLong());
+                    }
+
+                    @Override
+                    public void onGuildMemberRoleAdd(final @NotNull GuildMemberRoleAddEvent event) {
+                        DiscordManager.this.memberCache.invalidate(event.getUser().getIdLong());
+                    }
+
+                    @Override
+                    public void onGuildMemberRoleRemove(final @NotNull GuildMemberRoleRemoveEvent event) {
+                        DiscordManager.this.memberCache.invalidate(event.getUser().getIdLong());
+                    }
+
                     @Override
                     public void onShutdown(final @NotNull ShutdownEvent event) {
+                        DiscordManager.this.userCache.clear();
+                        DiscordManager.this.memberCache.clear();
                         DiscordManager.this.slashCommandMap.clear();
                         DiscordManager.this.listeners.clear();
                         DiscordManager.this.jda = null;
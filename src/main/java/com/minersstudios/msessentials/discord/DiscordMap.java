@@ -4,6 +4,7 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.reflect.TypeToken;
 import com.minersstudios.mscore.plugin.MSPlugin;
+import com.minersstudios.msessentials.storage.WriteBehindStore;
 import com.minersstudios.msessentials.player.PlayerInfo;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.Contract;
@@ -12,9 +13,7 @@ import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.UnmodifiableView;
 
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
 import java.lang.reflect.Type;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
@@ -36,6 +35,7 @@ import java.util.logging.Level;
  */
 public final class DiscordMap {
     private final MSPlugin<?> plugin;
+    private final WriteBehindStore store;
     private final File file;
     private final Map<Long, Params> map;
     private final Map<Short, PlayerInfo> codeMap;
@@ -49,9 +49,16 @@ public final class DiscordMap {
     /**
      * Discord linking a map with discord user id and its player's
      * {@link Params}. Loads mutes from the file.
+     *
+     * @param plugin The plugin that owns this map
+     * @param store  The store to save the links with
      */
-    public DiscordMap(final @NotNull MSPlugin<?> plugin) {
+    public DiscordMap(
+            final @NotNull MSPlugin<?> plugin,
+            final @NotNull WriteBehindStore store
+    ) {
         this.plugin = plugin;
+        this.store = store;
         this.file = new File(plugin.getPluginFolder(), "discord_links.json");
         this.map = new ConcurrentHashMap<>();
         this.codeMap = new ConcurrentHashMap<>();
@@ -238,6 +245,7 @@ public final class DiscordMap {
      * Reloads "discord_links.json" file
      */
     public void reloadLinks() {
+        this.store.flush();
         this.map.clear();
 
         if (!this.file.exists()) {
@@ -305,18 +313,13 @@ public final class DiscordMap {
     }
 
     /**
-     * Saves the links map to "discord_links.json" file
+     * Schedules saving of the links map to the "discord_links.json" file
      */
     private void saveFile() {
-        try (final var writer = new OutputStreamWriter(new FileOutputStream(this.file), StandardCharsets.UTF_8)) {
-            GSON.toJson(this.map, writer);
-        } catch (final IOException e) {
-            this.plugin.getLogger().log(
-                    Level.SEVERE,
-                    "Failed to save \"discord_links.json\" file",
-                    e
-            );
-        }
+        this.store.write(
+                this.file.toPath(),
+                () -> GSON.toJson(this.map)
+        );
     }
 
     /**
@@ -0,0 +1,478 @@
+package com.minersstudios.msessentials.discord;
+
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.MessageEmbed;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Outbound message queue of a Discord channel, which coalesces the messages
+ * into as few Discord messages as possible.
+ * <br>
+ * The offered texts and embeds are not sent immediately. The first offer
+ * schedules a flush after the {@link #getWindow() window}, and the flush sends
+ * all consecutive queued texts joined by the new line as one message of at
+ * most {@link Message#MAX_CONTENT_LENGTH} characters, or up to
+ * {@link Message#MAX_EMBED_COUNT} consecutive embeds as one message. Only one
+ * message is in flight at a time, the next flush is scheduled after the
+ * previous message has been sent, so when Discord rate limits the channel,
+ * the messages accumulate in the queue and are sent in larger batches instead
+ * of piling up as separate requests.
+ * <br>
+ * The queue is bounded by its {@link #getCapacity() capacity}. When it is
+ * full, the oldest queued entry is dropped to make room for the new one.
+ * <br>
+ * All methods are thread-safe. The messages are sent by the {@link Sender},
+ * which allows the queue to be used without a JDA channel.
+ */
+public final class DiscordMessageQueue {
+    private final String name;
+    private final Logger logger;
+    private final Sender sender;
+    private final ScheduledExecutorService executor;
+    private final long window;
+    private final int capacity;
+    private final Deque<Entry> entries;
+    private final LongAdder offered;
+    private final LongAdder sent;
+    private final LongAdder messages;
+    private final LongAdder dropped;
+    private final AtomicLong totalLatency;
+    private final AtomicLong maxLatency;
+    private boolean flushScheduled;
+    private boolean overloaded;
+    private boolean closed;
+
+    /**
+     * Constructs a new empty message queue
+     *
+     * @param name     The name of the queue, used in the log messages
+     * @param logger   The logger to log the send errors and the overloads to
+     * @param sender   The sender of the messages
+     * @param executor The executor to schedule the flushes on
+     * @param window   The time to wait for more messages before sending them
+     * @param capacity The maximum number of the queued entries
+     * @throws IllegalArgumentException If the window is negative or the
+     *                                  capacity is not positive
+     */
+    public DiscordMessageQueue(
+            final @NotNull String name,
+            final @NotNull Logger logger,
+            final @NotNull Sender sender,
+            final @NotNull ScheduledExecutorService executor,
+            final @NotNull Duration window,
+            final int capacity
+    ) throws IllegalArgumentException {
+        if (window.isNegative()) {
+            throw new IllegalArgumentException("Window must not be negative");
+        }
+
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+
+        this.name = name;
+        this.logger = logger;
+        this.sender = sender;
+        this.executor = executor;
+        this.window = window.toMillis();
+        this.capacity = capacity;
+        this.entries = new ArrayDeque<>();
+        this.offered = new LongAdder();
+        this.sent = new LongAdder();
+        this.messages = new LongAdder();
+        this.dropped = new LongAdder();
+        this.totalLatency = new AtomicLong();
+        this.maxLatency = new AtomicLong();
+    }
+
+    /**
+     * @return The name of the queue
+     */
+    public @NotNull String getName() {
+        return this.name;
+    }
+
+    /**
+     * @return The time to wait for more messages before sending them
+     */
+    public @NotNull Duration getWindow() {
+        return Duration.ofMillis(this.window);
+    }
+
+    /**
+     * @return The maximum number of the queued entries
+     */
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    /**
+     * @return The statistics of the queue
+     */
+    public @NotNull Stats getStats() {
+        final int depth;
+
+        synchronized (this) {
+            depth = this.entries.size();
+        }
+
+        final long sent = this.sent.sum();
+
+        return new Stats(
+                depth,
+                this.offered.sum(),
+                sent,
+                this.messages.sum(),
+                this.dropped.sum(),
+                sent == 0 ? 0.0d : (double) TimeUnit.NANOSECONDS.toMillis(this.totalLatency.get()) / sent,
+                TimeUnit.NANOSECONDS.toMillis(this.maxLatency.get())
+        );
+    }
+
+    /**
+     * Queues the text to be sent. The text longer than
+     * {@link Message#MAX_CONTENT_LENGTH} is split into several entries.
+     *
+     * @param text The text to send
+     * @return False if the queue is closed
+     */
+    public boolean offer(final @NotNull CharSequence text) {
+        final String string = text.toString();
+
+        if (string.length() <= Message.MAX_CONTENT_LENGTH) {
+            return this.enqueue(new Entry(string, null, System.nanoTime()));
+        }
+
+        final long time = System.nanoTime();
+        int start = 0;
+
+        while (start < string.length()) {
+            int end = Math.min(start + Message.MAX_CONTENT_LENGTH, string.length());
+
+            if (end < string.length()) {
+                final int newLine = string.lastIndexOf('\n', end - 1);
+
+                if (newLine > start) {
+                    end = newLine;
+                }
+            }
+
+            if (!this.enqueue(new Entry(string.substring(start, end), null, time))) {
+                return false;
+            }
+
+            start = end < string.length() && string.charAt(end) == '\n' ? end + 1 : end;
+        }
+
+        return true;
+    }
+
+    /**
+     * Queues the embed to be sent
+     *
+     * @param embed The embed to send
+     * @return False if the queue is closed
+     */
+    public boolean offer(final @NotNull MessageEmbed embed) {
+        return this.enqueue(new Entry(null, embed, System.nanoTime()));
+    }
+
+    /**
+     * Closes the queue and sends all queued entries on the calling thread,
+     * waiting for each message to be sent. The entries, which are not sent
+     * within the timeout, are dropped.
+     *
+     * @param timeout The maximum time to wait for the queued entries to be
+     *                sent
+     */
+    public void close(final @NotNull Duration timeout) {
+        final long deadline = System.nanoTime() + timeout.toNanos();
+
+        synchronized (this) {
+            if (this.closed) {
+                return;
+            }
+
+            this.closed = true;
+        }
+
+        while (true) {
+            final List<Entry> batch;
+
+            synchronized (this) {
+                batch = this.takeBatch();
+            }
+
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            final long remaining = deadline - System.nanoTime();
+
+            try {
+                this.send(batch).get(Math.max(remaining, 0L), TimeUnit.NANOSECONDS);
+                this.recordSent(batch);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                this.dropRemaining(batch);
+                return;
+            } catch (final Exception e) {
+                this.logger.log(Level.WARNING, "Failed to send the queued Discord messages (" + this.name + ")", e);
+                this.dropRemaining(batch);
+                return;
+            }
+        }
+    }
+
+    private synchronized boolean enqueue(final @NotNull Entry entry) {
+        if (this.closed) {
+            return false;
+        }
+
+        if (this.entries.size() >= this.capacity) {
+            this.entries.pollFirst();
+            this.dropped.increment();
+
+            if (!this.overloaded) {
+                this.overloaded = true;
+
+                this.logger.warning(
+                        "Discord message queue (" + this.name + ") is full, the oldest messages are dropped"
+                );
+            }
+        }
+
+        this.entries.addLast(entry);
+        this.offered.increment();
+
+        if (!this.flushScheduled) {
+            this.scheduleFlush();
+        }
+
+        return true;
+    }
+
+    private void flush() {
+        final List<Entry> batch;
+
+        synchronized (this) {
+            if (this.closed) {
+                this.flushScheduled = false;
+                return;
+            }
+
+            batch = this.takeBatch();
+
+            if (batch.isEmpty()) {
+                this.flushScheduled = false;
+                this.overloaded = false;
+                return;
+            }
+        }
+
+        CompletableFuture<?> future;
+
+        try {
+            future = this.send(batch);
+        } catch (final Throwable e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+
+        future.whenComplete((result, throwable) -> {
+            if (throwable == null) {
+                this.recordSent(batch);
+            } else {
+                this.logger.log(Level.WARNING, "Failed to send the Discord message (" + this.name + ")", throwable);
+                this.drop(batch.size());
+            }
+
+            synchronized (this) {
+                if (
+                        this.closed
+                        || this.entries.isEmpty()
+                ) {
+                    this.flushScheduled = false;
+                    this.overloaded = false;
+                } else {
+                    this.scheduleFlush();
+                }
+            }
+        });
+    }
+
+    private void scheduleFlush() {
+        try {
+            this.executor.schedule(this::flush, this.window, TimeUnit.MILLISECONDS);
+            this.flushScheduled = true;
+        } catch (final RejectedExecutionException e) {
+            this.flushScheduled = false;
+        }
+    }
+
+    private @NotNull List<Entry> takeBatch() {
+        final Entry first = this.entries.pollFirst();
+
+        if (first == null) {
+            return List.of();
+        }
+
+        final List<Entry> batch = new ObjectArrayList<>();
+
+        batch.add(first);
+
+        if (first.embed() != null) {
+            int length = first.embed().getLength();
+
+            while (batch.size() < Message.MAX_EMBED_COUNT) {
+                final Entry next = this.entries.peekFirst();
+
+                if (
+                        next == null
+                        || next.embed() == null
+                        || length + next.embed().getLength() > MessageEmbed.EMBED_MAX_LENGTH_BOT
+                ) {
+                    break;
+                }
+
+                length += next.embed().getLength();
+
+                batch.add(this.entries.pollFirst());
+            }
+        } else {
+            int length = first.text().length();
+
+            while (true) {
+                final Entry next = this.entries.peekFirst();
+
+                if (
+                        next == null
+                        || next.text() == null
+                        || length + 1 + next.text().length() > Message.MAX_CONTENT_LENGTH
+                ) {
+                    break;
+                }
+
+                length += 1 + next.text().length();
+
+                batch.add(this.entries.pollFirst());
+            }
+        }
+
+        return batch;
+    }
+
+    private @NotNull CompletableFuture<?> send(final @NotNull List<Entry> batch) {
+        if (batch.get(0).embed() != null) {
+            final List<MessageEmbed> embeds = new ObjectArrayList<>(batch.size());
+
+            for (final var entry : batch) {
+                embeds.add(entry.embed());
+            }
+
+            return this.sender.sendEmbeds(embeds);
+        }
+
+        final StringBuilder builder = new StringBuilder();
+
+        for (final var entry : batch) {
+            if (!builder.isEmpty()) {
+                builder.append('\n');
+            }
+
+            builder.append(entry.text());
+        }
+
+        return this.sender.sendText(builder.toString());
+    }
+
+    private void recordSent(final @NotNull List<Entry> batch) {
+        final long now = System.nanoTime();
+
+        for (final var entry : batch) {
+            final long latency = now - entry.time();
+
+            this.totalLatency.addAndGet(latency);
+            this.maxLatency.accumulateAndGet(latency, Math::max);
+        }
+
+        this.sent.add(batch.size());
+        this.messages.increment();
+    }
+
+    private void drop(final int count) {
+        this.dropped.add(count);
+    }
+
+    private synchronized void dropRemaining(final @NotNull List<Entry> batch) {
+        this.drop(batch.size() + this.entries.size());
+        this.entries.clear();
+    }
+
+    /**
+     * The sender of the coalesced messages to the channel
+     */
+    public interface Sender {
+
+        /**
+         * Sends the text message to the channel
+         *
+         * @param content The content of the message, at most
+         *                {@link Message#MAX_CONTENT_LENGTH} characters long
+         * @return The future, which completes when the message is sent
+         */
+        @NotNull CompletableFuture<?> sendText(final @NotNull String content);
+
+        /**
+         * Sends the embeds to the channel as one message
+         *
+         * @param embeds The embeds, at most {@link Message#MAX_EMBED_COUNT}
+         * @return The future, which completes when the message is sent
+         */
+        @NotNull CompletableFuture<?> sendEmbeds(final @NotNull List<MessageEmbed> embeds);
+    }
+
+    /**
+     * The statistics of the message queue
+     *
+     * @param depth          The number of the currently queued entries
+     * @param offered        The number of the offered entries
+     * @param sent           The number of the sent entries
+     * @param messages       The number of the sent Discord messages
+     * @param dropped        The number of the entries dropped because of the
+     *                       overload, the send errors or the close timeout
+     * @param averageLatency The average time in milliseconds between offering
+     *                       and sending of an entry
+     * @param maxLatency     The maximum time in milliseconds between offering
+     *                       and sending of an entry
+     */
+    public record Stats(
+            int depth,
+            long offered,
+            long sent,
+            long messages,
+            long dropped,
+            double averageLatency,
+            long maxLatency
+    ) {}
+
+    private record Entry(
+            @Nullable String text,
+            @Nullable MessageEmbed embed,
+            long time
+    ) {}
+}
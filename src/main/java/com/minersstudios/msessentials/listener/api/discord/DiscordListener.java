@@ -1,5 +1,7 @@
 package com.minersstudios.msessentials.listener.api.discord;
 
+import com.minersstudios.mscore.annotation.Indexed;
+
 import java.lang.annotation.*;
 
 /**
@@ -10,6 +12,7 @@ import java.lang.annotation.*;
  * @see AbstractDiscordListener
  */
 @Documented
+@Indexed
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.TYPE)
 public @interface DiscordListener {}
@@ -1,19 +1,20 @@
 package com.minersstudios.msessentials.player;
 
 import com.minersstudios.mscore.utility.ChatUtils;
+import com.minersstudios.mscore.utility.SharedConstants;
 import com.minersstudios.msessentials.MSEssentials;
 import com.minersstudios.msessentials.player.skin.Skin;
+import com.minersstudios.msessentials.player.storage.PlayerStorage;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import org.bukkit.Bukkit;
 import org.bukkit.GameMode;
 import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.jetbrains.annotations.*;
 
-import java.io.File;
-import java.io.IOException;
 import java.time.Instant;
 import java.util.*;
 import java.util.logging.Level;
@@ -22,15 +23,16 @@ import static com.minersstudios.mscore.locale.Translations.*;
 
 /**
  * Player file with player data, settings, etc.
- * All files stored in the "config/minersstudios/MSEssentials/players" folder.
- * File name is player {@link UUID}.
+ * All files stored in the {@link PlayerStorage player storage} by the key,
+ * which is the player {@link UUID}.
  *
  * @see PlayerInfo
+ * @see PlayerStorage
  */
 @SuppressWarnings("UnusedReturnValue")
 public final class PlayerFile {
     private final @NotNull MSEssentials plugin;
-    private final @NotNull File file;
+    private final @NotNull String key;
     private final @NotNull YamlConfiguration config;
 
     private @NotNull PlayerName playerName;
@@ -49,11 +51,11 @@ public final class PlayerFile {
 
     private PlayerFile(
             final @NotNull MSEssentials plugin,
-            final @NotNull File file,
+            final @NotNull String key,
             final @NotNull YamlConfiguration config
     ) {
         this.plugin = plugin;
-        this.file = file;
+        this.key = key;
         this.config = config;
 
         this.playerName = PlayerName.create(
@@ -111,23 +113,37 @@ public final class PlayerFile {
             final @NotNull UUID uniqueId,
             final @Nullable String nickname
     ) {
-        final File dataFile = new File(
-                plugin.getPluginFolder(),
-                "players/" + ("$Console".equals(nickname) ? "console" : uniqueId) + ".yml"
-        );
-        return new PlayerFile(
-                plugin,
-                dataFile,
-                YamlConfiguration.loadConfiguration(dataFile)
-        );
+        final String key =
+                SharedConstants.CONSOLE_NICKNAME.equals(nickname)
+                ? PlayerStorage.CONSOLE_KEY
+                : uniqueId.toString();
+        final String content = plugin.getCache().getPlayerStorage().read(key);
+        final YamlConfiguration config = new YamlConfiguration();
+
+        if (content != null) {
+            try {
+                config.loadFromString(content);
+            } catch (final InvalidConfigurationException e) {
+                plugin.getLogger().log(
+                        Level.SEVERE,
+                        "Failed to load player file : " + key,
+                        e
+                );
+            }
+        }
+
+        return new PlayerFile(plugin, key, config);
     }
 
     public @NotNull MSEssentials getPlugin() {
         return this.plugin;
     }
 
-    public @NotNull File getFile() {
-        return this.file;
+    /**
+     * @return The key of this player file in the player storage
+     */
+    public @NotNull String getKey() {
+        return this.key;
     }
 
     public @NotNull YamlConfiguration getConfig() {
@@ -372,20 +388,27 @@ public final class PlayerFile {
         section.set("pitch", isNull ? null : location.getPitch());
     }
 
+    /**
+     * @return True if the player file exists in the player storage
+     */
     public boolean exists() {
-        return this.file.exists();
+        return this.plugin.getCache().getPlayerStorage().contains(this.key);
     }
 
+    /**
+     * Saves the player file to the player storage.
+     * <br>
+     * The configuration is serialized on the calling thread, and the written
+     * content is written to the disk on the I/O thread of the write-behind
+     * store. Several saves of the same player file within the store interval
+     * are coalesced into a single write.
+     */
     public void save() {
-        try {
-            this.config.save(this.file);
-        } catch (final IOException e) {
-            this.plugin.getLogger().log(
-                    Level.SEVERE,
-                    "Failed to save player file : " + this.file.getName(),
-                    e
-            );
-        }
+        this.plugin.getCache().getPlayerStorage().write(
+                this.key,
+                this.playerName.getNickname(),
+                this.config.saveToString()
+        );
     }
 
     public void serializeSkinsSection() {
@@ -75,7 +75,7 @@ public final class PlayerInfo {
     private final PlayerProfile profile;
     private final OfflinePlayer offlinePlayer;
     private final CraftServer server;
-    private PlayerFile playerFile;
+    private volatile PlayerFile playerFile;
     private CompletableFuture<PlayerResourcePackStatusEvent.Status> resourcePackStatus;
     private Component defaultName;
     private Component goldenName;
@@ -84,7 +84,8 @@ public final class PlayerInfo {
     private BukkitTask joinTask;
 
     /**
-     * Player info constructor
+     * Player info constructor. The player file and the names are loaded
+     * lazily, on the first access to them.
      *
      * @param uuid     Player UUID
      * @param nickname Player nickname
@@ -98,11 +99,8 @@ public final class PlayerInfo {
         this.uuid = uuid;
         this.nickname = nickname;
         this.profile = PlayerUtils.craftProfile(uuid, nickname);
-        this.playerFile = PlayerFile.loadConfig(plugin, uuid, nickname);
         this.offlinePlayer = PlayerUtils.getOfflinePlayer(uuid, nickname);
         this.server = (CraftServer) Bukkit.getServer();
-
-        this.initNames();
     }
 
     /**
@@ -191,7 +189,10 @@ public final class PlayerInfo {
     /**
      * Gets player info from {@link EssentialsCache#getPlayerInfoMap()} by
      * {@link OfflinePlayer} object, which was retrieved by the specified player
-     * nickname with {@link Server#getOfflinePlayer(String)}.
+     * nickname. The player UUID is looked up in the nickname index of the
+     * {@link EssentialsCache#getPlayerStorage() player storage} first, and
+     * only if it is not indexed, the offline player is retrieved with
+     * {@link Server#getOfflinePlayer(String)}.
      * <br>
      * If the player info is not cached, new player info is created with the
      * player file and settings if the file exists, or new player information is
@@ -206,12 +207,24 @@ public final class PlayerInfo {
             final @NotNull MSEssentials plugin,
             final @NotNull String nickname
     ) {
-        return nickname.isBlank()
-                ? null
-                : fromOfflinePlayer(
-                        plugin,
-                        plugin.getServer().getOfflinePlayer(nickname)
-                );
+        if (nickname.isBlank()) {
+            return null;
+        }
+
+        final String key = plugin.getCache().getPlayerStorage().getKey(nickname);
+
+        if (key != null) {
+            try {
+                return fromUUID(plugin, UUID.fromString(key));
+            } catch (final IllegalArgumentException ignored) {
+                // The key is not a UUID, e.g. the console key
+            }
+        }
+
+        return fromOfflinePlayer(
+                plugin,
+                plugin.getServer().getOfflinePlayer(nickname)
+        );
     }
 
     /**
@@ -331,10 +344,30 @@ public final class PlayerInfo {
     }
 
     /**
-     * @return Player's {@link PlayerFile}
+     * @return Player's {@link PlayerFile}, which is loaded on the first call
      */
     public @NotNull PlayerFile getPlayerFile() {
-        return this.playerFile;
+        PlayerFile playerFile = this.playerFile;
+
+        if (playerFile == null) {
+            synchronized (this) {
+                playerFile = this.playerFile;
+
+                if (playerFile == null) {
+                    this.playerFile = playerFile = PlayerFile.loadConfig(this.plugin, this.uuid, this.nickname);
+                }
+            }
+        }
+
+        return playerFile;
+    }
+
+    /**
+     * @return True if the player's file has been loaded
+     * @see #getPlayerFile()
+     */
+    public boolean isPlayerFileLoaded() {
+        return this.playerFile != null;
     }
 
     /**
@@ -365,6 +398,10 @@ public final class PlayerInfo {
      * @see PlayerName#createDefaultName(int)
      */
     public @NotNull Component getDefaultName() {
+        if (this.defaultName == null) {
+            this.initNames();
+        }
+
         return this.defaultName;
     }
 
@@ -373,6 +410,10 @@ public final class PlayerInfo {
      * @see PlayerName#createGoldenName(int)
      */
     public @NotNull Component getGoldenName() {
+        if (this.goldenName == null) {
+            this.initNames();
+        }
+
         return this.goldenName;
     }
 
@@ -382,6 +423,10 @@ public final class PlayerInfo {
      * @see PlayerName#createGrayIDGoldName(int)
      */
     public @NotNull Component getGrayIDGoldName() {
+        if (this.grayIDGoldName == null) {
+            this.initNames();
+        }
+
         return this.grayIDGoldName;
     }
 
@@ -391,6 +436,10 @@ public final class PlayerInfo {
      * @see PlayerName#createGrayIDGreenName(int)
      */
     public @NotNull Component getGrayIDGreenName() {
+        if (this.grayIDGreenName == null) {
+            this.initNames();
+        }
+
         return this.grayIDGreenName;
     }
 
@@ -429,8 +478,8 @@ public final class PlayerInfo {
      */
     public void setLastLeaveLocation(final @Nullable Location location) {
         if (!this.getPlugin().getCache().getWorldDark().isInWorldDark(location)) {
-            this.playerFile.setLastLeaveLocation(location);
-            this.playerFile.save();
+            this.getPlayerFile().setLastLeaveLocation(location);
+            this.getPlayerFile().save();
         }
     }
 
@@ -442,8 +491,8 @@ public final class PlayerInfo {
      */
     public void setLastDeathLocation(final @Nullable Location location) {
         if (!this.getPlugin().getCache().getWorldDark().isInWorldDark(location)) {
-            this.playerFile.setLastDeathLocation(location);
-            this.playerFile.save();
+            this.getPlayerFile().setLastDeathLocation(location);
+            this.getPlayerFile().save();
         }
     }
 
@@ -499,7 +548,7 @@ public final class PlayerInfo {
         );
 
         if (message == null) {
-            sendRPEventMessage(player, this.playerFile.getPronouns().getSitMessage(), ME);
+            sendRPEventMessage(player, this.getPlayerFile().getPronouns().getSitMessage(), ME);
         } else {
             sendRPEventMessage(player, message, text("приседая"), TODO);
         }
@@ -546,7 +595,7 @@ public final class PlayerInfo {
 
         player.teleportAsync(getUpLocation, PlayerTeleportEvent.TeleportCause.PLUGIN).thenAccept(bool -> {
             if (message == null) {
-                sendRPEventMessage(player, this.playerFile.getPronouns().getUnSitMessage(), ME);
+                sendRPEventMessage(player, this.getPlayerFile().getPronouns().getUnSitMessage(), ME);
             } else {
                 sendRPEventMessage(player, message, text("вставая"), TODO);
             }
@@ -607,15 +656,15 @@ public final class PlayerInfo {
             }
         }
 
-        this.playerFile.getPlayerSettings().setSkin(skin);
-        this.playerFile.save();
+        this.getPlayerFile().getPlayerSettings().setSkin(skin);
+        this.getPlayerFile().save();
     }
 
     /**
      * @return Player current skin or null if not set
      */
     public @Nullable Skin getCurrentSkin() {
-        return this.playerFile.getPlayerSettings().getSkin();
+        return this.getPlayerFile().getPlayerSettings().getSkin();
     }
 
     /**
@@ -938,13 +987,13 @@ public final class PlayerInfo {
                     ChatUtils.serializePlainComponent(
                             value
                             ? DISCORD_MUTED.asComponent(
-                                    this.defaultName,
+                                    this.getDefaultName(),
                                     text(this.nickname),
                                     text(reason),
                                     text(DateUtils.getSenderDate(date, player))
                             )
                             : DISCORD_UNMUTED.asComponent(
-                                    this.defaultName,
+                                    this.getDefaultName(),
                                     text(this.nickname)
                             )
                     )
@@ -1164,6 +1213,12 @@ public final class PlayerInfo {
         
         banEntry.setExpiration(expiration);
         banEntry.save();
+
+        if (expiration == null) {
+            this.plugin.getCache().getBanExpiryQueue().cancel(this.uuid);
+        } else {
+            this.plugin.getCache().getBanExpiryQueue().schedule(this.uuid, expiration.toInstant());
+        }
     }
 
     /**
@@ -1202,6 +1257,7 @@ public final class PlayerInfo {
             }
 
             banList.addBan(this.profile, reason, Date.from(date), commandSender.getName());
+            this.plugin.getCache().getBanExpiryQueue().schedule(this.uuid, date);
             this.kick(
                     COMMAND_BAN_MESSAGE_RECEIVER_TITLE.asTranslatable(),
                     COMMAND_BAN_MESSAGE_RECEIVER_SUBTITLE.asTranslatable()
@@ -1235,6 +1291,7 @@ public final class PlayerInfo {
             }
 
             banList.pardon(this.profile);
+            this.plugin.getCache().getBanExpiryQueue().cancel(this.uuid);
             MSLogger.fine(
                     sender,
                     COMMAND_UNBAN_MESSAGE_SENDER.asTranslatable()
@@ -1250,13 +1307,13 @@ public final class PlayerInfo {
                     ChatUtils.serializePlainComponent(
                             value
                             ? DISCORD_BANNED.asComponent(
-                                    this.defaultName,
+                                    this.getDefaultName(),
                                     text(this.nickname),
                                     text(reason),
                                     text(DateUtils.getSenderDate(date, player))
                             )
                             : DISCORD_UNBANNED.asComponent(
-                                    this.defaultName,
+                                    this.getDefaultName(),
                                     text(this.nickname)
                             )
                     )
@@ -1303,7 +1360,7 @@ public final class PlayerInfo {
      * @see PlayerFile#isNoName()
      */
     public boolean isRegistered() {
-        return this.playerFile.exists() && !this.playerFile.isNoName();
+        return this.getPlayerFile().exists() && !this.getPlayerFile().isNoName();
     }
 
     /**
@@ -1394,7 +1451,7 @@ public final class PlayerInfo {
      */
     public void initNames() {
         final int id = this.getID();
-        final PlayerName playerName = this.playerFile.getPlayerName();
+        final PlayerName playerName = this.getPlayerFile().getPlayerName();
 
         this.defaultName = playerName.createDefaultName(id);
         this.goldenName = playerName.createGoldenName(id);
@@ -1487,7 +1544,7 @@ public final class PlayerInfo {
             return CompletableFuture.completedFuture(false);
         }
 
-        final PlayerSettings playerSettings = this.playerFile.getPlayerSettings();
+        final PlayerSettings playerSettings = this.getPlayerFile().getPlayerSettings();
         final ResourcePack.Type type = playerSettings.getResourcePackType();
         final ComponentLogger componentLogger = this.plugin.getComponentLogger();
 
@@ -1578,7 +1635,7 @@ public final class PlayerInfo {
             return CompletableFuture.completedFuture(false);
         }
 
-        Location location = this.playerFile.getLastLeaveLocation();
+        Location location = this.getPlayerFile().getLastLeaveLocation();
 
         if (location == null) {
             location = player.getBedSpawnLocation();
@@ -1609,7 +1666,7 @@ public final class PlayerInfo {
             this.plugin.runTask(() -> player.setSpectatorTarget(null));
         }
 
-        Location location = this.playerFile.getLastDeathLocation();
+        Location location = this.getPlayerFile().getLastDeathLocation();
 
         if (location == null) {
             location = player.getBedSpawnLocation();
@@ -1628,26 +1685,26 @@ public final class PlayerInfo {
      * message to the console if the player's file was created successfully.
      */
     public void createPlayerFile() {
-        if (this.playerFile.exists()) {
+        if (this.getPlayerFile().exists()) {
             return;
         }
 
-        this.playerFile.getConfig().set("name.nickname", this.nickname);
+        this.getPlayerFile().getConfig().set("name.nickname", this.nickname);
 
         final Player player = this.getOnlinePlayer();
 
         if (player != null) {
             final InetSocketAddress address = player.getAddress();
 
-            this.playerFile.addIp(
+            this.getPlayerFile().addIp(
                     address == null
                     ? null
                     : address.getAddress().getHostAddress()
             );
-            this.playerFile.setFirstJoin(Instant.now());
+            this.getPlayerFile().setFirstJoin(Instant.now());
         }
 
-        this.playerFile.save();
+        this.getPlayerFile().save();
         this.plugin.getComponentLogger().info(
                 INFO_PLAYER_FILE_CREATED.asTranslatable()
                 .arguments(
@@ -1850,32 +1907,50 @@ public final class PlayerInfo {
 
     /**
      * Saves the player's health, air, game mode and last leave location to the
-     * player's file if the player is online and not in the {@link WorldDark}
+     * player's file if the player is online and not in the {@link WorldDark}.
+     * The player's file is saved only if any of these parameters has changed
+     * since the last save.
+     *
+     * @return True if the player's file has been saved
      */
-    public void savePlayerDataParams() {
+    public boolean savePlayerDataParams() {
         final Player player = this.getOnlinePlayer();
 
         if (
                 player == null
                 || this.isInWorldDark()
         ) {
-            return;
+            return false;
         }
 
-        final double health = player.getHealth();
-        final int air = player.getRemainingAir();
-
-        this.playerFile.setLastLeaveLocation(
+        final double rawHealth = player.getHealth();
+        final int rawAir = player.getRemainingAir();
+        final Location location =
                 player.isDead()
                 ? player.getBedSpawnLocation() != null
                 ? player.getBedSpawnLocation()
                 : this.plugin.getConfiguration().getSpawnLocation()
-                : player.getLocation()
-        );
-        this.playerFile.setGameMode(player.getGameMode());
-        this.playerFile.setHealth(health == 0.0d ? 20.0d : health);
-        this.playerFile.setAir(air == 0 && player.isDead() ? 300 : air);
-        this.playerFile.save();
+                : player.getLocation();
+        final GameMode gameMode = player.getGameMode();
+        final double health = rawHealth == 0.0d ? 20.0d : rawHealth;
+        final int air = rawAir == 0 && player.isDead() ? 300 : rawAir;
+
+        if (
+                location.equals(this.getPlayerFile().getLastLeaveLocation())
+                && gameMode == this.getPlayerFile().getGameMode()
+                && health == this.getPlayerFile().getHealth()
+                && air == this.getPlayerFile().getAir()
+        ) {
+            return false;
+        }
+
+        this.getPlayerFile().setLastLeaveLocation(location);
+        this.getPlayerFile().setGameMode(gameMode);
+        this.getPlayerFile().setHealth(health);
+        this.getPlayerFile().setAir(air);
+        this.getPlayerFile().save();
+
+        return true;
     }
 
     /**
@@ -1924,7 +1999,7 @@ public final class PlayerInfo {
         if (!this.isRegistered()) {
             new RegistrationProcess(this.plugin).registerPlayer(this);
         } else {
-            if (this.playerFile.getConfig().getString("pronouns") == null) {
+            if (this.getPlayerFile().getConfig().getString("pronouns") == null) {
                 this.plugin.openCustomInventory(PronounsMenu.class, player);
             } else {
                 final Skin currentSkin = this.getCurrentSkin();
@@ -1933,9 +2008,9 @@ public final class PlayerInfo {
                     this.setSkin(currentSkin);
                 }
 
-                player.setGameMode(this.playerFile.getGameMode());
-                player.setHealth(this.playerFile.getHealth());
-                player.setRemainingAir(this.playerFile.getAir());
+                player.setGameMode(this.getPlayerFile().getGameMode());
+                player.setHealth(this.getPlayerFile().getHealth());
+                player.setRemainingAir(this.getPlayerFile().getAir());
 
                 this.teleportToLastLeaveLocation().thenAccept(result -> {
                     if (result) {
@@ -30,7 +30,7 @@ public final class PlayerSettings {
                     case "NULL" -> ResourcePack.Type.NULL;
                     default -> {
                         playerFile.getPlugin().getLogger().severe(
-                                "Incorrect resource-pack type in : " + playerFile.getFile().getName()
+                                "Incorrect resource-pack type in player file : " + playerFile.getKey()
                         );
                         yield ResourcePack.Type.NULL;
                     }
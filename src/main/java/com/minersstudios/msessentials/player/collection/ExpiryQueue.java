@@ -0,0 +1,149 @@
+package com.minersstudios.msessentials.player.collection;
+
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectHeapPriorityQueue;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Expiry queue, which orders the keys by their deadlines and allows to poll
+ * the expired keys without scanning all of them.
+ * <br>
+ * The deadlines are kept in a binary heap, so scheduling and polling a key
+ * costs O(log n), and checking whether any key has expired costs O(1).
+ * Rescheduling and cancelling a key does not remove its previous node from the
+ * heap, the outdated nodes are skipped when they reach the head of the heap,
+ * and the heap is rebuilt when they outnumber the scheduled keys.
+ * <br>
+ * All methods are synchronized on the queue instance.
+ *
+ * @param <K> The type of the keys
+ */
+public final class ExpiryQueue<K> {
+    private final ObjectHeapPriorityQueue<Node<K>> heap;
+    private final Object2LongMap<K> deadlines;
+
+    private static final int COMPACT_SLACK = 64;
+
+    /**
+     * Constructs a new empty expiry queue
+     */
+    public ExpiryQueue() {
+        this.heap = new ObjectHeapPriorityQueue<>(Comparator.<Node<K>>comparingLong(Node::deadline));
+        this.deadlines = new Object2LongOpenHashMap<>();
+    }
+
+    /**
+     * Schedules the key to expire at the deadline, replacing its previous
+     * deadline. Does nothing if the key is already scheduled to expire at the
+     * same deadline.
+     *
+     * @param key      The key
+     * @param deadline The deadline of the key
+     */
+    public synchronized void schedule(
+            final @NotNull K key,
+            final @NotNull Instant deadline
+    ) {
+        final long millis = deadline.toEpochMilli();
+
+        if (
+                this.deadlines.containsKey(key)
+                && this.deadlines.getLong(key) == millis
+        ) {
+            return;
+        }
+
+        this.deadlines.put(key, millis);
+        this.heap.enqueue(new Node<>(key, millis));
+        this.compactIfNeeded();
+    }
+
+    /**
+     * Cancels the expiry of the key
+     *
+     * @param key The key
+     */
+    public synchronized void cancel(final @NotNull K key) {
+        this.deadlines.removeLong(key);
+        this.compactIfNeeded();
+    }
+
+    /**
+     * Removes all keys from the queue
+     */
+    public synchronized void clear() {
+        this.deadlines.clear();
+        this.heap.clear();
+    }
+
+    /**
+     * @return The number of the scheduled keys
+     */
+    public synchronized int size() {
+        return this.deadlines.size();
+    }
+
+    /**
+     * @return True if there are no scheduled keys
+     */
+    public synchronized boolean isEmpty() {
+        return this.deadlines.isEmpty();
+    }
+
+    /**
+     * Removes and returns all keys, which deadlines are not after the given
+     * instant
+     *
+     * @param now The current instant
+     * @return The expired keys in the order of their deadlines
+     */
+    public synchronized @NotNull List<K> pollExpired(final @NotNull Instant now) {
+        final long millis = now.toEpochMilli();
+        List<K> expired = List.of();
+
+        while (
+                !this.heap.isEmpty()
+                && this.heap.first().deadline() <= millis
+        ) {
+            final Node<K> node = this.heap.dequeue();
+
+            if (
+                    this.deadlines.containsKey(node.key())
+                    && this.deadlines.getLong(node.key()) == node.deadline()
+            ) {
+                this.deadlines.removeLong(node.key());
+
+                if (expired.isEmpty()) {
+                    expired = new ObjectArrayList<>();
+                }
+
+                expired.add(node.key());
+            }
+        }
+
+        return expired;
+    }
+
+    private void compactIfNeeded() {
+        if (this.heap.size() <= 2 * this.deadlines.size() + COMPACT_SLACK) {
+            return;
+        }
+
+        this.heap.clear();
+
+        for (final var entry : this.deadlines.object2LongEntrySet()) {
+            this.heap.enqueue(new Node<>(entry.getKey(), entry.getLongValue()));
+        }
+    }
+
+    private record Node<K>(
+            @NotNull K key,
+            long deadline
+    ) {}
+}
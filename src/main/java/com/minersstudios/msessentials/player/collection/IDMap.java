@@ -4,8 +4,13 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.reflect.TypeToken;
 import com.minersstudios.mscore.plugin.MSPlugin;
+import com.minersstudios.msessentials.storage.WriteBehindStore;
 import com.minersstudios.msessentials.utility.IDUtils;
-import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntMaps;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
 import org.jetbrains.annotations.NotNull;
@@ -13,36 +18,61 @@ import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.UnmodifiableView;
 
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
 import java.lang.reflect.Type;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * ID map with {@link UUID} and its ID.
  * All ids stored in the "config/minersstudios/MSEssentials/ids.json" file.
+ * <br>
+ * The map is bidirectional, so both the ID of a player and the player of an ID
+ * are found in constant time. The used IDs are tracked in a bitmap, from which
+ * the lowest free ID is allocated for a new player.
+ * <br>
+ * Every change is appended to the "ids.journal" file by the
+ * {@link WriteBehindStore} instead of rewriting the whole "ids.json" file.
+ * When the journal grows over {@value #COMPACT_THRESHOLD} entries, it is
+ * compacted into the "ids.json" file on the I/O thread of the store. The
+ * journal is replayed over the "ids.json" file on {@link #reloadIds()}, so no
+ * change is lost if the server stops before the compaction.
  */
 public final class IDMap {
+    private final WriteBehindStore store;
     private final File file;
-    private final Map<UUID, Integer> map;
+    private final Path journalPath;
+    private final Object2IntMap<UUID> idByUUID;
+    private final Int2ObjectMap<UUID> uuidByID;
+    private final BitSet usedIDs;
     private final Logger logger;
+    private int journalSize;
+    private boolean compacting;
 
     private static final Gson GSON =
             new GsonBuilder()
             .setPrettyPrinting()
             .create();
+    private static final int COMPACT_THRESHOLD = 1024;
 
-    public IDMap(final @NotNull MSPlugin<?> plugin) {
+    public IDMap(
+            final @NotNull MSPlugin<?> plugin,
+            final @NotNull WriteBehindStore store
+    ) {
+        this.store = store;
         this.file = new File(plugin.getPluginFolder(), "ids.json");
-        this.map = new ConcurrentHashMap<>();
+        this.journalPath = this.file.toPath().resolveSibling("ids.journal");
+        this.idByUUID = Object2IntMaps.synchronize(new Object2IntOpenHashMap<>(), this);
+        this.uuidByID = new Int2ObjectOpenHashMap<>();
+        this.usedIDs = new BitSet();
         this.logger = plugin.getLogger();
+
+        this.idByUUID.defaultReturnValue(-1);
         this.reloadIds();
     }
 
@@ -52,7 +82,7 @@ public final class IDMap {
      * @return map with {@link UUID} and its ID
      */
     public @NotNull @UnmodifiableView Map<UUID, Integer> getMap() {
-        return Collections.unmodifiableMap(this.map);
+        return Collections.unmodifiableMap(this.idByUUID);
     }
 
     /**
@@ -64,12 +94,18 @@ public final class IDMap {
      *                   will be 0, not -1
      * @return -1 if the player is not found
      */
-    public int getID(
+    public synchronized int getID(
             final @NotNull UUID uuid,
             final boolean addPlayer,
             final boolean zeroIfNull
     ) {
-        return this.map.getOrDefault(uuid, addPlayer ? this.addPlayer(uuid) : zeroIfNull ? 0 : -1);
+        final int id = this.idByUUID.getInt(uuid);
+
+        return id != -1
+                ? id
+                : addPlayer
+                ? this.addPlayer(uuid)
+                : zeroIfNull ? 0 : -1;
     }
 
     /**
@@ -78,14 +114,8 @@ public final class IDMap {
      * @param id Player ID
      * @return {@link UUID} of player with this ID or null if not found
      */
-    public @Nullable UUID getUUID(final int id) {
-        for (final var entry : this.map.entrySet()) {
-            if (entry.getValue() == id) {
-                return entry.getKey();
-            }
-        }
-
-        return null;
+    public synchronized @Nullable UUID getUUID(final int id) {
+        return this.uuidByID.get(id);
     }
 
     /**
@@ -122,31 +152,47 @@ public final class IDMap {
     }
 
     /**
-     * Sets player ID
+     * Sets player ID. If the ID is already used by another player, that
+     * player loses its ID.
      *
      * @param uuid Player {@link UUID}
      * @param id   ID to set
+     * @throws IllegalArgumentException If the ID is negative
      */
-    public void put(
+    public synchronized void put(
             final @NotNull UUID uuid,
             final int id
-    ) {
-        this.map.put(uuid, id);
-        this.saveFile();
+    ) throws IllegalArgumentException {
+        if (id < 0) {
+            throw new IllegalArgumentException("ID cannot be negative : " + id);
+        }
+
+        final UUID previousOwner = this.uuidByID.get(id);
+
+        if (
+                previousOwner != null
+                && !previousOwner.equals(uuid)
+        ) {
+            this.removeUnlogged(previousOwner);
+            this.appendJournal(previousOwner, -1);
+        }
+
+        this.putUnlogged(uuid, id);
+        this.appendJournal(uuid, id);
     }
 
     /**
      * @return The number of ids in this map
      */
     public int size() {
-        return this.map.size();
+        return this.idByUUID.size();
     }
 
     /**
      * @return True if this map contains no ids
      */
     public boolean isEmpty() {
-        return this.map.isEmpty();
+        return this.idByUUID.isEmpty();
     }
 
     /**
@@ -155,98 +201,260 @@ public final class IDMap {
      */
     public boolean containsUUID(final @Nullable UUID uuid) {
         return uuid != null
-                && this.map.containsKey(uuid);
+                && this.idByUUID.containsKey(uuid);
     }
 
     /**
      * @param id ID of player
      * @return True if the map contains the id of the player
      */
-    public boolean containsID(final int id) {
-        return this.map.containsValue(id);
+    public synchronized boolean containsID(final int id) {
+        return id >= 0
+                && this.usedIDs.get(id);
     }
 
     /**
      * @return An unmodifiable view of the UUIDs contained in this map
      */
     public @NotNull @UnmodifiableView Set<UUID> uuidSet() {
-        return Collections.unmodifiableSet(this.map.keySet());
+        return Collections.unmodifiableSet(this.idByUUID.keySet());
     }
 
     /**
      * @return An unmodifiable view of the ids contained in this map
      */
     public @NotNull @UnmodifiableView Collection<Integer> ids() {
-        return Collections.unmodifiableCollection(this.map.values());
+        return Collections.unmodifiableCollection(this.idByUUID.values());
     }
 
     /**
      * @return An unmodifiable view of the mappings contained in this map
      */
     public @NotNull @UnmodifiableView Set<Map.Entry<UUID, Integer>> entrySet() {
-        return Collections.unmodifiableSet(this.map.entrySet());
+        return Collections.unmodifiableSet(this.idByUUID.entrySet());
     }
 
     /**
      * Adds player with next ID
      *
      * @param uuid player {@link UUID}
-     * @return next player ID, or -1 if the player already has an ID
+     * @return next player ID, or the current ID if the player already has an ID
      */
-    public int addPlayer(final @NotNull UUID uuid) {
-        return this.map.computeIfAbsent(uuid, unused -> this.nextID());
+    public synchronized int addPlayer(final @NotNull UUID uuid) {
+        final int currentID = this.idByUUID.getInt(uuid);
+
+        if (currentID != -1) {
+            return currentID;
+        }
+
+        final int id = this.nextID();
+
+        this.putUnlogged(uuid, id);
+        this.appendJournal(uuid, id);
+
+        return id;
     }
 
     /**
-     * Gets next ID, by the size of the ID map. If the ID with that size already
-     * exists, returns the next ID.
+     * Gets the lowest ID, which is not used by any player
      *
      * @return next player ID
+     * @throws IllegalStateException If all IDs are used
      */
-    public int nextID() {
-        final var usedIDs = new ObjectOpenHashSet<>(this.map.values());
+    public synchronized int nextID() throws IllegalStateException {
+        final int id = this.usedIDs.nextClearBit(0);
 
-        for (int id = 0; id < Integer.MAX_VALUE; id++) {
-            if (!usedIDs.contains(id)) {
-                return id;
-            }
+        if (id < 0) {
+            throw new IllegalStateException("No available ID found.");
         }
 
-        throw new IllegalStateException("No available ID found.");
+        return id;
     }
 
     /**
-     * Reloads ids.json file
+     * Reloads ids.json file and replays the journal over it
      */
     public void reloadIds() {
-        this.map.clear();
+        this.store.flush();
+
+        synchronized (this) {
+            this.loadFile();
+
+            final int replayed = this.replayJournal();
+
+            if (replayed != 0) {
+                this.journalSize = replayed;
+
+                this.scheduleCompaction();
+            }
+        }
+    }
+
+    /**
+     * Schedules the compaction of the journal. The compaction writes all ids
+     * to the "ids.json" file and deletes the journal on the I/O thread of the
+     * store. The changes made during the compaction are kept in the journal.
+     */
+    public synchronized void scheduleCompaction() {
+        if (this.compacting) {
+            return;
+        }
+
+        this.compacting = true;
+        this.journalSize = 0;
+
+        this.store.execute(this::compact);
+    }
+
+    private void putUnlogged(
+            final @NotNull UUID uuid,
+            final int id
+    ) {
+        final int previousID = this.idByUUID.put(uuid, id);
+
+        if (
+                previousID != -1
+                && previousID != id
+        ) {
+            this.uuidByID.remove(previousID);
+            this.usedIDs.clear(previousID);
+        }
+
+        this.uuidByID.put(id, uuid);
+        this.usedIDs.set(id);
+    }
+
+    private void removeUnlogged(final @NotNull UUID uuid) {
+        final int id = this.idByUUID.removeInt(uuid);
+
+        if (id != -1) {
+            this.uuidByID.remove(id);
+            this.usedIDs.clear(id);
+        }
+    }
+
+    /**
+     * Appends the change to the journal and schedules the compaction if the
+     * journal is too large. The id -1 means, that the player has lost its ID.
+     */
+    private void appendJournal(
+            final @NotNull UUID uuid,
+            final int id
+    ) {
+        this.store.append(this.journalPath, uuid + "=" + id + "\n");
+
+        if (++this.journalSize >= COMPACT_THRESHOLD) {
+            this.scheduleCompaction();
+        }
+    }
+
+    private void compact() {
+        final Map<UUID, Integer> snapshot;
+
+        synchronized (this) {
+            snapshot = new TreeMap<>(this.idByUUID);
+        }
+
+        try {
+            WriteBehindStore.writeAtomically(this.file.toPath(), GSON.toJson(snapshot), true);
+            Files.deleteIfExists(this.journalPath);
+        } catch (final IOException e) {
+            this.logger.log(Level.SEVERE, "Failed to compact the \"ids.journal\" file", e);
+        } finally {
+            synchronized (this) {
+                this.compacting = false;
+            }
+        }
+    }
+
+    private void loadFile() {
+        this.idByUUID.clear();
+        this.uuidByID.clear();
+        this.usedIDs.clear();
 
         if (!this.file.exists()) {
             this.createFile();
-        } else {
-            try {
-                final Type mapType = new TypeToken<Map<UUID, Integer>>() {}.getType();
-                final String json = Files.readString(this.file.toPath(), StandardCharsets.UTF_8);
-                final Map<UUID, Integer> jsonMap = GSON.fromJson(json, mapType);
-
-                if (jsonMap == null) {
-                    this.createBackupFile();
-                    this.reloadIds();
-                    return;
+            return;
+        }
+
+        try {
+            final Type mapType = new TypeToken<Map<UUID, Integer>>() {}.getType();
+            final String json = Files.readString(this.file.toPath(), StandardCharsets.UTF_8);
+            final Map<UUID, Integer> jsonMap = GSON.fromJson(json, mapType);
+
+            if (jsonMap == null) {
+                this.createBackupFile();
+                this.loadFile();
+                return;
+            }
+
+            jsonMap.forEach((uuid, id) -> {
+                if (
+                        id != null
+                        && id >= 0
+                        && !this.usedIDs.get(id)
+                ) {
+                    this.putUnlogged(uuid, id);
+                } else {
+                    this.logger.severe("Failed to read the player id : " + uuid.toString() + " in \"ids.json\"");
                 }
+            });
+        } catch (final Exception e) {
+            this.createBackupFile();
+            this.loadFile();
+        }
+    }
 
-                jsonMap.forEach((uuid, id) -> {
-                    if (id != null) {
-                        this.map.put(uuid, id);
+    /**
+     * Replays the journal file over the loaded ids
+     *
+     * @return The number of replayed entries
+     */
+    private int replayJournal() {
+        final Path path = this.journalPath;
+
+        if (!Files.exists(path)) {
+            return 0;
+        }
+
+        int count = 0;
+
+        try (final var reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                final int separator = line.indexOf('=');
+
+                if (separator == -1) {
+                    continue;
+                }
+
+                try {
+                    final UUID uuid = UUID.fromString(line.substring(0, separator));
+                    final int id = Integer.parseInt(line.substring(separator + 1));
+
+                    if (id < 0) {
+                        this.removeUnlogged(uuid);
                     } else {
-                        this.logger.severe("Failed to read the player id : " + uuid.toString() + " in \"ids.json\"");
+                        final UUID previousOwner = this.uuidByID.get(id);
+
+                        if (previousOwner != null) {
+                            this.removeUnlogged(previousOwner);
+                        }
+
+                        this.putUnlogged(uuid, id);
                     }
-                });
-            } catch (final Exception e) {
-                this.createBackupFile();
-                this.reloadIds();
+
+                    ++count;
+                } catch (final IllegalArgumentException e) {
+                    this.logger.warning("Skipped an invalid line in \"" + path.getFileName() + "\" : " + line);
+                }
             }
+        } catch (final IOException e) {
+            this.logger.log(Level.SEVERE, "Failed to read the \"" + path.getFileName() + "\" file", e);
         }
+
+        return count;
     }
 
     /**
@@ -279,13 +487,16 @@ public final class IDMap {
     }
 
     /**
-     * Saves the mute map to the "ids.json" file
+     * Schedules saving of the ids to the "ids.json" file
      */
     private void saveFile() {
-        try (final var writer = new OutputStreamWriter(new FileOutputStream(this.file), StandardCharsets.UTF_8)) {
-            GSON.toJson(this.map, writer);
-        } catch (final IOException e) {
-            this.logger.log(Level.SEVERE, "Failed to save ids", e);
-        }
+        this.store.write(
+                this.file.toPath(),
+                () -> {
+                    synchronized (this) {
+                        return GSON.toJson(new TreeMap<>(this.idByUUID));
+                    }
+                }
+        );
     }
 }
@@ -4,6 +4,7 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.reflect.TypeToken;
 import com.minersstudios.mscore.plugin.MSPlugin;
+import com.minersstudios.msessentials.storage.WriteBehindStore;
 import com.mojang.util.InstantTypeAdapter;
 import org.bukkit.OfflinePlayer;
 import org.jetbrains.annotations.Contract;
@@ -12,15 +13,14 @@ import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.UnmodifiableView;
 
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
 import java.lang.reflect.Type;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
 import java.time.Instant;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
@@ -35,8 +35,10 @@ import java.util.logging.Logger;
  * @see Entry
  */
 public final class MuteMap {
+    private final WriteBehindStore store;
     private final File file;
     private final Map<UUID, Entry> map;
+    private final ExpiryQueue<UUID> expiryQueue;
     private final Logger logger;
 
     private static final Gson GSON =
@@ -48,10 +50,18 @@ public final class MuteMap {
     /**
      * Mute map with {@link UUID} and its {@link Entry}. Loads mutes from the
      * file.
+     *
+     * @param plugin The plugin that owns this map
+     * @param store  The store to save the mutes with
      */
-    public MuteMap(final @NotNull MSPlugin<?> plugin) {
+    public MuteMap(
+            final @NotNull MSPlugin<?> plugin,
+            final @NotNull WriteBehindStore store
+    ) {
+        this.store = store;
         this.file = new File(plugin.getPluginFolder(), "muted_players.json");
         this.map = new ConcurrentHashMap<>();
+        this.expiryQueue = new ExpiryQueue<>();
         this.logger = plugin.getLogger();
         this.reloadMutes();
     }
@@ -93,6 +103,7 @@ public final class MuteMap {
         final UUID uuid = player.getUniqueId();
 
         this.map.put(uuid, Entry.create(created, expiration, reason, source));
+        this.expiryQueue.schedule(uuid, expiration);
         this.saveFile();
     }
 
@@ -107,6 +118,7 @@ public final class MuteMap {
         }
 
         this.map.remove(player.getUniqueId());
+        this.expiryQueue.cancel(player.getUniqueId());
         this.saveFile();
     }
 
@@ -140,6 +152,20 @@ public final class MuteMap {
         return Collections.unmodifiableSet(this.map.keySet());
     }
 
+    /**
+     * Removes and returns the UUIDs of the players, whose mutes have expired.
+     * The mutes themselves are not removed from the map, the caller is
+     * expected to unmute the players.
+     *
+     * @param now The current instant
+     * @return The UUIDs of the players, whose mutes have expired, in the order
+     *         of their expiration
+     * @see ExpiryQueue#pollExpired(Instant)
+     */
+    public @NotNull List<UUID> pollExpired(final @NotNull Instant now) {
+        return this.expiryQueue.pollExpired(now);
+    }
+
     /**
      * @return An unmodifiable view of the mappings contained in this map
      */
@@ -151,7 +177,9 @@ public final class MuteMap {
      * Reloads "muted_players.json" file
      */
     public void reloadMutes() {
+        this.store.flush();
         this.map.clear();
+        this.expiryQueue.clear();
 
         if (!this.file.exists()) {
             this.createFile();
@@ -170,6 +198,7 @@ public final class MuteMap {
                 jsonMap.forEach((uuid, params) -> {
                     if (params != null && params.isValidate()) {
                         this.map.put(uuid, params);
+                        this.expiryQueue.schedule(uuid, params.getExpiration());
                     } else {
                         this.logger.severe("Failed to read the player params : " + uuid.toString() + " in \"muted_players.json\"");
                     }
@@ -214,14 +243,13 @@ public final class MuteMap {
     }
 
     /**
-     * Saves the mute map to the "muted_players.json" file
+     * Schedules saving of the mute map to the "muted_players.json" file
      */
     private void saveFile() {
-        try (final var writer = new OutputStreamWriter(new FileOutputStream(this.file), StandardCharsets.UTF_8)) {
-            GSON.toJson(this.map, writer);
-        } catch (final IOException e) {
-            this.logger.log(Level.SEVERE, "Failed to save muted players", e);
-        }
+        this.store.write(
+                this.file.toPath(),
+                () -> GSON.toJson(this.map)
+        );
     }
 
     /**
@@ -1,9 +1,11 @@
 package com.minersstudios.msessentials.player.collection;
 
+import com.google.common.collect.Maps;
 import com.minersstudios.mscore.utility.ChatUtils;
 import com.minersstudios.msessentials.MSEssentials;
 import com.minersstudios.msessentials.player.PlayerFile;
 import com.minersstudios.msessentials.player.PlayerInfo;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.Contract;
@@ -11,26 +13,64 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.UnmodifiableView;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
- * Player info map with {@link UUID} and its {@link PlayerInfo}. All player
- * files stored in the "config/minersstudios/MSEssentials/players" folder. Use
+ * Player info map with {@link UUID} and its {@link PlayerInfo}. Use
  * {@link #get(UUID, String)} or {@link #get(Player)} to get player info. It
  * will create new player info if it doesn't exist, or get existing player info
  * if it exists and save it to the map if it's not cached.
+ * <br>
+ * The map is a bounded cache. The player info of the online players is pinned
+ * and never evicted. The player info of the offline players is evicted by
+ * {@link #evictExpired()} after it has not been accessed for
+ * {@link #EXPIRE_AFTER_ACCESS} milliseconds, and the least recently accessed
+ * player info of the offline players is evicted when the map contains more
+ * than {@link #MAXIMUM_SIZE} entries.
+ * <br>
+ * The evicted player info is still weakly referenced by the map, and is
+ * restored on the next lookup, while it is referenced anywhere else, for
+ * example, by a bot handler or a pending Discord code. So there is never more
+ * than one player info with its own player file per UUID, and the updates made
+ * by the long-lived holders are not lost. The player file of the created player
+ * info is loaded lazily, so caching the player info of an offline player,
+ * which was only looked up, is cheap. The hit, miss and eviction counts are
+ * available with {@link #getStats()}, and are logged periodically by the
+ * {@link com.minersstudios.msessentials.task.PlayerInfoMapTask} at the fine
+ * logging level.
  *
  * @see PlayerInfo
  * @see PlayerFile
  */
 public final class PlayerInfoMap {
     private final MSEssentials plugin;
-    private final Map<UUID, PlayerInfo> map;
+    private final Map<UUID, Entry> map;
+    private final Map<UUID, PlayerInfo> view;
+    private final Map<UUID, EvictedReference> evicted;
+    private final ReferenceQueue<PlayerInfo> evictedQueue;
+    private final LongAdder hitCount;
+    private final LongAdder missCount;
+    private final LongAdder evictionCount;
+
+    /** The maximum number of entries, above which offline players are evicted */
+    public static final int MAXIMUM_SIZE = 1000;
+    /** The idle time in milliseconds, after which offline players are evicted */
+    public static final long EXPIRE_AFTER_ACCESS = 30L * 60L * 1000L; // 30 minutes
 
     public PlayerInfoMap(final @NotNull MSEssentials plugin) {
         this.plugin = plugin;
         this.map = new ConcurrentHashMap<>();
+        this.view = Maps.transformValues(this.map, Entry::playerInfo);
+        this.evicted = new ConcurrentHashMap<>();
+        this.evictedQueue = new ReferenceQueue<>();
+        this.hitCount = new LongAdder();
+        this.missCount = new LongAdder();
+        this.evictionCount = new LongAdder();
     }
 
     /**
@@ -51,10 +91,33 @@ public final class PlayerInfoMap {
             final @NotNull UUID uniqueId,
             final @NotNull String nickname
     ) {
-        return this.map.computeIfAbsent(
-                uniqueId,
-                uuid -> new PlayerInfo(this.plugin, uuid, nickname)
-        );
+        Entry entry = this.map.get(uniqueId);
+
+        if (entry != null) {
+            this.hitCount.increment();
+        } else {
+            entry = this.map.computeIfAbsent(
+                    uniqueId,
+                    uuid -> {
+                        final EvictedReference reference = this.evicted.remove(uuid);
+                        final PlayerInfo evictedInfo = reference == null ? null : reference.get();
+
+                        if (evictedInfo != null) {
+                            this.hitCount.increment();
+
+                            return new Entry(evictedInfo);
+                        }
+
+                        this.missCount.increment();
+
+                        return new Entry(new PlayerInfo(this.plugin, uuid, nickname));
+                    }
+            );
+        }
+
+        entry.touch();
+
+        return entry.playerInfo();
     }
 
     /**
@@ -96,7 +159,12 @@ public final class PlayerInfoMap {
      *         or null if there was no mapping for player's {@link UUID}
      */
     public @Nullable PlayerInfo put(final @NotNull PlayerInfo playerInfo) {
-        return this.map.put(playerInfo.getUuid(), playerInfo);
+        final Entry entry = new Entry(playerInfo);
+
+        entry.touch();
+        this.evicted.remove(playerInfo.getUuid());
+
+        return unwrap(this.map.put(playerInfo.getUuid(), entry));
     }
 
     /**
@@ -107,7 +175,9 @@ public final class PlayerInfoMap {
      *         or null if there was no mapping for player's {@link UUID}
      */
     public @Nullable PlayerInfo remove(final @NotNull UUID uniqueId) {
-        return this.map.remove(uniqueId);
+        this.evicted.remove(uniqueId);
+
+        return unwrap(this.map.remove(uniqueId));
     }
 
     /**
@@ -149,7 +219,10 @@ public final class PlayerInfoMap {
      * @return True if the map contains the player info
      */
     public boolean containsPlayerInfo(final @NotNull PlayerInfo playerInfo) {
-        return this.map.containsValue(playerInfo);
+        final Entry entry = this.map.get(playerInfo.getUuid());
+
+        return entry != null
+                && entry.playerInfo() == playerInfo;
     }
 
     /**
@@ -158,6 +231,7 @@ public final class PlayerInfoMap {
      */
     public void clear() {
         this.map.clear();
+        this.evicted.clear();
     }
 
     /**
@@ -171,13 +245,169 @@ public final class PlayerInfoMap {
      * @return An unmodifiable view of the player info contained in this map
      */
     public @NotNull @UnmodifiableView Collection<PlayerInfo> playerInfos() {
-        return Collections.unmodifiableCollection(this.map.values());
+        return Collections.unmodifiableCollection(this.view.values());
     }
 
     /**
      * @return An unmodifiable view of the mappings contained in this map
      */
     public @NotNull @UnmodifiableView Set<Map.Entry<UUID, PlayerInfo>> entrySet() {
-        return Collections.unmodifiableSet(this.map.entrySet());
+        return Collections.unmodifiableSet(this.view.entrySet());
+    }
+
+    /**
+     * Evicts the player info of the offline players, which has not been
+     * accessed for {@link #EXPIRE_AFTER_ACCESS} milliseconds, and then the
+     * least recently accessed player info of the offline players, while the
+     * map contains more than {@link #MAXIMUM_SIZE} entries. The evicted player
+     * info stays weakly referenced, until it is garbage collected or restored
+     * by a lookup. Must be called on the main thread.
+     *
+     * @return The number of the evicted entries
+     */
+    public int evictExpired() {
+        this.expungeEvicted();
+
+        final long expireBefore = System.currentTimeMillis() - EXPIRE_AFTER_ACCESS;
+        final var candidates = new ObjectArrayList<Map.Entry<UUID, Entry>>();
+        int evicted = 0;
+
+        for (final var mapEntry : this.map.entrySet()) {
+            final Entry entry = mapEntry.getValue();
+
+            if (entry.playerInfo().getOnlinePlayer() != null) {
+                continue;
+            }
+
+            if (
+                    entry.lastAccess() < expireBefore
+                    && this.map.remove(mapEntry.getKey(), entry)
+            ) {
+                this.retainEvicted(entry);
+                ++evicted;
+            } else {
+                candidates.add(mapEntry);
+            }
+        }
+
+        int excess = this.map.size() - MAXIMUM_SIZE;
+
+        if (excess > 0) {
+            candidates.sort(Comparator.comparingLong(mapEntry -> mapEntry.getValue().lastAccess()));
+
+            for (int i = 0; i < candidates.size() && excess > 0; ++i) {
+                final var mapEntry = candidates.get(i);
+
+                if (this.map.remove(mapEntry.getKey(), mapEntry.getValue())) {
+                    this.retainEvicted(mapEntry.getValue());
+                    ++evicted;
+                    --excess;
+                }
+            }
+        }
+
+        this.evictionCount.add(evicted);
+
+        return evicted;
+    }
+
+    /**
+     * @return The current statistics of this map
+     */
+    public @NotNull Stats getStats() {
+        return new Stats(
+                this.hitCount.sum(),
+                this.missCount.sum(),
+                this.evictionCount.sum(),
+                this.map.size()
+        );
+    }
+
+    private void retainEvicted(final @NotNull Entry entry) {
+        final PlayerInfo playerInfo = entry.playerInfo();
+
+        this.evicted.put(
+                playerInfo.getUuid(),
+                new EvictedReference(playerInfo, this.evictedQueue)
+        );
+    }
+
+    private void expungeEvicted() {
+        Reference<? extends PlayerInfo> reference;
+
+        while ((reference = this.evictedQueue.poll()) != null) {
+            final EvictedReference evictedReference = (EvictedReference) reference;
+
+            this.evicted.remove(evictedReference.uuid, evictedReference);
+        }
+    }
+
+    @Contract("null -> null")
+    private static @Nullable PlayerInfo unwrap(final @Nullable Entry entry) {
+        return entry == null ? null : entry.playerInfo();
+    }
+
+    private static final class Entry {
+        private final PlayerInfo playerInfo;
+        private volatile long lastAccess;
+
+        Entry(final @NotNull PlayerInfo playerInfo) {
+            this.playerInfo = playerInfo;
+        }
+
+        @NotNull PlayerInfo playerInfo() {
+            return this.playerInfo;
+        }
+
+        long lastAccess() {
+            return this.lastAccess;
+        }
+
+        void touch() {
+            this.lastAccess = System.currentTimeMillis();
+        }
+    }
+
+    private static final class EvictedReference extends WeakReference<PlayerInfo> {
+        private final UUID uuid;
+
+        EvictedReference(
+                final @NotNull PlayerInfo playerInfo,
+                final @NotNull ReferenceQueue<PlayerInfo> queue
+        ) {
+            super(playerInfo, queue);
+
+            this.uuid = playerInfo.getUuid();
+        }
+    }
+
+    /**
+     * The statistics of the player info map
+     *
+     * @param hitCount      The number of lookups, which found cached player
+     *                      info, or restored the evicted one
+     * @param missCount     The number of lookups, which created new player
+     *                      info
+     * @param evictionCount The number of evicted entries
+     * @param size          The number of entries
+     */
+    public record Stats(
+            long hitCount,
+            long missCount,
+            long evictionCount,
+            int size
+    ) {
+
+        /**
+         * @return The ratio of the hits to all lookups, or 1.0 if there were
+         *         no lookups
+         */
+        public double hitRate() {
+            final long requestCount = this.hitCount + this.missCount;
+
+            return requestCount == 0L
+                    ? 1.0d
+                    : (double) this.hitCount / requestCount;
+        }
     }
 }
@@ -0,0 +1,221 @@
+package com.minersstudios.msessentials.player.storage;
+
+import com.minersstudios.msessentials.MSEssentials;
+import com.minersstudios.msessentials.storage.WriteBehindStore;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * The base of the player storages, which keeps the keys of the stored player
+ * files, the nickname index and the pending writes.
+ * <br>
+ * The written content is kept in the pending writes until the implementation
+ * writes it to the disk in {@link #flushPending()}, which is deferred to the
+ * I/O thread of the write-behind store.
+ */
+abstract class AbstractPlayerStorage implements PlayerStorage {
+    protected final Logger logger;
+    protected final WriteBehindStore store;
+    protected final Map<String, Pending> pending;
+    private final Set<String> keys;
+    private final Map<String, String> keyByNickname;
+    private final Map<String, String> nicknameByKey;
+
+    /**
+     * Constructs a new empty player storage
+     *
+     * @param plugin The plugin instance
+     */
+    protected AbstractPlayerStorage(final @NotNull MSEssentials plugin) {
+        this.logger = plugin.getLogger();
+        this.store = plugin.getCache().getStore();
+        this.pending = new ConcurrentHashMap<>();
+        this.keys = ConcurrentHashMap.newKeySet();
+        this.keyByNickname = new Object2ObjectOpenHashMap<>();
+        this.nicknameByKey = new Object2ObjectOpenHashMap<>();
+    }
+
+    @Override
+    public final @Nullable String read(final @NotNull String key) {
+        final Pending pending = this.pending.get(key);
+
+        return pending != null
+                ? pending.content()
+                : this.readStored(key);
+    }
+
+    @Override
+    public final void write(
+            final @NotNull String key,
+            final @Nullable String nickname,
+            final @NotNull String content
+    ) {
+        this.keys.add(key);
+        this.index(key, nickname);
+        this.pending.put(key, new Pending(nickname, content));
+        this.store.defer(this, this::flushPending);
+    }
+
+    @Override
+    public final boolean contains(final @NotNull String key) {
+        return this.keys.contains(key);
+    }
+
+    @Override
+    public final @NotNull @UnmodifiableView Set<String> keys() {
+        return Collections.unmodifiableSet(this.keys);
+    }
+
+    @Override
+    public final @Nullable String getKey(final @NotNull String nickname) {
+        synchronized (this.keyByNickname) {
+            return this.keyByNickname.get(nickname.toLowerCase(Locale.ROOT));
+        }
+    }
+
+    @Override
+    public void close() {
+        this.flushPending();
+    }
+
+    /**
+     * Reads the player file from the disk
+     *
+     * @param key The key of the player file
+     * @return The YAML content of the player file, or null if the player file
+     *         doesn't exist or cannot be read
+     */
+    protected abstract @Nullable String readStored(final @NotNull String key);
+
+    /**
+     * Writes all pending writes to the disk and removes them from the pending
+     * writes. Called on the I/O thread of the write-behind store.
+     */
+    protected abstract void flushPending();
+
+    /**
+     * Adds the key of a player file, which is already stored on the disk
+     *
+     * @param key      The key of the player file
+     * @param nickname The nickname of the player, or null if it is unknown
+     */
+    protected final void addStored(
+            final @NotNull String key,
+            final @Nullable String nickname
+    ) {
+        this.keys.add(key);
+
+        if (nickname != null) {
+            this.index(key, nickname);
+        }
+    }
+
+    /**
+     * Indexes the stored player file by the nickname, unless it is already
+     * indexed, for example, by a write made after the player file was read
+     *
+     * @param key      The key of the player file
+     * @param nickname The nickname of the player
+     */
+    protected final void indexIfAbsent(
+            final @NotNull String key,
+            final @NotNull String nickname
+    ) {
+        synchronized (this.keyByNickname) {
+            if (
+                    this.keys.contains(key)
+                    && !this.nicknameByKey.containsKey(key)
+            ) {
+                this.index(key, nickname);
+            }
+        }
+    }
+
+    /**
+     * @param key The key of the player file
+     * @return True if the player file is indexed by the nickname
+     */
+    protected final boolean isIndexed(final @NotNull String key) {
+        synchronized (this.keyByNickname) {
+            return this.nicknameByKey.containsKey(key);
+        }
+    }
+
+    /**
+     * Removes the pending write, if it has not been replaced by a newer one
+     * since it has been obtained
+     *
+     * @param key     The key of the player file
+     * @param pending The written pending write
+     */
+    protected final void removePending(
+            final @NotNull String key,
+            final @NotNull Pending pending
+    ) {
+        this.pending.remove(key, pending);
+    }
+
+    private void index(
+            final @NotNull String key,
+            final @Nullable String nickname
+    ) {
+        final String lowerCase = nickname == null ? null : nickname.toLowerCase(Locale.ROOT);
+
+        synchronized (this.keyByNickname) {
+            final String previous =
+                    lowerCase == null
+                    ? this.nicknameByKey.remove(key)
+                    : this.nicknameByKey.put(key, lowerCase);
+
+            if (
+                    previous != null
+                    && !previous.equals(lowerCase)
+            ) {
+                this.keyByNickname.remove(previous, key);
+            }
+
+            if (lowerCase != null) {
+                this.keyByNickname.put(lowerCase, key);
+            }
+        }
+    }
+
+    /**
+     * @param content The YAML content of the player file
+     * @return The nickname of the player from the content, or null if the
+     *         content is not a valid player file
+     */
+    static @Nullable String readNickname(final @NotNull String content) {
+        final YamlConfiguration config = new YamlConfiguration();
+
+        try {
+            config.loadFromString(content);
+        } catch (final InvalidConfigurationException e) {
+            return null;
+        }
+
+        return config.getString("name.nickname");
+    }
+
+    /**
+     * The pending write of a player file
+     *
+     * @param nickname The nickname of the player
+     * @param content  The YAML content of the player file
+     */
+    protected record Pending(
+            @Nullable String nickname,
+            @NotNull String content
+    ) {}
+}
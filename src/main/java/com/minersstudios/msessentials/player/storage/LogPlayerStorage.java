@@ -0,0 +1,429 @@
+package com.minersstudios.msessentials.player.storage;
+
+import com.minersstudios.msessentials.MSEssentials;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.zip.CRC32;
+
+/**
+ * The player storage, which stores all player files in a single append-only
+ * binary log file.
+ * <br>
+ * Every write appends a new record with the key, the nickname and the YAML
+ * content of the player file, and the latest record of a key wins. When the
+ * storage is opened, the log is scanned once to build the in-memory index of
+ * the record positions and the nickname index, so a player file is read with
+ * a single positional read, and no YAML is parsed to find a player by the
+ * nickname. A torn record at the end of the log, left by a crash, is
+ * discarded.
+ * <br>
+ * When the outdated records take more space than the live ones, the log is
+ * compacted by rewriting the live records to a temporary file, which then
+ * atomically replaces the log.
+ * <br>
+ * Record format : {@code [int payload length][int payload CRC32][payload]},
+ * where the payload is
+ * {@code [short key length][key][short nickname length][nickname][content]},
+ * with all strings in UTF-8.
+ *
+ * @see PlayerStorage.Type#LOG
+ */
+final class LogPlayerStorage extends AbstractPlayerStorage {
+    private final Path path;
+    private final Map<String, Entry> entries;
+    private FileChannel channel;
+    private long size;
+    private long liveBytes;
+
+    private static final String FILE_NAME = "players.dat";
+    private static final int MAGIC = 0x4D535044; // MSPD
+    private static final int VERSION = 1;
+    private static final int FILE_HEADER_SIZE = 8;
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final long COMPACT_THRESHOLD = 1L << 20; // 1 MiB
+
+    /**
+     * Opens the log player storage, creating the log file if it doesn't exist
+     *
+     * @param plugin The plugin instance
+     * @throws IllegalStateException If the log file cannot be opened
+     */
+    LogPlayerStorage(final @NotNull MSEssentials plugin) throws IllegalStateException {
+        super(plugin);
+
+        this.path = plugin.getPluginFolder().toPath().resolve(FILE_NAME);
+        this.entries = new Object2ObjectOpenHashMap<>();
+
+        try {
+            Files.createDirectories(this.path.getParent());
+
+            this.channel = FileChannel.open(
+                    this.path,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.READ,
+                    StandardOpenOption.WRITE
+            );
+
+            this.load();
+        } catch (final IOException e) {
+            throw new IllegalStateException("Failed to open the player storage : " + FILE_NAME, e);
+        }
+    }
+
+    @Override
+    public @NotNull Type getType() {
+        return Type.LOG;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!this.channel.isOpen()) {
+            return;
+        }
+
+        super.close();
+
+        try {
+            this.channel.force(true);
+            this.channel.close();
+        } catch (final IOException e) {
+            this.logger.log(Level.SEVERE, "Failed to close the player storage : " + FILE_NAME, e);
+        }
+    }
+
+    @Override
+    protected synchronized @Nullable String readStored(final @NotNull String key) {
+        final Entry entry = this.entries.get(key);
+
+        if (entry == null) {
+            return null;
+        }
+
+        try {
+            final ByteBuffer payload = this.readPayload(this.channel, entry);
+
+            skipString(payload);
+            skipString(payload);
+
+            return StandardCharsets.UTF_8.decode(payload).toString();
+        } catch (final IOException e) {
+            this.logger.log(Level.SEVERE, "Failed to read player file : " + key, e);
+            return null;
+        }
+    }
+
+    @Override
+    protected synchronized void flushPending() {
+        if (!this.channel.isOpen()) {
+            this.flushPendingAfterClose();
+            return;
+        }
+
+        this.appendPending();
+
+        final long garbage = this.size - FILE_HEADER_SIZE - this.liveBytes;
+
+        if (
+                garbage > COMPACT_THRESHOLD
+                && garbage > this.liveBytes
+        ) {
+            try {
+                this.compact();
+            } catch (final IOException e) {
+                this.logger.log(Level.SEVERE, "Failed to compact the player storage : " + FILE_NAME, e);
+            }
+        }
+    }
+
+    /**
+     * Appends the writes made after the storage has been closed synchronously,
+     * reopening the log file only for the time of the write
+     */
+    private void flushPendingAfterClose() {
+        if (this.pending.isEmpty()) {
+            return;
+        }
+
+        try {
+            this.channel = FileChannel.open(this.path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (final IOException e) {
+            this.logger.log(
+                    Level.SEVERE,
+                    "Failed to reopen the closed player storage, " + this.pending.size() + " player files are not saved : " + this.pending.keySet(),
+                    e
+            );
+            return;
+        }
+
+        try {
+            this.appendPending();
+            this.channel.force(true);
+        } catch (final IOException e) {
+            this.logger.log(Level.SEVERE, "Failed to force the player storage : " + FILE_NAME, e);
+        } finally {
+            try {
+                this.channel.close();
+            } catch (final IOException e) {
+                this.logger.log(Level.SEVERE, "Failed to close the player storage : " + FILE_NAME, e);
+            }
+        }
+    }
+
+    private void appendPending() {
+        for (final var entry : this.pending.entrySet()) {
+            final String key = entry.getKey();
+            final Pending pending = entry.getValue();
+
+            try {
+                this.append(key, pending.nickname(), pending.content());
+            } catch (final IOException e) {
+                this.logger.log(Level.SEVERE, "Failed to save player file : " + key, e);
+                continue;
+            }
+
+            this.removePending(key, pending);
+        }
+    }
+
+    private void load() throws IOException {
+        final long fileSize = this.channel.size();
+
+        if (fileSize < FILE_HEADER_SIZE) {
+            this.writeHeader(this.channel);
+            this.size = FILE_HEADER_SIZE;
+            return;
+        }
+
+        final ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+
+        readFully(this.channel, header, 0L);
+        header.flip();
+
+        if (
+                header.getInt() != MAGIC
+                || header.getInt() != VERSION
+        ) {
+            throw new IOException("Unknown format of the player storage : " + FILE_NAME);
+        }
+
+        final ByteBuffer recordHeader = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+        final CRC32 crc = new CRC32();
+        long position = FILE_HEADER_SIZE;
+
+        while (position + RECORD_HEADER_SIZE <= fileSize) {
+            recordHeader.clear();
+            readFully(this.channel, recordHeader, position);
+            recordHeader.flip();
+
+            final int length = recordHeader.getInt();
+            final int checksum = recordHeader.getInt();
+            final long payloadPosition = position + RECORD_HEADER_SIZE;
+
+            if (
+                    length < 0
+                    || payloadPosition + length > fileSize
+            ) {
+                break;
+            }
+
+            final Entry entry = new Entry(payloadPosition, length);
+            final ByteBuffer payload = this.readPayload(this.channel, entry);
+
+            crc.reset();
+            crc.update(payload.duplicate());
+
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+
+            final String key = readString(payload);
+            final String nickname = readString(payload);
+
+            this.putEntry(key, entry);
+            this.addStored(key, nickname.isEmpty() ? null : nickname);
+
+            position = payloadPosition + length;
+        }
+
+        if (position < fileSize) {
+            this.logger.warning(
+                    "Discarded " + (fileSize - position) + " bytes of the corrupted records at the end of the player storage : " + FILE_NAME
+            );
+            this.channel.truncate(position);
+        }
+
+        this.size = position;
+    }
+
+    private void append(
+            final @NotNull String key,
+            final @Nullable String nickname,
+            final @NotNull String content
+    ) throws IOException {
+        final ByteBuffer record = createRecord(key, nickname, content);
+        final Entry entry = new Entry(this.size + RECORD_HEADER_SIZE, record.remaining() - RECORD_HEADER_SIZE);
+
+        writeFully(this.channel, record, this.size);
+        this.size += record.capacity();
+        this.putEntry(key, entry);
+    }
+
+    private void compact() throws IOException {
+        final Path temp = this.path.resolveSibling(FILE_NAME + ".tmp");
+        final var compacted = new Object2ObjectOpenHashMap<String, Entry>(this.entries.size());
+        long position = FILE_HEADER_SIZE;
+
+        try (
+                final var out = FileChannel.open(
+                        temp,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING
+                )
+        ) {
+            this.writeHeader(out);
+
+            for (final var mapEntry : this.entries.entrySet()) {
+                final Entry entry = mapEntry.getValue();
+                final ByteBuffer payload = this.readPayload(this.channel, entry);
+                final ByteBuffer recordHeader = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+                final CRC32 crc = new CRC32();
+
+                crc.update(payload.duplicate());
+                recordHeader.putInt(entry.length()).putInt((int) crc.getValue()).flip();
+                writeFully(out, recordHeader, position);
+                writeFully(out, payload, position + RECORD_HEADER_SIZE);
+                compacted.put(mapEntry.getKey(), new Entry(position + RECORD_HEADER_SIZE, entry.length()));
+
+                position += RECORD_HEADER_SIZE + entry.length();
+            }
+
+            out.force(true);
+        }
+
+        this.channel.close();
+
+        try {
+            Files.move(temp, this.path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            this.channel = FileChannel.open(this.path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+
+        this.size = position;
+        this.entries.clear();
+        this.entries.putAll(compacted);
+    }
+
+    private void putEntry(
+            final @NotNull String key,
+            final @NotNull Entry entry
+    ) {
+        final Entry previous = this.entries.put(key, entry);
+
+        if (previous != null) {
+            this.liveBytes -= RECORD_HEADER_SIZE + previous.length();
+        }
+
+        this.liveBytes += RECORD_HEADER_SIZE + entry.length();
+    }
+
+    private void writeHeader(final @NotNull FileChannel channel) throws IOException {
+        writeFully(
+                channel,
+                ByteBuffer.allocate(FILE_HEADER_SIZE).putInt(MAGIC).putInt(VERSION).flip(),
+                0L
+        );
+    }
+
+    private @NotNull ByteBuffer readPayload(
+            final @NotNull FileChannel channel,
+            final @NotNull Entry entry
+    ) throws IOException {
+        final ByteBuffer payload = ByteBuffer.allocate(entry.length());
+
+        readFully(channel, payload, entry.position());
+
+        return payload.flip();
+    }
+
+    private static @NotNull ByteBuffer createRecord(
+            final @NotNull String key,
+            final @Nullable String nickname,
+            final @NotNull String content
+    ) {
+        final byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        final byte[] nicknameBytes = nickname == null ? new byte[0] : nickname.getBytes(StandardCharsets.UTF_8);
+        final byte[] contentBytes = content.getBytes(StandardCharsets.UTF_8);
+        final int length = 2 + keyBytes.length + 2 + nicknameBytes.length + contentBytes.length;
+        final ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + length);
+        final CRC32 crc = new CRC32();
+
+        record.position(RECORD_HEADER_SIZE);
+        record.putShort((short) keyBytes.length).put(keyBytes);
+        record.putShort((short) nicknameBytes.length).put(nicknameBytes);
+        record.put(contentBytes);
+        crc.update(record.array(), RECORD_HEADER_SIZE, length);
+        record.putInt(0, length);
+        record.putInt(4, (int) crc.getValue());
+
+        return record.flip();
+    }
+
+    private static @NotNull String readString(final @NotNull ByteBuffer buffer) {
+        final int length = Short.toUnsignedInt(buffer.getShort());
+        final String string = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+
+        buffer.position(buffer.position() + length);
+
+        return string;
+    }
+
+    private static void skipString(final @NotNull ByteBuffer buffer) {
+        final int length = Short.toUnsignedInt(buffer.getShort());
+
+        buffer.position(buffer.position() + length);
+    }
+
+    private static void readFully(
+            final @NotNull FileChannel channel,
+            final @NotNull ByteBuffer buffer,
+            long position
+    ) throws IOException {
+        while (buffer.hasRemaining()) {
+            final int read = channel.read(buffer, position);
+
+            if (read < 0) {
+                throw new IOException("Unexpected end of the player storage : " + FILE_NAME);
+            }
+
+            position += read;
+        }
+    }
+
+    private static void writeFully(
+            final @NotNull FileChannel channel,
+            final @NotNull ByteBuffer buffer,
+            long position
+    ) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private record Entry(
+            long position,
+            int length
+    ) {}
+}
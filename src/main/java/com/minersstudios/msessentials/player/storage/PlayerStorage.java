@@ -0,0 +1,151 @@
+package com.minersstudios.msessentials.player.storage;
+
+import com.minersstudios.msessentials.MSEssentials;
+import com.minersstudios.msessentials.player.PlayerFile;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * The storage of the player files.
+ * <br>
+ * Each player file is stored as its serialized YAML content by its key, which
+ * is the string representation of the player UUID, or {@link #CONSOLE_KEY}
+ * for the console. The storage also keeps an index of the keys by the
+ * lowercase player nicknames, which allows to find the player file without
+ * reading the player files or resolving the offline player.
+ * <br>
+ * The writes are not performed on the calling thread. The written content is
+ * visible to the subsequent reads immediately, and is written to the disk by
+ * the I/O thread of the {@link com.minersstudios.msessentials.storage.WriteBehindStore}.
+ * All methods are thread-safe.
+ *
+ * @see PlayerFile
+ * @see Type
+ */
+public interface PlayerStorage extends AutoCloseable {
+    /** The key of the console player file */
+    String CONSOLE_KEY = "console";
+
+    /**
+     * @return The type of this storage
+     */
+    @NotNull Type getType();
+
+    /**
+     * @param key The key of the player file
+     * @return The YAML content of the player file, or null if the player file
+     *         doesn't exist
+     */
+    @Nullable String read(final @NotNull String key);
+
+    /**
+     * Writes the player file and indexes it by the nickname
+     *
+     * @param key      The key of the player file
+     * @param nickname The nickname of the player, or null if the player file
+     *                 should not be indexed by the nickname
+     * @param content  The YAML content of the player file
+     */
+    void write(
+            final @NotNull String key,
+            final @Nullable String nickname,
+            final @NotNull String content
+    );
+
+    /**
+     * @param key The key of the player file
+     * @return True if the player file exists
+     */
+    boolean contains(final @NotNull String key);
+
+    /**
+     * @return An unmodifiable view of the keys of all player files
+     */
+    @NotNull @UnmodifiableView Set<String> keys();
+
+    /**
+     * @param nickname The nickname of the player, case-insensitive
+     * @return The key of the player file with the given nickname, or null if
+     *         there is no such player file, or it is not indexed yet
+     */
+    @Nullable String getKey(final @NotNull String nickname);
+
+    /**
+     * Writes all pending changes and releases the resources of this storage
+     */
+    @Override
+    void close();
+
+    /**
+     * Opens the player storage of the given type. If the storage is empty and
+     * the type is not {@link Type#YAML}, the player files from the YAML
+     * storage are migrated to it. The nickname index of the YAML storage is
+     * built in the background, on its own thread.
+     *
+     * @param plugin The plugin instance
+     * @param type   The type of the storage
+     * @return The opened player storage
+     * @see PlayerStorageMigrator
+     */
+    static @NotNull PlayerStorage open(
+            final @NotNull MSEssentials plugin,
+            final @NotNull Type type
+    ) {
+        if (type == Type.YAML) {
+            final YamlPlayerStorage storage = new YamlPlayerStorage(plugin);
+
+            storage.buildIndex();
+
+            return storage;
+        }
+
+        final PlayerStorage storage = new LogPlayerStorage(plugin);
+
+        if (storage.keys().isEmpty()) {
+            try (final var yaml = new YamlPlayerStorage(plugin)) {
+                if (!yaml.keys().isEmpty()) {
+                    PlayerStorageMigrator.migrate(plugin.getLogger(), yaml, storage);
+                }
+            }
+        }
+
+        return storage;
+    }
+
+    /**
+     * The type of the player storage
+     */
+    enum Type {
+        /**
+         * Each player file is stored as a separate YAML file in the
+         * {@code players} folder
+         */
+        YAML,
+        /**
+         * All player files are stored in a single append-only binary log file,
+         * which is compacted when it contains too many outdated records
+         */
+        LOG;
+
+        /**
+         * @param name The name of the type, case-insensitive
+         * @return The type with the given name, or {@link #YAML} if there is
+         *         no such type
+         */
+        public static @NotNull Type fromName(final @Nullable String name) {
+            if (name != null) {
+                try {
+                    return valueOf(name.toUpperCase(Locale.ROOT));
+                } catch (final IllegalArgumentException ignored) {
+                    // Fallback to the default type
+                }
+            }
+
+            return YAML;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.minersstudios.msessentials.player.storage;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.logging.Logger;
+
+/**
+ * Migrates the player files from one player storage to another.
+ * <br>
+ * The migration is performed automatically when a non-YAML player storage is
+ * opened for the first time and is empty, see
+ * {@link PlayerStorage#open(com.minersstudios.msessentials.MSEssentials, PlayerStorage.Type)}.
+ * The source storage is left untouched, so it can be used as a backup or to
+ * switch the storage type back.
+ */
+public final class PlayerStorageMigrator {
+
+    @Contract(" -> fail")
+    private PlayerStorageMigrator() throws AssertionError {
+        throw new AssertionError("Utility class");
+    }
+
+    /**
+     * Copies all player files, which don't exist in the target storage, from
+     * the source storage to the target storage
+     *
+     * @param logger The logger to log the migration progress to
+     * @param source The storage to migrate the player files from
+     * @param target The storage to migrate the player files to
+     * @return The number of the migrated player files
+     */
+    public static int migrate(
+            final @NotNull Logger logger,
+            final @NotNull PlayerStorage source,
+            final @NotNull PlayerStorage target
+    ) {
+        final long start = System.currentTimeMillis();
+        int migrated = 0;
+
+        logger.info("Migrating the player files from the " + source.getType() + " storage to the " + target.getType() + " storage...");
+
+        for (final var key : source.keys()) {
+            if (target.contains(key)) {
+                continue;
+            }
+
+            final String content = source.read(key);
+
+            if (content == null) {
+                logger.warning("Failed to migrate player file : " + key);
+                continue;
+            }
+
+            target.write(key, AbstractPlayerStorage.readNickname(content), content);
+            ++migrated;
+        }
+
+        logger.info("Migrated " + migrated + " player files in " + (System.currentTimeMillis() - start) + "ms");
+
+        return migrated;
+    }
+}
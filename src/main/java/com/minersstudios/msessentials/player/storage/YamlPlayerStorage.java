@@ -0,0 +1,148 @@
+package com.minersstudios.msessentials.player.storage;
+
+import com.minersstudios.msessentials.EssentialsConfig;
+import com.minersstudios.msessentials.MSEssentials;
+import com.minersstudios.msessentials.storage.WriteBehindStore;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.logging.Level;
+
+/**
+ * The player storage, which stores each player file as a separate YAML file
+ * in the {@code players} folder.
+ * <br>
+ * The keys are listed from the folder when the storage is opened, and the
+ * nickname index is built from the player files in the background, on its own
+ * thread, so it never delays the writes of the write-behind store. Until a
+ * player file is indexed, {@link #getKey(String)} returns null for its
+ * nickname, and the callers fall back to resolving the offline player and
+ * reading its file.
+ *
+ * @see PlayerStorage.Type#YAML
+ */
+final class YamlPlayerStorage extends AbstractPlayerStorage {
+    private final Path folder;
+    private volatile boolean closed;
+
+    private static final String EXTENSION = ".yml";
+
+    /**
+     * Opens the YAML player storage
+     *
+     * @param plugin The plugin instance
+     */
+    YamlPlayerStorage(final @NotNull MSEssentials plugin) {
+        super(plugin);
+
+        this.folder = plugin.getPluginFolder().toPath().resolve(EssentialsConfig.PLAYERS_FOLDER);
+
+        if (Files.isDirectory(this.folder)) {
+            try (final var files = Files.list(this.folder)) {
+                files.forEach(path -> {
+                    final String fileName = path.getFileName().toString();
+
+                    if (fileName.endsWith(EXTENSION)) {
+                        this.addStored(fileName.substring(0, fileName.length() - EXTENSION.length()), null);
+                    }
+                });
+            } catch (final IOException e) {
+                this.logger.log(Level.SEVERE, "Failed to list the player files", e);
+            }
+        }
+    }
+
+    @Override
+    public @NotNull Type getType() {
+        return Type.YAML;
+    }
+
+    @Override
+    public void close() {
+        this.closed = true;
+
+        super.close();
+    }
+
+    /**
+     * Builds the nickname index from the stored player files on a separate
+     * daemon thread. The player files written in the meantime are indexed by
+     * their writes and are not overwritten by the index.
+     */
+    void buildIndex() {
+        final Thread thread = new Thread(this::indexStored, "MSEssentials-PlayerIndex");
+
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    protected @Nullable String readStored(final @NotNull String key) {
+        final Path path = this.getPath(key);
+
+        if (!Files.exists(path)) {
+            return null;
+        }
+
+        try {
+            return Files.readString(path, StandardCharsets.UTF_8);
+        } catch (final IOException e) {
+            this.logger.log(Level.SEVERE, "Failed to read player file : " + path.getFileName(), e);
+            return null;
+        }
+    }
+
+    @Override
+    protected synchronized void flushPending() {
+        for (final var entry : this.pending.entrySet()) {
+            final String key = entry.getKey();
+            final Pending pending = entry.getValue();
+
+            try {
+                WriteBehindStore.writeAtomically(this.getPath(key), pending.content(), this.closed);
+            } catch (final IOException e) {
+                this.logger.log(Level.SEVERE, "Failed to save player file : " + key + EXTENSION, e);
+                continue;
+            }
+
+            this.removePending(key, pending);
+        }
+    }
+
+    private void indexStored() {
+        final long start = System.currentTimeMillis();
+
+        for (final var key : this.keys()) {
+            if (this.closed) {
+                return;
+            }
+
+            if (
+                    this.pending.containsKey(key)
+                    || this.isIndexed(key)
+            ) {
+                continue;
+            }
+
+            final String content = this.readStored(key);
+
+            if (content != null) {
+                final String nickname = readNickname(content);
+
+                if (nickname != null) {
+                    this.indexIfAbsent(key, nickname);
+                }
+            }
+        }
+
+        this.logger.info("Indexed the player files in " + (System.currentTimeMillis() - start) + "ms");
+    }
+
+    private @NotNull Path getPath(final @NotNull String key) {
+        return this.folder.resolve(key + EXTENSION);
+    }
+}
@@ -0,0 +1,359 @@
+package com.minersstudios.msessentials.storage;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A write-behind store, which takes the disk I/O of the data files off the
+ * calling thread.
+ * <br>
+ * The changes are not written immediately. Instead, the files are marked as
+ * dirty with {@link #write(Path, Supplier)}, lines are queued with
+ * {@link #append(Path, String)}, or tasks are queued with
+ * {@link #defer(Object, Runnable)}, and all pending changes are written on the
+ * dedicated I/O thread at most {@link #getInterval() interval} milliseconds
+ * later. All changes of a file made during the interval are coalesced into a
+ * single write, and the content of the file is serialized only once, on the
+ * I/O thread, right before writing.
+ * <br>
+ * Whole files are written to a temporary file first and then atomically moved
+ * over the target file, so a crash during the write never leaves a partially
+ * written file behind. The changes written after {@link #close()} is called,
+ * including the flushes already queued on the I/O thread, are forced to the
+ * storage device. The changes written before that are left to the operating
+ * system to write back.
+ */
+public final class WriteBehindStore implements AutoCloseable {
+    private final Logger logger;
+    private final long interval;
+    private final ScheduledExecutorService executor;
+    private final Map<Path, Supplier<String>> pendingWrites;
+    private final Map<Path, StringBuilder> pendingAppends;
+    private final Map<Object, Runnable> pendingTasks;
+    private final Object flushLock;
+    private ScheduledFuture<?> scheduledFlush;
+    private boolean closed;
+
+    /**
+     * Constructs a new write-behind store and starts its I/O thread
+     *
+     * @param name     The name of the I/O thread
+     * @param logger   The logger to log the write errors to
+     * @param interval The maximum delay of the writes in milliseconds
+     */
+    public WriteBehindStore(
+            final @NotNull String name,
+            final @NotNull Logger logger,
+            final long interval
+    ) {
+        this.logger = logger;
+        this.interval = interval;
+        this.executor = Executors.newSingleThreadScheduledExecutor(
+                runnable -> {
+                    final Thread thread = new Thread(runnable, name);
+
+                    thread.setDaemon(true);
+
+                    return thread;
+                }
+        );
+        this.pendingWrites = new ConcurrentHashMap<>();
+        this.pendingAppends = new ConcurrentHashMap<>();
+        this.pendingTasks = new ConcurrentHashMap<>();
+        this.flushLock = new Object();
+    }
+
+    /**
+     * @return The maximum delay of the writes in milliseconds
+     */
+    public long getInterval() {
+        return this.interval;
+    }
+
+    /**
+     * Marks the file as dirty. The content of the file will be obtained from
+     * the serializer on the I/O thread and written within the interval. If the
+     * file is already dirty, the previous serializer is replaced.
+     *
+     * @param path       The path of the file
+     * @param serializer The serializer of the file content, must be safe to
+     *                   call from the I/O thread
+     */
+    public void write(
+            final @NotNull Path path,
+            final @NotNull Supplier<String> serializer
+    ) {
+        this.pendingWrites.put(path, serializer);
+        this.scheduleFlush();
+    }
+
+    /**
+     * Queues the text to be appended to the file within the interval. The
+     * texts queued for the same file are appended in the order of the calls.
+     *
+     * @param path The path of the file
+     * @param text The text to append
+     */
+    public void append(
+            final @NotNull Path path,
+            final @NotNull String text
+    ) {
+        this.pendingAppends.compute(
+                path,
+                (k, builder) -> (builder == null ? new StringBuilder() : builder).append(text)
+        );
+        this.scheduleFlush();
+    }
+
+    /**
+     * Queues the task to be run on the I/O thread within the interval, after
+     * the pending writes. If a task with the same key is already queued, it is
+     * replaced, so the owners of their own pending changes can drain all of
+     * them in a single run.
+     *
+     * @param key  The key of the task
+     * @param task The task to run, must be safe to call from the I/O thread
+     */
+    public void defer(
+            final @NotNull Object key,
+            final @NotNull Runnable task
+    ) {
+        this.pendingTasks.put(key, task);
+        this.scheduleFlush();
+    }
+
+    /**
+     * Runs the task on the I/O thread after all changes pending at the moment
+     * of the call are written
+     *
+     * @param task The task to run
+     * @return The future of the task
+     */
+    public @NotNull CompletableFuture<Void> execute(final @NotNull Runnable task) {
+        final Runnable runnable = () -> {
+            this.flushPending(false);
+            task.run();
+        };
+
+        if (!this.isClosed()) {
+            try {
+                return CompletableFuture.runAsync(runnable, this.executor);
+            } catch (final RejectedExecutionException ignored) {
+                // The store has been closed in the meantime
+            }
+        }
+
+        runnable.run();
+
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Writes all pending changes and waits until they are written
+     */
+    public void flush() {
+        if (this.isClosed()) {
+            return;
+        }
+
+        try {
+            this.executor.submit(() -> this.flushPending(false)).get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (final ExecutionException | RejectedExecutionException e) {
+            this.logger.log(Level.SEVERE, "Failed to flush the pending writes", e);
+        }
+    }
+
+    /**
+     * Writes all pending changes and stops the I/O thread. The pending changes,
+     * including the flushes already queued on the I/O thread, are forced to
+     * the storage device. The changes made after this method is called are
+     * written synchronously on the calling thread.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (this.closed) {
+                return;
+            }
+
+            this.closed = true;
+        }
+
+        this.executor.shutdown();
+
+        try {
+            if (!this.executor.awaitTermination(30L, TimeUnit.SECONDS)) {
+                this.logger.severe("Timed out waiting for the pending writes, writing them on the current thread");
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        this.flushPending(true);
+    }
+
+    private synchronized boolean isClosed() {
+        return this.closed;
+    }
+
+    private void scheduleFlush() {
+        synchronized (this) {
+            if (!this.closed) {
+                if (this.scheduledFlush == null) {
+                    this.scheduledFlush = this.executor.schedule(
+                            () -> {
+                                synchronized (this) {
+                                    this.scheduledFlush = null;
+                                }
+
+                                this.flushPending(false);
+                            },
+                            this.interval,
+                            TimeUnit.MILLISECONDS
+                    );
+                }
+
+                return;
+            }
+        }
+
+        this.flushPending(true);
+    }
+
+    private void flushPending(final boolean sync) {
+        synchronized (this.flushLock) {
+            final boolean force = sync || this.isClosed();
+
+            this.flushPendingAppends(force);
+            this.flushPendingWrites(force);
+            this.runPendingTasks();
+        }
+    }
+
+    private void flushPendingAppends(final boolean sync) {
+        for (final var path : this.pendingAppends.keySet()) {
+            final StringBuilder builder = this.pendingAppends.remove(path);
+
+            if (builder == null) {
+                continue;
+            }
+
+            final String text = builder.toString();
+
+            try {
+                Files.createDirectories(path.getParent());
+
+                try (
+                        final var channel = FileChannel.open(
+                                path,
+                                StandardOpenOption.CREATE,
+                                StandardOpenOption.WRITE,
+                                StandardOpenOption.APPEND
+                        )
+                ) {
+                    writeFully(channel, text);
+
+                    if (sync) {
+                        channel.force(true);
+                    }
+                }
+            } catch (final IOException e) {
+                this.logger.log(Level.SEVERE, "Failed to append to the \"" + path.getFileName() + "\" file", e);
+            }
+        }
+    }
+
+    private void flushPendingWrites(final boolean sync) {
+        for (final var path : this.pendingWrites.keySet()) {
+            final Supplier<String> serializer = this.pendingWrites.remove(path);
+
+            if (serializer == null) {
+                continue;
+            }
+
+            try {
+                writeAtomically(path, serializer.get(), sync);
+            } catch (final IOException | RuntimeException e) {
+                this.logger.log(Level.SEVERE, "Failed to save the \"" + path.getFileName() + "\" file", e);
+            }
+        }
+    }
+
+    private void runPendingTasks() {
+        for (final var key : this.pendingTasks.keySet()) {
+            final Runnable task = this.pendingTasks.remove(key);
+
+            if (task == null) {
+                continue;
+            }
+
+            try {
+                task.run();
+            } catch (final RuntimeException e) {
+                this.logger.log(Level.SEVERE, "Failed to run the pending task of " + key, e);
+            }
+        }
+    }
+
+    /**
+     * Writes the content to a temporary file and atomically moves it over the
+     * target file
+     *
+     * @param path    The path of the target file
+     * @param content The content to write
+     * @param sync    Whether to force the content to the storage device
+     * @throws IOException If an I/O error occurs
+     */
+    public static void writeAtomically(
+            final @NotNull Path path,
+            final @NotNull String content,
+            final boolean sync
+    ) throws IOException {
+        final Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+
+        Files.createDirectories(path.getParent());
+
+        try (
+                final var channel = FileChannel.open(
+                        temp,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING
+                )
+        ) {
+            writeFully(channel, content);
+
+            if (sync) {
+                channel.force(true);
+            }
+        }
+
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void writeFully(
+            final @NotNull FileChannel channel,
+            final @NotNull String text
+    ) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
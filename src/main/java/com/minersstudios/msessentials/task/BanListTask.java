@@ -2,56 +2,102 @@ package com.minersstudios.msessentials.task;
 
 import com.destroystokyo.paper.profile.PlayerProfile;
 import com.minersstudios.msessentials.MSEssentials;
+import com.minersstudios.msessentials.player.PlayerInfo;
+import com.minersstudios.msessentials.player.collection.ExpiryQueue;
 import com.minersstudios.msessentials.player.collection.PlayerInfoMap;
-import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
 import org.bukkit.BanEntry;
 import org.bukkit.BanList;
+import org.bukkit.OfflinePlayer;
 import org.bukkit.Server;
 import org.bukkit.ban.ProfileBanList;
 import org.jetbrains.annotations.NotNull;
 
 import java.time.Instant;
 import java.util.Date;
-import java.util.Set;
 import java.util.UUID;
 
+/**
+ * Pardons the players, whose temporary bans have expired.
+ * <br>
+ * The temporary bans are scanned when the task is created, and the later bans
+ * are scheduled by {@link PlayerInfo#setBanned} and
+ * {@link PlayerInfo#setBannedTo}. The task must be run every tick, it only
+ * checks the head of the ban expiry queue on most ticks. The ban list is
+ * scanned again every {@link #RESCAN_PERIOD} ticks to schedule the temporary
+ * bans created without the player info, for example, by the vanilla
+ * {@code /ban} command or by other plugins.
+ * The ban entry is checked again before the pardon, so a ban, whose
+ * expiration has been changed without the player info, is rescheduled.
+ *
+ * @see com.minersstudios.msessentials.EssentialsCache#getBanExpiryQueue()
+ */
 public final class BanListTask implements Runnable {
     private final Server server;
     private final PlayerInfoMap playerInfoMap;
-    private final Set<BanEntry<PlayerProfile>> ignoreBanSet;
+    private final ExpiryQueue<UUID> expiryQueue;
+    private int ticks;
+
+    public static final int RESCAN_PERIOD = 6000; // 5 minutes
 
     public BanListTask(final @NotNull MSEssentials plugin) {
         this.server = plugin.getServer();
         this.playerInfoMap = plugin.getCache().getPlayerInfoMap();
-        this.ignoreBanSet = new ObjectOpenHashSet<>();
+        this.expiryQueue = plugin.getCache().getBanExpiryQueue();
+
+        this.scheduleBans();
     }
 
     @Override
     public void run() {
-        final ProfileBanList banList = this.server.getBanList(BanList.Type.PROFILE);
-        final Set<BanEntry<PlayerProfile>> entries = banList.getEntries();
+        if (++this.ticks >= RESCAN_PERIOD) {
+            this.ticks = 0;
+
+            this.scheduleBans();
+        }
+
         final Instant currentInstant = Instant.now();
 
-        for (final var banEntry : entries) {
+        for (final var uuid : this.expiryQueue.pollExpired(currentInstant)) {
+            final OfflinePlayer offlinePlayer = this.server.getOfflinePlayer(uuid);
+            final String name = offlinePlayer.getName();
+
+            if (name == null) {
+                continue;
+            }
+
+            final PlayerInfo playerInfo = this.playerInfoMap.get(uuid, name);
+            final BanEntry<PlayerProfile> banEntry = playerInfo.getBanEntry();
+
+            if (banEntry == null) {
+                continue;
+            }
+
+            final Date expiration = banEntry.getExpiration();
+
+            if (expiration == null) {
+                continue;
+            }
+
+            if (expiration.toInstant().isAfter(currentInstant)) {
+                this.expiryQueue.schedule(uuid, expiration.toInstant());
+            } else {
+                playerInfo.pardon(null);
+            }
+        }
+    }
+
+    private void scheduleBans() {
+        final ProfileBanList banList = this.server.getBanList(BanList.Type.PROFILE);
+
+        for (final var banEntry : banList.getEntries()) {
             final Date expiration = banEntry.getExpiration();
+            final UUID uuid = banEntry.getBanTarget().getId();
 
             if (
                     expiration != null
-                    && !this.ignoreBanSet.contains(banEntry)
-                    && expiration.toInstant().isBefore(currentInstant)
+                    && uuid != null
             ) {
-                final PlayerProfile profile = banEntry.getBanTarget();
-                final UUID uuid = profile.getId();
-                final String name = profile.getName();
-
-                if (
-                        uuid == null
-                        || name == null
-                ) {
-                    this.ignoreBanSet.add(banEntry);
-                } else {
-                    this.playerInfoMap.get(uuid, name).pardon(null);
-                }
+                this.expiryQueue.schedule(uuid, expiration.toInstant());
             }
         }
     }
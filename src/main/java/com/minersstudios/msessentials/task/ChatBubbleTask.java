@@ -0,0 +1,23 @@
+package com.minersstudios.msessentials.task;
+
+import com.minersstudios.msessentials.MSEssentials;
+import com.minersstudios.msessentials.chat.ChatBuffer;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Removes the expired chat bubbles and syncs the viewers of the others
+ *
+ * @see ChatBuffer#tick()
+ */
+public final class ChatBubbleTask implements Runnable {
+    private final ChatBuffer chatBuffer;
+
+    public ChatBubbleTask(final @NotNull MSEssentials plugin) {
+        this.chatBuffer = plugin.getCache().getChatBuffer();
+    }
+
+    @Override
+    public void run() {
+        this.chatBuffer.tick();
+    }
+}
@@ -9,6 +9,13 @@ import org.jetbrains.annotations.NotNull;
 
 import java.time.Instant;
 
+/**
+ * Unmutes the players, whose mutes have expired. The task must be run every
+ * tick, it only checks the head of the mute expiry queue, so it does not scan
+ * the mutes.
+ *
+ * @see MuteMap#pollExpired(Instant)
+ */
 public final class MuteMapTask implements Runnable {
     private final Server server;
     private final PlayerInfoMap playerInfoMap;
@@ -22,23 +29,17 @@ public final class MuteMapTask implements Runnable {
 
     @Override
     public void run() {
-        if (this.muteMap.isEmpty()) {
-            return;
-        }
-
-        final Instant currentInstant = Instant.now();
-
-        this.muteMap.entrySet().stream().parallel()
-        .filter(entry -> entry.getValue().getExpiration().isBefore(currentInstant))
-        .forEach(entry -> {
-            final OfflinePlayer player = this.server.getOfflinePlayer(entry.getKey());
+        for (final var uuid : this.muteMap.pollExpired(Instant.now())) {
+            final OfflinePlayer player = this.server.getOfflinePlayer(uuid);
             final String name = player.getName();
 
-            if (name != null) {
+            if (name == null) {
+                this.muteMap.remove(player);
+            } else {
                 this.playerInfoMap
-                .get(player.getUniqueId(), name)
+                .get(uuid, name)
                 .unmute(this.server.getConsoleSender());
             }
-        });
+        }
     }
 }
@@ -0,0 +1,43 @@
+package com.minersstudios.msessentials.task;
+
+import com.minersstudios.msessentials.MSEssentials;
+import com.minersstudios.msessentials.player.collection.PlayerInfoMap;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Evicts the expired player info of the offline players from the player info
+ * map, and logs the statistics of the map if the fine logging level is enabled
+ *
+ * @see PlayerInfoMap#evictExpired()
+ * @see PlayerInfoMap#getStats()
+ */
+public final class PlayerInfoMapTask implements Runnable {
+    private final PlayerInfoMap playerInfoMap;
+    private final Logger logger;
+
+    public PlayerInfoMapTask(final @NotNull MSEssentials plugin) {
+        this.playerInfoMap = plugin.getCache().getPlayerInfoMap();
+        this.logger = plugin.getLogger();
+    }
+
+    @Override
+    public void run() {
+        final int evicted = this.playerInfoMap.evictExpired();
+
+        if (this.logger.isLoggable(Level.FINE)) {
+            final PlayerInfoMap.Stats stats = this.playerInfoMap.getStats();
+
+            this.logger.fine(
+                    "Player info map : " + stats.size() + " entries, " +
+                    evicted + " evicted now, " +
+                    stats.hitCount() + " hits, " +
+                    stats.missCount() + " misses, " +
+                    stats.evictionCount() + " evictions, " +
+                    String.format("%.1f", stats.hitRate() * 100.0d) + "% hit rate"
+            );
+        }
+    }
+}
@@ -2,37 +2,67 @@ package com.minersstudios.msessentials.task;
 
 import com.minersstudios.msessentials.EssentialsCache;
 import com.minersstudios.msessentials.MSEssentials;
-import com.minersstudios.msessentials.player.collection.PlayerInfoMap;
+import com.minersstudios.msessentials.player.PlayerInfo;
 import com.minersstudios.msessentials.world.WorldDark;
+import it.unimi.dsi.fastutil.objects.ObjectArrayFIFOQueue;
 import org.bukkit.Server;
+import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.UUID;
+
+/**
+ * Periodically saves the game parameters of the online players.
+ * <br>
+ * The task must be run every tick. Every {@link #SAVE_PERIOD} ticks the online
+ * players are queued, and at most {@link #BATCH_SIZE} of them are processed
+ * per tick afterwards, so the serialization of the player files is spread
+ * over several ticks instead of happening in one. The player files are
+ * written on the I/O thread of the write-behind store.
+ *
+ * @see PlayerInfo#savePlayerDataParams()
+ */
 public final class PlayerListTask implements Runnable {
     private final Server server;
     private final EssentialsCache cache;
+    private final ObjectArrayFIFOQueue<UUID> queue;
+    private int ticks;
+
+    public static final int SAVE_PERIOD = 6000; // 5 minutes
+    public static final int BATCH_SIZE = 8;
 
     public PlayerListTask(final @NotNull MSEssentials plugin) {
         this.server = plugin.getServer();
         this.cache = plugin.getCache();
+        this.queue = new ObjectArrayFIFOQueue<>();
     }
 
     @Override
     public void run() {
-        final var onlinePlayers = this.server.getOnlinePlayers();
+        if (
+                ++this.ticks >= SAVE_PERIOD
+                && this.queue.isEmpty()
+        ) {
+            this.ticks = 0;
 
-        if (onlinePlayers.isEmpty()) {
-            return;
+            for (final var player : this.server.getOnlinePlayers()) {
+                this.queue.enqueue(player.getUniqueId());
+            }
         }
 
         final WorldDark worldDark = this.cache.getWorldDark();
-        final PlayerInfoMap playerInfoMap = this.cache.getPlayerInfoMap();
 
-        onlinePlayers.stream().parallel()
-        .filter(player -> !worldDark.isInWorldDark(player))
-        .forEach(player ->
-                playerInfoMap
+        for (int i = 0; i < BATCH_SIZE && !this.queue.isEmpty(); ++i) {
+            final Player player = this.server.getPlayer(this.queue.dequeue());
+
+            if (
+                    player != null
+                    && !worldDark.isInWorldDark(player)
+            ) {
+                this.cache.getPlayerInfoMap()
                 .get(player)
-                .savePlayerDataParams()
-        );
+                .savePlayerDataParams();
+            }
+        }
     }
 }
@@ -0,0 +1,119 @@
+package com.minersstudios.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Annotation processor, which writes the class index of the plugin jar.
+ * <br>
+ * The index contains the binary names of all classes annotated with the
+ * annotations, which are marked with the
+ * {@code com.minersstudios.mscore.annotation.Indexed} meta-annotation. It is
+ * written to {@link #INDEX_PATH} as UTF-8 lines of
+ * {@code <annotation name>\t<class binary name>}, sorted by the annotation
+ * name and then by the class name, and is read by
+ * {@code com.minersstudios.mscore.plugin.ClassIndex} at runtime.
+ */
+@SupportedAnnotationTypes("*")
+public final class ClassIndexProcessor extends AbstractProcessor {
+    private final Map<String, Set<String>> index = new TreeMap<>();
+    private final List<Element> originatingElements = new ArrayList<>();
+
+    /** The path of the class index in the jar */
+    public static final String INDEX_PATH = "META-INF/msplugin/class-index";
+
+    private static final String INDEXED_ANNOTATION = "com.minersstudios.mscore.annotation.Indexed";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(
+            final Set<? extends TypeElement> annotations,
+            final RoundEnvironment roundEnv
+    ) {
+        for (final var annotation : annotations) {
+            if (!isIndexed(annotation)) {
+                continue;
+            }
+
+            final String annotationName = annotation.getQualifiedName().toString();
+
+            for (final var element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element instanceof final TypeElement type) {
+                    this.index
+                    .computeIfAbsent(annotationName, name -> new TreeSet<>())
+                    .add(this.processingEnv.getElementUtils().getBinaryName(type).toString());
+                    this.originatingElements.add(type);
+                }
+            }
+        }
+
+        if (
+                roundEnv.processingOver()
+                && !this.index.isEmpty()
+        ) {
+            this.writeIndex();
+        }
+
+        return false;
+    }
+
+    private void writeIndex() {
+        try {
+            final FileObject file = this.processingEnv.getFiler().createResource(
+                    StandardLocation.CLASS_OUTPUT,
+                    "",
+                    INDEX_PATH,
+                    this.originatingElements.toArray(new Element[0])
+            );
+
+            try (final Writer writer = new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8)) {
+                for (final var entry : this.index.entrySet()) {
+                    for (final var className : entry.getValue()) {
+                        writer
+                        .append(entry.getKey())
+                        .append('\t')
+                        .append(className)
+                        .append('\n');
+                    }
+                }
+            }
+        } catch (final IOException e) {
+            this.processingEnv.getMessager().printMessage(
+                    Diagnostic.Kind.ERROR,
+                    "Failed to write the class index : " + e.getMessage()
+            );
+        }
+    }
+
+    private static boolean isIndexed(final TypeElement annotation) {
+        for (final AnnotationMirror mirror : annotation.getAnnotationMirrors()) {
+            final Element element = mirror.getAnnotationType().asElement();
+
+            if (
+                    element instanceof final TypeElement type
+                    && type.getQualifiedName().contentEquals(INDEXED_ANNOTATION)
+            ) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}